@@ -0,0 +1,38 @@
+package org.dsa11.team1.kumarketto.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.service.ChatRoomService;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 시작 시 채팅방 마지막 메시지 요약, 참여자 읽음/전달 커서가 비어 있는 기존 데이터를 채움
+ * 안 읽은 메시지 수는 저장하지 않고 방의 마지막 순번과 읽음 커서의 차이로 계산
+ * (이미 채워진 행은 건드리지 않으므로 매번 실행해도 됨)
+ */
+@Slf4j
+@Configuration
+public class ChatRoomSummaryInitializer {
+
+    private static final String FIND_UNREAD_COUNT_COLUMN_SQL =
+            "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'chat_participant' AND COLUMN_NAME = 'unread_count'";
+
+    private static final String DROP_UNREAD_COUNT_COLUMN_SQL =
+            "ALTER TABLE `chat_participant` DROP COLUMN `unread_count`";
+
+    @Bean
+    public CommandLineRunner backfillChatRoomSummaries(ChatRoomService chatRoomService, JdbcTemplate jdbcTemplate) {
+        return args -> {
+            // 읽음 커서 도입 전 잠시 쓰던 안 읽은 메시지 수 컬럼이 남아 있으면 삭제 (ddl-auto=update 는 컬럼을 지우지 않음)
+            Integer columns = jdbcTemplate.queryForObject(FIND_UNREAD_COUNT_COLUMN_SQL, Integer.class);
+            if (columns != null && columns > 0) {
+                jdbcTemplate.execute(DROP_UNREAD_COUNT_COLUMN_SQL);
+                log.info("chat_participant.unread_count 컬럼을 삭제했습니다.");
+            }
+            chatRoomService.backfillLastMessageSummaries();
+        };
+    }
+}
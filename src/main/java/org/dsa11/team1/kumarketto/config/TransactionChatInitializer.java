@@ -0,0 +1,19 @@
+package org.dsa11.team1.kumarketto.config;
+
+import org.dsa11.team1.kumarketto.service.TransactionChatService;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 시작 시 채팅방 ID 가 비어 있는 기존 거래를 채움
+ * (이미 채워진 행은 건드리지 않으므로 매번 실행해도 됨)
+ */
+@Configuration
+public class TransactionChatInitializer {
+
+    @Bean
+    public CommandLineRunner backfillTransactionChatIds(TransactionChatService transactionChatService) {
+        return args -> transactionChatService.backfillChatIds();
+    }
+}
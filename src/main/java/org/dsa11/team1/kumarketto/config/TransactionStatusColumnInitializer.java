@@ -0,0 +1,37 @@
+package org.dsa11.team1.kumarketto.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 시작 시 거래 상태 컬럼을 문자열 컬럼으로 변경 (EXPIRED 추가 이전에 만들어진 DB 용)
+ * Hibernate 가 MySQL ENUM 으로 만든 컬럼은 ddl-auto=update 로 값 목록이 늘어나지 않으므로 한 번만 직접 변경
+ * (이미 VARCHAR 이거나 MySQL 이 아니면 아무것도 하지 않으므로 매번 실행해도 됨)
+ */
+@Slf4j
+@Configuration
+public class TransactionStatusColumnInitializer {
+
+    private static final String FIND_COLUMN_TYPE_SQL =
+            "SELECT DATA_TYPE FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transaction' AND COLUMN_NAME = 'status'";
+
+    private static final String MODIFY_COLUMN_SQL =
+            "ALTER TABLE `transaction` MODIFY `status` VARCHAR(20) NOT NULL";
+
+    @Bean
+    @Order(0)
+    public CommandLineRunner widenTransactionStatusColumn(JdbcTemplate jdbcTemplate) {
+        return args -> {
+            String dataType = jdbcTemplate.query(FIND_COLUMN_TYPE_SQL, rs -> rs.next() ? rs.getString(1) : null);
+            if ("enum".equalsIgnoreCase(dataType)) {
+                jdbcTemplate.execute(MODIFY_COLUMN_SQL);
+                log.info("transaction.status 컬럼을 ENUM 에서 VARCHAR(20) 으로 변경했습니다.");
+            }
+        };
+    }
+}
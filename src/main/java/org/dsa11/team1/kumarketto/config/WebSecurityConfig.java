@@ -48,6 +48,7 @@ public class WebSecurityConfig {
             ,"/inquires" //문의글
             ,"/inquires/detail/**" //문의글 상세보기
             ,"/realtimechat/**" //실시간 채팅
+            ,"/stripe-webhook" //Stripe 웹훅 (서명으로 검증)
     };
 
     @Lazy
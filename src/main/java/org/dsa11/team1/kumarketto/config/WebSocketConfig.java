@@ -1,8 +1,10 @@
 package org.dsa11.team1.kumarketto.config;
 
 import lombok.RequiredArgsConstructor;
+import org.dsa11.team1.kumarketto.websocket.ChatHandshakeHandler;
 import org.dsa11.team1.kumarketto.websocket.WebSocketHandler;
 import org.dsa11.team1.kumarketto.websocket.WebSocketInterceptor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.*;
@@ -15,13 +17,21 @@ public class WebSocketConfig implements WebSocketConfigurer {
     private final WebSocketHandler webSocketHandler;
     private final WebSocketInterceptor webSocketInterceptor;
 
+    // permessage-deflate 압축 허용 여부 (클라이언트가 요청한 경우에만 적용, 모바일 대역폭 절약)
+    @Value("${chat.websocket.permessage-deflate-enabled:true}")
+    private boolean permessageDeflateEnabled;
+
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         // registry: 웹소켓 핸들러를 등록하는 등록부(registry)입니다.
         // .addHandler(webSocketHandler, "/ws/chat"):
         //   "/ws/chat" 경로로 웹소켓 요청이 오면, 'webSocketHandler'라는 객체가
         //   그 요청을 최종적으로 처리하도록 지정합니다.
+        // 클라이언트가 요청하면 permessage-deflate 를 사용하고, 설정으로 끄면 압축 없이 연결합니다.
+        ChatHandshakeHandler handshakeHandler = new ChatHandshakeHandler(permessageDeflateEnabled);
+
         registry.addHandler(webSocketHandler, "/ws/chat")
+                .setHandshakeHandler(handshakeHandler)
                 //   최종 처리 담당자인 webSocketHandler에게 요청이 도달하기 전에,
                 //   'webSocketInterceptor'라는 문지기(interceptor)를 먼저 거치도록 설정합니다.
                 .addInterceptors(webSocketInterceptor)
@@ -29,6 +39,7 @@ public class WebSocketConfig implements WebSocketConfigurer {
                 .setAllowedOrigins("*");
 
         registry.addHandler(webSocketHandler, "/ws/admin")
+                .setHandshakeHandler(handshakeHandler)
                 .addInterceptors(webSocketInterceptor)
                 .setAllowedOrigins("*");
     }
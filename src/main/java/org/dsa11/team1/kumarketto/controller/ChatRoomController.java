@@ -1,12 +1,14 @@
 package org.dsa11.team1.kumarketto.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.dsa11.team1.kumarketto.domain.dto.ChatMessagePageDTO;
 import org.dsa11.team1.kumarketto.domain.dto.ChatMessageSendDTO;
 import org.dsa11.team1.kumarketto.domain.dto.ChatRoomDTO;
 import org.dsa11.team1.kumarketto.domain.dto.ChatRoomListDTO;
 import org.dsa11.team1.kumarketto.domain.entity.ChatParticipant;
 import org.dsa11.team1.kumarketto.security.AuthenticatedUser;
 import org.dsa11.team1.kumarketto.service.ChatMessageService;
+import org.dsa11.team1.kumarketto.service.ChatRoomMemberService;
 import org.dsa11.team1.kumarketto.service.ChatRoomService;
 import org.dsa11.team1.kumarketto.websocket.WebSocketHandler;
 import org.springframework.http.HttpStatus;
@@ -29,8 +31,11 @@ import java.util.Set;
 @RequestMapping("/api/chat") // 이 컨트롤러의 모든 주소는 /api/chat 으로 시작합니다.
 public class ChatRoomController {
 
+    private static final int MAX_MESSAGE_PAGE_SIZE = 100;
+
     private final ChatRoomService chatRoomService;
     private final ChatMessageService chatMessageService;
+    private final ChatRoomMemberService chatRoomMemberService;
     private final WebSocketHandler webSocketHandler;
     /**
      *
@@ -66,19 +71,24 @@ public class ChatRoomController {
 
 
     /**
-     * 특정 채팅방의 이전 메시지 기록을 조회하는 API
+     * 특정 채팅방의 이전 메시지 기록을 조회하는 API (키셋 페이징)
      * @param chatId 메시지를 조회할 채팅방 ID
+     * @param before 이 메시지 ID 보다 오래된 메시지만 조회 (없으면 최신 페이지)
+     * @param limit 페이지 크기 (최대 100)
      * @param authenticatedUser 현재 로그인한 사용자 정보 (Spring Security가 주입)
-     * @return 메시지 목록 (JSON 배열)
+     * @return 메시지 페이지 (messages, nextBeforeMessageId, hasMore)
      */
     @GetMapping("/{chatId}/messages")
-    public ResponseEntity<List<ChatMessageSendDTO>> getChatMessages(
+    public ResponseEntity<ChatMessagePageDTO> getChatMessages(
             @PathVariable("chatId") Long chatId,
+            @RequestParam(value = "before", required = false) Long before,
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
             @AuthenticationPrincipal AuthenticatedUser authenticatedUser // <-- 이 부분 추가!
     ) {
         // 현재 사용자의 ID를 서비스 계층으로 전달합니다.
         String currentUserId = authenticatedUser.getUsername();
-        List<ChatMessageSendDTO> messages = chatMessageService.getMessagesByChatId(chatId, currentUserId); //
+        int pageSize = Math.max(1, Math.min(limit, MAX_MESSAGE_PAGE_SIZE));
+        ChatMessagePageDTO messages = chatMessageService.getMessagesByChatId(chatId, currentUserId, before, pageSize);
         return ResponseEntity.ok(messages);
     }
 
@@ -100,18 +110,21 @@ public class ChatRoomController {
         String currentUserId = authenticatedUser.getUsername();
 
 
-        chatMessageService.markMessagesAsRead(chatId, currentUserNo);
+        Long lastReadSeq = chatMessageService.markMessagesAsRead(chatId, currentUserNo);
+        if (lastReadSeq == null) {
+            // 이미 읽은 상태면 상대방에게 알릴 필요가 없습니다.
+            return ResponseEntity.ok().build();
+        }
 
         // WebSocket 알림 로직은 그대로 유지됩니다.
         //String currentUserId = authenticatedUser.getUsername();
-        Set<ChatParticipant> participants = chatMessageService.getActiveParticipants(chatId);
+        Set<String> participantIds = chatRoomMemberService.getActiveUserIds(chatId);
 
-        participants.stream()
-                .map(p -> p.getMemberEntity().getUserId())
+        participantIds.stream()
                 .filter(userId -> !userId.equals(currentUserId))
                 .findFirst()
                 .ifPresent(opponentId -> {
-                    webSocketHandler.sendReadConfirmation(opponentId, chatId);
+                    webSocketHandler.sendReadConfirmation(opponentId, chatId, lastReadSeq);
                 });
 
         return ResponseEntity.ok().build();
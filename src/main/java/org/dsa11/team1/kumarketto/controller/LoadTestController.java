@@ -0,0 +1,97 @@
+package org.dsa11.team1.kumarketto.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.dsa11.team1.kumarketto.domain.dto.LoadTestSeedDTO;
+import org.dsa11.team1.kumarketto.service.LoadTestSeedService;
+import org.dsa11.team1.kumarketto.service.S3Service;
+import org.dsa11.team1.kumarketto.service.StripeWebhookService;
+import org.dsa11.team1.kumarketto.websocket.OutboundSessionQueue;
+import org.dsa11.team1.kumarketto.websocket.WebSocketSessionRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅 부하 테스트 지원 API (loadtest 프로필에서만 등록)
+ * 테스트 데이터 생성과 서버 측 지표(힙, GC, 웹소켓 전송 대기열, 웹훅 수신함) 조회
+ */
+@RestController
+@Profile("loadtest")
+@RequestMapping("/api/loadtest")
+@RequiredArgsConstructor
+public class LoadTestController {
+
+    private final LoadTestSeedService loadTestSeedService;
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final StripeWebhookService stripeWebhookService;
+    private final S3Service s3Service;
+
+    /**
+     * 회원/상품/채팅방 생성
+     * @param users             생성할 회원 수
+     * @param topology          채팅방 구성 (pairs, hub)
+     * @param buyersPerSeller   hub 구성에서 판매자 한 명당 구매자 수
+     */
+    @PostMapping("/seed")
+    public ResponseEntity<LoadTestSeedDTO> seed(@RequestParam(defaultValue = "100") int users,
+                                                @RequestParam(defaultValue = "pairs") String topology,
+                                                @RequestParam(defaultValue = "10") int buyersPerSeller) {
+        return ResponseEntity.ok(loadTestSeedService.seed(users, topology, buyersPerSeller));
+    }
+
+    /**
+     * 웹훅 부하 테스트용 결제 대기 거래 생성
+     * @param transactions  생성할 거래 수
+     * @param buyers        구매자 수
+     * @return  [거래 ID, 결제 ID] 목록
+     */
+    @PostMapping("/seed-payments")
+    public ResponseEntity<List<long[]>> seedPayments(@RequestParam(defaultValue = "1000") int transactions,
+                                                     @RequestParam(defaultValue = "100") int buyers) {
+        return ResponseEntity.ok(loadTestSeedService.seedPendingPayments(transactions, buyers));
+    }
+
+    /**
+     * 서버 측 지표 조회
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        stats.put("heapUsedBytes", heap.getUsed());
+        stats.put("heapMaxBytes", heap.getMax());
+
+        long gcCount = 0;
+        long gcTimeMs = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcTimeMs += Math.max(0, gc.getCollectionTime());
+        }
+        stats.put("gcCount", gcCount);
+        stats.put("gcTimeMs", gcTimeMs);
+        stats.put("threadCount", ManagementFactory.getThreadMXBean().getThreadCount());
+
+        List<OutboundSessionQueue.SessionStats> sessions = sessionRegistry.getSessionStats();
+        stats.put("sessions", sessions.size());
+        stats.put("queuedFrames", sessions.stream().mapToLong(OutboundSessionQueue.SessionStats::getQueueDepth).sum());
+        stats.put("droppedFrames", sessions.stream().mapToLong(OutboundSessionQueue.SessionStats::getDroppedCount).sum());
+        stats.put("coalescedFrames", sessions.stream().mapToLong(OutboundSessionQueue.SessionStats::getCoalescedCount).sum());
+        stats.put("maxSendLatencyMs", sessions.stream().mapToLong(OutboundSessionQueue.SessionStats::getMaxSendLatencyMs).max().orElse(0));
+        stats.put("webhook", stripeWebhookService.getStats());
+        stats.put("upload", s3Service.getStats());
+        return ResponseEntity.ok(stats);
+    }
+
+}
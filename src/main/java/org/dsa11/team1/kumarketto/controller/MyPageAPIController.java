@@ -5,10 +5,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.dsa11.team1.kumarketto.domain.dto.MyPageItemPageDTO;
 import org.dsa11.team1.kumarketto.domain.dto.SupportDTO;
 import org.dsa11.team1.kumarketto.domain.dto.UserInquiryDTO;
 import org.dsa11.team1.kumarketto.security.AuthenticatedUser;
 import org.dsa11.team1.kumarketto.service.MemberService;
+import org.dsa11.team1.kumarketto.service.MyPageService;
 import org.dsa11.team1.kumarketto.service.SupportBoardService;
 
 import org.dsa11.team1.kumarketto.domain.dto.UserResponseReportDTO;
@@ -16,6 +18,7 @@ import org.dsa11.team1.kumarketto.domain.dto.UserResponseReportDTO;
 import org.dsa11.team1.kumarketto.service.ReportService;
 
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -26,6 +29,7 @@ import org.springframework.security.web.authentication.logout.SecurityContextLog
 import org.springframework.web.bind.annotation.*;
 import software.amazon.awssdk.services.s3.endpoints.internal.Value;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,10 +40,13 @@ import java.util.Map;
 @RestController
 public class MyPageAPIController {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100; // 내역 한 페이지 최대 크기
+
     private final BCryptPasswordEncoder passwordEncoder;
     private final MemberService memberService;
     private final SupportBoardService supportBoardService;
     private final ReportService reportService;
+    private final MyPageService myPageService;
 
 
     @PostMapping("/profile/verify")
@@ -127,4 +134,43 @@ public class MyPageAPIController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 판매 완료 내역 다음 페이지 (키셋 페이징, beforeTime/beforeId 는 이전 응답의 nextBeforeTime/nextBeforeId)
+     */
+    @GetMapping("/sales/history")
+    public ResponseEntity<MyPageItemPageDTO> getSalesHistory(
+            @RequestParam(name = "beforeTime", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTime,
+            @RequestParam(name = "beforeId", required = false) Long beforeId,
+            @RequestParam(name = "size", defaultValue = "30") int size,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
+        Long userNo = memberService.findMemberByUserId(authenticatedUser.getUsername()).getUserNo();
+        return ResponseEntity.ok(myPageService.getSoldOut(userNo, beforeTime, beforeId, Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE))));
+    }
+
+    /**
+     * 구매 완료 내역 다음 페이지
+     */
+    @GetMapping("/purchases/history")
+    public ResponseEntity<MyPageItemPageDTO> getPurchaseHistory(
+            @RequestParam(name = "beforeTime", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTime,
+            @RequestParam(name = "beforeId", required = false) Long beforeId,
+            @RequestParam(name = "size", defaultValue = "30") int size,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
+        Long userNo = memberService.findMemberByUserId(authenticatedUser.getUsername()).getUserNo();
+        return ResponseEntity.ok(myPageService.getConfirmed(userNo, beforeTime, beforeId, Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE))));
+    }
+
+    /**
+     * 찜 목록 다음 페이지
+     */
+    @GetMapping("/favorites/history")
+    public ResponseEntity<MyPageItemPageDTO> getWishlist(
+            @RequestParam(name = "beforeTime", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTime,
+            @RequestParam(name = "beforeId", required = false) Long beforeId,
+            @RequestParam(name = "size", defaultValue = "30") int size,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser) {
+        Long userNo = memberService.findMemberByUserId(authenticatedUser.getUsername()).getUserNo();
+        return ResponseEntity.ok(myPageService.getWishlistItems(userNo, beforeTime, beforeId, Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE))));
+    }
 }
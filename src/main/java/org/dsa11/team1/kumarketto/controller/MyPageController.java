@@ -4,10 +4,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.dsa11.team1.kumarketto.domain.dto.MemberRequestDTO;
 import org.dsa11.team1.kumarketto.domain.dto.MemberResponseDTO;
-import org.dsa11.team1.kumarketto.domain.dto.ProductDTO;
-import org.dsa11.team1.kumarketto.domain.dto.TransactionHistoryDTO;
+import org.dsa11.team1.kumarketto.domain.dto.MyPageItemPageDTO;
 import org.dsa11.team1.kumarketto.domain.entity.MemberEntity;
-import org.dsa11.team1.kumarketto.domain.entity.Product;
 import org.dsa11.team1.kumarketto.security.AuthenticatedUser;
 import org.dsa11.team1.kumarketto.service.MemberService;
 import org.dsa11.team1.kumarketto.service.MyPageService;
@@ -18,9 +16,6 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RequiredArgsConstructor
 @RequestMapping("/myPage")
 @Controller
@@ -29,6 +24,9 @@ public class MyPageController {
     private final MemberService memberService;
     private final MyPageService mypageService;
 
+    private static final int PREVIEW_SIZE = 10; // 거래 내역 페이지의 목록별 표시 개수
+    private static final int PAGE_SIZE = 30; // 판매/구매/찜 목록 한 페이지 크기 (이후는 もっと見る 로 조회)
+
     // /myPage 접속 시 기본 거래 내역 페이지로 리다이렉트
     @GetMapping
     public String redirectToTransactions(HttpServletRequest request, Model model) {
@@ -47,13 +45,11 @@ public class MyPageController {
         MemberEntity memberEntity = memberService.findMemberByUserId(authenticatedUser.getUsername()); // 멤버조회
         Long user = memberEntity.getUserNo();
 
-        // 판매 완료 상품 리스트를 가져와 모델에 추가
-        List<TransactionHistoryDTO> salesList = mypageService.getSoldOut(user);
-        model.addAttribute("salesList", salesList);
+        // 판매 완료 상품 최근 목록을 가져와 모델에 추가
+        model.addAttribute("salesList", mypageService.getSoldOut(user, null, null, PREVIEW_SIZE).getItems());
 
-        // 구매 완료 상품 리스트를 가져와 모델에 추가
-        List<TransactionHistoryDTO> purchaseList = mypageService.getConfirmed(user);
-        model.addAttribute("purchaseList", purchaseList);
+        // 구매 완료 상품 최근 목록을 가져와 모델에 추가
+        model.addAttribute("purchaseList", mypageService.getConfirmed(user, null, null, PREVIEW_SIZE).getItems());
         model.addAttribute("loginUserNo", user);
 
         return "mypage/transactions"; // view: src/main/resources/templates/myPage/transactions.html
@@ -102,30 +98,11 @@ public class MyPageController {
         MemberEntity memberEntity = memberService.findMemberByUserId(authenticatedUser.getUsername()); // 멤버조회
         Long user = memberEntity.getUserNo();
 
-        List<Product> wishlist = mypageService.getWishlistItems(user);
-
-        List<ProductDTO> wishlistDTO = wishlist.stream()
-                .map(product -> ProductDTO.builder()
-                        .pid(product.getPid())
-                        .name(product.getName())
-                        .price(product.getPrice())
-                        .imageUrl(product.getImageUrl())
-                        .regionName(
-                                product.getProductRegions().stream().findFirst()
-                                        .map(productRegion -> {
-                                            // Municipality와 Prefecture 이름을 조합
-                                            String prefectureName = productRegion.getMunicipality().getPrefecture().getPrefName();
-                                            String municipalityName = productRegion.getMunicipality().getMuniName();
-                                            return prefectureName + " · " + municipalityName;
-                                        })
-                                        // 지역 정보가 없는 경우 null 또는 빈 문자열 반환
-                                        .orElse(null)
-                        )
-                        .build())
-
-                .collect(Collectors.toList());
-
-        model.addAttribute("wishlistItems", wishlistDTO);
+        // 찜 목록 첫 페이지 (지역명까지 한 번에 조회한 프로젝션)
+        MyPageItemPageDTO wishlistPage = mypageService.getWishlistItems(user, null, null, PAGE_SIZE);
+
+        model.addAttribute("wishlistItems", wishlistPage.getItems());
+        model.addAttribute("wishlistPage", wishlistPage);
 
         return "mypage/favorites"; //찜목록페이지 이동
 
@@ -136,10 +113,11 @@ public class MyPageController {
         AuthenticatedUser authenticatedUser = (AuthenticatedUser) authentication.getPrincipal();
         Long user = memberService.findMemberByUserId(authenticatedUser.getUsername()).getUserNo();
 
-        // 판매 목록 전체를 가져오는 서비스 메서드 호출
-        List<TransactionHistoryDTO> soldOutList = mypageService.getSoldOut(user);
+        // 판매 목록 첫 페이지 (이후 페이지는 /myPage/sales/history 로 조회)
+        MyPageItemPageDTO salesPage = mypageService.getSoldOut(user, null, null, PAGE_SIZE);
 
-        model.addAttribute("salesList", soldOutList);
+        model.addAttribute("salesList", salesPage.getItems());
+        model.addAttribute("salesPage", salesPage);
 
         return "mypage/sales"; // 뷰 이름
     }
@@ -149,10 +127,11 @@ public class MyPageController {
         AuthenticatedUser authenticatedUser = (AuthenticatedUser) authentication.getPrincipal();
         Long user = memberService.findMemberByUserId(authenticatedUser.getUsername()).getUserNo();
 
-        // 구매 목록 전체를 가져오는 서비스 메서드 호출
-        List<TransactionHistoryDTO> confirmedList = mypageService.getConfirmed(user);
+        // 구매 목록 첫 페이지 (이후 페이지는 /myPage/purchases/history 로 조회)
+        MyPageItemPageDTO purchasePage = mypageService.getConfirmed(user, null, null, PAGE_SIZE);
 
-        model.addAttribute("purchaseList", confirmedList);
+        model.addAttribute("purchaseList", purchasePage.getItems());
+        model.addAttribute("purchasePage", purchasePage);
 
         return "mypage/purchases"; // 뷰 이름
 
@@ -1,48 +1,37 @@
 package org.dsa11.team1.kumarketto.controller;
 
 import com.stripe.exception.SignatureVerificationException;
-import com.stripe.model.Event;
-import com.stripe.model.PaymentIntent;
-import com.stripe.net.Webhook;
 import lombok.RequiredArgsConstructor;
-import org.dsa11.team1.kumarketto.service.PaymentService;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.service.StripeWebhookService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+@Slf4j
 @RestController
 @RequestMapping("/stripe-webhook")
 @RequiredArgsConstructor
 public class StripeWebhookController {
 
-    private final PaymentService paymentService;
-
-    @Value("${stripe.webhook.secret-key}")
-    private String webhookSecret; // 웹훅 서명 검증을 위한 시크릿 키
+    private final StripeWebhookService stripeWebhookService;
 
+    /**
+     * Stripe 웹훅 수신
+     * 수신함에 저장만 하고 바로 응답하며, 결제 처리는 StripeWebhookService 가 비동기로 진행
+     * (이미 받은 이벤트의 재전송도 200 으로 응답해야 Stripe 가 재시도를 멈춤)
+     */
     @PostMapping
     public ResponseEntity<String> handleStripeEvent(@RequestBody String payload,
                                                     @RequestHeader("Stripe-Signature") String sigHeader) {
 
         try {
-            Event event = Webhook.constructEvent(payload, sigHeader, webhookSecret);
-
-            // 'payment_intent.succeeded' 이벤트일 때만 처리
-            if ("payment_intent.succeeded".equals(event.getType())) {
-                PaymentIntent paymentIntent = (PaymentIntent) event.getDataObjectDeserializer()
-                        .getObject()
-                        .orElseThrow();
-
-                // 서비스에 결제 성공 처리 위임
-                paymentService.processPaymentSuccess(paymentIntent);
-            }
-
+            stripeWebhookService.receive(payload, sigHeader);
             return ResponseEntity.ok().build();
         } catch (SignatureVerificationException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid signature");
         } catch (Exception e) {
+            log.error("Stripe 웹훅 수신 실패", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
 
@@ -1,5 +1,6 @@
 package org.dsa11.team1.kumarketto.domain.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,11 +14,18 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChatMessageDTO {
+    private String type; // 제어 메시지 종류 (HEARTBEAT, TYPING), 일반 메시지는 null
     private Long messageId;
     private Long chatId;
     private String senderId;
+    private Long senderNo; // 웹소켓 세션에 고정된 보낸 사람 번호 (클라이언트 값은 사용하지 않음)
     private String content; // TEXT 메시지
     private String imageUrl; // IMAGE 메시지
     private MessageType messageType; // TEXT / IMAGE
     private LocalDateTime createdDate;
+    private String clientMessageId; // 클라이언트가 발급한 메시지 ID (ACK, 재전송 중복 제거용)
+    @JsonIgnore
+    private SystemMessagePayload payload; // 시스템 메시지 내용 (서버에서만 설정)
+    @JsonIgnore
+    private String visibleTo; // 시스템 메시지를 볼 수 있는 회원 아이디 (서버에서만 설정)
 }
@@ -0,0 +1,21 @@
+package org.dsa11.team1.kumarketto.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 채팅 메시지 기록 한 페이지 (키셋 페이징)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessagePageDTO {
+    private List<ChatMessageSendDTO> messages; // 시간 오름차순
+    private Long nextBeforeMessageId; // 이전 페이지 요청 시 before 로 보낼 값
+    private boolean hasMore; // 더 오래된 메시지가 있는지 여부
+}
@@ -11,7 +11,7 @@ import org.dsa11.team1.kumarketto.domain.enums.MessageType;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChatMessageSendDTO {
@@ -24,18 +24,27 @@ public class ChatMessageSendDTO {
     private MessageType messageType;
     private LocalDateTime createdDate;
     private boolean isRead;
+    private Long roomSeq; // 채팅방 안에서의 순번 (표시 순서 기준)
+    private String clientMessageId;
 
     // 엔티티 객체를 이 DTO로 쉽게 변환하기 위한 생성자 또는 메소드를 만듭니다.
     public static ChatMessageSendDTO fromEntity(ChatMessage entity) {
+        return fromEntity(entity, entity.getSender().getUserId());
+    }
+
+    // 보낸 사람 아이디를 이미 알고 있을 때 (sender 프록시를 초기화하지 않음)
+    public static ChatMessageSendDTO fromEntity(ChatMessage entity, String senderId) {
         return ChatMessageSendDTO.builder()
                 .messageId(entity.getMessageId())
                 .chatId(entity.getChatRoom().getChatId())
-                .senderId(entity.getSender().getUserId())
+                .senderId(senderId)
                 .content(entity.getContent())
                 .imageUrl(entity.getImageUrl())
                 .messageType(entity.getMessageType())
                 .createdDate(entity.getCreatedDate())
                 .isRead(entity.isRead())
+                .roomSeq(entity.getRoomSeq())
+                .clientMessageId(entity.getClientMessageId())
                 .build();
     }
 }
\ No newline at end of file
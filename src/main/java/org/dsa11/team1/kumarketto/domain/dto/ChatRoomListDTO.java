@@ -16,4 +16,5 @@ public class ChatRoomListDTO {
     private String lastMessageContent;
     private LocalDateTime lastMessageAt;
     private boolean hasUnreadMessages;
+    private int unreadCount;
 }
\ No newline at end of file
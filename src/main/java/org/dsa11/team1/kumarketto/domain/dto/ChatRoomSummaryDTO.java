@@ -0,0 +1,49 @@
+package org.dsa11.team1.kumarketto.domain.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.dsa11.team1.kumarketto.domain.enums.MessageType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅 목록 조회용 프로젝션 (ChatRoomRepository.findChatRoomSummaries)
+ */
+@Getter
+@NoArgsConstructor
+public class ChatRoomSummaryDTO {
+
+    private Long chatId; // 채팅방 ID
+    private Long productId; // 상품 ID
+    private String productTitle; // 상품명
+    private Integer productPrice; // 상품가격
+    private String productImageUrl; // 상품 메인이미지 URL
+    private Long sellerNo; // 판매자 번호
+    private Long userNo; // 조회한 사용자 번호
+    private String opponentNickname; // 상대방 닉네임
+    private MessageType lastMessageType; // 마지막 메시지 타입
+    private String lastMessagePreview; // 마지막 메시지 미리보기 (TEXT)
+    private LocalDateTime lastMessageAt; // 마지막 메시지 시각
+    private LocalDateTime createdAt; // 채팅방 생성 시각
+    private Long unreadCount; // 안 읽은 메시지 수 (채팅방 마지막 순번 - 읽음 커서)
+
+    public ChatRoomSummaryDTO(Long chatId, Long productId, String productTitle, Integer productPrice, String productImageUrl,
+                              Long sellerNo, Long userNo, String opponentNickname, MessageType lastMessageType,
+                              String lastMessagePreview, LocalDateTime lastMessageAt, LocalDateTime createdAt,
+                              Long unreadCount) {
+        this.chatId = chatId;
+        this.productId = productId;
+        this.productTitle = productTitle;
+        this.productPrice = productPrice;
+        this.productImageUrl = productImageUrl;
+        this.sellerNo = sellerNo;
+        this.userNo = userNo;
+        this.opponentNickname = opponentNickname;
+        this.lastMessageType = lastMessageType;
+        this.lastMessagePreview = lastMessagePreview;
+        this.lastMessageAt = lastMessageAt;
+        this.createdAt = createdAt;
+        this.unreadCount = unreadCount;
+    }
+
+}
@@ -0,0 +1,30 @@
+package org.dsa11.team1.kumarketto.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 부하 테스트용 데이터 생성 결과 (loadtest 프로필)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadTestSeedDTO {
+    private String password; // 생성한 회원 공통 비밀번호
+    private List<String> userIds; // 생성한 회원 아이디
+    private List<Room> rooms; // 생성한 채팅방
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Room {
+        private Long chatId;
+        private String sellerId;
+        private String buyerId;
+    }
+}
@@ -4,15 +4,18 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.dsa11.team1.kumarketto.domain.enums.TransactionStatus;
 
 import java.time.LocalDateTime;
 
+/**
+ * 마이페이지 목록 항목 (판매/구매 내역, 찜 목록 공통 프로젝션)
+ * sortTime, sortId 는 키셋 페이징 기준 (다음 페이지 요청 시 before 값으로 사용)
+ */
 @Builder
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class TransactionHistoryDTO {
+public class MyPageItemDTO {
 
     private Long pid;           // 상품 ID
     private String name;        // 상품명
@@ -20,18 +23,18 @@ public class TransactionHistoryDTO {
     private String imageUrl;    // 상품 이미지 URL
     private String regionName;  // 상품 지역명
 
-    private LocalDateTime confirmTime; // 거래 확정 시간
-    private TransactionStatus status;
+    private LocalDateTime sortTime; // 정렬 시각 (거래 확정 시각 / 찜한 시각)
+    private Long sortId;            // 같은 시각일 때 정렬 기준 (거래 ID / 상품 ID)
 
-    public TransactionHistoryDTO(Long pid, String name, Integer price, String imageUrl,
-                                 String prefName, String muniName,
-                                 LocalDateTime confirmTime, TransactionStatus status) {
+    public MyPageItemDTO(Long pid, String name, Integer price, String imageUrl,
+                         String prefName, String muniName,
+                         LocalDateTime sortTime, Long sortId) {
         this.pid = pid;
         this.name = name;
         this.price = price;
         this.imageUrl = imageUrl;
         this.regionName = (prefName != null && muniName != null) ? prefName + " · " + muniName : null;
-        this.confirmTime = confirmTime;
-        this.status = status;
+        this.sortTime = sortTime;
+        this.sortId = sortId;
     }
 }
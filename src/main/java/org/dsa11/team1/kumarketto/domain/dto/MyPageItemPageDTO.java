@@ -0,0 +1,23 @@
+package org.dsa11.team1.kumarketto.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 마이페이지 목록 한 페이지 (키셋 페이징, 최신순)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MyPageItemPageDTO {
+    private List<MyPageItemDTO> items; // 최신순
+    private LocalDateTime nextBeforeTime; // 다음 페이지 요청 시 beforeTime 으로 보낼 값
+    private Long nextBeforeId; // 다음 페이지 요청 시 beforeId 로 보낼 값
+    private boolean hasMore; // 다음 페이지가 있는지 여부
+}
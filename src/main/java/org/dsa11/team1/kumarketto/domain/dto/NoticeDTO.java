@@ -0,0 +1,24 @@
+package org.dsa11.team1.kumarketto.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 웹소켓으로 보내는 공지 (type 은 항상 "NOTICE")
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoticeDTO {
+    @Builder.Default
+    private String type = "NOTICE";
+    private Long noticeId;
+    private String senderId;
+    private String content;
+    private LocalDateTime createdDate;
+}
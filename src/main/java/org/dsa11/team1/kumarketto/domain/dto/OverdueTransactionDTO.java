@@ -0,0 +1,20 @@
+package org.dsa11.team1.kumarketto.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
+
+/**
+ * 자동 구매 확정 대상 거래 (청크 조회용 프로젝션)
+ */
+@Getter
+@AllArgsConstructor
+public class OverdueTransactionDTO {
+    private Long transactionId;
+    private Long productId;
+    private ProductStatus productStatus; // 확정 전 상품 상태
+    private Long sellerUserNo;
+    private String sellerId;
+    private String buyerId;
+    private Long chatId; // 거래 채팅방 ID
+}
@@ -0,0 +1,37 @@
+package org.dsa11.team1.kumarketto.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 시스템 메시지 내용 (chat_message.payload 에 JSON 으로 저장)
+ * 클라이언트에는 같은 JSON 을 content 로 한 번만 인코딩해서 보냄 (기존 content 형식과 동일)
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SystemMessagePayload {
+
+    private Long transactionId; // 거래 ID
+
+    private String buyerNickname; // 구매자 닉네임 (거래 요청)
+
+    private String sellerId; // 판매자 아이디 (현금 결제 선택)
+
+    public static SystemMessagePayload of(Long transactionId) {
+        return new SystemMessagePayload(transactionId, null, null);
+    }
+
+    public static SystemMessagePayload transactionRequest(Long transactionId, String buyerNickname) {
+        return new SystemMessagePayload(transactionId, buyerNickname, null);
+    }
+
+    public static SystemMessagePayload cashPayment(Long transactionId, String sellerId) {
+        return new SystemMessagePayload(transactionId, null, sellerId);
+    }
+
+}
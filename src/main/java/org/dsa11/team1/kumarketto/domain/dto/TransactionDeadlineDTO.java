@@ -0,0 +1,16 @@
+package org.dsa11.team1.kumarketto.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래 기한 (서버 시작 시 타이머 적재용 프로젝션)
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionDeadlineDTO {
+    private Long transactionId;
+    private LocalDateTime dueDate;
+}
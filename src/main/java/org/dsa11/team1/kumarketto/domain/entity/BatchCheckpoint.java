@@ -0,0 +1,64 @@
+package org.dsa11.team1.kumarketto.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 배치 작업 진행 위치 (작업 이름 + 구간 번호 단위)
+ * 청크를 처리한 트랜잭션에서 함께 갱신하므로, 중단된 작업은 마지막으로 커밋된 ID 다음부터 다시 시작
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "batch_checkpoint")
+public class BatchCheckpoint {
+
+    @Id
+    @Column(name = "checkpoint_key", length = 100)
+    private String checkpointKey; // 작업 이름:구간 번호
+
+    @Column(name = "job_name", nullable = false, length = 50)
+    private String jobName; // 작업 이름
+
+    @Column(name = "cutoff", nullable = false)
+    private LocalDateTime cutoff; // 이번 실행의 기준 시각
+
+    @Column(name = "range_end", nullable = false)
+    private Long rangeEnd; // 구간의 마지막 ID (포함)
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId; // 처리를 마친 마지막 ID
+
+    @Column(name = "completed", nullable = false)
+    private boolean completed; // 구간 처리 완료 여부
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt; // 마지막 갱신 시각
+
+    @Builder
+    public BatchCheckpoint(String jobName, int partition, LocalDateTime cutoff, Long rangeStart, Long rangeEnd) {
+        this.checkpointKey = jobName + ":" + partition;
+        this.jobName = jobName;
+        this.cutoff = cutoff;
+        this.rangeEnd = rangeEnd;
+        this.lastId = rangeStart - 1;
+        this.completed = false;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void advance(Long lastId) {
+        this.lastId = lastId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void complete() {
+        this.completed = true;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+}
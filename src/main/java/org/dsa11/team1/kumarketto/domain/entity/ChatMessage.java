@@ -5,7 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.dsa11.team1.kumarketto.domain.dto.SystemMessagePayload;
 import org.dsa11.team1.kumarketto.domain.enums.MessageType;
+import org.dsa11.team1.kumarketto.domain.enums.TransactionStatus;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 
@@ -14,7 +18,12 @@ import java.time.LocalDateTime;
 @Builder
 @Data
 @Entity
-@Table(name = "chat_message")
+@Table(name = "chat_message",
+        uniqueConstraints = @UniqueConstraint(name = "uk_chat_message_client_id", columnNames = {"user_no", "client_message_id"}),
+        indexes = {
+                @Index(name = "idx_chat_message_chat_id_message_id", columnList = "chat_id, message_id"),
+                @Index(name = "idx_chat_message_chat_id_room_seq", columnList = "chat_id, room_seq")
+        })
 public class ChatMessage {
 
     @Id
@@ -49,4 +58,26 @@ public class ChatMessage {
     @Builder.Default
     @Column(name = "is_read", nullable = false)
     private boolean isRead = false;
+
+    // 채팅방 안에서의 순번 (서버 메모리에서 단조 증가하도록 발급)
+    @Column(name = "room_seq")
+    private Long roomSeq;
+
+    // 클라이언트가 발급한 메시지 ID (재전송 시 중복 저장 방지)
+    @Column(name = "client_message_id", length = 64)
+    private String clientMessageId;
+
+    // 시스템 메시지 내용 (거래 ID 등, 일반 메시지는 null)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload")
+    private SystemMessagePayload payload;
+
+    // 시스템 메시지를 볼 수 있는 회원 아이디 (저장 시 역할로 결정, null 이면 채팅방 전체)
+    @Column(name = "visible_to", length = 50)
+    private String visibleTo;
+
+    // 시스템 메시지 버튼을 보여줄 거래 상태 (저장 시 메시지 종류로 결정)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "active_status", length = 20)
+    private TransactionStatus activeStatus;
 }
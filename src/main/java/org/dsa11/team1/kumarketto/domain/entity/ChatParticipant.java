@@ -41,6 +41,22 @@ public class ChatParticipant {
     @Column(name = "chat_status", nullable = false)
     private ChatStatus chatStatus = ChatStatus.ACTIVE;
 
+    // 오프라인 전달 커서: 이 참여자에게 전달이 끝난 마지막 메시지 ID
+    // (도입 이전 참여자의 null 은 시작 시 채팅방의 마지막 메시지 ID 로 채움)
+    @Builder.Default
+    @Column(name = "last_delivered_message_id")
+    private Long lastDeliveredMessageId = 0L;
+
+    // 읽음 커서: 이 참여자가 읽은 마지막 메시지 (안 읽은 메시지 수 = 채팅방 마지막 순번 - last_read_seq)
+    // (null 이면 도입 이전 참여자로 보고 시작 시 메시지 테이블의 is_read 로 다시 계산)
+    @Builder.Default
+    @Column(name = "last_read_message_id")
+    private Long lastReadMessageId = 0L;
+
+    @Builder.Default
+    @Column(name = "last_read_seq")
+    private Long lastReadSeq = 0L;
+
     // --- [핵심 수정] ---
     // equals와 hashCode를 ID 필드인 chatParticipantId 기준으로만 구현합니다.
     @Override
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.dsa11.team1.kumarketto.domain.enums.MessageType;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,6 +19,9 @@ import java.util.Set;
 @Table(name = "chat_room")
 public class ChatRoom {
 
+    // 채팅 목록 미리보기에 저장하는 최대 글자 수
+    public static final int PREVIEW_LENGTH = 100;
+
     @Id
     @Column(name = "chat_id")
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,9 +38,37 @@ public class ChatRoom {
     @Column(name = "last_message_at")
     private LocalDateTime lastMessageAt;
 
+    // --- 마지막 메시지 요약 (채팅 목록을 메시지 테이블 조회 없이 만들기 위함) ---
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_message_type")
+    private MessageType lastMessageType;
+
+    @Column(name = "last_message_preview", length = PREVIEW_LENGTH)
+    private String lastMessagePreview;
+
+    @Column(name = "last_message_seq")
+    private Long lastMessageSeq;
+
+    // 마지막으로 발급한 메시지 순번 (ChatMessageSequencer 가 SQL 로만 증가시키므로 JPA 에서는 쓰지 않음)
+    @Column(name = "last_issued_seq", insertable = false, updatable = false)
+    private Long lastIssuedSeq;
+
     @OneToMany(mappedBy = "chatRoom", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private Set<ChatParticipant> participants;
 
     @OneToMany(mappedBy = "chatRoom", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<ChatMessage> messages;
+
+    /**
+     * 미리보기로 저장할 텍스트 (TEXT 메시지만 내용을 저장, 나머지는 타입으로 문구를 결정)
+     */
+    public static String previewOf(MessageType type, String content) {
+        if (type != MessageType.TEXT || content == null) {
+            return null;
+        }
+        return content.length() > PREVIEW_LENGTH ? content.substring(0, PREVIEW_LENGTH) : content;
+    }
 }
@@ -53,6 +53,10 @@ public class MemberEntity extends BaseTimeEntity {
     @Column(nullable = false)
     private Boolean enabled = true; // 활성 여부
 
+    // 공지 커서: 마지막으로 받은 공지 ID (null 이면 첫 접속 시 최신 공지로 이동)
+    @Column(name = "last_notice_id")
+    private Long lastNoticeId;
+
     @OneToMany(mappedBy = "member")
     private List<Product> products = new ArrayList<>(); // 판매 상품
 
@@ -0,0 +1,43 @@
+package org.dsa11.team1.kumarketto.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 관리자 공지
+ * 공지는 한 번만 저장하고, 접속하지 않았던 회원은 접속 시 공지 커서(member.last_notice_id) 이후의 공지를 조회
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "notice")
+public class Notice {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "notice_id")
+    private Long noticeId; // 공지 ID
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_no", nullable = false)
+    private MemberEntity sender; // 작성한 관리자
+
+    @Column(name = "content", nullable = false, length = 1000)
+    private String content; // 공지 내용
+
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate; // 작성 시각
+
+    @Builder
+    public Notice(MemberEntity sender, String content, LocalDateTime createdDate) {
+        this.sender = sender;
+        this.content = content;
+        this.createdDate = createdDate;
+    }
+
+}
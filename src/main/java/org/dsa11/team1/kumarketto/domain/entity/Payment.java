@@ -37,6 +37,9 @@ public class Payment {
     @Column(name = "shipment_due_date")
     private LocalDateTime shipmentDueDate; // 배송 정보 입력 기한
 
+    @Column(name = "stripe_payment_intent_id", length = 100)
+    private String stripePaymentIntentId; // 카드 결제용 Stripe PaymentIntent ID (결제 기한 만료 시 취소)
+
     @Builder
     public Payment(Transaction transaction, String paymentMethod, LocalDateTime paymentTime, PaymentStatus status, LocalDateTime shipmentDueDate) {
         this.transaction = transaction;
@@ -50,6 +53,10 @@ public class Payment {
         this.status = status;
     }
 
+    public void bindPaymentIntentId(String stripePaymentIntentId) {
+        this.stripePaymentIntentId = stripePaymentIntentId;
+    }
+
     public void bindPaymentTime(LocalDateTime paymentTime) {
         this.paymentTime = paymentTime;
         this.shipmentDueDate = paymentTime.plusDays(5);
@@ -0,0 +1,58 @@
+package org.dsa11.team1.kumarketto.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.dsa11.team1.kumarketto.domain.dto.StoreStatsDTO;
+
+/**
+ * 상점 통계 집계 테이블
+ * 상품 등록/삭제, 판매 완료, 후기 작성 이벤트로 갱신
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "store_stats")
+public class StoreStats {
+
+    @Id
+    @Column(name = "user_no")
+    private Long userNo; // 상점 주인 회원 ID
+
+    @Column(name = "total_product_count", nullable = false)
+    private long totalProductCount; // 전체 상품 수
+
+    @Column(name = "sold_out_count", nullable = false)
+    private long soldOutCount; // 판매 완료 상품 수
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount; // 리뷰 개수
+
+    @Column(name = "review_score_sum", nullable = false)
+    private long reviewScoreSum; // 별점 합계
+
+    @Builder
+    public StoreStats(Long userNo, long totalProductCount, long soldOutCount, long reviewCount, long reviewScoreSum) {
+        this.userNo = userNo;
+        this.totalProductCount = totalProductCount;
+        this.soldOutCount = soldOutCount;
+        this.reviewCount = reviewCount;
+        this.reviewScoreSum = reviewScoreSum;
+    }
+
+    public double getAverageRating() {
+        return reviewCount == 0 ? 0.0 : (double) reviewScoreSum / reviewCount;
+    }
+
+    public StoreStatsDTO toDTO() {
+        return StoreStatsDTO.builder()
+                .totalProductCount(totalProductCount)
+                .transactionCount(soldOutCount)
+                .reviewCount(reviewCount)
+                .averageRating(getAverageRating())
+                .build();
+    }
+
+}
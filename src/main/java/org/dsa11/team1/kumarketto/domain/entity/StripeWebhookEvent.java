@@ -0,0 +1,67 @@
+package org.dsa11.team1.kumarketto.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.dsa11.team1.kumarketto.domain.enums.WebhookEventStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stripe 웹훅 수신함
+ * Stripe 이벤트 ID 를 기본 키로 저장해 같은 이벤트의 재전송은 한 번만 처리
+ * (저장은 StripeWebhookEventRepository.insertIfAbsent 로만 함)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "stripe_webhook_event", indexes = @Index(name = "idx_stripe_webhook_event_status", columnList = "status, received_at"))
+public class StripeWebhookEvent {
+
+    @Id
+    @Column(name = "event_id", length = 100)
+    private String eventId; // Stripe 이벤트 ID (evt_...)
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType; // 이벤트 종류
+
+    @Column(name = "payment_id")
+    private Long paymentId; // 결제 ID (PaymentIntent 메타데이터)
+
+    @Column(name = "transaction_id")
+    private Long transactionId; // 거래 ID (PaymentIntent 메타데이터, 처리 순서 보장 단위)
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload; // 원본 이벤트 (재처리/확인용)
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private WebhookEventStatus status; // 처리 상태
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts; // 처리 시도 횟수
+
+    @Column(name = "last_error", length = 500)
+    private String lastError; // 마지막 실패 사유
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt; // 수신 시각
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt; // 처리 완료 시각
+
+    public void markProcessed() {
+        this.status = WebhookEventStatus.PROCESSED;
+        this.attempts++;
+        this.lastError = null;
+        this.processedAt = LocalDateTime.now();
+    }
+
+    public void markFailed(String error) {
+        this.status = WebhookEventStatus.FAILED;
+        this.attempts++;
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+}
@@ -11,7 +11,10 @@ import java.util.List;
 
 @Entity
 @Getter
-@Table(name = "transaction")
+@Table(name = "transaction", indexes = {
+        @Index(name = "idx_transaction_buyer_confirm", columnList = "user_no, status, confirm_time"),
+        @Index(name = "idx_transaction_chat", columnList = "chat_id")
+})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Transaction {
 
@@ -34,8 +37,9 @@ public class Transaction {
     @Column(name = "request_time", nullable = false)
     private LocalDateTime requestTime; // 요청 시간
 
+    // MySQL ENUM 은 값을 추가해도 ddl-auto=update 로 바뀌지 않으므로 문자열 컬럼으로 고정
     @Enumerated(EnumType.STRING)
-    @Column(name = "status", nullable = false)
+    @Column(name = "status", nullable = false, columnDefinition = "varchar(20)")
     private TransactionStatus status; // 거래 상태
 
     @Column(name = "confirm_time")
@@ -48,6 +52,9 @@ public class Transaction {
     @Column(name = "payment_due_date", nullable = false)
     private LocalDateTime paymentDueDate; // 거래완료기한
 
+    @Column(name = "chat_id")
+    private Long chatId; // 거래 채팅방 ID
+
     @OneToOne(mappedBy = "transaction", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Shipment shipment; // 배송
 
@@ -83,4 +90,8 @@ public class Transaction {
         this.deliveryService = deliveryService;
     }
 
+    public void bindChatId(Long chatId) {
+        this.chatId = chatId;
+    }
+
 }
\ No newline at end of file
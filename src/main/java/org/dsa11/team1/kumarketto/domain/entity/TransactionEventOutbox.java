@@ -0,0 +1,107 @@
+package org.dsa11.team1.kumarketto.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.dsa11.team1.kumarketto.domain.enums.MessageType;
+import org.dsa11.team1.kumarketto.domain.enums.OutboxStatus;
+import org.dsa11.team1.kumarketto.domain.event.TransactionStepEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래 단계 시스템 메시지 발신함
+ * 거래 단계를 바꾼 트랜잭션 안에서 함께 저장하므로, 커밋된 단계의 메시지는 서버가 중단되어도 남아 있다가 전송됨
+ * 같은 거래의 메시지는 id 순서대로 전송
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "transaction_event_outbox",
+        indexes = {
+                @Index(name = "idx_transaction_event_outbox_status", columnList = "status, created_at"),
+                @Index(name = "idx_transaction_event_outbox_transaction", columnList = "transaction_id, status")
+        },
+        uniqueConstraints = @UniqueConstraint(name = "uk_transaction_event_outbox_event", columnNames = "event_id"))
+public class TransactionEventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id; // 발신함 ID (같은 거래 안의 전송 순서)
+
+    @Column(name = "event_id", nullable = false, length = 36)
+    private String eventId; // 이벤트 ID (client_message_id 로 사용, 재전송해도 한 번만 저장)
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId; // 거래 ID (처리 순서 보장 단위)
+
+    @Column(name = "chat_id")
+    private Long chatId; // 채팅방 ID (모르면 null)
+
+    @Column(name = "buyer_id", nullable = false, length = 20)
+    private String buyerId; // 구매자 아이디
+
+    @Column(name = "seller_id", nullable = false, length = 20)
+    private String sellerId; // 판매자 아이디
+
+    @Column(name = "sender_id", nullable = false, length = 20)
+    private String senderId; // 보낸 것으로 표시할 회원 아이디
+
+    @Column(name = "target_user_id", length = 20)
+    private String targetUserId; // 받는 사람 아이디 (null 이면 채팅방 전체)
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "message_type", nullable = false, length = 50)
+    private MessageType messageType; // 시스템 메시지 종류
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload; // 시스템 메시지 내용 (SystemMessagePayload JSON)
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutboxStatus status; // 처리 상태
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts; // 전송 시도 횟수
+
+    @Column(name = "last_error", length = 500)
+    private String lastError; // 마지막 실패 사유
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt; // 저장 시각
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt; // 전송 완료 시각
+
+    public static TransactionEventOutbox of(TransactionStepEvent event, String payload) {
+        TransactionEventOutbox outbox = new TransactionEventOutbox();
+        outbox.eventId = event.getEventId();
+        outbox.transactionId = event.getTransactionId();
+        outbox.chatId = event.getChatId();
+        outbox.buyerId = event.getBuyerId();
+        outbox.sellerId = event.getSellerId();
+        outbox.senderId = event.getSenderId();
+        outbox.targetUserId = event.getTargetUserId();
+        outbox.messageType = event.getMessageType();
+        outbox.payload = payload;
+        outbox.status = OutboxStatus.PENDING;
+        outbox.createdAt = LocalDateTime.now();
+        return outbox;
+    }
+
+    public void markSent() {
+        this.status = OutboxStatus.SENT;
+        this.attempts++;
+        this.lastError = null;
+        this.sentAt = LocalDateTime.now();
+    }
+
+    public void markFailed(String error) {
+        this.status = OutboxStatus.FAILED;
+        this.attempts++;
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+}
@@ -1,14 +1,48 @@
 package org.dsa11.team1.kumarketto.domain.enums;
 
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 채팅 메시지 종류
+ * 시스템 메시지는 볼 수 있는 당사자(audience)와 버튼이 유효한 거래 상태(activeStatus)를 함께 정의
+ * (저장 시 chat_message.visible_to, active_status 로 풀어서 기록)
+ */
+@Getter
 public enum MessageType {
     TEXT,
     IMAGE,
-    TRANSACTION_REQUEST, //거래 요청 타입 추가
-    TRANSACTION_TYPE_SELECT, //거래 방식 선택 메시지
-    PAYMENT_METHOD_SELECT,    // 결제 방식 선택 메시지
-    PURCHASE_CONFIRM_REQUEST, //구매 확정 요청 메세지
-    SHIPPING_INFO_REQUEST, //  운송장 입력 요청 메시지 타입
-    REVIEW_REQUEST, //  리뷰 작성 요청 메시지
-    CASH_PAYMENT_SELECTED, //현금 결제 선택 요청 메시지
-    ITEM_RECEIVED_CHECK // "상품 수령 체크"를 위한 메시지
+    TRANSACTION_REQUEST(SystemMessageAudience.SELLER, TransactionStatus.PENDING, Map.of(
+            TransactionStatus.APPROVED, "판매자가 거래를 승인했습니다.",
+            TransactionStatus.REJECTED, "판매자가 거래를 거절했습니다.")), //거래 요청 타입 추가
+    TRANSACTION_TYPE_SELECT(SystemMessageAudience.BUYER, TransactionStatus.APPROVED), //거래 방식 선택 메시지
+    PAYMENT_METHOD_SELECT(SystemMessageAudience.BUYER, TransactionStatus.APPROVED),    // 결제 방식 선택 메시지
+    PURCHASE_CONFIRM_REQUEST(SystemMessageAudience.BUYER, TransactionStatus.PAID), //구매 확정 요청 메세지
+    SHIPPING_INFO_REQUEST(SystemMessageAudience.SELLER, TransactionStatus.PAID), //  운송장 입력 요청 메시지 타입
+    REVIEW_REQUEST(SystemMessageAudience.ALL, TransactionStatus.CONFIRMED), //  리뷰 작성 요청 메시지
+    CASH_PAYMENT_SELECTED(SystemMessageAudience.SELLER, TransactionStatus.PAID), //현금 결제 선택 요청 메시지
+    ITEM_RECEIVED_CHECK(SystemMessageAudience.BUYER, TransactionStatus.PAID); // "상품 수령 체크"를 위한 메시지
+
+    private final SystemMessageAudience audience; // 볼 수 있는 당사자 (일반 메시지는 null)
+    private final TransactionStatus activeStatus; // 버튼을 보여줄 거래 상태 (일반 메시지는 null)
+    private final Map<TransactionStatus, String> outcomeTexts; // 상태가 바뀐 뒤 버튼 대신 보여줄 문구
+
+    MessageType() {
+        this(null, null, Map.of());
+    }
+
+    MessageType(SystemMessageAudience audience, TransactionStatus activeStatus) {
+        this(audience, activeStatus, Map.of());
+    }
+
+    MessageType(SystemMessageAudience audience, TransactionStatus activeStatus, Map<TransactionStatus, String> outcomeTexts) {
+        this.audience = audience;
+        this.activeStatus = activeStatus;
+        this.outcomeTexts = outcomeTexts;
+    }
+
+    public boolean isSystem() {
+        return activeStatus != null;
+    }
 }
@@ -0,0 +1,12 @@
+package org.dsa11.team1.kumarketto.domain.enums;
+
+/**
+ * 시스템 메시지 발신함 처리 상태
+ */
+public enum OutboxStatus {
+
+    PENDING,    // 전송 대기
+    SENT,       // 전송 완료
+    FAILED      // 전송 실패 (재시도 대상)
+
+}
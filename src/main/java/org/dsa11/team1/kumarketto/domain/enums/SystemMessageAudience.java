@@ -0,0 +1,23 @@
+package org.dsa11.team1.kumarketto.domain.enums;
+
+/**
+ * 시스템 메시지를 볼 수 있는 거래 당사자
+ */
+public enum SystemMessageAudience {
+
+    BUYER,  // 구매자만
+    SELLER, // 판매자만
+    ALL;    // 채팅방 전체
+
+    /**
+     * 볼 수 있는 회원 아이디 (채팅방 전체면 null)
+     */
+    public String resolve(String buyerId, String sellerId) {
+        return switch (this) {
+            case BUYER -> buyerId;
+            case SELLER -> sellerId;
+            case ALL -> null;
+        };
+    }
+
+}
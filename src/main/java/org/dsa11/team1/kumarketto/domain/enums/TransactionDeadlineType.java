@@ -0,0 +1,11 @@
+package org.dsa11.team1.kumarketto.domain.enums;
+
+/**
+ * 거래 기한 종류
+ */
+public enum TransactionDeadlineType {
+
+    PAYMENT,    // 결제 기한 (transaction.payment_due_date, 지나면 예약 해제)
+    CONFIRM     // 구매 확정 기한 (shipment.confirm_due_date, 지나면 자동 구매 확정)
+
+}
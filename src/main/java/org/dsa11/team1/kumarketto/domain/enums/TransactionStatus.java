@@ -11,7 +11,8 @@ public enum TransactionStatus {
     APPROVED("承認"),             // 승인
     PAID("決済完了"),             // 결제 완료
     REJECTED("拒否"),             // 거절
-    CONFIRMED("取引完了");        // 거래 완료
+    CONFIRMED("取引完了"),        // 거래 완료
+    EXPIRED("期限切れ");          // 결제 기한 만료
 
     private final String title;
 
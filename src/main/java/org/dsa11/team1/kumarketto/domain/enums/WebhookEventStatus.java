@@ -0,0 +1,12 @@
+package org.dsa11.team1.kumarketto.domain.enums;
+
+/**
+ * 웹훅 수신함 처리 상태
+ */
+public enum WebhookEventStatus {
+
+    RECEIVED,   // 수신 (처리 대기)
+    PROCESSED,  // 처리 완료
+    FAILED      // 처리 실패 (재시도 대상)
+
+}
@@ -0,0 +1,15 @@
+package org.dsa11.team1.kumarketto.domain.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 채팅방 참여자 변경 이벤트 (채팅방 생성, 퇴장)
+ */
+@Getter
+@RequiredArgsConstructor
+public class ChatRoomMembershipChangedEvent {
+
+    private final Long chatId; // 채팅방 ID
+
+}
@@ -0,0 +1,20 @@
+package org.dsa11.team1.kumarketto.domain.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
+
+/**
+ * 상품 등록 이벤트
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductCreatedEvent implements SellerActivityEvent {
+
+    private final Long productId; // 상품 ID
+
+    private final Long sellerUserNo; // 판매자 ID
+
+    private final ProductStatus status; // 등록 시 상품 상태
+
+}
@@ -0,0 +1,16 @@
+package org.dsa11.team1.kumarketto.domain.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상품 검색 색인(Elasticsearch) 갱신 이벤트
+ * 커밋된 상품 상태를 다시 읽어 색인하므로 이벤트 순서가 바뀌어도 최종 상태가 반영됨
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductSearchSyncEvent {
+
+    private final Long productId; // 상품 ID
+
+}
@@ -0,0 +1,26 @@
+package org.dsa11.team1.kumarketto.domain.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
+
+/**
+ * 상품 상태 변경 이벤트 (판매 완료 등)
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductStatusChangedEvent implements SellerActivityEvent {
+
+    private final Long productId; // 상품 ID
+
+    private final Long sellerUserNo; // 판매자 ID
+
+    private final ProductStatus from; // 변경 전 상태
+
+    private final ProductStatus to; // 변경 후 상태
+
+    public boolean isSoldOutChanged() {
+        return (from == ProductStatus.SOLDOUT) != (to == ProductStatus.SOLDOUT);
+    }
+
+}
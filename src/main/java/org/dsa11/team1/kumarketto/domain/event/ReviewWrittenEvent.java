@@ -0,0 +1,19 @@
+package org.dsa11.team1.kumarketto.domain.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 거래 후기 작성 이벤트
+ */
+@Getter
+@RequiredArgsConstructor
+public class ReviewWrittenEvent implements SellerActivityEvent {
+
+    private final Long reviewId; // 후기 ID
+
+    private final Long sellerUserNo; // 후기가 달린 거래 상품의 판매자 ID
+
+    private final int score; // 평점
+
+}
@@ -0,0 +1,10 @@
+package org.dsa11.team1.kumarketto.domain.event;
+
+/**
+ * 판매자(상점 주인)의 상점 통계에 영향을 주는 도메인 이벤트
+ */
+public interface SellerActivityEvent {
+
+    Long getSellerUserNo(); // 상점 주인의 회원 ID
+
+}
@@ -0,0 +1,22 @@
+package org.dsa11.team1.kumarketto.domain.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.dsa11.team1.kumarketto.domain.enums.TransactionDeadlineType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래 기한 설정 이벤트 (거래 요청 시 결제 기한, 배송 등록 시 구매 확정 기한)
+ */
+@Getter
+@RequiredArgsConstructor
+public class TransactionDeadlineEvent {
+
+    private final Long transactionId; // 거래 ID
+
+    private final TransactionDeadlineType type; // 기한 종류
+
+    private final LocalDateTime dueDate; // 기한
+
+}
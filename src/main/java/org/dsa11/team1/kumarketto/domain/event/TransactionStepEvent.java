@@ -0,0 +1,39 @@
+package org.dsa11.team1.kumarketto.domain.event;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.dsa11.team1.kumarketto.domain.dto.SystemMessagePayload;
+import org.dsa11.team1.kumarketto.domain.enums.MessageType;
+
+import java.util.UUID;
+
+/**
+ * 거래 단계 진행 이벤트 (거래 요청, 승인, 결제, 배송, 구매 확정 등)
+ * 커밋 이후 채팅방 시스템 메시지로 알림
+ */
+@Getter
+@Builder
+public class TransactionStepEvent {
+
+    @Builder.Default
+    private final String eventId = UUID.randomUUID().toString(); // 이벤트 ID (재시도해도 시스템 메시지가 한 번만 저장되도록 사용)
+
+    private final Long transactionId; // 거래 ID
+
+    private final Long productId; // 상품 ID
+
+    private final Long chatId; // 채팅방 ID (모르면 null, 상품과 구매자로 조회)
+
+    private final String buyerId; // 구매자 아이디
+
+    private final String sellerId; // 판매자 아이디
+
+    private final String senderId; // 시스템 메시지를 보낸 것으로 표시할 회원 아이디
+
+    private final String targetUserId; // 받는 사람 아이디 (null 이면 채팅방 전체)
+
+    private final MessageType messageType; // 시스템 메시지 종류
+
+    private final SystemMessagePayload payload; // 시스템 메시지 내용
+
+}
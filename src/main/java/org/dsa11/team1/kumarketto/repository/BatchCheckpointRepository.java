@@ -0,0 +1,22 @@
+package org.dsa11.team1.kumarketto.repository;
+
+import org.dsa11.team1.kumarketto.domain.entity.BatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, String> {
+
+    List<BatchCheckpoint> findByJobName(String jobName);
+
+    /**
+     * 이전 실행의 진행 위치 삭제 (새 실행 계획 전)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BatchCheckpoint c WHERE c.jobName = :jobName")
+    int deleteByJobName(@Param("jobName") String jobName);
+
+}
@@ -2,11 +2,11 @@ package org.dsa11.team1.kumarketto.repository;
 
 import org.dsa11.team1.kumarketto.domain.entity.ChatMessage;
 import org.dsa11.team1.kumarketto.domain.entity.ChatRoom;
+import org.dsa11.team1.kumarketto.domain.enums.ChatStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,55 +17,40 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     //WHERE chat_room_id = ? (파라미터 chatId가 들어갑니다.)
     List<ChatMessage> findByChatRoom_ChatIdOrderByCreatedDateAsc(Long chatId);
 
-    //  특정 채팅방에서 가장 최근 메시지 1개를 찾아 반환합니다.
-    Optional<ChatMessage> findTopByChatRoomOrderByCreatedDateDesc(ChatRoom chatRoom);
-
-
     /**
-     * 특정 채팅방에서, 특정 사용자가 보낸 것이 아닌 모든 메시지를 읽음 처리합니다.
-     * @param chatId 채팅방 ID
-     * @param recipientId 현재 사용자(메시지를 읽는 사람)의 ID
+     * 사용자에게 아직 전달되지 않은 메시지를 메시지 ID 순으로 조회 (오프라인 따라잡기)
+     * 참여 중인 모든 채팅방에서 전달 커서 이후에 상대방이 보낸 메시지가 대상입니다.
+     * @param userNo            수신자 번호
+     * @param afterMessageId    이전 페이지의 마지막 메시지 ID (키셋 페이징)
+     * @param status            참여 상태 (ACTIVE)
+     * @param pageable          페이지 크기
      */
-    @Modifying //  @Modifying, @Transactional 어노테이션 추가
-    @Transactional
-    @Query("UPDATE ChatMessage cm SET cm.isRead = true " +
-            "WHERE cm.chatRoom.chatId = :chatId AND cm.sender.userId != :recipientId AND cm.isRead = false")
-    void markMessagesAsRead(@Param("chatId") Long chatId, @Param("recipientId") String recipientId);
-
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender " +
+            "JOIN ChatParticipant p ON p.chatParticipantId.chatId = m.chatRoom.chatId " +
+            "WHERE p.chatParticipantId.userNo = :userNo AND p.chatStatus = :status " +
+            "AND m.messageId > p.lastDeliveredMessageId AND m.messageId > :afterMessageId " +
+            "AND m.sender.userNo <> :userNo " +
+            "ORDER BY m.messageId ASC")
+    List<ChatMessage> findUndeliveredMessages(@Param("userNo") Long userNo,
+                                              @Param("afterMessageId") Long afterMessageId,
+                                              @Param("status") ChatStatus status,
+                                              Pageable pageable);
 
     /**
-     * 특정 채팅방에서, 특정 사용자 번호(userNo)를 가진 사람이 보낸 것이 아닌
-     * 모든 안 읽은 메시지를 읽음 처리합니다.
+     * 특정 채팅방에서 before 보다 작은 ID 의 메시지를 최신순으로 조회 (키셋 페이징)
+     * (chat_id, message_id) 인덱스를 사용합니다.
+     * @param chatId    채팅방 ID
+     * @param before    이 메시지 ID 보다 오래된 메시지만 조회
+     * @param pageable  페이지 크기
      */
-    // @Modifying 어노테이션에 (clearAutomatically = true) 옵션을 추가합니다.
-    //@Modifying: 이 쿼리는 SELECT가 아닌 UPDATE, DELETE 등 데이터를 변경하는
-    //쿼리임을 JPA에게 알려줍니다.
-    @Modifying(clearAutomatically = true)
-    @Transactional
-    // @Query: 메소드 이름으로 쿼리를 만드는 대신, JPQL을 직접 작성합니다.
-    //해당 채팅방에서 상대방이 보낸 모든 안 읽은 메시지들이 DB에서 is_read = true로 변경됩니다.
-    @Query("UPDATE ChatMessage cm SET cm.isRead = true " +
-            "WHERE cm.chatRoom.chatId = :chatId AND cm.sender.userNo <> :recipientUserNo AND cm.isRead = false")
-    void markAllAsReadByRecipient(@Param("chatId") Long chatId, @Param("recipientUserNo") Long recipientUserNo);
-
-
-
-
-    /**
-     * 특정 채팅방에 현재 사용자가 보낸 것이 아닌 안 읽은 메시지가 있는지 확인합니다.
-     * @param chatId 채팅방 ID
-     * @param currentUserId 현재 사용자 ID
-     * @return 존재하면 true, 아니면 false
-     */
-    //실제 쿼리문
-    //SELECT COUNT(*)
-    // FROM chat_message
-    // WHERE chat_room_id = [chatId]
-    // AND sender_user_id != [currentUserId]
-    // AND is_read = false;
-    //카운터 chat_message 테이블 채팅방중에서 내가 읽지 않은 메세지가 있는지 검색
-    //안읽음 메세지를 표시를 위한것
-    boolean existsByChatRoom_ChatIdAndSender_UserIdNotAndIsReadFalse(Long chatId, String currentUserId);
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender " +
+            "WHERE m.chatRoom.chatId = :chatId AND m.messageId < :before " +
+            "ORDER BY m.messageId DESC")
+    List<ChatMessage> findPageByChatIdBefore(@Param("chatId") Long chatId,
+                                             @Param("before") Long before,
+                                             Pageable pageable);
 
+    //  특정 채팅방에서 가장 최근 메시지 1개를 찾아 반환합니다.
+    Optional<ChatMessage> findTopByChatRoomOrderByCreatedDateDesc(ChatRoom chatRoom);
 
 }
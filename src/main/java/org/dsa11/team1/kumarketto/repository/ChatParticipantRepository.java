@@ -3,11 +3,114 @@ package org.dsa11.team1.kumarketto.repository;
 import org.dsa11.team1.kumarketto.domain.entity.ChatParticipant;
 import org.dsa11.team1.kumarketto.domain.entity.ChatParticipantId;
 import org.dsa11.team1.kumarketto.domain.entity.MemberEntity;
+import org.dsa11.team1.kumarketto.domain.enums.ChatStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ChatParticipantRepository extends JpaRepository<ChatParticipant, ChatParticipantId> {
     List<ChatParticipant> findByMemberEntity(MemberEntity memberEntity);
 
+    /**
+     * 읽음 커서 이동 (참여자 한 행만 갱신, 커서는 앞으로만 이동)
+     * 메시지 ID 커서는 채팅방의 마지막 메시지 ID 로 맞춤
+     * @param chatId    채팅방 ID
+     * @param userNo    읽은 사람 번호
+     * @param seq       읽은 마지막 메시지 순번
+     * @return  갱신된 행 수 (이미 더 앞선 커서면 0)
+     */
+    @Modifying
+    @Query("UPDATE ChatParticipant p SET p.lastReadSeq = :seq, " +
+            "p.lastReadMessageId = COALESCE((SELECT cr.lastMessageId FROM ChatRoom cr WHERE cr.chatId = :chatId), p.lastReadMessageId) " +
+            "WHERE p.chatParticipantId.chatId = :chatId AND p.chatParticipantId.userNo = :userNo " +
+            "AND (p.lastReadSeq IS NULL OR p.lastReadSeq < :seq)")
+    int advanceReadCursor(@Param("chatId") Long chatId, @Param("userNo") Long userNo, @Param("seq") Long seq);
+
+    /**
+     * 다른 참여자들의 읽음 커서 중 가장 뒤처진 순번 (내가 보낸 메시지의 읽음 표시용)
+     * @param chatId    채팅방 ID
+     * @param userId    현재 사용자 ID
+     */
+    @Query("SELECT COALESCE(MIN(COALESCE(p.lastReadSeq, 0L)), 0L) FROM ChatParticipant p " +
+            "WHERE p.chatParticipantId.chatId = :chatId AND p.memberEntity.userId <> :userId")
+    Long findOthersReadSeq(@Param("chatId") Long chatId, @Param("userId") String userId);
+
+    /**
+     * 읽음 커서가 없는 참여자(도입 이전 데이터)의 커서를 읽었거나 직접 보낸 마지막 메시지로 설정
+     */
+    @Modifying
+    @Query("UPDATE ChatParticipant p SET " +
+            "p.lastReadMessageId = (SELECT COALESCE(MAX(m.messageId), 0L) FROM ChatMessage m " +
+            "WHERE m.chatRoom.chatId = p.chatParticipantId.chatId AND (m.isRead = true OR m.sender.userNo = p.chatParticipantId.userNo)), " +
+            "p.lastReadSeq = (SELECT COALESCE(MAX(m.roomSeq), 0L) FROM ChatMessage m " +
+            "WHERE m.chatRoom.chatId = p.chatParticipantId.chatId AND (m.isRead = true OR m.sender.userNo = p.chatParticipantId.userNo)) " +
+            "WHERE p.lastReadSeq IS NULL")
+    int backfillReadCursors();
+
+    /**
+     * 전달 커서가 없는 참여자(도입 이전 데이터)의 커서를 채팅방의 마지막 메시지로 설정
+     * (도입 전에 메모리에만 있던 보류 메시지는 이미 없으므로 그 이전 메시지는 채팅방 입장 시 기록 조회로 확인)
+     */
+    @Modifying
+    @Query("UPDATE ChatParticipant p SET p.lastDeliveredMessageId = (SELECT COALESCE(MAX(m.messageId), 0L) FROM ChatMessage m " +
+            "WHERE m.chatRoom.chatId = p.chatParticipantId.chatId) " +
+            "WHERE p.lastDeliveredMessageId IS NULL")
+    int backfillDeliveryCursors();
+
+    /**
+     * 채팅방 참여자의 아이디 목록 조회
+     * @param chatId    채팅방 ID
+     * @param status    참여 상태
+     */
+    @Query("SELECT p.memberEntity.userId FROM ChatParticipant p " +
+            "WHERE p.chatParticipantId.chatId = :chatId AND p.chatStatus = :status")
+    List<String> findUserIdsByChatIdAndStatus(@Param("chatId") Long chatId, @Param("status") ChatStatus status);
+
+    /**
+     * 접속 중 실시간으로 받은 메시지까지 전달 커서 이동 (마지막 세션 종료 시)
+     * 접속 전에 만들어져 아직 전달하지 못한 상대 메시지가 커서 뒤에 남아 있는 채팅방은 건너뜀
+     * (따라잡기 상한 초과분, 접속 당시 아직 저장되지 않았던 메시지가 다음 접속 때 전달되도록)
+     * @param userNo        사용자 번호
+     * @param status        대상 참여 상태 (ACTIVE)
+     * @param connectedAt   세션 연결 시각 (이후에 만들어진 메시지는 실시간으로 전달됨)
+     * @return  갱신된 행 수
+     */
+    @Modifying
+    @Query("""
+    UPDATE ChatParticipant p SET p.lastDeliveredMessageId = (
+        SELECT MAX(m.messageId) FROM ChatMessage m
+        WHERE m.chatRoom.chatId = p.chatParticipantId.chatId AND m.createdDate >= :connectedAt
+    )
+    WHERE p.chatParticipantId.userNo = :userNo AND p.chatStatus = :status
+      AND p.lastDeliveredMessageId < (
+        SELECT COALESCE(MAX(m2.messageId), 0L) FROM ChatMessage m2
+        WHERE m2.chatRoom.chatId = p.chatParticipantId.chatId AND m2.createdDate >= :connectedAt
+      )
+      AND NOT EXISTS (
+        SELECT 1 FROM ChatMessage m3
+        WHERE m3.chatRoom.chatId = p.chatParticipantId.chatId AND m3.messageId > p.lastDeliveredMessageId
+          AND m3.createdDate < :connectedAt AND m3.sender.userNo <> :userNo
+      )
+    """)
+    int advanceLiveDeliveryCursors(@Param("userNo") Long userNo,
+                                   @Param("status") ChatStatus status,
+                                   @Param("connectedAt") LocalDateTime connectedAt);
+
+    /**
+     * 한 채팅방의 전달 커서를 실제로 전달한 메시지 ID 까지 이동 (커서는 앞으로만 이동)
+     * @param chatId        채팅방 ID
+     * @param userNo        사용자 번호
+     * @param messageId     전달한 마지막 메시지 ID
+     * @return  갱신된 행 수
+     */
+    @Modifying
+    @Query("UPDATE ChatParticipant p SET p.lastDeliveredMessageId = :messageId " +
+            "WHERE p.chatParticipantId.chatId = :chatId AND p.chatParticipantId.userNo = :userNo " +
+            "AND p.lastDeliveredMessageId < :messageId")
+    int advanceDeliveryCursor(@Param("chatId") Long chatId, @Param("userNo") Long userNo, @Param("messageId") Long messageId);
+
 }
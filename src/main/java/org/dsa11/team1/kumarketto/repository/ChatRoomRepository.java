@@ -2,11 +2,14 @@
 
 package org.dsa11.team1.kumarketto.repository;
 
+import org.dsa11.team1.kumarketto.domain.dto.ChatRoomSummaryDTO;
 import org.dsa11.team1.kumarketto.domain.entity.ChatMessage;
 import org.dsa11.team1.kumarketto.domain.entity.ChatRoom;
 import org.dsa11.team1.kumarketto.domain.entity.MemberEntity;
 import org.dsa11.team1.kumarketto.domain.entity.Product;
+import org.dsa11.team1.kumarketto.domain.enums.ChatStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -57,5 +60,52 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
             "WHERE cr.chatId = :chatId")
     Optional<ChatRoom> findByIdWithParticipantsAndMembers(@Param("chatId") Long chatId);
 
+    /**
+     * 마지막 메시지 요약이 없는 채팅방(도입 이전 데이터)을 메시지 테이블에서 채웁니다.
+     */
+    @Modifying
+    @Query("UPDATE ChatRoom cr SET cr.lastMessageId = " +
+            "(SELECT MAX(m.messageId) FROM ChatMessage m WHERE m.chatRoom.chatId = cr.chatId) " +
+            "WHERE cr.lastMessageId IS NULL")
+    int backfillLastMessageId();
+
+    @Modifying
+    @Query("UPDATE ChatRoom cr SET " +
+            "cr.lastMessageType = (SELECT m.messageType FROM ChatMessage m WHERE m.messageId = cr.lastMessageId), " +
+            "cr.lastMessagePreview = (SELECT SUBSTRING(m.content, 1, 100) FROM ChatMessage m WHERE m.messageId = cr.lastMessageId), " +
+            "cr.lastMessageSeq = (SELECT COALESCE(m.roomSeq, 0L) FROM ChatMessage m WHERE m.messageId = cr.lastMessageId) " +
+            "WHERE cr.lastMessageId IS NOT NULL AND cr.lastMessageType IS NULL")
+    int backfillLastMessageSummary();
+
+    /**
+     * 사용자의 채팅 목록을 한 번의 쿼리로 조회합니다.
+     * (채팅방, 상품, 상대방 닉네임, 마지막 메시지 요약, 안 읽은 메시지 수)
+     * 안 읽은 메시지 수는 메시지 행을 세지 않고 채팅방 마지막 순번 - 내 읽음 커서로 계산
+     * (나에게 보이지 않는 시스템 메시지와 저장되지 않은 순번도 포함되지만, 방에 들어가 커서가 이동하면 0)
+     * @param userId    로그인 ID
+     * @param status    내 참여 상태 (ACTIVE)
+     */
+    @Query("""
+    SELECT new org.dsa11.team1.kumarketto.domain.dto.ChatRoomSummaryDTO(
+        cr.chatId, pr.pid, pr.name, pr.price, pr.imageUrl, pr.member.userNo, me.chatParticipantId.userNo,
+        om.nickname, cr.lastMessageType, cr.lastMessagePreview, cr.lastMessageAt, cr.createdAt,
+        COALESCE(cr.lastMessageSeq, 0L) - COALESCE(me.lastReadSeq, 0L)
+    )
+    FROM ChatParticipant me
+    JOIN me.memberEntity mm
+    JOIN me.chatRoom cr
+    JOIN cr.product pr
+    LEFT JOIN ChatParticipant op
+        ON op.chatParticipantId.chatId = cr.chatId AND op.chatParticipantId.userNo <> me.chatParticipantId.userNo
+    LEFT JOIN op.memberEntity om
+    WHERE mm.userId = :userId AND me.chatStatus = :status
+    ORDER BY COALESCE(cr.lastMessageAt, cr.createdAt) DESC
+    """)
+    List<ChatRoomSummaryDTO> findChatRoomSummaries(@Param("userId") String userId, @Param("status") ChatStatus status);
+
+    // 채팅방에 저장된 마지막 메시지 순번 (저장 대기 중인 메시지는 포함하지 않음)
+    @Query("SELECT cr.lastMessageSeq FROM ChatRoom cr WHERE cr.chatId = :chatId")
+    Long findLastMessageSeq(@Param("chatId") Long chatId);
+
 
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package org.dsa11.team1.kumarketto.repository;
 
 import org.dsa11.team1.kumarketto.domain.entity.MemberEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -15,6 +17,15 @@ public interface MemberRepository extends JpaRepository<MemberEntity, Long> {
     @Query("SELECT m.userId FROM MemberEntity m")
     List<String> findAllUserIds();
 
+    @Query("SELECT m.lastNoticeId FROM MemberEntity m WHERE m.userNo = :userNo")
+    Optional<Long> findLastNoticeId(@Param("userNo") Long userNo);
+
+    // 공지 커서 이동 (앞으로만 이동)
+    @Modifying
+    @Query("UPDATE MemberEntity m SET m.lastNoticeId = :noticeId " +
+            "WHERE m.userNo = :userNo AND (m.lastNoticeId IS NULL OR m.lastNoticeId < :noticeId)")
+    int advanceNoticeCursor(@Param("userNo") Long userNo, @Param("noticeId") Long noticeId);
+
     Optional<MemberEntity> findByUserId(String userId);
     Optional<MemberEntity> findByEmail(String userEmail);
     boolean existsByUserIdAndBirthDate(String userId, LocalDate birthDate);
@@ -0,0 +1,32 @@
+package org.dsa11.team1.kumarketto.repository;
+
+import org.dsa11.team1.kumarketto.domain.dto.NoticeDTO;
+import org.dsa11.team1.kumarketto.domain.entity.Notice;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface NoticeRepository extends JpaRepository<Notice, Long> {
+
+    /**
+     * 커서 이후의 공지 조회 (공지 ID 오름차순)
+     * @param afterNoticeId 마지막으로 받은 공지 ID
+     */
+    @Query("""
+    SELECT new org.dsa11.team1.kumarketto.domain.dto.NoticeDTO(
+        'NOTICE', n.noticeId, s.userId, n.content, n.createdDate
+    )
+    FROM Notice n
+    JOIN n.sender s
+    WHERE n.noticeId > :afterNoticeId
+    ORDER BY n.noticeId ASC
+    """)
+    List<NoticeDTO> findNoticesAfter(@Param("afterNoticeId") Long afterNoticeId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(n.noticeId), 0L) FROM Notice n")
+    Long findMaxNoticeId();
+
+}
@@ -3,6 +3,9 @@ package org.dsa11.team1.kumarketto.repository;
 import org.dsa11.team1.kumarketto.domain.entity.Payment;
 import org.dsa11.team1.kumarketto.domain.entity.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -10,4 +13,19 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     Optional<Payment> findByTransaction(Transaction transaction);
 
+    /**
+     * 결제 기한이 지난 거래의 대기 중인 Stripe PaymentIntent ID (만료 전에 Stripe 에서 먼저 취소)
+     */
+    @Query("SELECT p.stripePaymentIntentId FROM Payment p " +
+            "WHERE p.transaction.id = :transactionId AND p.status = 'PENDING' AND p.stripePaymentIntentId IS NOT NULL " +
+            "AND p.transaction.status IN ('PENDING', 'APPROVED')")
+    Optional<String> findPendingPaymentIntentId(@Param("transactionId") Long transactionId);
+
+    /**
+     * 거래의 대기 중인 결제 취소 (결제 기한 만료 시)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = 'CANCELED' WHERE p.transaction.id = :transactionId AND p.status = 'PENDING'")
+    int cancelPending(@Param("transactionId") Long transactionId);
+
 }
@@ -7,9 +7,11 @@ import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -63,5 +65,31 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     // 사용자의 userNo와 상품 상태(Status)를 기준으로 판매 상품 리스트 조회(결제완료 최신순 정렬)
     List<Product> findByMember_UserNoAndStatusOrderByCreatedDateDesc(Long userNo, ProductStatus status);
 
+    /**
+     * 상품 상태 조건부 변경 (현재 상태가 expected 일 때만 next 로 변경)
+     * 동시에 여러 요청이 와도 한 건만 성공하므로 비관적 잠금 없이 중복 예약을 막음
+     * @return  변경된 행 수 (0 이면 다른 요청이 먼저 상태를 바꾼 것)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    UPDATE Product p SET p.status = :next, p.modifiedDate = :now
+    WHERE p.pid = :productId AND p.status = :expected
+    """)
+    int compareAndSetStatus(@Param("productId") Long productId,
+                            @Param("expected") ProductStatus expected,
+                            @Param("next") ProductStatus next,
+                            @Param("now") LocalDateTime now);
+
+    /**
+     * 상품 일괄 판매 완료 처리 (이미 SOLDOUT 인 상품은 제외)
+     * @return  변경된 행 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    UPDATE Product p SET p.status = 'SOLDOUT', p.modifiedDate = :now
+    WHERE p.pid IN :productIds AND p.status <> 'SOLDOUT'
+    """)
+    int markSoldOut(@Param("productIds") List<Long> productIds, @Param("now") LocalDateTime now);
+
 
 }
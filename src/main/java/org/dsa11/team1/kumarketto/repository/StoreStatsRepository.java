@@ -0,0 +1,52 @@
+package org.dsa11.team1.kumarketto.repository;
+
+import org.dsa11.team1.kumarketto.domain.entity.StoreStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StoreStatsRepository extends JpaRepository<StoreStats, Long> {
+
+    /**
+     * 전체 상품 수 / 판매 완료 상품 수 증감
+     * @return 갱신된 행 수 (0 이면 집계 행 없음)
+     */
+    @Modifying
+    @Query("UPDATE StoreStats s SET s.totalProductCount = s.totalProductCount + :productDelta, " +
+            "s.soldOutCount = s.soldOutCount + :soldOutDelta WHERE s.userNo = :userNo")
+    int addProductCounts(@Param("userNo") Long userNo,
+                         @Param("productDelta") long productDelta,
+                         @Param("soldOutDelta") long soldOutDelta);
+
+    /**
+     * 리뷰 개수 / 별점 합계 증가
+     * @return 갱신된 행 수 (0 이면 집계 행 없음)
+     */
+    @Modifying
+    @Query("UPDATE StoreStats s SET s.reviewCount = s.reviewCount + 1, " +
+            "s.reviewScoreSum = s.reviewScoreSum + :score WHERE s.userNo = :userNo")
+    int addReview(@Param("userNo") Long userNo, @Param("score") long score);
+
+    /**
+     * 집계 행 저장 (이미 있으면 다시 계산한 값으로 덮어씀)
+     * 이벤트 처리와 재계산이 동시에 같은 상점 행을 만들어도 중복 키 오류가 나지 않도록 upsert 로 처리
+     * @return 영향받은 행 수
+     */
+    @Modifying
+    @Query(value = """
+    INSERT INTO store_stats (user_no, total_product_count, sold_out_count, review_count, review_score_sum)
+    VALUES (:userNo, :totalProductCount, :soldOutCount, :reviewCount, :reviewScoreSum)
+    ON DUPLICATE KEY UPDATE
+        total_product_count = VALUES(total_product_count),
+        sold_out_count = VALUES(sold_out_count),
+        review_count = VALUES(review_count),
+        review_score_sum = VALUES(review_score_sum)
+    """, nativeQuery = true)
+    int upsert(@Param("userNo") Long userNo,
+               @Param("totalProductCount") long totalProductCount,
+               @Param("soldOutCount") long soldOutCount,
+               @Param("reviewCount") long reviewCount,
+               @Param("reviewScoreSum") long reviewScoreSum);
+
+}
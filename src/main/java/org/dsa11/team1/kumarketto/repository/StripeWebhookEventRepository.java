@@ -0,0 +1,45 @@
+package org.dsa11.team1.kumarketto.repository;
+
+import org.dsa11.team1.kumarketto.domain.entity.StripeWebhookEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StripeWebhookEventRepository extends JpaRepository<StripeWebhookEvent, String> {
+
+    /**
+     * 수신함에 이벤트 저장 (같은 이벤트 ID 가 이미 있으면 무시)
+     * 재전송이 동시에 도착해도 기본 키로 한 건만 저장됨
+     * @return  저장된 행 수 (0 이면 이미 받은 이벤트)
+     */
+    @Modifying
+    @Query(value = """
+    INSERT IGNORE INTO stripe_webhook_event
+        (event_id, event_type, payment_id, transaction_id, payload, status, attempts, received_at)
+    VALUES (:eventId, :eventType, :paymentId, :transactionId, :payload, 'RECEIVED', 0, :receivedAt)
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId,
+                       @Param("eventType") String eventType,
+                       @Param("paymentId") Long paymentId,
+                       @Param("transactionId") Long transactionId,
+                       @Param("payload") String payload,
+                       @Param("receivedAt") LocalDateTime receivedAt);
+
+    /**
+     * 아직 처리되지 않은 이벤트 (서버 중단, 대기열 초과, 실패로 남은 이벤트를 다시 처리하기 위함)
+     * @param receivedBefore    이 시각 이전에 받은 이벤트만 (방금 받아 처리 중인 이벤트 제외)
+     * @param maxAttempts       최대 시도 횟수
+     */
+    @Query("SELECT e FROM StripeWebhookEvent e " +
+            "WHERE e.status <> 'PROCESSED' AND e.attempts < :maxAttempts AND e.receivedAt < :receivedBefore " +
+            "ORDER BY e.receivedAt")
+    List<StripeWebhookEvent> findPending(@Param("receivedBefore") LocalDateTime receivedBefore,
+                                         @Param("maxAttempts") int maxAttempts,
+                                         Pageable pageable);
+
+}
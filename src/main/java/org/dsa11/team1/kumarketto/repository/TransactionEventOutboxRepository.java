@@ -0,0 +1,36 @@
+package org.dsa11.team1.kumarketto.repository;
+
+import org.dsa11.team1.kumarketto.domain.entity.TransactionEventOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TransactionEventOutboxRepository extends JpaRepository<TransactionEventOutbox, Long> {
+
+    /**
+     * 거래 하나의 아직 전송하지 않은 메시지 (저장 순서대로)
+     * @param maxAttempts   최대 시도 횟수 (다 쓴 메시지는 건너뜀)
+     */
+    @Query("SELECT o FROM TransactionEventOutbox o " +
+            "WHERE o.transactionId = :transactionId AND o.status <> 'SENT' AND o.attempts < :maxAttempts " +
+            "ORDER BY o.id")
+    List<TransactionEventOutbox> findUnsent(@Param("transactionId") Long transactionId,
+                                            @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * 전송하지 않은 메시지가 남은 거래 ID (서버 중단, 대기열 초과, 실패로 남은 메시지를 다시 보내기 위함)
+     * @param createdBefore 이 시각 이전에 저장한 메시지만 (방금 커밋되어 전송 중인 메시지 제외)
+     * @param maxAttempts   최대 시도 횟수
+     */
+    @Query("SELECT o.transactionId FROM TransactionEventOutbox o " +
+            "WHERE o.status <> 'SENT' AND o.attempts < :maxAttempts AND o.createdAt < :createdBefore " +
+            "GROUP BY o.transactionId ORDER BY MIN(o.id)")
+    List<Long> findPendingTransactionIds(@Param("createdBefore") LocalDateTime createdBefore,
+                                         @Param("maxAttempts") int maxAttempts,
+                                         Pageable pageable);
+
+}
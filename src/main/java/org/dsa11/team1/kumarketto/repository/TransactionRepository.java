@@ -1,10 +1,14 @@
 package org.dsa11.team1.kumarketto.repository;
 
-import org.dsa11.team1.kumarketto.domain.dto.TransactionHistoryDTO;
+import org.dsa11.team1.kumarketto.domain.dto.OverdueTransactionDTO;
+import org.dsa11.team1.kumarketto.domain.dto.TransactionDeadlineDTO;
+import org.dsa11.team1.kumarketto.domain.dto.MyPageItemDTO;
 import org.dsa11.team1.kumarketto.domain.entity.Transaction;
-import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
-import org.dsa11.team1.kumarketto.domain.enums.TransactionStatus;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -15,50 +19,185 @@ import java.util.Optional;
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
     /**
-     * 자동 구매 확정
-     * @param now
-     * @return
+     * 자동 구매 확정 대상 ID 범위 (배치 구간 분할용)
+     * @param cutoff    기준 시각 (확정 기한이 이 시각 이전인 거래)
+     * @return  [최소 ID, 최대 ID] 한 행 (대상이 없으면 두 값 모두 null)
      */
-    @Query("SELECT t FROM Transaction t JOIN t.shipment s " +
-            "WHERE t.status = 'PAID' AND s.confirmDueDate <= :now")
-    List<Transaction> findOverdueTransactions(@Param("now") LocalDateTime now);
+    @Query("SELECT MIN(t.id), MAX(t.id) FROM Transaction t JOIN t.shipment s " +
+            "WHERE t.status = 'PAID' AND s.confirmDueDate <= :cutoff")
+    List<Object[]> findOverdueIdRange(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * 자동 구매 확정 대상 한 청크 (ID 기준 키셋 페이징)
+     * @param cutoff    기준 시각
+     * @param afterId   이전 청크의 마지막 ID
+     * @param maxId     구간의 마지막 ID (포함)
+     * @param pageable  청크 크기
+     */
+    @Query("""
+    SELECT new org.dsa11.team1.kumarketto.domain.dto.OverdueTransactionDTO(
+        t.id, p.pid, p.status, seller.userNo, seller.userId, buyer.userId, t.chatId
+    )
+    FROM Transaction t
+    JOIN t.shipment s
+    JOIN t.product p
+    JOIN p.member seller
+    JOIN t.member buyer
+    WHERE t.status = 'PAID' AND s.confirmDueDate <= :cutoff
+      AND t.id > :afterId AND t.id <= :maxId
+    ORDER BY t.id
+    """)
+    List<OverdueTransactionDTO> findOverdueChunk(@Param("cutoff") LocalDateTime cutoff,
+                                                 @Param("afterId") Long afterId,
+                                                 @Param("maxId") Long maxId,
+                                                 Pageable pageable);
+
+    /**
+     * 아직 PAID 인 거래 ID 를 잠금 (SELECT ... FOR UPDATE)
+     * 같은 트랜잭션에서 확정할 때까지 구매자의 직접 확정이 끼어들지 못하므로 확정된 거래를 정확히 알 수 있음
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM Transaction t WHERE t.id IN :ids AND t.status = 'PAID'")
+    List<Long> lockPaidIds(@Param("ids") List<Long> ids);
+
+    /**
+     * 거래 일괄 구매 확정 (아직 PAID 인 거래만, lockPaidIds 로 잠근 ID 를 넘길 것)
+     * @return  확정된 거래 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.status = 'CONFIRMED', t.confirmTime = :now " +
+            "WHERE t.id IN :ids AND t.status = 'PAID'")
+    int confirmAll(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * 거래 한 건 구매 확정 (아직 PAID 일 때만)
+     * 영속성 컨텍스트는 비우지 않으므로 호출한 쪽에서 엔티티 상태도 함께 맞출 것
+     * @return  확정했으면 1, 이미 다른 요청(자동 확정 등)이 확정했으면 0
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Transaction t SET t.status = 'CONFIRMED', t.confirmTime = :now " +
+            "WHERE t.id = :id AND t.status = 'PAID'")
+    int confirmIfPaid(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * 현금 결제 선택 시 결제 완료로 변경 (아직 APPROVED 일 때만, 결제 기한 만료와 겹쳐도 한쪽만 반영)
+     * 영속성 컨텍스트는 비우지 않으므로 호출한 쪽에서 엔티티 상태도 함께 맞출 것
+     * @return  변경했으면 1, 이미 만료/처리된 거래면 0
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Transaction t SET t.status = 'PAID' WHERE t.id = :id AND t.status = 'APPROVED'")
+    int markPaidIfApproved(@Param("id") Long id);
+
+    /**
+     * 결제 기한이 남아 있는 거래 (요청/승인 상태, ID 기준 키셋 페이징)
+     */
+    @Query("SELECT new org.dsa11.team1.kumarketto.domain.dto.TransactionDeadlineDTO(t.id, t.paymentDueDate) " +
+            "FROM Transaction t WHERE t.status IN ('PENDING', 'APPROVED') AND t.id > :afterId ORDER BY t.id")
+    List<TransactionDeadlineDTO> findPaymentDeadlines(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 구매 확정 기한이 남아 있는 거래 (배송 등록된 결제 완료 거래, ID 기준 키셋 페이징)
+     */
+    @Query("SELECT new org.dsa11.team1.kumarketto.domain.dto.TransactionDeadlineDTO(t.id, s.confirmDueDate) " +
+            "FROM Transaction t JOIN t.shipment s " +
+            "WHERE t.status = 'PAID' AND s.confirmDueDate IS NOT NULL AND t.id > :afterId ORDER BY t.id")
+    List<TransactionDeadlineDTO> findConfirmDeadlines(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 결제 기한이 지난 미결제 거래 만료 처리 (요청/승인 상태일 때만)
+     * @return  만료된 거래 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.status = 'EXPIRED' " +
+            "WHERE t.id = :id AND t.status IN ('PENDING', 'APPROVED') AND t.paymentDueDate <= :now")
+    int expireIfUnpaid(@Param("id") Long id, @Param("now") LocalDateTime now);
 
     // 특정 상품(pid)에 연결된 거래(Transaction)를 조회합니다.
     Optional<Transaction> findByProduct_Pid(Long pid);
 
-    // 사용자의 userNo와 거래 상태를 기준으로 거래 리스트를 조회(거래 확정 시간 내림차순으로 정렬)
-    List<Transaction> findByMember_UserNoAndStatusOrderByConfirmTimeDesc(Long userNo, TransactionStatus status);
-    @Query("SELECT new org.dsa11.team1.kumarketto.domain.dto.TransactionHistoryDTO(" +
-            "p.pid, p.name, p.price, p.imageUrl, pr.municipality.prefecture.prefName, pr.municipality.muniName, t.confirmTime, t.status) " +
-            "FROM Transaction t " +
-            "JOIN t.product p " +
-            "LEFT JOIN p.productRegions pr " + // LEFT JOIN으로 지역 정보가 없어도 조회되도록
-            "WHERE p.member.userNo = :userNo AND p.status = :status")
-    List<TransactionHistoryDTO> findTransactionHistoriesByUser(
-            @Param("userNo") Long userNo,
-            @Param("status") ProductStatus status);
+    /**
+     * 구매 완료 내역 한 페이지 (확정 시각, 거래 ID 기준 키셋 페이징, 최신순)
+     * 지역은 LEFT JOIN 한 번으로 함께 조회 (지역 정보가 없어도 조회되도록)
+     * @param userNo        구매자 회원 번호
+     * @param beforeTime    이전 페이지 마지막 항목의 확정 시각
+     * @param beforeId      이전 페이지 마지막 항목의 거래 ID
+     */
+    @Query("""
+    SELECT new org.dsa11.team1.kumarketto.domain.dto.MyPageItemDTO(
+        p.pid, p.name, p.price, p.imageUrl, pf.prefName, m.muniName, t.confirmTime, t.id
+    )
+    FROM Transaction t
+    JOIN t.product p
+    LEFT JOIN p.productRegions pr
+    LEFT JOIN pr.municipality m
+    LEFT JOIN m.prefecture pf
+    WHERE t.member.userNo = :userNo AND t.status = 'CONFIRMED'
+      AND (t.confirmTime < :beforeTime OR (t.confirmTime = :beforeTime AND t.id < :beforeId))
+    ORDER BY t.confirmTime DESC, t.id DESC
+    """)
+    List<MyPageItemDTO> findPurchasePage(@Param("userNo") Long userNo,
+                                         @Param("beforeTime") LocalDateTime beforeTime,
+                                         @Param("beforeId") Long beforeId,
+                                         Pageable pageable);
 
+    /**
+     * 판매 완료 내역 한 페이지 (확정 시각, 거래 ID 기준 키셋 페이징, 최신순)
+     * @param userNo        판매자 회원 번호
+     * @param beforeTime    이전 페이지 마지막 항목의 확정 시각
+     * @param beforeId      이전 페이지 마지막 항목의 거래 ID
+     */
+    @Query("""
+    SELECT new org.dsa11.team1.kumarketto.domain.dto.MyPageItemDTO(
+        p.pid, p.name, p.price, p.imageUrl, pf.prefName, m.muniName, t.confirmTime, t.id
+    )
+    FROM Transaction t
+    JOIN t.product p
+    LEFT JOIN p.productRegions pr
+    LEFT JOIN pr.municipality m
+    LEFT JOIN m.prefecture pf
+    WHERE p.member.userNo = :userNo AND t.status = 'CONFIRMED'
+      AND (t.confirmTime < :beforeTime OR (t.confirmTime = :beforeTime AND t.id < :beforeId))
+    ORDER BY t.confirmTime DESC, t.id DESC
+    """)
+    List<MyPageItemDTO> findSalesPage(@Param("userNo") Long userNo,
+                                      @Param("beforeTime") LocalDateTime beforeTime,
+                                      @Param("beforeId") Long beforeId,
+                                      Pageable pageable);
 
 
 
     /**
-     * 채팅방 ID를 통해 해당 채팅방의 상품과 연결된 모든 거래를 조회합니다.
-     * (보통 하나의 채팅방에는 하나의 거래만 연결됩니다.)
+     * 채팅방의 최신 거래 ID (transaction.chat_id 기준)
      * @param chatId 채팅방 ID
-     * @return 해당 채팅방과 연관된 거래 목록
+     * @return 거래 ID (없으면 null)
      */
-    @Query("SELECT t FROM Transaction t WHERE t.product.pid = " +
-            "(SELECT cr.product.pid FROM ChatRoom cr WHERE cr.chatId = :chatId) " +
-            "ORDER BY t.requestTime DESC")
-    List<Transaction> findTransactionsByChatId(@Param("chatId") Long chatId);
+    @Query("SELECT MAX(t.id) FROM Transaction t WHERE t.chatId = :chatId")
+    Long findLatestIdByChatId(@Param("chatId") Long chatId);
 
     /**
-     * 채팅방 ID로 가장 최신 거래 1건만 조회합니다.
-     * @param chatId 채팅방 ID
-     * @return Optional<Transaction>
+     * 거래 채팅방 ID 저장 (비어 있을 때만)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.chatId = :chatId WHERE t.id = :id AND t.chatId IS NULL")
+    int assignChatId(@Param("id") Long id, @Param("chatId") Long chatId);
+
+    /**
+     * 채팅방 ID 가 비어 있는 거래를 같은 상품에 구매자가 참여한 채팅방으로 채움
+     * 채울 채팅방이 있는 행만 갱신하므로 채팅방이 없는 거래는 시작할 때마다 다시 쓰지 않음
+     * @return  채워진 거래 수
      */
-    default Optional<Transaction> findTransactionByChatId(Long chatId) {
-        return findTransactionsByChatId(chatId).stream().findFirst();
-    }
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    UPDATE Transaction t SET t.chatId = (
+        SELECT MAX(cr.chatId) FROM ChatParticipant cp JOIN cp.chatRoom cr
+        WHERE cr.product = t.product AND cp.memberEntity = t.member
+    )
+    WHERE t.chatId IS NULL
+      AND EXISTS (
+        SELECT 1 FROM ChatParticipant cp2 JOIN cp2.chatRoom cr2
+        WHERE cr2.product = t.product AND cp2.memberEntity = t.member
+      )
+    """)
+    int backfillChatIds();
 
 }
\ No newline at end of file
@@ -1,13 +1,16 @@
 package org.dsa11.team1.kumarketto.repository;
 
+import org.dsa11.team1.kumarketto.domain.dto.MyPageItemDTO;
 import org.dsa11.team1.kumarketto.domain.entity.MemberEntity;
 import org.dsa11.team1.kumarketto.domain.entity.Product;
 import org.dsa11.team1.kumarketto.domain.entity.WishList;
 import org.dsa11.team1.kumarketto.domain.entity.WishListId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,7 +38,29 @@ public interface WishListRepository extends JpaRepository<WishList, WishListId>
     // List<WishList> findByMember_UserNo(Long userNo);
 
 
-    // MemberEntity의 userNo로 WishList를 조회하고, modifiedDate를 기준으로 내림차순 정렬
-    List<WishList> findByMember_UserNoOrderByModifiedDateDesc(Long userNo);
+    /**
+     * 찜 목록 한 페이지 (찜한 시각, 상품 ID 기준 키셋 페이징, 최신순)
+     * 상품 엔티티 대신 목록에 필요한 값만 지역과 함께 한 번에 조회
+     * @param userNo        회원 번호
+     * @param beforeTime    이전 페이지 마지막 항목의 찜한 시각
+     * @param beforeId      이전 페이지 마지막 항목의 상품 ID
+     */
+    @Query("""
+    SELECT new org.dsa11.team1.kumarketto.domain.dto.MyPageItemDTO(
+        p.pid, p.name, p.price, p.imageUrl, pf.prefName, m.muniName, w.modifiedDate, p.pid
+    )
+    FROM WishList w
+    JOIN w.product p
+    LEFT JOIN p.productRegions pr
+    LEFT JOIN pr.municipality m
+    LEFT JOIN m.prefecture pf
+    WHERE w.member.userNo = :userNo
+      AND (w.modifiedDate < :beforeTime OR (w.modifiedDate = :beforeTime AND p.pid < :beforeId))
+    ORDER BY w.modifiedDate DESC, p.pid DESC
+    """)
+    List<MyPageItemDTO> findWishlistPage(@Param("userNo") Long userNo,
+                                         @Param("beforeTime") LocalDateTime beforeTime,
+                                         @Param("beforeId") Long beforeId,
+                                         Pageable pageable);
 
 }
@@ -0,0 +1,70 @@
+package org.dsa11.team1.kumarketto.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.domain.dto.ChatMessageSendDTO;
+import org.dsa11.team1.kumarketto.domain.enums.ChatStatus;
+import org.dsa11.team1.kumarketto.repository.ChatMessageRepository;
+import org.dsa11.team1.kumarketto.repository.ChatParticipantRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 오프라인 메시지 전달 관리
+ * 참여자별 전달 커서(last_delivered_message_id)를 DB에 저장하고,
+ * 재접속 시 커서 이후의 메시지를 페이지 단위로 조회
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ChatDeliveryService {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatParticipantRepository chatParticipantRepository;
+
+    /**
+     * 전달되지 않은 메시지 한 페이지 조회
+     * @param userNo            수신자 번호
+     * @param afterMessageId    이전 페이지의 마지막 메시지 ID (첫 페이지는 0)
+     * @param limit             페이지 크기
+     * @return  메시지 ID 오름차순 목록
+     */
+    @Transactional(readOnly = true)
+    public List<ChatMessageSendDTO> getUndeliveredMessages(Long userNo, Long afterMessageId, int limit) {
+        return chatMessageRepository.findUndeliveredMessages(userNo, afterMessageId, ChatStatus.ACTIVE, PageRequest.of(0, limit))
+                .stream()
+                .map(ChatMessageSendDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * 마지막 세션 종료 시 접속 중 실시간으로 받은 메시지까지 전달 커서 이동
+     * 접속 전 메시지가 아직 전달되지 않은 채팅방은 커서를 그대로 둠 (다음 접속 때 다시 전달)
+     * @param userNo        사용자 번호
+     * @param connectedAt   종료된 세션의 연결 시각
+     */
+    public void markLiveDelivered(Long userNo, LocalDateTime connectedAt) {
+        int updated = chatParticipantRepository.advanceLiveDeliveryCursors(userNo, ChatStatus.ACTIVE, connectedAt);
+        log.debug("Advanced {} delivery cursors for userNo={} (live)", updated, userNo);
+    }
+
+    /**
+     * 따라잡기에서 실제로 보낸 메시지까지만 채팅방별 전달 커서 이동
+     * 배치 저장기 대기열에 남아 아직 DB에 없던 메시지나 상한을 넘어 보내지 못한 메시지는
+     * 커서 뒤에 남으므로 다음 접속 때 다시 전달됨
+     * @param userNo            사용자 번호
+     * @param lastSentByChat    채팅방 ID → 보낸 마지막 메시지 ID
+     */
+    public void markDelivered(Long userNo, Map<Long, Long> lastSentByChat) {
+        lastSentByChat.forEach((chatId, messageId) ->
+                chatParticipantRepository.advanceDeliveryCursor(chatId, userNo, messageId));
+        log.debug("Advanced {} delivery cursors for userNo={}", lastSentByChat.size(), userNo);
+    }
+
+}
@@ -0,0 +1,416 @@
+package org.dsa11.team1.kumarketto.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.domain.dto.ChatMessageDTO;
+import org.dsa11.team1.kumarketto.domain.dto.ChatMessageSendDTO;
+import org.dsa11.team1.kumarketto.domain.entity.ChatRoom;
+import org.dsa11.team1.kumarketto.domain.enums.MessageType;
+import org.dsa11.team1.kumarketto.domain.enums.TransactionStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * 채팅 메시지 비동기 저장
+ * 순번을 발급한 메시지는 바로 전송하고, DB 저장은 전용 스레드가 여러 채팅방의 메시지를 모아 한 번에 처리
+ * 저장이 끝나면 콜백으로 보낸 사람에게 ACK 를 보내며, ACK 를 받지 못한 메시지는 클라이언트가 재전송
+ * (이미 저장된 client_message_id 는 다시 저장하지 않고 저장된 메시지로 ACK)
+ * 실제로 저장된 행만 ACK 하고 채팅방 마지막 순번/보낸 사람 읽음 커서에 반영
+ */
+@Slf4j
+@Service
+public class ChatMessageBatchWriter {
+
+    private static final String INSERT_MESSAGE_SQL =
+            "INSERT INTO chat_message " +
+            "(chat_id, user_no, content, image_url, message_type, created_date, is_read, room_seq, client_message_id, " +
+            "payload, visible_to, active_status) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 이미 저장된 재전송 메시지 조회 (client_message_id 는 보낸 사람별로 유일)
+    private static final String FIND_STORED_SQL =
+            "SELECT message_id, user_no, client_message_id, room_seq FROM chat_message WHERE client_message_id IN (%s)";
+
+    // 채팅방 마지막 메시지 요약 (순번이 더 큰 메시지만 반영)
+    private static final String UPDATE_LAST_MESSAGE_SQL =
+            "UPDATE chat_room SET last_message_id = ?, last_message_type = ?, last_message_preview = ?, " +
+            "last_message_at = ?, last_message_seq = ? " +
+            "WHERE chat_id = ? AND (last_message_seq IS NULL OR last_message_seq < ?)";
+
+    // 보낸 사람의 읽음 커서 이동 (자기가 보낸 메시지는 읽은 것으로 봄)
+    private static final String ADVANCE_READ_CURSOR_SQL =
+            "UPDATE chat_participant SET last_read_seq = ?, " +
+            "last_read_message_id = COALESCE((SELECT r.last_message_id FROM chat_room r WHERE r.chat_id = ?), last_read_message_id) " +
+            "WHERE chat_id = ? AND user_no = ? AND (last_read_seq IS NULL OR last_read_seq < ?)";
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ChatMessageSequencer chatMessageSequencer;
+    private final ObjectMapper objectMapper;
+
+    private final BlockingQueue<PendingMessage> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long retryBackoffMs;
+    private final long persistTimeoutMs;
+    private final ExecutorService writerThread;
+    private volatile boolean running = true;
+
+    public ChatMessageBatchWriter(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ChatMessageSequencer chatMessageSequencer,
+                                  ObjectMapper objectMapper,
+                                  @Value("${chat.writer.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${chat.writer.batch-size:200}") int batchSize,
+                                  @Value("${chat.writer.flush-interval-ms:20}") long flushIntervalMs,
+                                  @Value("${chat.writer.retry-backoff-ms:500}") long retryBackoffMs,
+                                  @Value("${chat.writer.persist-timeout-ms:10000}") long persistTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chatMessageSequencer = chatMessageSequencer;
+        this.objectMapper = objectMapper;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.retryBackoffMs = retryBackoffMs;
+        this.persistTimeoutMs = persistTimeoutMs;
+        this.writerThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-message-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        writerThread.execute(this::writeLoop);
+    }
+
+    /**
+     * 메시지 저장 요청
+     * 채팅방 순번을 발급하고 저장 대기열에 넣은 뒤, 바로 전송할 수 있는 DTO 를 반환
+     * @param chatMessageDTO    보낸 사람 정보가 채워진 메시지
+     * @param onPersisted       DB 저장이 끝난 뒤 호출할 콜백 (ACK 전송, 저장되지 않은 메시지는 호출하지 않음)
+     * @return  전송용 DTO (messageId 는 아직 없음, 저장 스레드와 공유하지 않는 복사본)
+     */
+    public ChatMessageSendDTO submit(ChatMessageDTO chatMessageDTO, Consumer<ChatMessageSendDTO> onPersisted) throws InterruptedException {
+        PendingMessage pending = enqueue(chatMessageDTO);
+        pending.getResult().whenComplete((persisted, error) -> {
+            if (error != null) {
+                return; // ACK 를 보내지 않으므로 클라이언트가 재전송할 수 있음
+            }
+            try {
+                onPersisted.accept(persisted);
+            } catch (Exception e) {
+                log.warn("Failed to acknowledge chat message: chatId={} roomSeq={}",
+                        persisted.getChatId(), persisted.getRoomSeq(), e);
+            }
+        });
+        return pending.getMessage().toBuilder().build();
+    }
+
+    /**
+     * 메시지를 저장하고 저장이 끝날 때까지 대기 (서버에서 만드는 시스템 메시지용)
+     * 사용자 메시지와 같은 순번 발급/대기열을 거치므로 저장 순서가 순번 순서와 같음
+     * clientMessageId 가 이미 저장되어 있으면 새로 저장하지 않고 저장된 메시지를 반환 (재시도해도 한 건)
+     * @return  저장된 메시지 (messageId 포함)
+     * @throws IllegalStateException    저장에 실패했거나 제한 시간 안에 끝나지 않은 경우
+     */
+    public ChatMessageSendDTO persist(ChatMessageDTO chatMessageDTO) throws InterruptedException {
+        PendingMessage pending = enqueue(chatMessageDTO);
+        try {
+            return pending.getResult().get(persistTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to persist chat message: chatId=" + chatMessageDTO.getChatId(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out persisting chat message: chatId=" + chatMessageDTO.getChatId(), e);
+        }
+    }
+
+    private PendingMessage enqueue(ChatMessageDTO chatMessageDTO) throws InterruptedException {
+        boolean isImage = chatMessageDTO.getImageUrl() != null && !chatMessageDTO.getImageUrl().isEmpty();
+        MessageType messageType = isImage ? MessageType.IMAGE
+                : chatMessageDTO.getMessageType() != null ? chatMessageDTO.getMessageType() : MessageType.TEXT;
+
+        ChatMessageSendDTO.ChatMessageSendDTOBuilder message = ChatMessageSendDTO.builder()
+                .chatId(chatMessageDTO.getChatId())
+                .senderId(chatMessageDTO.getSenderId())
+                .content(isImage ? "사진" : chatMessageDTO.getContent())
+                .imageUrl(chatMessageDTO.getImageUrl())
+                .messageType(messageType)
+                .createdDate(chatMessageDTO.getCreatedDate() != null ? chatMessageDTO.getCreatedDate() : LocalDateTime.now())
+                .isRead(false)
+                .clientMessageId(chatMessageDTO.getClientMessageId());
+        String payloadJson = encodePayload(chatMessageDTO);
+
+        // 같은 방의 순번 발급과 대기열 등록을 묶어서 DB 저장 순서가 순번 순서와 같도록 함
+        // 대기열에 넣은 뒤에는 메시지를 바꾸지 않음 (ACK 는 저장 결과로 새로 만듦)
+        return chatMessageSequencer.withNext(chatMessageDTO.getChatId(), seq -> {
+            PendingMessage pending = new PendingMessage(chatMessageDTO.getSenderNo(), message.roomSeq(seq).build(),
+                    payloadJson, chatMessageDTO.getVisibleTo(), messageType.getActiveStatus());
+            // 대기열이 가득 차면 여기서 대기 (DB가 느릴 때 수신 속도를 늦춤)
+            queue.put(pending);
+            return pending;
+        });
+    }
+
+    private String encodePayload(ChatMessageDTO chatMessageDTO) {
+        if (chatMessageDTO.getPayload() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(chatMessageDTO.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid system message payload", e);
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in chat message writer", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 배치 저장 (일시적인 실패는 재시도, 데이터 오류나 계속 실패하면 한 건씩 저장하여 문제 메시지만 제외)
+     */
+    void flush(List<PendingMessage> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                complete(write(batch));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // 외래 키/NOT NULL/길이 위반 등은 다시 시도해도 같으므로 바로 한 건씩 저장
+                log.warn("Chat message batch of {} rejected by the database, retrying one by one", batch.size(), e);
+                break;
+            } catch (Exception e) {
+                log.warn("Failed to persist {} chat messages (attempt {}/{})", batch.size(), attempt, MAX_ATTEMPTS, e);
+                Thread.sleep(retryBackoffMs * attempt);
+            }
+        }
+
+        for (PendingMessage pending : batch) {
+            try {
+                complete(write(List.of(pending)));
+            } catch (Exception e) {
+                log.error("Dropping chat message that could not be persisted: chatId={} roomSeq={}",
+                        pending.getMessage().getChatId(), pending.getMessage().getRoomSeq(), e);
+                pending.getResult().completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * 한 트랜잭션으로 저장
+     * 이미 저장된 재전송 메시지는 저장된 값으로 채우고, 새 메시지는 INSERT 후 생성된 ID 를 채움
+     * @return  저장 결과 (커밋 후 complete 로 콜백 실행)
+     */
+    private List<Persisted> write(List<PendingMessage> batch) {
+        return transactionTemplate.execute(status -> {
+            Map<String, long[]> stored = findStored(batch);
+            List<Persisted> results = new ArrayList<>(batch.size());
+            List<PendingMessage> toInsert = new ArrayList<>(batch.size());
+            for (PendingMessage pending : batch) {
+                long[] existing = stored.get(storedKey(pending.getSenderNo(), pending.getMessage().getClientMessageId()));
+                if (existing != null) {
+                    // 재전송된 메시지: 새로 발급한 순번은 쓰지 않고 저장된 메시지로 ACK
+                    results.add(new Persisted(pending, existing[0], existing[1]));
+                } else {
+                    toInsert.add(pending);
+                }
+            }
+            if (toInsert.isEmpty()) {
+                return results;
+            }
+
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            int[] counts = jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_MESSAGE_SQL, new String[]{"message_id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            PendingMessage pending = toInsert.get(i);
+                            ChatMessageSendDTO message = pending.getMessage();
+                            ps.setLong(1, message.getChatId());
+                            ps.setLong(2, pending.getSenderNo());
+                            ps.setString(3, message.getContent());
+                            ps.setString(4, message.getImageUrl());
+                            ps.setString(5, message.getMessageType().name());
+                            ps.setTimestamp(6, Timestamp.valueOf(message.getCreatedDate()));
+                            ps.setBoolean(7, false);
+                            ps.setLong(8, message.getRoomSeq());
+                            ps.setString(9, message.getClientMessageId());
+                            ps.setString(10, pending.getPayloadJson());
+                            ps.setString(11, pending.getVisibleTo());
+                            ps.setString(12, pending.getActiveStatus() != null ? pending.getActiveStatus().name() : null);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return toInsert.size();
+                        }
+                    },
+                    keyHolder);
+
+            // 드라이버가 건별 결과를 알려 주지 않는 경우(SUCCESS_NO_INFO)는 예외가 없었으므로 저장된 것으로 봄
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            if (keys.size() != toInsert.size()) {
+                throw new IllegalStateException("Generated keys mismatch: expected " + toInsert.size() + ", got " + keys.size());
+            }
+            List<Persisted> inserted = new ArrayList<>(toInsert.size());
+            for (int i = 0; i < toInsert.size(); i++) {
+                if (counts[i] == 0) {
+                    throw new IllegalStateException("Chat message was not inserted: roomSeq=" + toInsert.get(i).getMessage().getRoomSeq());
+                }
+                long messageId = ((Number) keys.get(i).values().iterator().next()).longValue();
+                inserted.add(new Persisted(toInsert.get(i), messageId, toInsert.get(i).getMessage().getRoomSeq()));
+            }
+
+            updateRoomSummaries(inserted);
+            results.addAll(inserted);
+            return results;
+        });
+    }
+
+    // 배치 안의 client_message_id 중 이미 저장된 메시지 (보낸 사람 번호 + client_message_id → [message_id, room_seq])
+    private Map<String, long[]> findStored(List<PendingMessage> batch) {
+        List<String> clientMessageIds = batch.stream()
+                .map(pending -> pending.getMessage().getClientMessageId())
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (clientMessageIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, long[]> stored = new HashMap<>();
+        String sql = String.format(FIND_STORED_SQL, String.join(",", Collections.nCopies(clientMessageIds.size(), "?")));
+        jdbcTemplate.query(sql, rs -> {
+            stored.put(storedKey(rs.getLong("user_no"), rs.getString("client_message_id")),
+                    new long[]{rs.getLong("message_id"), rs.getLong("room_seq")});
+        }, clientMessageIds.toArray());
+        return stored;
+    }
+
+    private static String storedKey(Long senderNo, String clientMessageId) {
+        return senderNo + ":" + clientMessageId;
+    }
+
+    // 실제로 저장된 메시지만 채팅방 마지막 메시지와 보낸 사람 읽음 커서에 반영
+    private void updateRoomSummaries(List<Persisted> inserted) {
+        Map<Long, Persisted> lastByRoom = new HashMap<>();
+        Map<Long, Map<Long, Long>> lastSeqBySenderByRoom = new HashMap<>();
+        for (Persisted persisted : inserted) {
+            Long chatId = persisted.getPending().getMessage().getChatId();
+            lastByRoom.merge(chatId, persisted, (a, b) -> a.getRoomSeq() > b.getRoomSeq() ? a : b);
+            lastSeqBySenderByRoom.computeIfAbsent(chatId, k -> new HashMap<>())
+                    .merge(persisted.getPending().getSenderNo(), persisted.getRoomSeq(), Math::max);
+        }
+
+        List<Object[]> lastMessages = new ArrayList<>();
+        lastByRoom.forEach((chatId, persisted) -> {
+            ChatMessageSendDTO message = persisted.getPending().getMessage();
+            lastMessages.add(new Object[]{persisted.getMessageId(), message.getMessageType().name(),
+                    ChatRoom.previewOf(message.getMessageType(), message.getContent()),
+                    Timestamp.valueOf(message.getCreatedDate()), persisted.getRoomSeq(), chatId, persisted.getRoomSeq()});
+        });
+        jdbcTemplate.batchUpdate(UPDATE_LAST_MESSAGE_SQL, lastMessages);
+
+        List<Object[]> readCursors = new ArrayList<>();
+        lastSeqBySenderByRoom.forEach((chatId, lastSeqBySender) ->
+                lastSeqBySender.forEach((senderNo, seq) -> readCursors.add(new Object[]{seq, chatId, chatId, senderNo, seq})));
+        jdbcTemplate.batchUpdate(ADVANCE_READ_CURSOR_SQL, readCursors);
+    }
+
+    // 커밋된 메시지의 저장된 ID/순번으로 ACK 용 DTO 를 새로 만들어 기다리는 쪽(ACK, 시스템 메시지 전송)에 알림
+    private void complete(List<Persisted> results) {
+        for (Persisted persisted : results) {
+            ChatMessageSendDTO ack = persisted.getPending().getMessage().toBuilder()
+                    .messageId(persisted.getMessageId())
+                    .roomSeq(persisted.getRoomSeq())
+                    .build();
+            persisted.getPending().getResult().complete(ack);
+        }
+    }
+
+    /**
+     * 종료 시 대기열에 남은 메시지를 모두 저장한 뒤 스레드 종료
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writerThread.shutdown();
+        if (!writerThread.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Chat message writer did not finish, {} messages left unsaved", queue.size());
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class PendingMessage {
+        private final Long senderNo;
+        private final ChatMessageSendDTO message;
+        private final String payloadJson; // 시스템 메시지 내용 (일반 메시지는 null)
+        private final String visibleTo;
+        private final TransactionStatus activeStatus;
+        private final CompletableFuture<ChatMessageSendDTO> result = new CompletableFuture<>();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Persisted {
+        private final PendingMessage pending;
+        private final long messageId;
+        private final long roomSeq;
+    }
+
+}
@@ -0,0 +1,187 @@
+package org.dsa11.team1.kumarketto.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방별 메시지 순번 발급
+ * chat_room.last_issued_seq 를 UPDATE 로 블록 크기만큼 올려 순번 구간을 예약하고(hi-lo), 구간 안에서는 메모리에서 발급
+ * DB 왕복은 블록 크기만큼 발급할 때 한 번이고, 여러 서버가 같은 순번을 주지 않음
+ * (처음 예약할 때는 저장된 메시지의 최대 순번에서 이어서 예약)
+ * 여러 서버가 같은 방에 동시에 발급하면 순번은 겹치지 않지만 블록 단위로 섞이므로 그때는 chat.seq.block-size=1 로 운영
+ */
+@Slf4j
+@Component
+public class ChatMessageSequencer {
+
+    // 행 잠금을 잡은 채로 블록 크기만큼 올린 뒤 같은 트랜잭션에서 읽음
+    private static final String RESERVE_SQL =
+            "UPDATE chat_room SET last_issued_seq = COALESCE(last_issued_seq, " +
+            "(SELECT COALESCE(MAX(m.room_seq), 0) FROM chat_message m WHERE m.chat_id = ?)) + ? " +
+            "WHERE chat_id = ?";
+
+    private static final String SELECT_SQL = "SELECT last_issued_seq FROM chat_room WHERE chat_id = ?";
+
+    // 쓰지 않은 나머지 반납 (그 뒤로 다른 서버가 예약하지 않았을 때만)
+    private static final String RELEASE_SQL =
+            "UPDATE chat_room SET last_issued_seq = ? WHERE chat_id = ? AND last_issued_seq = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final long idleEvictMs;
+
+    // Key: 채팅방 ID, Value: 예약한 순번 구간 (순번 발급과 저장 대기열 등록을 묶는 잠금 객체로도 사용)
+    private final Map<Long, SeqBlock> blocks = new ConcurrentHashMap<>();
+
+    public ChatMessageSequencer(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${chat.seq.block-size:100}") int blockSize,
+                                @Value("${chat.seq.idle-evict-ms:600000}") long idleEvictMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 호출하는 쪽의 트랜잭션과 분리하여 행 잠금을 바로 풀어 줌
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, blockSize);
+        this.idleEvictMs = idleEvictMs;
+    }
+
+    /**
+     * 다음 순번 발급
+     * @throws IllegalArgumentException 채팅방이 없을 때
+     */
+    public long next(Long chatId) {
+        while (true) {
+            SeqBlock block = blocks.computeIfAbsent(chatId, SeqBlock::new);
+            synchronized (block) {
+                if (!block.retired) {
+                    return issue(block);
+                }
+            }
+        }
+    }
+
+    /**
+     * 다음 순번을 발급하고 같은 잠금 안에서 whileLocked 실행
+     * 같은 서버 안에서 저장 순서를 순번 순서와 맞추려면 여기서 저장 대기열에 넣어야 함
+     * @return  whileLocked 의 반환값
+     * @throws IllegalArgumentException 채팅방이 없을 때
+     */
+    <T> T withNext(Long chatId, SeqFunction<T> whileLocked) throws InterruptedException {
+        while (true) {
+            SeqBlock block = blocks.computeIfAbsent(chatId, SeqBlock::new);
+            synchronized (block) {
+                if (!block.retired) {
+                    return whileLocked.apply(issue(block));
+                }
+            }
+        }
+    }
+
+    // 블록 잠금을 잡은 채로 호출
+    private long issue(SeqBlock block) {
+        if (block.next > block.limit) {
+            try {
+                reserve(block);
+            } catch (RuntimeException e) {
+                // 없는 채팅방 등은 구간 없이 남지 않도록 바로 정리
+                block.retired = true;
+                blocks.remove(block.chatId, block);
+                throw e;
+            }
+        }
+        block.lastUsedAt = System.currentTimeMillis();
+        return block.next++;
+    }
+
+    private void reserve(SeqBlock block) {
+        Long limit = transactionTemplate.execute(status -> {
+            if (jdbcTemplate.update(RESERVE_SQL, block.chatId, blockSize, block.chatId) == 0) {
+                return null;
+            }
+            return jdbcTemplate.queryForObject(SELECT_SQL, Long.class, block.chatId);
+        });
+        if (limit == null) {
+            throw new IllegalArgumentException("Chat room not found: " + block.chatId);
+        }
+        block.next = limit - blockSize + 1;
+        block.limit = limit;
+    }
+
+    /**
+     * 한동안 발급하지 않은 채팅방의 구간을 반납하고 메모리에서 제거
+     */
+    @Scheduled(fixedDelayString = "${chat.seq.evict-interval-ms:60000}")
+    public void evictIdleBlocks() {
+        long now = System.currentTimeMillis();
+        for (SeqBlock block : blocks.values()) {
+            synchronized (block) {
+                if (!block.retired && now - block.lastUsedAt >= idleEvictMs) {
+                    retire(block);
+                }
+            }
+        }
+    }
+
+    /**
+     * 종료 시 모든 채팅방의 남은 구간 반납
+     */
+    @PreDestroy
+    public void releaseAll() {
+        for (SeqBlock block : blocks.values()) {
+            synchronized (block) {
+                if (!block.retired) {
+                    retire(block);
+                }
+            }
+        }
+    }
+
+    // 블록 잠금을 잡은 채로 호출
+    private void retire(SeqBlock block) {
+        block.retired = true;
+        blocks.remove(block.chatId, block);
+        if (block.next > block.limit) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(RELEASE_SQL, block.next - 1, block.chatId, block.limit);
+        } catch (Exception e) {
+            // 반납하지 못한 순번은 건너뛰게 될 뿐이므로 경고만 남김
+            log.warn("Failed to release unused chat seqs: chatId={} from={} to={}", block.chatId, block.next, block.limit, e);
+        }
+    }
+
+    int cachedRoomCount() {
+        return blocks.size();
+    }
+
+    @FunctionalInterface
+    interface SeqFunction<T> {
+        T apply(long seq) throws InterruptedException;
+    }
+
+    // 채팅방 하나의 예약 구간 [next, limit] (필드는 이 객체로 동기화한 채로만 접근)
+    private static class SeqBlock {
+        private final Long chatId;
+        private long next = 1;
+        private long limit = 0;
+        private long lastUsedAt = System.currentTimeMillis();
+        private boolean retired;
+
+        private SeqBlock(Long chatId) {
+            this.chatId = chatId;
+        }
+    }
+
+}
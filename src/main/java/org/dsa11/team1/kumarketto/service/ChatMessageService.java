@@ -5,15 +5,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dsa11.team1.kumarketto.domain.dto.ChatMessageDTO;
+import org.dsa11.team1.kumarketto.domain.dto.ChatMessagePageDTO;
 import org.dsa11.team1.kumarketto.domain.dto.ChatMessageSendDTO;
 import org.dsa11.team1.kumarketto.domain.entity.*;
-import org.dsa11.team1.kumarketto.domain.enums.ChatStatus;
 import org.dsa11.team1.kumarketto.domain.enums.MessageType;
 import org.dsa11.team1.kumarketto.domain.enums.TransactionStatus;
 import org.dsa11.team1.kumarketto.repository.ChatMessageRepository;
+import org.dsa11.team1.kumarketto.repository.ChatParticipantRepository;
 import org.dsa11.team1.kumarketto.repository.ChatRoomRepository;
 import org.dsa11.team1.kumarketto.repository.MemberRepository;
 import org.dsa11.team1.kumarketto.repository.TransactionRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,127 +31,57 @@ public class ChatMessageService {
 
     private final ChatMessageRepository chatMessageRepository;
     private final ChatRoomRepository chatRoomRepository;
+    private final ChatParticipantRepository chatParticipantRepository;
     private final MemberRepository memberRepository;
     private final ObjectMapper objectMapper;
     private final TransactionRepository transactionRepository;
-
-    public ChatMessage saveMessage(ChatMessageDTO chatMessageDTO) {
-        ChatRoom chatRoom = chatRoomRepository.findById(chatMessageDTO.getChatId())
-                .orElseThrow(() -> new IllegalArgumentException("ChatRoom not found: " + chatMessageDTO.getChatId()));
-        MemberEntity memberEntity = memberRepository.findByUserId(chatMessageDTO.getSenderId())
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + chatMessageDTO.getSenderId()));
-
-        ChatMessage chatMessage = ChatMessage.builder()
-                .chatRoom(chatRoom)
-                .sender(memberEntity)
-                .content(chatMessageDTO.getContent())
-                .imageUrl(chatMessageDTO.getImageUrl())
-                .messageType(chatMessageDTO.getMessageType())
-                .createdDate(chatMessageDTO.getCreatedDate())
-                .build();
-
-        chatRoom.setLastMessageAt(chatMessage.getCreatedDate());
-        return chatMessageRepository.save(chatMessage);
-    }
-
-    public Set<ChatParticipant> getActiveParticipants(Long chatId) {
-        ChatRoom chatRoom = chatRoomRepository.findByIdWithParticipantsAndMembers(chatId)
-                .orElseThrow(() -> new NoSuchElementException("ChatRoom not found" + chatId));
-        return chatRoom.getParticipants().stream()
-                .filter(participant -> participant.getChatStatus() == ChatStatus.ACTIVE)
-                .collect(Collectors.toSet());
-    }
+    private final TransactionChatService transactionChatService;
 
     // ===================================================================================
     //
     // ===================================================================================
+    /**
+     * 채팅방 메시지 기록 한 페이지 조회 (키셋 페이징)
+     * @param chatId        채팅방 ID
+     * @param currentUserId 현재 사용자 ID (시스템 메시지 표시 여부 판단)
+     * @param before        이 메시지 ID 보다 오래된 메시지만 조회 (null 이면 최신 페이지)
+     * @param limit         페이지 크기
+     * @return  메시지 페이지 (시간 오름차순)
+     */
     @Transactional(readOnly = true)
-    public List<ChatMessageSendDTO> getMessagesByChatId(Long chatId, String currentUserId) {
-        List<ChatMessage> allMessages = chatMessageRepository.findByChatRoom_ChatIdOrderByCreatedDateAsc(chatId);
+    public ChatMessagePageDTO getMessagesByChatId(Long chatId, String currentUserId, Long before, int limit) {
+        // 한 건 더 조회하여 이전 페이지가 있는지 확인합니다.
+        List<ChatMessage> page = chatMessageRepository.findPageByChatIdBefore(
+                chatId, before != null ? before : Long.MAX_VALUE, PageRequest.of(0, limit + 1));
+        boolean hasMore = page.size() > limit;
+        if (hasMore) {
+            page = page.subList(0, limit);
+        }
+        Long nextBeforeMessageId = page.isEmpty() ? null : page.get(page.size() - 1).getMessageId();
+
         List<ChatMessageSendDTO> filteredMessages = new ArrayList<>();
 
-        // 채팅방에 연결된 거래 정보를 미리 한 번만 조회 (성능 개선)
-        Transaction mainTransaction = transactionRepository.findTransactionByChatId(chatId).orElse(null);
+        // 채팅방에 연결된 거래 정보를 미리 한 번만 조회 (채팅방 → 거래 ID 는 캐시)
+        Long transactionId = transactionChatService.getTransactionId(chatId);
+        Transaction mainTransaction = transactionId != null
+                ? transactionRepository.findById(transactionId).orElse(null)
+                : null;
 
-        for (ChatMessage message : allMessages) {
-            ChatMessageSendDTO dtoToShow = null;
-            MessageType type = message.getMessageType();
+        // 내가 보낸 메시지의 읽음 여부는 상대방 읽음 커서로 판단
+        long othersReadSeq = chatParticipantRepository.findOthersReadSeq(chatId, currentUserId);
 
-            // 1. 일반 메시지(TEXT, IMAGE)는 항상 포함
-            if (type == MessageType.TEXT || type == MessageType.IMAGE) {
-                dtoToShow = ChatMessageSendDTO.fromEntity(message);
-            }
-            // 2. 시스템 메시지는 최신 거래 상태를 확인하여 동적으로 변환
-            else if (mainTransaction != null) {
-                TransactionStatus currentStatus = mainTransaction.getStatus();
-                String buyerId = mainTransaction.getMember().getUserId();
-                String sellerId = mainTransaction.getProduct().getMember().getUserId();
-
-                try {
-                    switch (type) {
-                        case TRANSACTION_REQUEST:
-                            // PENDING 상태일 때만 판매자에게 버튼을 보여줌
-                            if (currentStatus == TransactionStatus.PENDING && currentUserId.equals(sellerId)) {
-                                dtoToShow = ChatMessageSendDTO.fromEntity(message);
-                            }
-                            // 상태가 바뀌었다면, 버튼 대신 '상태 텍스트'로 변환하여 보여줌
-                            else if (currentStatus == TransactionStatus.APPROVED) {
-                                dtoToShow = createSystemTextView("판매자가 거래를 승인했습니다.", message.getCreatedDate().plusNanos(1));
-                            } else if (currentStatus == TransactionStatus.REJECTED) {
-                                dtoToShow = createSystemTextView("판매자가 거래를 거절했습니다.", message.getCreatedDate().plusNanos(1));
-                            }
-                            break;
-
-                        case TRANSACTION_TYPE_SELECT:
-                        case PAYMENT_METHOD_SELECT:
-                            // APPROVED 상태일 때만 구매자에게 버튼을 보여줌
-                            if (currentStatus == TransactionStatus.APPROVED && currentUserId.equals(buyerId)) {
-                                dtoToShow = ChatMessageSendDTO.fromEntity(message);
-                            }
-                            break;
-
-                        case SHIPPING_INFO_REQUEST:
-                            if (currentStatus == TransactionStatus.PAID && currentUserId.equals(sellerId)) {
-                                dtoToShow = ChatMessageSendDTO.fromEntity(message);
-                            }
-                            break;
-
-                        case CASH_PAYMENT_SELECTED:
-                            if (currentStatus == TransactionStatus.PAID && currentUserId.equals(sellerId)) {
-                                dtoToShow = ChatMessageSendDTO.fromEntity(message);
-                            }
-                            break;
-
-                        case ITEM_RECEIVED_CHECK:
-                            if(currentStatus == TransactionStatus.PAID && currentUserId.equals(buyerId)){
-                                dtoToShow = ChatMessageSendDTO.fromEntity(message);
-                            }
-                            break;
-
-                        case PURCHASE_CONFIRM_REQUEST:
-                            if (currentStatus == TransactionStatus.PAID && currentUserId.equals(buyerId)) {
-                                dtoToShow = ChatMessageSendDTO.fromEntity(message);
-                            }
-                            break;
-
-                        case REVIEW_REQUEST:
-                            // CONFIRMED 상태일 때만 리뷰 요청 버튼을 보여줌
-                            if (currentStatus == TransactionStatus.CONFIRMED) {
-                                dtoToShow = ChatMessageSendDTO.fromEntity(message);
-                            }
-                            break;
-                    }
-                } catch (Exception e) {
-                    log.error("Error processing system message: ", e);
-                }
-            }
+        for (ChatMessage message : page) {
+            ChatMessageSendDTO dtoToShow = toVisibleMessage(message, mainTransaction, currentUserId);
             if (dtoToShow != null) {
+                if (dtoToShow.getRoomSeq() != null && currentUserId.equals(dtoToShow.getSenderId())) {
+                    dtoToShow.setRead(dtoToShow.getRoomSeq() <= othersReadSeq);
+                }
                 filteredMessages.add(dtoToShow);
             }
         }
 
-        // 최종 상태를 알려주는 텍스트를 추가
-        if (mainTransaction != null) {
+        // 최종 상태를 알려주는 텍스트는 최신 페이지에만 추가
+        if (mainTransaction != null && before == null) {
             if (mainTransaction.getStatus() == TransactionStatus.PAID && mainTransaction.getPayment() != null) {
                 filteredMessages.add(createSystemTextView("결제가 완료되었습니다.", mainTransaction.getPayment().getPaymentTime()));
             } else if (mainTransaction.getStatus() == TransactionStatus.CONFIRMED) {
@@ -160,7 +92,44 @@ public class ChatMessageService {
         // 시간 순으로 최종 정렬 (nullsLast는 혹시 모를 timestamp null 값에 대비)
         filteredMessages.sort(Comparator.comparing(ChatMessageSendDTO::getCreatedDate, Comparator.nullsLast(Comparator.naturalOrder())));
 
-        return filteredMessages;
+        return ChatMessagePageDTO.builder()
+                .messages(filteredMessages)
+                .nextBeforeMessageId(nextBeforeMessageId)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * 현재 사용자에게 보여줄 메시지로 변환 (보여주지 않을 메시지는 null)
+     * 일반 메시지(TEXT, IMAGE)는 항상 포함하고, 시스템 메시지는 저장 시 정해 둔 볼 수 있는 사람(visible_to)과
+     * 버튼이 유효한 거래 상태(active_status)를 현재 거래 상태와 비교해 결정
+     */
+    private ChatMessageSendDTO toVisibleMessage(ChatMessage message, Transaction mainTransaction, String currentUserId) {
+        MessageType type = message.getMessageType();
+        if (!type.isSystem()) {
+            return ChatMessageSendDTO.fromEntity(message);
+        }
+        if (mainTransaction == null) {
+            return null;
+        }
+        TransactionStatus currentStatus = mainTransaction.getStatus();
+        TransactionStatus activeStatus = message.getActiveStatus() != null ? message.getActiveStatus() : type.getActiveStatus();
+
+        if (currentStatus == activeStatus && isVisibleTo(message, mainTransaction, currentUserId)) {
+            return ChatMessageSendDTO.fromEntity(message);
+        }
+        // 상태가 바뀌었다면, 버튼 대신 '상태 텍스트'로 변환하여 보여줌
+        String outcomeText = type.getOutcomeTexts().get(currentStatus);
+        return outcomeText != null ? createSystemTextView(outcomeText, message.getCreatedDate().plusNanos(1)) : null;
+    }
+
+    // payload 가 없는 예전 시스템 메시지는 메시지 종류의 역할로 볼 수 있는 사람을 계산
+    private boolean isVisibleTo(ChatMessage message, Transaction mainTransaction, String currentUserId) {
+        String visibleTo = message.getPayload() != null
+                ? message.getVisibleTo()
+                : message.getMessageType().getAudience().resolve(
+                        mainTransaction.getMember().getUserId(), mainTransaction.getProduct().getMember().getUserId());
+        return visibleTo == null || visibleTo.equals(currentUserId);
     }
 
     /**
@@ -179,29 +148,18 @@ public class ChatMessageService {
                 .build();
     }
 
+    /**
+     * 읽음 처리: 읽음 커서를 채팅방에 저장된 마지막 메시지 순번으로 이동 (참여자 한 행만 갱신)
+     * 저장 대기 중인 메시지는 아직 DB에 없으므로 포함하지 않음 (다른 노드에서도 같은 값)
+     * @return  이동한 커서 순번 (이미 읽은 상태면 null)
+     */
     @Transactional
-    public void markMessagesAsRead(Long chatId, Long recipientUserNo) {
-        chatMessageRepository.markAllAsReadByRecipient(chatId, recipientUserNo);
-    }
-
-    @Transactional
-    public ChatMessage saveImageMessage(ChatMessageDTO chatMessageDTO) {
-        ChatRoom chatRoom = chatRoomRepository.findById(chatMessageDTO.getChatId())
-                .orElseThrow(() -> new IllegalArgumentException("ChatRoom not found: " + chatMessageDTO.getChatId()));
-        MemberEntity sender = memberRepository.findByUserId(chatMessageDTO.getSenderId())
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + chatMessageDTO.getSenderId()));
-
-        ChatMessage chatMessage = ChatMessage.builder()
-                .chatRoom(chatRoom)
-                .sender(sender)
-                .content("사진")
-                .imageUrl(chatMessageDTO.getImageUrl())
-                .messageType(MessageType.IMAGE)
-                .createdDate(chatMessageDTO.getCreatedDate())
-                .isRead(false)
-                .build();
-
-        chatRoom.setLastMessageAt(chatMessage.getCreatedDate());
-        return chatMessageRepository.save(chatMessage);
+    public Long markMessagesAsRead(Long chatId, Long recipientUserNo) {
+        Long lastSeq = chatRoomRepository.findLastMessageSeq(chatId);
+        if (lastSeq == null) {
+            return null;
+        }
+        int updated = chatParticipantRepository.advanceReadCursor(chatId, recipientUserNo, lastSeq);
+        return updated > 0 ? lastSeq : null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,199 @@
+package org.dsa11.team1.kumarketto.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.util.HashedTimingWheel;
+import org.dsa11.team1.kumarketto.websocket.ChatMessageRouter;
+import org.dsa11.team1.kumarketto.websocket.OutboundFrame;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 채팅 접속 상태, 입력 중 표시 (DB 조회 없이 메모리에서 관리)
+ * 접속/종료 훅과 클라이언트 하트비트로 갱신하고, 만료는 타이밍 휠로 처리
+ * 입력 중 알림은 (채팅방, 사용자)별로 간격을 두고 보내며, 입력이 멈추면 typing=false 를 한 번 보냄
+ * 만료 작업은 참여자 조회(캐시에 없으면 DB)를 할 수 있으므로 틱 스레드가 아닌 작업 스레드에서 실행
+ */
+@Slf4j
+@Service
+public class ChatPresenceService {
+
+    private final ChatRoomMemberService chatRoomMemberService;
+    private final ChatMessageRouter messageRouter;
+    private final ObjectMapper objectMapper;
+    private final long heartbeatTimeoutMs;
+    private final long typingIntervalMs;
+    private final long typingTimeoutMs;
+    private final ExecutorService expiryPool;
+    private final HashedTimingWheel timingWheel;
+
+    // Key: 유저 아이디, Value: 이 노드에 연결된 세션 수
+    private final Map<String, Integer> sessionCounts = new ConcurrentHashMap<>();
+    // 하트비트가 살아 있는 사용자
+    private final Set<String> onlineUserIds = ConcurrentHashMap.newKeySet();
+    // Key: "채팅방 ID:유저 아이디", Value: 마지막으로 입력 중 알림을 보낸 시각
+    private final Map<String, Long> lastTypingSentAt = new ConcurrentHashMap<>();
+
+    public ChatPresenceService(ChatRoomMemberService chatRoomMemberService,
+                               ChatMessageRouter messageRouter,
+                               ObjectMapper objectMapper,
+                               @Value("${chat.presence.heartbeat-timeout-ms:60000}") long heartbeatTimeoutMs,
+                               @Value("${chat.presence.typing-interval-ms:400}") long typingIntervalMs,
+                               @Value("${chat.presence.typing-timeout-ms:3000}") long typingTimeoutMs,
+                               @Value("${chat.presence.tick-ms:100}") long tickMs,
+                               @Value("${chat.presence.expiry-threads:2}") int expiryThreads) {
+        this.chatRoomMemberService = chatRoomMemberService;
+        this.messageRouter = messageRouter;
+        this.objectMapper = objectMapper;
+        this.heartbeatTimeoutMs = heartbeatTimeoutMs;
+        this.typingIntervalMs = typingIntervalMs;
+        this.typingTimeoutMs = typingTimeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.expiryPool = Executors.newFixedThreadPool(Math.max(1, expiryThreads), runnable -> {
+            Thread thread = new Thread(runnable, "chat-presence-expiry-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timingWheel = new HashedTimingWheel("chat-presence-wheel", tickMs, 1024, expiryPool);
+    }
+
+    public void connected(String userId) {
+        sessionCounts.merge(userId, 1, Integer::sum);
+        touch(userId);
+    }
+
+    /**
+     * 세션 종료 (이 노드의 마지막 세션이면 바로 오프라인)
+     */
+    public void disconnected(String userId) {
+        Integer remaining = sessionCounts.computeIfPresent(userId, (key, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            onlineUserIds.remove(userId);
+            timingWheel.cancel(presenceKey(userId));
+        }
+    }
+
+    /**
+     * 클라이언트 하트비트 (메시지 전송도 하트비트로 봄)
+     */
+    public void heartbeat(String userId) {
+        if (sessionCounts.containsKey(userId)) {
+            touch(userId);
+        }
+    }
+
+    private void touch(String userId) {
+        // 예약을 먼저 갱신해야, 이미 꺼낸 이전 만료 작업이 새 예약을 보고 건너뜀
+        timingWheel.schedule(presenceKey(userId), heartbeatTimeoutMs, () -> {
+            if (timingWheel.isScheduled(presenceKey(userId))) {
+                return;
+            }
+            onlineUserIds.remove(userId);
+            log.debug("Presence expired: userId={}", userId);
+        });
+        onlineUserIds.add(userId);
+    }
+
+    public boolean isOnline(String userId) {
+        return onlineUserIds.contains(userId);
+    }
+
+    /**
+     * 채팅방 참여자 중 접속 중인 사용자를 요청한 사용자에게 전송
+     * @param userId    요청한 사용자
+     * @param chatId    채팅방 ID
+     */
+    public void sendPresence(String userId, Long chatId) {
+        Set<String> members = chatRoomMemberService.getActiveUserIds(chatId);
+        if (!members.contains(userId)) {
+            return;
+        }
+        List<String> online = members.stream().filter(this::isOnline).toList();
+        send(List.of(userId), Map.of(
+                "type", "PRESENCE",
+                "chatId", chatId,
+                "onlineUserIds", online
+        ), "PRESENCE:" + chatId);
+    }
+
+    /**
+     * 입력 중 이벤트
+     * typingIntervalMs 안에 다시 온 이벤트는 보내지 않고 만료 시각만 연장
+     * @param chatId    채팅방 ID
+     * @param userId    입력 중인 사용자
+     */
+    public void typing(Long chatId, String userId) {
+        Set<String> members = chatRoomMemberService.getActiveUserIds(chatId);
+        if (!members.contains(userId)) {
+            return;
+        }
+        String key = chatId + ":" + userId;
+        long now = System.currentTimeMillis();
+        Long lastSentAt = lastTypingSentAt.get(key);
+        if (lastSentAt == null || now - lastSentAt >= typingIntervalMs) {
+            lastTypingSentAt.put(key, now);
+            sendTyping(chatId, userId, members, true);
+        }
+        timingWheel.schedule(typingKey(key), typingTimeoutMs, () -> {
+            // 만료 작업이 실행되기 전에 다시 입력하기 시작했으면 건너뜀
+            if (timingWheel.isScheduled(typingKey(key))) {
+                return;
+            }
+            lastTypingSentAt.remove(key);
+            sendTyping(chatId, userId, chatRoomMemberService.getActiveUserIds(chatId), false);
+        });
+    }
+
+    /**
+     * 메시지를 보내면 입력 중 상태 종료 (받는 쪽은 메시지를 받으면 표시를 지움)
+     */
+    public void stopTyping(Long chatId, String userId) {
+        String key = chatId + ":" + userId;
+        if (timingWheel.cancel(typingKey(key))) {
+            lastTypingSentAt.remove(key);
+        }
+    }
+
+    private void sendTyping(Long chatId, String userId, Set<String> members, boolean typing) {
+        List<String> recipients = members.stream().filter(id -> !id.equals(userId)).toList();
+        send(recipients, Map.of(
+                "type", "TYPING",
+                "chatId", chatId,
+                "userId", userId,
+                "typing", typing
+        ), "TYPING:" + chatId + ":" + userId);
+    }
+
+    private void send(List<String> recipients, Map<String, Object> payload, String coalesceKey) {
+        try {
+            messageRouter.sendToUsers(recipients, OutboundFrame.encodeCoalescing(objectMapper, payload, coalesceKey));
+        } catch (Exception e) {
+            log.warn("Failed to send {} frame", payload.get("type"), e);
+        }
+    }
+
+    private static String presenceKey(String userId) {
+        return "presence:" + userId;
+    }
+
+    private static String typingKey(String key) {
+        return "typing:" + key;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timingWheel.stop();
+        expiryPool.shutdown();
+    }
+
+}
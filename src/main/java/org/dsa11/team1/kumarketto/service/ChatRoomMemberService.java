@@ -0,0 +1,50 @@
+package org.dsa11.team1.kumarketto.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.domain.enums.ChatStatus;
+import org.dsa11.team1.kumarketto.domain.event.ChatRoomMembershipChangedEvent;
+import org.dsa11.team1.kumarketto.repository.ChatParticipantRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+
+/**
+ * 채팅방 활성 참여자 캐시 (chatId → 참여자 userId 목록)
+ * 메시지 전송 시 참여자 조회를 DB 조인 대신 캐시 조회로 처리
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatRoomMemberService {
+
+    private final ChatParticipantRepository chatParticipantRepository;
+
+    /**
+     * 채팅방의 활성(ACTIVE) 참여자 아이디 목록
+     * @param chatId    채팅방 ID
+     * @return  참여자 userId 목록 (변경 불가)
+     */
+    @Cacheable(value = "chatRoomMembers", key = "#chatId")
+    @Transactional(readOnly = true)
+    public Set<String> getActiveUserIds(Long chatId) {
+        return Set.copyOf(chatParticipantRepository.findUserIdsByChatIdAndStatus(chatId, ChatStatus.ACTIVE));
+    }
+
+    /**
+     * 커밋 이후 캐시 무효화 (롤백된 변경이 캐시에 남지 않도록)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @CacheEvict(value = "chatRoomMembers", key = "#event.chatId")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void evictMembers(ChatRoomMembershipChangedEvent event) {
+        log.debug("채팅방 참여자 캐시 무효화: chatId={}", event.getChatId());
+    }
+
+}
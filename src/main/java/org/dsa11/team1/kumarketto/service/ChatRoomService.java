@@ -4,13 +4,16 @@ package org.dsa11.team1.kumarketto.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.dsa11.team1.kumarketto.domain.dto.ChatRoomDTO;
 import org.dsa11.team1.kumarketto.domain.dto.ChatRoomListDTO;
 import org.dsa11.team1.kumarketto.domain.entity.*;
 import org.dsa11.team1.kumarketto.domain.enums.ChatStatus;
 import org.dsa11.team1.kumarketto.domain.enums.MessageType;
 import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
+import org.dsa11.team1.kumarketto.domain.event.ChatRoomMembershipChangedEvent;
 import org.dsa11.team1.kumarketto.repository.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +23,7 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatRoomService {
@@ -28,8 +32,8 @@ public class ChatRoomService {
     private final ProductRepository productRepository;
     private final MemberRepository memberRepository;
     private final ChatParticipantRepository chatParticipantRepository;
-    private final ChatMessageRepository chatMessageRepository;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 상품 ID와 구매자 ID를 기반으로 채팅방을 찾거나 새로 생성합니다.
@@ -91,6 +95,7 @@ public class ChatRoomService {
         ChatParticipant sellerParticipant = createParticipant(newChatRoom, seller);
         ChatParticipant buyerParticipant = createParticipant(newChatRoom, initiator); // initiator가 곧 buyer
         chatParticipantRepository.saveAll(Arrays.asList(sellerParticipant, buyerParticipant));
+        eventPublisher.publishEvent(new ChatRoomMembershipChangedEvent(newChatRoom.getChatId()));
 
         return new ChatRoomDTO(newChatRoom.getChatId(), newChatRoom.getProduct().getPid(),
                 newChatRoom.getCreatedAt(), newChatRoom.getLastMessageAt(), null);
@@ -114,104 +119,65 @@ public class ChatRoomService {
     }
 
     /**
-     * [대폭 수정된 메소드]
      * 특정 사용자가 참여 중인 모든 채팅방의 상세 정보를 조회하여 ChatRoomListDTO 리스트로 반환합니다.
+     * 채팅방에 저장된 마지막 메시지 요약과 참여자별 안 읽은 메시지 수를 사용하여 한 번의 쿼리로 조회합니다.
      * @param userId 현재 로그인한 사용자의 ID
      * @return 채팅 목록에 필요한 모든 정보가 담긴 DTO 리스트
      */
     @Transactional(readOnly = true)
     public List<ChatRoomListDTO> findChatRoomDetailsByUserId(String userId) {
-        //사용자 ID로 DB에서 MemberEntity(회원 정보)를 조회합니다.
-        MemberEntity currentUser = memberRepository.findByUserId(userId)
-                .orElseThrow(() -> new NoSuchElementException("사용자를 찾을 수 없습니다: " + userId));
-
-        //조회된 회원 정보(currentUser)를 이용해 해당 회원이 참여하고 있는
-        //모든 ChatParticipant(채팅 참여 정보)를 조회합니다.
-        List<ChatParticipant> participations = chatParticipantRepository.findByMemberEntity(currentUser);
-
-        //조회된 각 참여 정보를 기반으로 화면에 필요한 DTO를 만듭니다.
-        //Java Stream API를 사용하여 코드를 간결하게 만듭니다.
-        return participations.stream()
-                .filter(participation -> participation.getChatStatus() == ChatStatus.ACTIVE)
-                .map(participation -> {
-            ChatRoom room = participation.getChatRoom();
-            //room에서 상품 아이디를 가져옴
-            Product product = room.getProduct();
-
-            // 상대방 정보 찾기
-            //채팅방의 모든 참여자 중, 내(currentUser)가 아닌 사람을 찾습니다.
-            MemberEntity opponent = room.getParticipants().stream()
-                    .map(ChatParticipant::getMemberEntity)
-                    //이 member의 회원 번호가 현재 로그인한 나의 회원 번호와 같지 않은(!equals) 것만 통과
-                    .filter(member -> !member.getUserNo().equals(currentUser.getUserNo()))
-
-                    .findFirst()
-                    .orElse(null);
-
-            // 마지막 메시지 정보 찾기
-            //ChatMessageRepository를 이용해 해당 채팅방에서 가장 최근 메시지 1개를 가져옵니다.
-            //(ORDER BY created_date DESC LIMIT 1) 조건에 맞는값을 가져옵니다.
-            //Optional<ChatMessage> lastMessageOpt = chatMessageRepository.findTopByChatRoomOrderByCreatedDateDesc(room);
-            Optional<ChatMessage> lastMessageOpt = chatMessageRepository.findTopByChatRoomOrderByCreatedDateDesc(room);
-
-            //메세지를 가져오는데 없으면 문자 반환
-            //String lastMessageContent = lastMessageOpt.map(ChatMessage::getContent).orElse("아직 대화 내용이 없습니다.");
-            String lastMessageContent;
-            //마지막 메시지 시간 가져오기
-            //Optional.empty 이면 -> 채팅방 생성 시간(room.getCreatedAt())을 대신 반환
-            //LocalDateTime lastMessageAt = lastMessageOpt.map(ChatMessage::getCreatedDate).orElse(room.getCreatedAt());
-            LocalDateTime lastMessageAt;
-            if (lastMessageOpt.isPresent()) {
-                ChatMessage lastMessage = lastMessageOpt.get();
-                // 헬퍼 메소드를 호출하여 미리보기 텍스트를 생성합니다.
-                lastMessageContent = formatLastMessagePreview(lastMessage, currentUser);
-                lastMessageAt = lastMessage.getCreatedDate();
-            } else {
-                lastMessageContent = "아직 대화 내용이 없습니다.";
-                lastMessageAt = room.getCreatedAt();
-            }
-
-            // 안 읽은 메시지 존재 여부 확인
-            boolean hasUnread = chatMessageRepository.existsByChatRoom_ChatIdAndSender_UserIdNotAndIsReadFalse(room.getChatId(), userId);
-
-            // DTO 꾸러미에 정보 채우기
-            //위에서 수집한 모든 정보를 ChatRoomListDTO에 담아 최종적으로 반환합니다.
-            return ChatRoomListDTO.builder()
-                    .chatId(room.getChatId())
-                    .productId(product.getPid())
-                    .productTitle(product.getName())
-                    .productPrice(product.getPrice())
-                    .productImageUrl(product.getImageUrl())
-                    .opponentNickname(opponent != null ? opponent.getNickname() : "(알 수 없음)")
-                    .lastMessageContent(lastMessageContent)
-                    .lastMessageAt(lastMessageAt)
-                    .hasUnreadMessages(hasUnread) // DTO에 값 설정
-                    .build();
-        }).collect(Collectors.toList());
+        return chatRoomRepository.findChatRoomSummaries(userId, ChatStatus.ACTIVE).stream()
+                .map(summary -> {
+                    // 마지막 메시지가 없으면 채팅방 생성 시간을 대신 사용합니다.
+                    boolean hasMessage = summary.getLastMessageType() != null;
+                    boolean isSeller = summary.getUserNo().equals(summary.getSellerNo());
+                    // 전송 중인 메시지까지 읽음 처리된 경우 커서가 저장된 순번보다 앞설 수 있으므로 0 미만은 0으로 봅니다.
+                    int unreadCount = summary.getUnreadCount() != null ? (int) Math.max(0L, summary.getUnreadCount()) : 0;
+
+                    return ChatRoomListDTO.builder()
+                            .chatId(summary.getChatId())
+                            .productId(summary.getProductId())
+                            .productTitle(summary.getProductTitle())
+                            .productPrice(summary.getProductPrice())
+                            .productImageUrl(summary.getProductImageUrl())
+                            .opponentNickname(summary.getOpponentNickname() != null ? summary.getOpponentNickname() : "(알 수 없음)")
+                            .lastMessageContent(hasMessage
+                                    ? formatLastMessagePreview(summary.getLastMessageType(), summary.getLastMessagePreview(), isSeller)
+                                    : "아직 대화 내용이 없습니다.")
+                            .lastMessageAt(summary.getLastMessageAt() != null ? summary.getLastMessageAt() : summary.getCreatedAt())
+                            .hasUnreadMessages(unreadCount > 0)
+                            .unreadCount(unreadCount)
+                            .build();
+                })
+                .collect(Collectors.toList());
     }
 
-
+    /**
+     * 마지막 메시지 요약이 없는 기존 채팅방과 참여자(읽음/전달 커서)를 메시지 테이블에서 채웁니다. (시작 시 한 번)
+     */
+    @Transactional
+    public void backfillLastMessageSummaries() {
+        int rooms = chatRoomRepository.backfillLastMessageId();
+        chatRoomRepository.backfillLastMessageSummary();
+        int participants = chatParticipantRepository.backfillReadCursors();
+        int deliveryCursors = chatParticipantRepository.backfillDeliveryCursors();
+        if (rooms > 0 || participants > 0 || deliveryCursors > 0) {
+            log.info("Backfilled chat room summaries: rooms={}, participants={}, deliveryCursors={}",
+                    rooms, participants, deliveryCursors);
+        }
+    }
 
     /**
      * 마지막 메시지를 채팅 목록 미리보기용 텍스트로 변환합니다.
-     * @param lastMessage 마지막 ChatMessage 객체
-     * @param currentUser 현재 로그인한 사용자
+     * @param type      마지막 메시지 타입
+     * @param preview   마지막 메시지 미리보기 (TEXT 메시지의 내용)
+     * @param isSeller  현재 사용자가 판매자인지 여부
      * @return 미리보기용으로 가공된 문장
      */
-    private String formatLastMessagePreview(ChatMessage lastMessage, MemberEntity currentUser) {
-        MessageType type = lastMessage.getMessageType();
-
-        // 현재 사용자가 판매자인지 구매자인지 확인하기 위해 거래 정보를 가져옵니다.
-        // 일반 메시지는 거래 정보가 필요 없으므로 null 체크를 합니다.
-        Transaction transaction = lastMessage.getChatRoom().getProduct().getTransactions().stream()
-                .findFirst() // 해당 상품과 연결된 거래를 찾습니다.
-                .orElse(null);
-
-        String currentUserId = currentUser.getUserId();
-
+    private String formatLastMessagePreview(MessageType type, String preview, boolean isSeller) {
         switch (type) {
             case TEXT:
-                return lastMessage.getContent();
+                return preview;
             case IMAGE:
                 return "写真を送りました。";
 
@@ -221,13 +187,13 @@ public class ChatRoomService {
 
             case TRANSACTION_TYPE_SELECT:
                 // 요청을 보낸 사람은 판매자이므로, 판매자 시점에서는 구매자가 선택중이라는 메시지를 보여줍니다.
-                if (transaction != null && currentUserId.equals(transaction.getProduct().getMember().getUserId())) {
+                if (isSeller) {
                     return "購入者が取引方法を選択しています。";
                 }
                 return "取引方法を選択してください。";
 
             case PAYMENT_METHOD_SELECT:
-                if (transaction != null && currentUserId.equals(transaction.getProduct().getMember().getUserId())) {
+                if (isSeller) {
                     return "購入者がお支払い方法を選択しています。";
                 }
                 return "お支払い方法を選択してください。";
@@ -275,6 +241,7 @@ public class ChatRoomService {
 
         // 4. 참여 상태를 'EXITED'로 변경합니다.
         participant.setChatStatus(ChatStatus.EXITED);
+        eventPublisher.publishEvent(new ChatRoomMembershipChangedEvent(chatId));
 
         // @Transactional 어노테이션에 의해 메소드가 종료될 때 변경 사항이 DB에 자동으로 저장됩니다.
     }
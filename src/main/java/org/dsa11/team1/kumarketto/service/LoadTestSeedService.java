@@ -0,0 +1,164 @@
+package org.dsa11.team1.kumarketto.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.domain.dto.LoadTestSeedDTO;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트용 회원/상품/채팅방/거래 생성 (loadtest 프로필 전용)
+ * 채팅방 구성
+ *  - pairs : 두 명씩 짝지어 한 방 (모든 사용자가 한 방에만 참여)
+ *  - hub   : 판매자 한 명이 buyersPerSeller 명의 구매자와 각각 한 방 (판매자에게 메시지가 몰림)
+ */
+@Slf4j
+@Service
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class LoadTestSeedService {
+
+    public static final String PASSWORD = "loadtest1234";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    @Transactional
+    public LoadTestSeedDTO seed(int users, String topology, int buyersPerSeller) {
+        long runId = System.currentTimeMillis() % 100000;
+        LocalDateTime now = LocalDateTime.now();
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+
+        Number categoryId = insert("categories", "category_id", Map.of("category_name", "loadtest"));
+        Number subCategoryId = insert("sub_categories", "subcategory_id",
+                Map.of("subcategory_name", "loadtest", "category_id", categoryId));
+
+        List<String> userIds = new ArrayList<>(users);
+        List<Long> userNos = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String userId = "lt" + runId + "_" + i;
+            userNos.add(insertMember(userId, encodedPassword));
+            userIds.add(userId);
+        }
+
+        int groupSize = "hub".equals(topology) ? Math.max(2, buyersPerSeller + 1) : 2;
+        List<LoadTestSeedDTO.Room> rooms = new ArrayList<>();
+        for (int start = 0; start + 1 < users; start += groupSize) {
+            int sellerIndex = start;
+            Number productId = insertProduct("loadtest product " + sellerIndex, "NEW", userNos.get(sellerIndex), subCategoryId, now);
+
+            for (int buyerIndex = start + 1; buyerIndex < Math.min(start + groupSize, users); buyerIndex++) {
+                Number chatId = insert("chat_room", "chat_id",
+                        Map.of("product_id", productId, "created_at", Timestamp.valueOf(now)));
+                addParticipant(chatId, userNos.get(sellerIndex), now);
+                addParticipant(chatId, userNos.get(buyerIndex), now);
+                rooms.add(new LoadTestSeedDTO.Room(chatId.longValue(), userIds.get(sellerIndex), userIds.get(buyerIndex)));
+            }
+        }
+
+        log.info("Seeded load test data: users={} rooms={} topology={}", users, rooms.size(), topology);
+        return LoadTestSeedDTO.builder()
+                .password(PASSWORD)
+                .userIds(userIds)
+                .rooms(rooms)
+                .build();
+    }
+
+    /**
+     * 웹훅 부하 테스트용 결제 대기 거래 생성
+     * 판매자 한 명의 예약 상품마다 구매자 한 명이 승인된 거래와 대기 중인 결제를 가짐
+     * @param transactions  생성할 거래 수
+     * @param buyers        구매자 수 (거래를 돌아가며 배정)
+     * @return  [거래 ID, 결제 ID] 목록
+     */
+    @Transactional
+    public List<long[]> seedPendingPayments(int transactions, int buyers) {
+        long runId = System.currentTimeMillis() % 100000;
+        LocalDateTime now = LocalDateTime.now();
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+
+        Number categoryId = insert("categories", "category_id", Map.of("category_name", "loadtest"));
+        Number subCategoryId = insert("sub_categories", "subcategory_id",
+                Map.of("subcategory_name", "loadtest", "category_id", categoryId));
+        Long sellerNo = insertMember("ltpay" + runId + "_seller", encodedPassword);
+        List<Long> buyerNos = new ArrayList<>(buyers);
+        for (int i = 0; i < Math.max(1, buyers); i++) {
+            buyerNos.add(insertMember("ltpay" + runId + "_" + i, encodedPassword));
+        }
+
+        List<long[]> payments = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            Number productId = insertProduct("loadtest payment " + i, "RESERVED", sellerNo, subCategoryId, now);
+
+            Map<String, Object> transaction = new HashMap<>();
+            transaction.put("product_id", productId);
+            transaction.put("user_no", buyerNos.get(i % buyerNos.size()));
+            transaction.put("request_time", Timestamp.valueOf(now));
+            transaction.put("status", "APPROVED");
+            transaction.put("payment_type", "DELIVERY_SERVICE");
+            transaction.put("payment_due_date", Timestamp.valueOf(now.plusHours(12)));
+            Number transactionId = insert("transaction", "request_id", transaction);
+
+            Number paymentId = insert("payment", "payment_id", Map.of(
+                    "transaction_id", transactionId, "payment_method", "card", "status", "PENDING"));
+            payments.add(new long[]{transactionId.longValue(), paymentId.longValue()});
+        }
+
+        log.info("Seeded load test payments: transactions={} buyers={}", transactions, buyerNos.size());
+        return payments;
+    }
+
+    private Long insertMember(String userId, String encodedPassword) {
+        Map<String, Object> member = new HashMap<>();
+        member.put("user_id", userId);
+        member.put("password", encodedPassword);
+        member.put("role", "ROLE_USER");
+        member.put("nickname", userId);
+        member.put("email", userId + "@loadtest.local");
+        member.put("birth_date", LocalDate.of(2000, 1, 1));
+        member.put("enabled", true);
+        return insert("member", "user_no", member).longValue();
+    }
+
+    private Number insertProduct(String name, String status, Long sellerNo, Number subCategoryId, LocalDateTime now) {
+        Map<String, Object> product = new HashMap<>();
+        product.put("name", name);
+        product.put("price", 1000);
+        product.put("view_count", 0);
+        product.put("status", status);
+        product.put("description", "loadtest");
+        product.put("user_no", sellerNo);
+        product.put("subcategory_id", subCategoryId);
+        product.put("created_date", Timestamp.valueOf(now));
+        product.put("modified_date", Timestamp.valueOf(now));
+        return insert("product", "product_id", product);
+    }
+
+    private void addParticipant(Number chatId, Long userNo, LocalDateTime now) {
+        jdbcTemplate.update("INSERT INTO chat_participant " +
+                        "(chat_id, user_no, joined_at, chat_status, last_delivered_message_id, last_read_message_id, last_read_seq) " +
+                        "VALUES (?, ?, ?, 'ACTIVE', 0, 0, 0)",
+                chatId, userNo, Timestamp.valueOf(now));
+    }
+
+    private Number insert(String table, String keyColumn, Map<String, Object> values) {
+        return new SimpleJdbcInsert(jdbcTemplate)
+                .withTableName(table)
+                .usingColumns(values.keySet().toArray(new String[0]))
+                .usingGeneratedKeyColumns(keyColumn)
+                .executeAndReturnKey(values);
+    }
+
+}
@@ -0,0 +1,86 @@
+package org.dsa11.team1.kumarketto.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.domain.dto.NoticeDTO;
+import org.dsa11.team1.kumarketto.domain.entity.Notice;
+import org.dsa11.team1.kumarketto.repository.MemberRepository;
+import org.dsa11.team1.kumarketto.repository.NoticeRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 관리자 공지 관리
+ * 공지는 notice 테이블에 한 번만 저장하고 (회원별 복사본 없음),
+ * 접속 중이 아니었던 회원은 접속 시 회원별 공지 커서 이후의 공지를 받음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class NoticeService {
+
+    private final NoticeRepository noticeRepository;
+    private final MemberRepository memberRepository;
+
+    /**
+     * 공지 저장
+     * @param senderNo  작성한 관리자 번호
+     * @param senderId  작성한 관리자 아이디
+     * @param content   공지 내용
+     * @return  전송용 DTO
+     */
+    public NoticeDTO createNotice(Long senderNo, String senderId, String content) {
+        Notice notice = noticeRepository.save(Notice.builder()
+                .sender(memberRepository.getReferenceById(senderNo))
+                .content(content)
+                .createdDate(LocalDateTime.now())
+                .build());
+
+        return NoticeDTO.builder()
+                .noticeId(notice.getNoticeId())
+                .senderId(senderId)
+                .content(notice.getContent())
+                .createdDate(notice.getCreatedDate())
+                .build();
+    }
+
+    /**
+     * 공지 커서 이후의 공지 조회
+     * 커서가 없는 회원(첫 접속)은 지난 공지를 보내지 않고 커서를 최신 공지로 이동
+     * @param userNo    회원 번호
+     * @param limit     최대 건수
+     * @return  공지 ID 오름차순 목록
+     */
+    public List<NoticeDTO> getNoticesSince(Long userNo, int limit) {
+        Long lastNoticeId = memberRepository.findLastNoticeId(userNo).orElse(null);
+        if (lastNoticeId == null) {
+            markAllSeen(userNo);
+            return List.of();
+        }
+        return noticeRepository.findNoticesAfter(lastNoticeId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * 공지 커서를 전달한 마지막 공지로 이동 (따라잡기에서 보낸 만큼만)
+     * @param userNo    회원 번호
+     * @param noticeId  마지막으로 전달한 공지 ID
+     */
+    public void markSeenUpTo(Long userNo, Long noticeId) {
+        memberRepository.advanceNoticeCursor(userNo, noticeId);
+    }
+
+    /**
+     * 공지 커서를 최신 공지로 이동
+     * 접속 중에는 실시간으로 받으므로, 따라잡기를 끝까지 마친 세션이 종료될 때 호출
+     * @param userNo    회원 번호
+     */
+    public void markAllSeen(Long userNo) {
+        memberRepository.advanceNoticeCursor(userNo, noticeRepository.findMaxNoticeId());
+    }
+
+}
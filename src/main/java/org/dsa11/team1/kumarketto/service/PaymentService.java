@@ -3,13 +3,16 @@ package org.dsa11.team1.kumarketto.service;
 import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
+import com.stripe.model.Refund;
+import com.stripe.net.RequestOptions;
 import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.RefundCreateParams;
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.dsa11.team1.kumarketto.domain.dto.ChatMessageDTO;
-import org.dsa11.team1.kumarketto.domain.dto.ChatRoomDTO;
+import lombok.extern.slf4j.Slf4j;
 import org.dsa11.team1.kumarketto.domain.dto.PaymentIntentResponseDTO;
+import org.dsa11.team1.kumarketto.domain.dto.SystemMessagePayload;
 import org.dsa11.team1.kumarketto.domain.entity.MemberEntity;
 import org.dsa11.team1.kumarketto.domain.entity.Payment;
 import org.dsa11.team1.kumarketto.domain.entity.Transaction;
@@ -17,24 +20,31 @@ import org.dsa11.team1.kumarketto.domain.enums.DeliveryService;
 import org.dsa11.team1.kumarketto.domain.enums.MessageType;
 import org.dsa11.team1.kumarketto.domain.enums.PaymentStatus;
 import org.dsa11.team1.kumarketto.domain.enums.TransactionStatus;
+import org.dsa11.team1.kumarketto.domain.event.TransactionStepEvent;
 import org.dsa11.team1.kumarketto.repository.PaymentRepository;
 import org.dsa11.team1.kumarketto.repository.TransactionRepository;
-import org.dsa11.team1.kumarketto.websocket.WebSocketHandler;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class PaymentService {
 
+    // Stripe PaymentIntent 상태
+    private static final String INTENT_CANCELED = "canceled";
+    private static final String INTENT_SUCCEEDED = "succeeded";
+    private static final String INTENT_PROCESSING = "processing";
+
     private final PaymentRepository paymentRepository;
     private final TransactionRepository transactionRepository;
-    private final ChatRoomService chatRoomService;
-    private final WebSocketHandler webSocketHandler;
+    private final ApplicationEventPublisher eventPublisher;
 
     /* 결제 관련 설정 */
     @Value("${stripe.webhook.secret-key}")
@@ -65,6 +75,13 @@ public class PaymentService {
             throw new IllegalStateException("이미 처리되었거나 진행 중인 결제입니다. 현재 상태: " + payment.getStatus());
         }
         try {
+            // 이미 만든 PaymentIntent 가 있으면 재사용 (거래마다 하나만 두어 기한 만료 시 확실히 취소할 수 있도록)
+            if (payment.getStripePaymentIntentId() != null) {
+                PaymentIntent existing = PaymentIntent.retrieve(payment.getStripePaymentIntentId());
+                if (!INTENT_CANCELED.equals(existing.getStatus())) {
+                    return new PaymentIntentResponseDTO(existing.getClientSecret());
+                }
+            }
             PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
                     .setAmount(transaction.getProduct().getPrice().longValue())
                     .setCurrency("jpy")
@@ -72,6 +89,7 @@ public class PaymentService {
                     .putMetadata("transactionId", transaction.getId().toString())
                     .build();
             PaymentIntent paymentIntent = PaymentIntent.create(params);
+            payment.bindPaymentIntentId(paymentIntent.getId());
             return new PaymentIntentResponseDTO(paymentIntent.getClientSecret());
         } catch (StripeException e) {
             throw new RuntimeException("Stripe PaymentIntent 생성에 실패했습니다.", e);
@@ -80,15 +98,49 @@ public class PaymentService {
 
 
     /**
-     * Stripe 웹훅으로부터 결제 성공 이벤트를 처리
+     * PaymentIntent 취소 (결제 기한 만료 전에 호출, DB 트랜잭션 밖에서 Stripe 만 호출)
+     * @return  취소되었거나 이미 취소된 상태면 true, 이미 결제되었거나 처리 중이라 취소할 수 없으면 false
+     * @throws StripeException  Stripe 호출 실패
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean cancelPaymentIntent(String paymentIntentId) throws StripeException {
+        PaymentIntent paymentIntent = PaymentIntent.retrieve(paymentIntentId);
+        String status = paymentIntent.getStatus();
+        if (INTENT_CANCELED.equals(status)) {
+            return true;
+        }
+        if (INTENT_SUCCEEDED.equals(status) || INTENT_PROCESSING.equals(status)) {
+            return false; // 결제 성공 웹훅으로 처리됨
+        }
+        paymentIntent.cancel();
+        return true;
+    }
+
+    /**
+     * Stripe 웹훅으로부터 결제 성공 이벤트를 처리 (StripeWebhookService 의 작업 스레드에서 호출)
+     * 기한 만료로 이미 취소된 결제가 성공한 경우(취소 직전에 결제된 경우 등)에는 거래를 되살리지 않고 환불
+     * @param paymentId         PaymentIntent 메타데이터의 결제 ID
+     * @param paymentIntentId   성공한 PaymentIntent ID
      */
-    public void processPaymentSuccess(PaymentIntent paymentIntent) {
-        long paymentId = Long.parseLong(paymentIntent.getMetadata().get("paymentId"));
+    public void processPaymentSuccess(Long paymentId, String paymentIntentId) {
         Payment payment = paymentRepository.findById(paymentId)
                 .orElseThrow(() -> new EntityNotFoundException("결제 정보를 찾을 수 없습니다."));
         if (payment.getStatus() == PaymentStatus.PENDING) {
             // (DB 업데이트 및 메시지 전송 로직은 이 메소드와 아래 메소드에 동일하게 적용)
             updateStatusAndSendMessage(payment);
+        } else if (payment.getStatus() == PaymentStatus.CANCELED) {
+            refund(paymentIntentId);
+        }
+    }
+
+    // 같은 PaymentIntent 는 한 번만 환불 (웹훅 재처리 시에도 Stripe 가 같은 요청으로 처리)
+    private void refund(String paymentIntentId) {
+        try {
+            Refund.create(RefundCreateParams.builder().setPaymentIntent(paymentIntentId).build(),
+                    RequestOptions.builder().setIdempotencyKey("refund-" + paymentIntentId).build());
+            log.warn("취소된 결제가 성공하여 환불했습니다. PaymentIntent: {}", paymentIntentId);
+        } catch (StripeException e) {
+            throw new RuntimeException("Stripe 환불에 실패했습니다. PaymentIntent: " + paymentIntentId, e);
         }
     }
 
@@ -122,39 +174,26 @@ public class PaymentService {
         // 2. 메시지 전송에 필요한 정보 추출
         MemberEntity buyer = transaction.getMember();
         MemberEntity seller = transaction.getProduct().getMember();
-        Long productId = transaction.getProduct().getPid();
-
-        // 3. 채팅방 정보 조회
-        ChatRoomDTO chatRoomDTO = chatRoomService.findOrCreateChatRoom(productId, buyer.getUserId());
-
-        // 4. 메시지 내용 구성
-        String messageContent = String.format("{\"transactionId\": %d}", transaction.getId());
-
 
-        //  거래 방식에 따라 다른 시스템 메시지를 전송하도록 분기
+        //  거래 방식에 따라 다른 시스템 메시지를 전송하도록 분기 (커밋 이후 전송)
+        TransactionStepEvent.TransactionStepEventBuilder step = TransactionStepEvent.builder()
+                .transactionId(transaction.getId())
+                .productId(transaction.getProduct().getPid())
+                .chatId(transaction.getChatId())
+                .buyerId(buyer.getUserId())
+                .sellerId(seller.getUserId())
+                .payload(SystemMessagePayload.of(transaction.getId()));
         if (transaction.getDeliveryService() == DeliveryService.DELIVERY_SERVICE) {
             //  택배 거래: '판매자'에게만 '운송장 입력 요청' 메시지 전송
-            ChatMessageDTO shippingRequestMessage = ChatMessageDTO.builder()
-                    .chatId(chatRoomDTO.getChatId())
-                    .senderId(buyer.getUserId())
-                    .content(messageContent)
-                    .messageType(MessageType.SHIPPING_INFO_REQUEST)
-                    .build();
-            // webSocketHandler.sendSystemMessage(shippingRequestMessage); // 기존 방송 메소드
-            webSocketHandler.sendTargetedSystemMessage(shippingRequestMessage, seller.getUserId()); // 수정된 타겟팅 메소드
-
+            step.senderId(buyer.getUserId())
+                    .targetUserId(seller.getUserId())
+                    .messageType(MessageType.SHIPPING_INFO_REQUEST);
         } else {
             //  직거래: '구매자'에게만 '구매 확정 요청' 메시지 전송
-            ChatMessageDTO purchaseConfirmMessage = ChatMessageDTO.builder()
-                    .chatId(chatRoomDTO.getChatId())
-                    .senderId(seller.getUserId())
-                    .content(messageContent)
-                    .messageType(MessageType.PURCHASE_CONFIRM_REQUEST)
-                    .build();
-            // webSocketHandler.sendSystemMessage(purchaseConfirmMessage); // 기존 방송 메소드
-            webSocketHandler.sendTargetedSystemMessage(purchaseConfirmMessage, buyer.getUserId()); // 수정된 타겟팅 메소드
+            step.senderId(seller.getUserId())
+                    .targetUserId(buyer.getUserId())
+                    .messageType(MessageType.PURCHASE_CONFIRM_REQUEST);
         }
-
-
+        eventPublisher.publishEvent(step.build());
     }
 }
\ No newline at end of file
@@ -5,7 +5,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dsa11.team1.kumarketto.domain.dto.ProductDetailDTO;
 import org.dsa11.team1.kumarketto.domain.dto.ProductImageDTO;
-import org.dsa11.team1.kumarketto.domain.dto.ReviewStatsDTO;
+import org.dsa11.team1.kumarketto.domain.dto.StoreStatsDTO;
 import org.dsa11.team1.kumarketto.domain.entity.*;
 import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
 import org.dsa11.team1.kumarketto.repository.*;
@@ -27,7 +27,7 @@ public class    ProductDetailService {
     private final ProductRepository productRepository;
     private final WishListRepository wishListRepository;
     private final MemberRepository memberRepository;
-    private final TradingReviewRepository tradingReviewRepository;
+    private final StoreStatsService storeStatsService;
     private final ProductElasticsearchRepository productElasticsearchRepository;
 
     public ProductDetailDTO getProductDetail(Long productId, String userNo) {
@@ -36,8 +36,8 @@ public class    ProductDetailService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 상품이 없습니다. ID=" + productId));
 
-        // 리뷰 통계 조회
-        ReviewStatsDTO reviewStats = tradingReviewRepository.getReviewStatsBySellerUserNo(product.getMember().getUserNo());
+        // 판매자 상점 통계 조회 (store_stats 집계 행, 캐시)
+        StoreStatsDTO storeStats = storeStatsService.getStoreStats(product.getMember().getUserNo());
 
 
         // 이미지 리스트 변환
@@ -63,7 +63,7 @@ public class    ProductDetailService {
                 .userNo(product.getMember().getUserNo())
                 .nickName(product.getMember().getNickname())
                 .images(images)
-                .averageRating(reviewStats.getAverageScore())
+                .averageRating(storeStats.getAverageRating())
                 .build();
 
         // 상태 이름 바꾸기
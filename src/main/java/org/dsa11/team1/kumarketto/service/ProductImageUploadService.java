@@ -0,0 +1,152 @@
+package org.dsa11.team1.kumarketto.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상품 이미지 병렬 업로드
+ * 여러 이미지를 제한된 I/O 스레드 풀에서 동시에 업로드하고 모두 끝날 때까지 기다림
+ * 하나라도 실패하면 이미 올라간 이미지를 지우고, DB 커밋이 실패해도 트랜잭션 종료 후 지움
+ */
+@Slf4j
+@Service
+public class ProductImageUploadService {
+
+    private final S3Service s3Service;
+    private final ThreadPoolExecutor uploadExecutor;
+
+    public ProductImageUploadService(S3Service s3Service,
+                                     @Value("${upload.product-image.threads:8}") int threads,
+                                     @Value("${upload.product-image.queue-capacity:100}") int queueCapacity) {
+        this.s3Service = s3Service;
+        AtomicInteger threadCount = new AtomicInteger();
+        // 대기열이 가득 차면 요청 스레드에서 직접 업로드 (작업을 버리지 않고 속도만 늦춤)
+        this.uploadExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "product-image-upload-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.uploadExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 이미지 일괄 업로드
+     * 진행 중인 트랜잭션이 있으면 롤백 시 업로드한 이미지를 삭제하도록 등록
+     * @param files 업로드할 파일 (빈 파일은 호출 전에 제외)
+     * @return  파일 순서대로 업로드된 URL
+     * @throws IOException  하나라도 실패한 경우 (이미 올라간 이미지는 삭제됨)
+     */
+    public List<String> uploadAll(List<MultipartFile> files) throws IOException {
+        if (files.isEmpty()) {
+            return List.of();
+        }
+
+        List<CompletableFuture<String>> futures = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            futures.add(CompletableFuture.supplyAsync(() -> upload(file), uploadExecutor));
+        }
+
+        // 실패가 있어도 나머지 업로드가 끝날 때까지 기다려야 올라간 이미지를 빠짐없이 정리할 수 있음
+        List<String> urls = new ArrayList<>(files.size());
+        Throwable failure = null;
+        for (CompletableFuture<String> future : futures) {
+            try {
+                urls.add(future.join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+
+        if (failure != null) {
+            log.warn("상품 이미지 업로드 실패, 업로드된 {}건 삭제", urls.size(), failure);
+            deleteAll(urls);
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            }
+            throw new IOException("이미지 업로드에 실패했습니다.", failure);
+        }
+
+        deleteOnRollback(urls);
+        return urls;
+    }
+
+    /**
+     * 트랜잭션 커밋 후 이미지 삭제 (교체/삭제된 기존 이미지용, 롤백되면 그대로 유지)
+     */
+    public void deleteAfterCommit(String url) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteQuietly(url);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override public void afterCommit() {
+                deleteQuietly(url);
+            }
+        });
+    }
+
+    private void deleteOnRollback(List<String> urls) {
+        if (urls.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    log.warn("상품 저장 실패, 업로드된 이미지 {}건 삭제", urls.size());
+                    deleteAll(urls);
+                }
+            }
+        });
+    }
+
+    private String upload(MultipartFile file) {
+        try {
+            return s3Service.uploadFile(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteAll(List<String> urls) {
+        for (String url : urls) {
+            deleteQuietly(url);
+        }
+    }
+
+    private void deleteQuietly(String url) {
+        try {
+            s3Service.deleteFile(url);
+        } catch (Exception e) {
+            log.error("상품 이미지 삭제 실패: {}", url, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+    }
+}
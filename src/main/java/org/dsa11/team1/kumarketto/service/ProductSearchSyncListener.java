@@ -0,0 +1,61 @@
+package org.dsa11.team1.kumarketto.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.domain.entity.ProductDocument;
+import org.dsa11.team1.kumarketto.domain.event.ProductSearchSyncEvent;
+import org.dsa11.team1.kumarketto.repository.ProductElasticsearchRepository;
+import org.dsa11.team1.kumarketto.repository.ProductRepository;
+import org.dsa11.team1.kumarketto.repository.WishListRepository;
+import org.dsa11.team1.kumarketto.util.EventRetrier;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 상품 검색 색인 동기화 (커밋 이후 비동기 처리)
+ * 짧은 읽기 트랜잭션으로 문서를 만들고, Elasticsearch 저장은 트랜잭션 밖에서 수행
+ */
+@Slf4j
+@Component
+public class ProductSearchSyncListener {
+
+    private final ProductRepository productRepository;
+    private final WishListRepository wishListRepository;
+    private final ProductElasticsearchRepository productElasticsearchRepository;
+    private final EventRetrier eventRetrier;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ProductSearchSyncListener(ProductRepository productRepository,
+                                     WishListRepository wishListRepository,
+                                     ProductElasticsearchRepository productElasticsearchRepository,
+                                     EventRetrier eventRetrier,
+                                     PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.wishListRepository = wishListRepository;
+        this.productElasticsearchRepository = productElasticsearchRepository;
+        this.eventRetrier = eventRetrier;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductSearchSync(ProductSearchSyncEvent event) {
+        eventRetrier.run("search index sync for product " + event.getProductId(), () -> sync(event.getProductId()));
+    }
+
+    private void sync(Long productId) {
+        ProductDocument document = readOnlyTransaction.execute(status -> productRepository.findById(productId)
+                .map(product -> ProductDocument.fromProduct(product, wishListRepository.countByProduct(product)))
+                .orElse(null));
+        if (document == null) {
+            log.debug("Product {} no longer exists, skipping search index sync", productId);
+            return;
+        }
+        productElasticsearchRepository.save(document);
+    }
+
+}
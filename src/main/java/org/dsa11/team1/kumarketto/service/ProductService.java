@@ -11,8 +11,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.dsa11.team1.kumarketto.domain.dto.*;
 import org.dsa11.team1.kumarketto.domain.entity.*;
 import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
+import org.dsa11.team1.kumarketto.domain.event.ProductCreatedEvent;
+import org.dsa11.team1.kumarketto.domain.event.ProductDeletedEvent;
+import org.dsa11.team1.kumarketto.domain.event.ProductStatusChangedEvent;
 import org.dsa11.team1.kumarketto.repository.*;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
@@ -53,7 +57,8 @@ public class ProductService {
     private final ProductImageRepository productImageRepository;
     private final WishListRepository wishListRepository;
     private final ElasticsearchOperations elasticsearchOperations;
-    private final S3Service s3Service;
+    private final ProductImageUploadService productImageUploadService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ------------------ 검색 관련 ------------------
 
@@ -268,9 +273,19 @@ public class ProductService {
         product.bindSubcategory(subCategory);
         product.setMember(memberEntity);
 
-        // 메인 이미지 S3 업로드
-        if (mainUpload != null && !mainUpload.isEmpty()) {
-            String mainUrl = s3Service.uploadFile(mainUpload);
+        // 메인/상세 이미지 S3 병렬 업로드 (실패하거나 저장이 롤백되면 업로드된 이미지는 삭제됨)
+        boolean hasMain = mainUpload != null && !mainUpload.isEmpty();
+        List<MultipartFile> uploads = new ArrayList<>();
+        if (hasMain) {
+            uploads.add(mainUpload);
+        }
+        uploads.addAll(nonEmpty(detailUploads));
+        List<String> uploadedUrls = productImageUploadService.uploadAll(uploads);
+        int urlIndex = 0;
+
+        // 메인 이미지
+        if (hasMain) {
+            String mainUrl = uploadedUrls.get(urlIndex++);
             ProductImage mainImage = ProductImage.builder()
                     .imageUrl(mainUrl)
                     .isMain(true)
@@ -281,25 +296,19 @@ public class ProductService {
 
             product.setImageUrl(mainUrl);
         }
-        // 상세 이미지 S3 업로드
-        if (detailUploads != null && !detailUploads.isEmpty()) {
-            int seq = 2;
-            for (MultipartFile upload : detailUploads) {
-                if (upload == null || upload.isEmpty()) {
-                    continue; // 빈 파일은 건너뛰기
-                }
-
-                String fileUrl = s3Service.uploadFile(upload);
-
-                ProductImage detailImage = ProductImage.builder()
-                        .imageUrl(fileUrl)
-                        .isMain(false)
-                        .product(product)
-                        .imageSeq(seq++)
-                        .build();
+        // 상세 이미지
+        int seq = 2;
+        while (urlIndex < uploadedUrls.size()) {
+            String fileUrl = uploadedUrls.get(urlIndex++);
+
+            ProductImage detailImage = ProductImage.builder()
+                    .imageUrl(fileUrl)
+                    .isMain(false)
+                    .product(product)
+                    .imageSeq(seq++)
+                    .build();
 
-                product.addImage(detailImage);
-            }
+            product.addImage(detailImage);
         }
 
 
@@ -321,6 +330,9 @@ public class ProductService {
         /* ES 동기화 */
         productElasticsearchRepository.save(ProductDocument.fromProduct(product, 0L));
 
+        // 상점 통계 반영
+        eventPublisher.publishEvent(new ProductCreatedEvent(product.getPid(), memberEntity.getUserNo(), status));
+
         return product.getPid();
     }
 
@@ -435,6 +447,8 @@ public class ProductService {
             throw new RuntimeException("수정 권한이 없습니다.");
         }
 
+        ProductStatus previousStatus = product.getStatus();
+
         product.setName(productDTO.getName());
         product.setPrice(productDTO.getPrice());
         product.setStatus(ProductStatus.NEW);
@@ -466,6 +480,16 @@ public class ProductService {
 
         // --- 이미지 처리 로직 수정 ---
 
+        // 0. 새 메인/상세 이미지 S3 병렬 업로드 (실패하거나 저장이 롤백되면 업로드된 이미지는 삭제됨)
+        boolean hasNewMain = mainUpload != null && !mainUpload.isEmpty();
+        List<MultipartFile> uploads = new ArrayList<>();
+        if (hasNewMain) {
+            uploads.add(mainUpload);
+        }
+        uploads.addAll(nonEmpty(detailUploads));
+        List<String> uploadedUrls = productImageUploadService.uploadAll(uploads);
+        int urlIndex = 0;
+
         // 1. 기존 이미지끼리 메인 <-> 상세 교체
         if (productDTO.getNewMainImageId() != null) {
             Optional<ProductImage> oldMainOpt = product.getImages().stream().filter(img -> img.getImageSeq() == 1).findFirst();
@@ -495,7 +519,7 @@ public class ProductService {
             for (Long imageId : productDTO.getDeletedImageIds()) {
                 productImageRepository.findById(imageId).ifPresent(img -> {
                     if (img.getImageSeq() != 1) { // 메인 이미지는 삭제 불가
-                        s3Service.deleteFile(img.getImageUrl());
+                        productImageUploadService.deleteAfterCommit(img.getImageUrl()); // 커밋 후 S3 에서 삭제
                         product.getImages().remove(img); // 컬렉션에서 제거
                         productImageRepository.delete(img);
                     }
@@ -504,14 +528,14 @@ public class ProductService {
         }
 
         // 3. 새로운 메인 이미지 업로드 (기존 메인 이미지 교체)
-        if (mainUpload != null && !mainUpload.isEmpty()) {
+        if (hasNewMain) {
             product.getImages().stream().filter(img -> img.getImageSeq() == 1).findFirst().ifPresent(oldMain -> {
-                s3Service.deleteFile(oldMain.getImageUrl());
+                productImageUploadService.deleteAfterCommit(oldMain.getImageUrl());
                 product.getImages().remove(oldMain);
                 productImageRepository.delete(oldMain);
             });
 
-            String newMainUrl = s3Service.uploadFile(mainUpload);
+            String newMainUrl = uploadedUrls.get(urlIndex++);
             ProductImage newMainImage = ProductImage.builder()
                     .imageUrl(newMainUrl)
                     .isMain(true)
@@ -523,24 +547,20 @@ public class ProductService {
         }
 
         // 4. 새로운 상세 이미지 추가
-        if (detailUploads != null && !detailUploads.isEmpty()) {
-            for (MultipartFile file : detailUploads) {
-                if (file != null && !file.isEmpty()) {
-                    String url = s3Service.uploadFile(file);
-                    // 새 순번 계산 (기존 상세 이미지 개수 + 2)
-                    int maxSeq = product.getImages().stream()
-                            .filter(img -> !img.getIsMain())
-                            .mapToInt(ProductImage::getImageSeq)
-                            .max().orElse(1);
-
-                    product.addImage(ProductImage.builder()
-                            .imageUrl(url)
-                            .isMain(false)
-                            .product(product)
-                            .imageSeq(maxSeq + 1)
-                            .build());
-                }
-            }
+        while (urlIndex < uploadedUrls.size()) {
+            String url = uploadedUrls.get(urlIndex++);
+            // 새 순번 계산 (기존 상세 이미지 개수 + 2)
+            int maxSeq = product.getImages().stream()
+                    .filter(img -> !img.getIsMain())
+                    .mapToInt(ProductImage::getImageSeq)
+                    .max().orElse(1);
+
+            product.addImage(ProductImage.builder()
+                    .imageUrl(url)
+                    .isMain(false)
+                    .product(product)
+                    .imageSeq(maxSeq + 1)
+                    .build());
         }
 
         // 5. 최종 순번 재정렬 (메인 이미지 교체 등으로 순서가 꼬였을 수 있으므로)
@@ -568,6 +588,21 @@ public class ProductService {
 
         productElasticsearchRepository.save(ProductDocument.fromProduct(updatedProduct, currentLikeCount));
 
+        if (previousStatus != ProductStatus.NEW) {
+            eventPublisher.publishEvent(new ProductStatusChangedEvent(
+                    updatedProduct.getPid(), updatedProduct.getMember().getUserNo(), previousStatus, ProductStatus.NEW));
+        }
+
+    }
+
+    // 빈 파일을 제외한 업로드 목록
+    private List<MultipartFile> nonEmpty(List<MultipartFile> uploads) {
+        if (uploads == null) {
+            return List.of();
+        }
+        return uploads.stream()
+                .filter(upload -> upload != null && !upload.isEmpty())
+                .toList();
     }
 
     /**
@@ -695,6 +730,9 @@ public class ProductService {
 
         /* ES 반영 */
         productElasticsearchRepository.deleteById(pid);
+
+        // 상점 통계 반영
+        eventPublisher.publishEvent(new ProductDeletedEvent(pid, productOwnerNo, product.getStatus()));
     }
 
     public List<PrefectureDTO> getPrefecturesByRegion(Long regionId) {
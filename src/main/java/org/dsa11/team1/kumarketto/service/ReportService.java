@@ -9,8 +9,10 @@ import org.dsa11.team1.kumarketto.domain.entity.*;
 import org.dsa11.team1.kumarketto.domain.enums.ActionType;
 import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
 import org.dsa11.team1.kumarketto.domain.enums.ReportStatus;
+import org.dsa11.team1.kumarketto.domain.event.ProductStatusChangedEvent;
 import org.dsa11.team1.kumarketto.repository.*;
 import org.dsa11.team1.kumarketto.security.AuthenticatedUser;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -42,6 +44,7 @@ public class ReportService {
     public final ProductRepository productRepository;
     private final WishListRepository wishListRepository;
     private final ProductElasticsearchRepository productElasticsearchRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void reportRequest(UserRequestReportDTO userRequestReportDTO, MultipartFile imageFile) {
 
@@ -50,7 +53,7 @@ public class ReportService {
         Product product = productRepository.findById(userRequestReportDTO.getProductId())
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
-        product.setStatus(ProductStatus.REPORTED);
+        hideProduct(product);
 
         Long likeCount = wishListRepository.countByProduct(product); // 찜 수 조회
 
@@ -166,7 +169,7 @@ public class ReportService {
                 .orElseThrow(() -> new IllegalStateException("Product not found: " + productId));
 
         if(reportId == null) {
-            product.setStatus(ProductStatus.REPORTED);
+            hideProduct(product);
             productRepository.save(product);
             return;
         }
@@ -175,7 +178,7 @@ public class ReportService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN);
         }
 
-        product.setStatus(ProductStatus.REPORTED);
+        hideProduct(product);
         productRepository.save(product);
 
         // 수정 사항 ES 반영
@@ -264,4 +267,15 @@ public class ReportService {
     public Page<ReportsEntity> findByReportStatus(String status, Pageable pageable) {
         return reportRepository.findByReportStatus(ReportStatus.valueOf(status), pageable);
     }
+
+    /**
+     * 상품 신고 상태로 변경 + 상태 변경 이벤트 발행 (상점 통계 반영)
+     */
+    private void hideProduct(Product product) {
+        ProductStatus previous = product.getStatus();
+        product.setStatus(ProductStatus.REPORTED);
+        eventPublisher.publishEvent(new ProductStatusChangedEvent(
+                product.getPid(), product.getMember().getUserNo(), previous, ProductStatus.REPORTED));
+    }
+
 }
@@ -1,42 +1,75 @@
 package org.dsa11.team1.kumarketto.service;
 
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.util.ByteArrayPool;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * S3 파일 업로드/삭제
+ * 업로드 파일을 힙에 통째로 복사하지 않고 멀티파트 입력 스트림에서 바로 전송
+ * 임계값 이상인 파일은 S3 멀티파트 업로드로 나누어 보내며, 파트 버퍼는 풀에서 재사용
+ * 노드 전체에서 동시에 힙에 올라가는 업로드 바이트는 상한을 두어 제한
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class S3Service {
 
-    private final S3Client s3Client;
-
-    @Value("${spring.cloud.aws.s3.bucket}")
-    private String bucket;
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024; // S3 멀티파트 최소 파트 크기 (마지막 파트 제외)
 
-    @Value("${spring.cloud.aws.region.static}")
-    private String region;
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String region;
+    private final long multipartThreshold;
+    private final ByteArrayPool partBufferPool;
+    private final Semaphore inFlightKb; // 업로드 중인 바이트 상한 (KB 단위 허가)
+    private final int maxInFlightKb;
+    private final long acquireTimeoutMs;
+
+    public S3Service(S3Client s3Client,
+                     @Value("${spring.cloud.aws.s3.bucket}") String bucket,
+                     @Value("${spring.cloud.aws.region.static}") String region,
+                     @Value("${upload.s3.multipart-threshold:8388608}") long multipartThreshold,
+                     @Value("${upload.s3.part-size:8388608}") int partSize,
+                     @Value("${upload.s3.pooled-buffers:8}") int pooledBuffers,
+                     @Value("${upload.s3.max-in-flight-bytes:134217728}") long maxInFlightBytes,
+                     @Value("${upload.s3.acquire-timeout-ms:10000}") long acquireTimeoutMs) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.region = region;
+        int effectivePartSize = Math.max(partSize, MIN_PART_SIZE);
+        this.multipartThreshold = Math.max(multipartThreshold, effectivePartSize);
+        this.partBufferPool = new ByteArrayPool(effectivePartSize, pooledBuffers);
+        // 파트 하나는 항상 들어갈 수 있도록 최소 한 파트 크기는 보장
+        this.maxInFlightKb = (int) Math.min(Integer.MAX_VALUE, Math.max(maxInFlightBytes, effectivePartSize) / 1024);
+        this.inFlightKb = new Semaphore(maxInFlightKb, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
 
     public String uploadFile(MultipartFile file) throws IOException {
-        String fileName = UUID.randomUUID() + "_" + file.getOriginalFilename();
-
-        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                .bucket(bucket)
-                .key(fileName)
-                .contentType(file.getContentType())
-                .build();
-
-        s3Client.putObject(putObjectRequest, RequestBody.fromBytes(file.getBytes()));
-
-        // 직접 region 주입해서 URL 생성
-        return "https://" + bucket + ".s3." + region + ".amazonaws.com/" + fileName;
+        return uploadFile(file, "");
     }
 
     /**
@@ -44,21 +77,121 @@ public class S3Service {
      * @param file 업로드할 파일
      * @param directory S3 버킷 내의 디렉터리 경로
      * @return 업로드된 파일의 전체 URL
-     * @throws IOException
+     * @throws IOException 업로드 실패 또는 동시 업로드 용량 초과
      */
     public String uploadFile(MultipartFile file, String directory) throws IOException {
         String originalFilename = file.getOriginalFilename() == null ? "file" : file.getOriginalFilename();
         String fileName = directory + UUID.randomUUID() + "_" + originalFilename;
+        long size = file.getSize();
+
+        // 단일 업로드는 파일 크기만큼, 멀티파트는 파트 버퍼 하나만큼 힙을 사용
+        int permits = toKb(Math.min(size, partBufferPool.getBufferSize()));
+        acquire(permits);
+        try (InputStream in = file.getInputStream()) {
+            if (size < multipartThreshold) {
+                putObject(fileName, file.getContentType(), in, size);
+            } else {
+                multipartUpload(fileName, file.getContentType(), in);
+            }
+        } finally {
+            inFlightKb.release(permits);
+        }
+
+        // 직접 region 주입해서 URL 생성
+        return "https://" + bucket + ".s3." + region + ".amazonaws.com/" + fileName;
+    }
 
+    // 작은 파일은 스트림 그대로 한 번에 업로드
+    private void putObject(String key, String contentType, InputStream in, long size) {
         PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                 .bucket(bucket)
-                .key(fileName)
-                .contentType(file.getContentType())
+                .key(key)
+                .contentType(contentType)
                 .build();
 
-        s3Client.putObject(putObjectRequest, RequestBody.fromBytes(file.getBytes()));
+        s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(in, size));
+    }
 
-        return "https://" + bucket + ".s3." + region + ".amazonaws.com/" + fileName;
+    // 큰 파일은 풀의 버퍼 하나로 파트를 차례로 읽어 업로드 (실패 시 업로드 중단)
+    private void multipartUpload(String key, String contentType, InputStream in) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        byte[] buffer = partBufferPool.acquire();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            int partNumber = 1;
+            int read;
+            while ((read = in.readNBytes(buffer, 0, buffer.length)) > 0) {
+                UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) read)
+                        .build();
+                // 버퍼를 복사하지 않도록 스트림으로 감싸서 전송 (재시도 시 reset 가능)
+                String eTag = s3Client.uploadPart(uploadPartRequest,
+                        RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, read), read)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                partNumber++;
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (IOException | RuntimeException e) {
+            abortMultipartUpload(key, uploadId);
+            throw e;
+        } finally {
+            partBufferPool.release(buffer);
+        }
+    }
+
+    private void abortMultipartUpload(String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (Exception e) {
+            log.warn("Failed to abort multipart upload: key={}, uploadId={}", key, uploadId, e);
+        }
+    }
+
+    // 동시 업로드 용량 확보 (기다려도 자리가 나지 않으면 업로드 거절)
+    private void acquire(int permits) throws IOException {
+        try {
+            if (!inFlightKb.tryAcquire(permits, acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IOException("업로드가 몰려 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("업로드 대기 중 중단되었습니다.", e);
+        }
+    }
+
+    private int toKb(long bytes) {
+        return (int) Math.max(1, Math.min(maxInFlightKb, (bytes + 1023) / 1024));
+    }
+
+    /**
+     * 업로드 현황 (부하 테스트/모니터링용)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("inFlightKb", maxInFlightKb - inFlightKb.availablePermits());
+        stats.put("maxInFlightKb", maxInFlightKb);
+        stats.put("waitingUploads", inFlightKb.getQueueLength());
+        stats.put("pooledPartBuffers", partBufferPool.getPooledCount());
+        return stats;
     }
 
     /**
@@ -2,20 +2,22 @@ package org.dsa11.team1.kumarketto.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.dsa11.team1.kumarketto.domain.dto.ChatMessageDTO;
-import org.dsa11.team1.kumarketto.domain.dto.ChatRoomDTO;
 import org.dsa11.team1.kumarketto.domain.dto.ShipmentRequestDTO;
 import org.dsa11.team1.kumarketto.domain.dto.ShipmentResponseDTO;
+import org.dsa11.team1.kumarketto.domain.dto.SystemMessagePayload;
 import org.dsa11.team1.kumarketto.domain.entity.MemberEntity;
 import org.dsa11.team1.kumarketto.domain.entity.Shipment;
 import org.dsa11.team1.kumarketto.domain.entity.Transaction;
 import org.dsa11.team1.kumarketto.domain.enums.DeliveryService;
 import org.dsa11.team1.kumarketto.domain.enums.PaymentStatus;
 import org.dsa11.team1.kumarketto.domain.enums.MessageType;
+import org.dsa11.team1.kumarketto.domain.enums.TransactionDeadlineType;
 import org.dsa11.team1.kumarketto.domain.enums.TransactionStatus;
+import org.dsa11.team1.kumarketto.domain.event.TransactionDeadlineEvent;
+import org.dsa11.team1.kumarketto.domain.event.TransactionStepEvent;
 import org.dsa11.team1.kumarketto.repository.ShipmentRepository;
 import org.dsa11.team1.kumarketto.repository.TransactionRepository;
-import org.dsa11.team1.kumarketto.websocket.WebSocketHandler;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,8 +30,7 @@ public class ShipmentService {
 
     private final ShipmentRepository shipmentRepository;
     private final TransactionRepository transactionRepository;
-    private final ChatRoomService chatRoomService;
-    private final WebSocketHandler webSocketHandler;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 배송 정보 등록
@@ -73,6 +74,10 @@ public class ShipmentService {
         // 연관 관계 설정 및 저장
         transaction.bindShipment(shipment);
 
+        // 구매 확정 기한 타이머 등록 (기한까지 확정하지 않으면 자동 구매 확정)
+        eventPublisher.publishEvent(new TransactionDeadlineEvent(
+                transaction.getId(), TransactionDeadlineType.CONFIRM, shipment.getConfirmDueDate()));
+
         //운송장 등록 완료 후, 구매자에게 '구매 확정' 메시지 전송
         sendPurchaseConfirmationToBuyer(transaction);
 
@@ -87,22 +92,19 @@ public class ShipmentService {
     private void sendPurchaseConfirmationToBuyer(Transaction transaction) {
         MemberEntity buyer = transaction.getMember();
         MemberEntity seller = transaction.getProduct().getMember();
-        Long productId = transaction.getProduct().getPid();
-
-        ChatRoomDTO chatRoomDTO = chatRoomService.findOrCreateChatRoom(productId, buyer.getUserId());
-        String messageContent = String.format("{\"transactionId\": %d}", transaction.getId());
 
-        ChatMessageDTO systemMessage = ChatMessageDTO.builder()
-                .chatId(chatRoomDTO.getChatId())
-                .senderId(seller.getUserId()) // 판매자가 보낸 것으로 설정
-                .content(messageContent)
+        // 방송 대신 '구매자'에게만 타겟팅하여 메시지 전송 (판매자가 보낸 것으로 설정, 커밋 이후 전송)
+        eventPublisher.publishEvent(TransactionStepEvent.builder()
+                .transactionId(transaction.getId())
+                .productId(transaction.getProduct().getPid())
+                .chatId(transaction.getChatId())
+                .buyerId(buyer.getUserId())
+                .sellerId(seller.getUserId())
+                .senderId(seller.getUserId())
+                .targetUserId(buyer.getUserId())
                 .messageType(MessageType.PURCHASE_CONFIRM_REQUEST)
-                .build();
-
-        // 방송 대신 '구매자'에게만 타겟팅하여 메시지 전송
-        // webSocketHandler.sendSystemMessage(systemMessage); // 기존 방송 메소드
-        webSocketHandler.sendTargetedSystemMessage(systemMessage, buyer.getUserId()); // 수정된 타겟팅 메소드
-
+                .payload(SystemMessagePayload.of(transaction.getId()))
+                .build());
     }
 
 }
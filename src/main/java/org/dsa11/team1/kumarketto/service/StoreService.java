@@ -2,16 +2,12 @@ package org.dsa11.team1.kumarketto.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.dsa11.team1.kumarketto.domain.dto.ReviewStatsDTO;
 import org.dsa11.team1.kumarketto.domain.dto.StoreResponseDTO;
 import org.dsa11.team1.kumarketto.domain.dto.StoreStatsDTO;
 import org.dsa11.team1.kumarketto.domain.dto.StoreUpdateRequestDTO;
 import org.dsa11.team1.kumarketto.domain.entity.MemberEntity;
-import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
 import org.dsa11.team1.kumarketto.domain.entity.Store;
 import org.dsa11.team1.kumarketto.repository.MemberRepository;
-import org.dsa11.team1.kumarketto.repository.ProductRepository;
-import org.dsa11.team1.kumarketto.repository.TradingReviewRepository;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,8 +21,7 @@ import java.io.IOException;
 public class StoreService {
 
     private final MemberRepository memberRepository;
-    private final ProductRepository productRepository;
-    private final TradingReviewRepository tradingReviewRepository;
+    private final StoreStatsService storeStatsService;
     private final S3Service s3Service;
 
     /**
@@ -39,20 +34,8 @@ public class StoreService {
         MemberEntity member = memberRepository.findById(userNo)
                 .orElseThrow(() -> new EntityNotFoundException("해당 회원을 찾을 수 없습니다. ID: " + userNo));
 
-        // 상품 관련 통계 조회
-        long totalProductCount = productRepository.countByMember_UserNo(userNo);
-        long transactionCount = productRepository.countByMember_UserNoAndStatus(userNo, ProductStatus.SOLDOUT);
-
-        // 리뷰 관련 통계 조회
-        ReviewStatsDTO reviewStats = tradingReviewRepository.getReviewStatsBySellerUserNo(userNo);
-
-        // 통계 DTO 생성
-        StoreStatsDTO statsDTO = StoreStatsDTO.builder()
-                .totalProductCount(totalProductCount)
-                .transactionCount(transactionCount)
-                .reviewCount(reviewStats.getReviewCount())
-                .averageRating(reviewStats.getAverageScore())
-                .build();
+        // 상점 통계 조회 (store_stats 집계 행, 캐시)
+        StoreStatsDTO statsDTO = storeStatsService.getStoreStats(userNo);
 
         return new StoreResponseDTO(member, statsDTO);
 
@@ -0,0 +1,116 @@
+package org.dsa11.team1.kumarketto.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.domain.dto.ReviewStatsDTO;
+import org.dsa11.team1.kumarketto.domain.dto.StoreStatsDTO;
+import org.dsa11.team1.kumarketto.domain.entity.StoreStats;
+import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
+import org.dsa11.team1.kumarketto.domain.event.*;
+import org.dsa11.team1.kumarketto.repository.ProductRepository;
+import org.dsa11.team1.kumarketto.repository.StoreStatsRepository;
+import org.dsa11.team1.kumarketto.repository.TradingReviewRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 상점 통계(store_stats) 조회 및 도메인 이벤트 기반 갱신
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class StoreStatsService {
+
+    private final StoreStatsRepository storeStatsRepository;
+    private final ProductRepository productRepository;
+    private final TradingReviewRepository tradingReviewRepository;
+
+    /**
+     * 상점 통계 조회 (캐시)
+     * 집계 행이 아직 없는 상점은 원본 테이블에서 계산한 값을 반환
+     * @param userNo    상점 주인의 회원 ID
+     * @return  상점 통계 DTO
+     */
+    @Cacheable(value = "storeStats", key = "#userNo")
+    @Transactional(readOnly = true)
+    public StoreStatsDTO getStoreStats(Long userNo) {
+        return storeStatsRepository.findById(userNo)
+                .orElseGet(() -> calculate(userNo))
+                .toDTO();
+    }
+
+    @EventListener
+    public void onProductCreated(ProductCreatedEvent event) {
+        long soldOutDelta = event.getStatus() == ProductStatus.SOLDOUT ? 1 : 0;
+        applyProductCounts(event.getSellerUserNo(), 1, soldOutDelta);
+    }
+
+    @EventListener
+    public void onProductDeleted(ProductDeletedEvent event) {
+        long soldOutDelta = event.getStatus() == ProductStatus.SOLDOUT ? -1 : 0;
+        applyProductCounts(event.getSellerUserNo(), -1, soldOutDelta);
+    }
+
+    @EventListener
+    public void onProductStatusChanged(ProductStatusChangedEvent event) {
+        if (!event.isSoldOutChanged()) {
+            return;
+        }
+        long soldOutDelta = event.getTo() == ProductStatus.SOLDOUT ? 1 : -1;
+        applyProductCounts(event.getSellerUserNo(), 0, soldOutDelta);
+    }
+
+    @EventListener
+    public void onReviewWritten(ReviewWrittenEvent event) {
+        if (storeStatsRepository.addReview(event.getSellerUserNo(), event.getScore()) == 0) {
+            rebuild(event.getSellerUserNo());
+        }
+    }
+
+    /**
+     * 커밋 이후 캐시 무효화 (롤백된 변경이 캐시에 남지 않도록)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @CacheEvict(value = "storeStats", key = "#event.sellerUserNo")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void evictStoreStats(SellerActivityEvent event) {
+        log.debug("상점 통계 캐시 무효화: userNo={}", event.getSellerUserNo());
+    }
+
+    private void applyProductCounts(Long userNo, long productDelta, long soldOutDelta) {
+        if (storeStatsRepository.addProductCounts(userNo, productDelta, soldOutDelta) == 0) {
+            rebuild(userNo);
+        }
+    }
+
+    /**
+     * 집계 행이 없을 때 원본 테이블에서 다시 계산하여 저장
+     * (같은 트랜잭션의 변경 사항은 auto flush 로 이미 반영됨)
+     * 다른 이벤트가 동시에 같은 행을 만들 수 있으므로 insert 대신 upsert
+     */
+    private void rebuild(Long userNo) {
+        StoreStats stats = calculate(userNo);
+        storeStatsRepository.upsert(stats.getUserNo(), stats.getTotalProductCount(), stats.getSoldOutCount(),
+                stats.getReviewCount(), stats.getReviewScoreSum());
+    }
+
+    private StoreStats calculate(Long userNo) {
+        ReviewStatsDTO reviewStats = tradingReviewRepository.getReviewStatsBySellerUserNo(userNo);
+
+        return StoreStats.builder()
+                .userNo(userNo)
+                .totalProductCount(productRepository.countByMember_UserNo(userNo))
+                .soldOutCount(productRepository.countByMember_UserNoAndStatus(userNo, ProductStatus.SOLDOUT))
+                .reviewCount(reviewStats.getReviewCount())
+                .reviewScoreSum(Math.round(reviewStats.getAverageScore() * reviewStats.getReviewCount()))
+                .build();
+    }
+
+}
@@ -0,0 +1,240 @@
+package org.dsa11.team1.kumarketto.service;
+
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.model.Event;
+import com.stripe.model.EventDataObjectDeserializer;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.StripeObject;
+import com.stripe.net.ApiResource;
+import com.stripe.net.Webhook;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.domain.entity.StripeWebhookEvent;
+import org.dsa11.team1.kumarketto.domain.enums.WebhookEventStatus;
+import org.dsa11.team1.kumarketto.repository.StripeWebhookEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stripe 웹훅 수신함 처리
+ * 요청 스레드에서는 서명 검증 후 수신함에 저장만 하고 바로 응답 (Stripe 재전송 방지)
+ * 저장된 이벤트는 거래 ID 별로 정해진 작업 스레드(lane)에서 순서대로 처리하므로
+ * 같은 거래의 이벤트는 동시에 처리되지 않고, 서로 다른 거래는 병렬로 처리됨
+ * 대기열이 가득 찼거나 서버가 중단되어 남은 이벤트는 주기적으로 다시 꺼내 처리
+ */
+@Slf4j
+@Service
+public class StripeWebhookService {
+
+    private static final String PAYMENT_SUCCEEDED = "payment_intent.succeeded";
+
+    private final StripeWebhookEventRepository webhookEventRepository;
+    private final PaymentService paymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final String webhookSecret;
+    private final int maxAttempts;
+    private final ThreadPoolExecutor[] lanes;
+    private final Set<String> queued = ConcurrentHashMap.newKeySet(); // 대기열에 들어간 이벤트 ID (중복 투입 방지)
+
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong duplicateCount = new AtomicLong();
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong invalidCount = new AtomicLong();
+
+    public StripeWebhookService(StripeWebhookEventRepository webhookEventRepository,
+                                PaymentService paymentService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${stripe.webhook.secret-key}") String webhookSecret,
+                                @Value("${stripe.webhook.workers:4}") int workers,
+                                @Value("${stripe.webhook.queue-capacity:10000}") int queueCapacity,
+                                @Value("${stripe.webhook.max-attempts:5}") int maxAttempts) {
+        this.webhookEventRepository = webhookEventRepository;
+        this.paymentService = paymentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.webhookSecret = webhookSecret;
+        this.maxAttempts = maxAttempts;
+        this.lanes = new ThreadPoolExecutor[Math.max(1, workers)];
+        for (int i = 0; i < lanes.length; i++) {
+            String threadName = "stripe-webhook-" + (i + 1);
+            // 스레드 하나짜리 풀이므로 같은 lane 에 들어간 이벤트는 들어간 순서대로 처리
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueCapacity / lanes.length)),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+
+    /**
+     * 웹훅 수신 (서명 검증 → 수신함 저장 → 처리 대기열 투입)
+     * @param payload   요청 본문
+     * @param sigHeader Stripe-Signature 헤더
+     * @return  새로 저장한 이벤트면 true, 이미 받은 이벤트거나 처리하지 않는 종류, 결제 ID 가 올바르지 않은 이벤트면 false
+     * @throws SignatureVerificationException   서명이 올바르지 않을 때
+     */
+    public boolean receive(String payload, String sigHeader) throws SignatureVerificationException {
+        Event event = Webhook.constructEvent(payload, sigHeader, webhookSecret);
+
+        // 'payment_intent.succeeded' 이벤트만 처리
+        if (!PAYMENT_SUCCEEDED.equals(event.getType())) {
+            return false;
+        }
+        Map<String, String> metadata = extractPaymentIntent(event).getMetadata();
+        if (metadata == null) {
+            metadata = Map.of();
+        }
+        Long paymentId = parseId(metadata.get("paymentId"));
+        if (paymentId == null) {
+            // 결제 ID 가 없거나 숫자가 아니면 몇 번을 시도해도 처리할 수 없으므로 저장하지 않고 200 으로 응답 (Stripe 재전송 방지)
+            invalidCount.incrementAndGet();
+            log.warn("결제 ID 메타데이터가 올바르지 않은 Stripe 웹훅을 무시합니다: {} (paymentId={})",
+                    event.getId(), metadata.get("paymentId"));
+            return false;
+        }
+        // 거래 ID 는 처리 순서를 정하는 데만 쓰므로 올바르지 않으면 이벤트 ID 로 lane 을 고름
+        Long transactionId = parseId(metadata.get("transactionId"));
+
+        Integer inserted = transactionTemplate.execute(status -> webhookEventRepository.insertIfAbsent(
+                event.getId(), event.getType(), paymentId, transactionId, payload, LocalDateTime.now()));
+        if (inserted == null || inserted == 0) {
+            duplicateCount.incrementAndGet();
+            return false;
+        }
+        receivedCount.incrementAndGet();
+        dispatch(event.getId(), transactionId);
+        return true;
+    }
+
+    private PaymentIntent extractPaymentIntent(Event event) {
+        EventDataObjectDeserializer deserializer = event.getDataObjectDeserializer();
+        StripeObject object = deserializer.getObject().orElse(null);
+        if (object == null) {
+            // 웹훅 API 버전이 라이브러리와 다르면 getObject() 가 비어 있으므로 직접 변환
+            try {
+                object = deserializer.deserializeUnsafe();
+            } catch (Exception e) {
+                throw new IllegalArgumentException("PaymentIntent 를 읽을 수 없습니다: " + event.getId(), e);
+            }
+        }
+        return (PaymentIntent) object;
+    }
+
+    // 비어 있거나 숫자가 아니면 null
+    private Long parseId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // 거래 ID 로 lane 을 골라 대기열에 투입 (가득 차면 수신함에 남겨 두고 다음 재처리 때 처리)
+    private void dispatch(String eventId, Long transactionId) {
+        if (!queued.add(eventId)) {
+            return;
+        }
+        int lane = Math.floorMod(transactionId != null ? transactionId.hashCode() : eventId.hashCode(), lanes.length);
+        try {
+            lanes[lane].execute(() -> {
+                try {
+                    process(eventId);
+                } finally {
+                    queued.remove(eventId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(eventId);
+            log.warn("Stripe 웹훅 대기열이 가득 차 나중에 처리합니다: {}", eventId);
+        }
+    }
+
+    private void process(String eventId) {
+        try {
+            Boolean handled = transactionTemplate.execute(status -> {
+                StripeWebhookEvent event = webhookEventRepository.findById(eventId).orElse(null);
+                if (event == null || event.getStatus() == WebhookEventStatus.PROCESSED) {
+                    return false;
+                }
+                if (event.getPaymentId() == null) {
+                    throw new IllegalStateException("결제 ID 메타데이터가 없습니다.");
+                }
+                // 저장된 원본 이벤트에서 PaymentIntent ID 를 꺼냄 (취소된 결제의 환불에 사용)
+                String paymentIntentId = extractPaymentIntent(ApiResource.GSON.fromJson(event.getPayload(), Event.class)).getId();
+                paymentService.processPaymentSuccess(event.getPaymentId(), paymentIntentId);
+                event.markProcessed();
+                return true;
+            });
+            if (Boolean.TRUE.equals(handled)) {
+                processedCount.incrementAndGet();
+            }
+        } catch (Exception e) {
+            failedCount.incrementAndGet();
+            log.error("Stripe 웹훅 처리 실패: {}", eventId, e);
+            transactionTemplate.executeWithoutResult(status -> webhookEventRepository.findById(eventId)
+                    .ifPresent(event -> event.markFailed(e.getMessage())));
+        }
+    }
+
+    /**
+     * 남은 이벤트 재처리 (서버 시작 직후 포함, 방금 받은 이벤트는 제외)
+     */
+    @Scheduled(fixedDelayString = "${stripe.webhook.retry-interval-ms:30000}")
+    public void retryPending() {
+        List<StripeWebhookEvent> pending = webhookEventRepository.findPending(
+                LocalDateTime.now().minusSeconds(10), maxAttempts, PageRequest.of(0, 500));
+        for (StripeWebhookEvent event : pending) {
+            dispatch(event.getEventId(), event.getTransactionId());
+        }
+        if (!pending.isEmpty()) {
+            log.info("Stripe 웹훅 재처리 대상 {}건", pending.size());
+        }
+    }
+
+    /**
+     * 수신/처리 지표
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("received", receivedCount.get());
+        stats.put("duplicates", duplicateCount.get());
+        stats.put("processed", processedCount.get());
+        stats.put("failed", failedCount.get());
+        stats.put("invalid", invalidCount.get());
+        long queueDepth = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queueDepth += lane.getQueue().size();
+        }
+        stats.put("queueDepth", queueDepth);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+}
@@ -9,9 +9,11 @@ import org.dsa11.team1.kumarketto.domain.entity.TradingReview;
 import org.dsa11.team1.kumarketto.domain.entity.Transaction;
 import org.dsa11.team1.kumarketto.domain.enums.ReviewRole;
 import org.dsa11.team1.kumarketto.domain.enums.TransactionStatus;
+import org.dsa11.team1.kumarketto.domain.event.ReviewWrittenEvent;
 import org.dsa11.team1.kumarketto.repository.MemberRepository;
 import org.dsa11.team1.kumarketto.repository.TradingReviewRepository;
 import org.dsa11.team1.kumarketto.repository.TransactionRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +25,7 @@ public class TradingReviewService {
     private final TradingReviewRepository tradingReviewRepository;
     private final TransactionRepository transactionRepository;
     private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TradingReviewResponseDTO createReview(Long transactionId, Long userNo, TradingReviewRequestDTO requestDTO) {
 
@@ -44,6 +47,10 @@ public class TradingReviewService {
         TradingReview review = requestDTO.toEntity(transaction, author, role);
         TradingReview savedReview = tradingReviewRepository.save(review);
 
+        // 상점 통계 반영 (판매자 상점 기준)
+        eventPublisher.publishEvent(new ReviewWrittenEvent(
+                savedReview.getId(), transaction.getProduct().getMember().getUserNo(), savedReview.getScore()));
+
         return new TradingReviewResponseDTO(savedReview);
 
     }
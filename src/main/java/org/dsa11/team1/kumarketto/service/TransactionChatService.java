@@ -0,0 +1,81 @@
+package org.dsa11.team1.kumarketto.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.domain.entity.Transaction;
+import org.dsa11.team1.kumarketto.domain.event.TransactionStepEvent;
+import org.dsa11.team1.kumarketto.repository.TransactionRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 거래 ↔ 채팅방 매핑 캐시 (transactionId → chatId, chatId → 최신 transactionId)
+ * 거래 생성 시 transaction.chat_id 에 채팅방을 저장하므로, 거래 단계마다 채팅방을 다시 찾지 않음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionChatService {
+
+    private final TransactionRepository transactionRepository;
+    private final ChatRoomService chatRoomService;
+
+    /**
+     * 거래의 채팅방 ID (거래가 생긴 뒤로는 바뀌지 않으므로 계속 캐시)
+     * chat_id 가 비어 있는 예전 거래는 채팅방을 찾아(없으면 생성) 채워 넣음
+     * @param transactionId 거래 ID
+     * @return  채팅방 ID
+     */
+    @Cacheable(value = "transactionChatId", key = "#transactionId")
+    @Transactional
+    public Long getChatId(Long transactionId) {
+        Transaction transaction = transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new IllegalArgumentException("거래를 찾을 수 없습니다: " + transactionId));
+        if (transaction.getChatId() != null) {
+            return transaction.getChatId();
+        }
+        Long chatId = chatRoomService.findOrCreateChatRoom(
+                transaction.getProduct().getPid(), transaction.getMember().getUserId()).getChatId();
+        transactionRepository.assignChatId(transactionId, chatId);
+        return chatId;
+    }
+
+    /**
+     * 채팅방의 최신 거래 ID
+     * @param chatId    채팅방 ID
+     * @return  거래 ID (거래가 없으면 null, null 은 캐시하지 않음)
+     */
+    @Cacheable(value = "chatTransactionId", key = "#chatId", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Long getTransactionId(Long chatId) {
+        return transactionRepository.findLatestIdByChatId(chatId);
+    }
+
+    /**
+     * 채팅방에 새 거래가 생기면 커밋 이후 chatId → 거래 캐시 무효화
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true,
+            condition = "#event.chatId != null && #event.messageType == T(org.dsa11.team1.kumarketto.domain.enums.MessageType).TRANSACTION_REQUEST")
+    @CacheEvict(value = "chatTransactionId", key = "#event.chatId")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void evictTransactionId(TransactionStepEvent event) {
+        log.debug("채팅방 거래 캐시 무효화: chatId={}", event.getChatId());
+    }
+
+    /**
+     * chat_id 가 비어 있는 기존 거래를 구매자와 상품이 같은 채팅방으로 채움 (시작 시 한 번)
+     */
+    @Transactional
+    public void backfillChatIds() {
+        int updated = transactionRepository.backfillChatIds();
+        if (updated > 0) {
+            log.info("거래 채팅방 ID 채움: {}건", updated);
+        }
+    }
+
+}
@@ -0,0 +1,206 @@
+package org.dsa11.team1.kumarketto.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.domain.dto.TransactionDeadlineDTO;
+import org.dsa11.team1.kumarketto.domain.entity.Product;
+import org.dsa11.team1.kumarketto.domain.entity.Transaction;
+import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
+import org.dsa11.team1.kumarketto.domain.enums.TransactionDeadlineType;
+import org.dsa11.team1.kumarketto.domain.enums.TransactionStatus;
+import org.dsa11.team1.kumarketto.domain.event.ProductSearchSyncEvent;
+import org.dsa11.team1.kumarketto.domain.event.ProductStatusChangedEvent;
+import org.dsa11.team1.kumarketto.domain.event.TransactionDeadlineEvent;
+import org.dsa11.team1.kumarketto.repository.PaymentRepository;
+import org.dsa11.team1.kumarketto.repository.ProductRepository;
+import org.dsa11.team1.kumarketto.repository.TransactionRepository;
+import org.dsa11.team1.kumarketto.util.HierarchicalTimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * 거래 기한 타이머
+ * 결제 기한(요청 + 12시간)이 지나면 예약을 해제하고, 구매 확정 기한(배송 + 10일)이 지나면 자동 구매 확정
+ * 서버 시작 시 DB 에 남은 기한을 계층형 타이밍 휠에 모두 올리고, 이후 새 기한은 커밋 이벤트로 추가
+ * 만료 처리는 조건부 UPDATE 로 상태를 다시 확인하므로 중복 실행(재시작, 여러 서버)에도 한 번만 반영됨
+ */
+@Slf4j
+@Service
+public class TransactionDeadlineService {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final ProductRepository productRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionSchedulerService transactionSchedulerService;
+    private final PaymentService paymentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService handlerPool;
+    private final HierarchicalTimingWheel timingWheel;
+    private final long cancelRetryMs;
+
+    public TransactionDeadlineService(TransactionRepository transactionRepository,
+                                      ProductRepository productRepository,
+                                      PaymentRepository paymentRepository,
+                                      TransactionSchedulerService transactionSchedulerService,
+                                      PaymentService paymentService,
+                                      ApplicationEventPublisher eventPublisher,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${transaction.deadline.tick-ms:1000}") long tickMs,
+                                      @Value("${transaction.deadline.handler-threads:2}") int handlerThreads,
+                                      @Value("${transaction.deadline.cancel-retry-ms:300000}") long cancelRetryMs) {
+        this.transactionRepository = transactionRepository;
+        this.productRepository = productRepository;
+        this.paymentRepository = paymentRepository;
+        this.transactionSchedulerService = transactionSchedulerService;
+        this.paymentService = paymentService;
+        this.cancelRetryMs = cancelRetryMs;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.handlerPool = Executors.newFixedThreadPool(handlerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "transaction-deadline-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 1초 × 64칸 × 4단계 ≈ 194일까지 휠 안에서 처리 (그보다 먼 기한은 휠이 따로 보관)
+        this.timingWheel = new HierarchicalTimingWheel("transaction-deadline-wheel", tickMs, 64, 4, handlerPool);
+    }
+
+    /**
+     * 서버 시작 시 DB 에 남은 기한 적재 (이미 지난 기한은 바로 처리)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDeadlines() {
+        int payments = load(transactionRepository::findPaymentDeadlines,
+                deadline -> schedule(deadline.getTransactionId(), TransactionDeadlineType.PAYMENT, deadline.getDueDate()));
+        int confirms = load(transactionRepository::findConfirmDeadlines,
+                deadline -> schedule(deadline.getTransactionId(), TransactionDeadlineType.CONFIRM, deadline.getDueDate()));
+        log.info("거래 기한 타이머 적재: 결제 기한 {}건, 구매 확정 기한 {}건", payments, confirms);
+    }
+
+    private int load(BiFunction<Long, PageRequest, List<TransactionDeadlineDTO>> pageQuery,
+                     Consumer<TransactionDeadlineDTO> scheduler) {
+        int count = 0;
+        long afterId = 0L;
+        while (true) {
+            List<TransactionDeadlineDTO> page = pageQuery.apply(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            page.forEach(scheduler);
+            count += page.size();
+            if (page.size() < LOAD_PAGE_SIZE) {
+                return count;
+            }
+            afterId = page.get(page.size() - 1).getTransactionId();
+        }
+    }
+
+    /**
+     * 새 기한 등록 (거래 요청, 배송 등록 커밋 이후)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeadline(TransactionDeadlineEvent event) {
+        schedule(event.getTransactionId(), event.getType(), event.getDueDate());
+    }
+
+    private void schedule(Long transactionId, TransactionDeadlineType type, LocalDateTime dueDate) {
+        if (dueDate == null) {
+            return;
+        }
+        long deadlineMs = dueDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Runnable handler = type == TransactionDeadlineType.PAYMENT
+                ? () -> expirePayment(transactionId)
+                : () -> autoConfirm(transactionId);
+        timingWheel.schedule(type + ":" + transactionId, deadlineMs, handler);
+    }
+
+    /**
+     * 결제 기한 만료: 미결제 거래를 만료시키고 상품 예약 해제
+     * 카드 결제의 PaymentIntent 가 남아 있으면 Stripe 에서 먼저 취소하고, 취소하지 못하면 만료하지 않고 나중에 다시 확인
+     * (만료 후 결제가 성공하는 것을 막음, 취소 직전에 성공한 결제는 웹훅 처리에서 환불)
+     */
+    private void expirePayment(Long transactionId) {
+        String paymentIntentId = transactionTemplate.execute(status ->
+                paymentRepository.findPendingPaymentIntentId(transactionId).orElse(null));
+        if (paymentIntentId != null && !cancelPaymentIntent(transactionId, paymentIntentId)) {
+            timingWheel.schedule(TransactionDeadlineType.PAYMENT + ":" + transactionId,
+                    System.currentTimeMillis() + cancelRetryMs, () -> expirePayment(transactionId));
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Transaction transaction = transactionRepository.findById(transactionId).orElse(null);
+            if (transaction == null
+                    || (transaction.getStatus() != TransactionStatus.PENDING && transaction.getStatus() != TransactionStatus.APPROVED)) {
+                return;
+            }
+            Product product = transaction.getProduct();
+            Long productId = product.getPid();
+            Long sellerUserNo = product.getMember().getUserNo();
+
+            LocalDateTime now = LocalDateTime.now();
+            if (transactionRepository.expireIfUnpaid(transactionId, now) == 0) {
+                return; // 그사이 결제되었거나 이미 만료됨
+            }
+            paymentRepository.cancelPending(transactionId);
+
+            if (productRepository.compareAndSetStatus(productId, ProductStatus.RESERVED, ProductStatus.NEW, now) > 0) {
+                eventPublisher.publishEvent(new ProductStatusChangedEvent(productId, sellerUserNo, ProductStatus.RESERVED, ProductStatus.NEW));
+                eventPublisher.publishEvent(new ProductSearchSyncEvent(productId));
+            }
+            log.info("결제 기한 만료로 거래 {} 예약 해제", transactionId);
+        });
+    }
+
+    // Stripe 취소 (이미 결제되었거나 처리 중이면 false, 결제 성공 웹훅이 PAID 로 바꾸면 다시 확인할 때 만료 대상에서 빠짐)
+    private boolean cancelPaymentIntent(Long transactionId, String paymentIntentId) {
+        try {
+            if (paymentService.cancelPaymentIntent(paymentIntentId)) {
+                return true;
+            }
+            log.info("결제가 진행 중이어서 거래 {} 만료를 미룹니다. PaymentIntent: {}", transactionId, paymentIntentId);
+        } catch (Exception e) {
+            log.warn("PaymentIntent 취소 실패로 거래 {} 만료를 미룹니다. PaymentIntent: {}", transactionId, paymentIntentId, e);
+        }
+        return false;
+    }
+
+    /**
+     * 구매 확정 기한 만료: 자동 구매 확정
+     */
+    private void autoConfirm(Long transactionId) {
+        if (transactionSchedulerService.autoConfirm(transactionId)) {
+            log.info("구매 확정 기한 만료로 거래 {} 자동 확정", transactionId);
+        }
+    }
+
+    public int getScheduledCount() {
+        return timingWheel.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timingWheel.stop();
+        handlerPool.shutdown();
+    }
+
+}
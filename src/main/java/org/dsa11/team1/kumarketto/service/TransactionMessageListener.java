@@ -0,0 +1,196 @@
+package org.dsa11.team1.kumarketto.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.domain.dto.ChatMessageDTO;
+import org.dsa11.team1.kumarketto.domain.dto.SystemMessagePayload;
+import org.dsa11.team1.kumarketto.domain.entity.TransactionEventOutbox;
+import org.dsa11.team1.kumarketto.domain.event.TransactionStepEvent;
+import org.dsa11.team1.kumarketto.repository.TransactionEventOutboxRepository;
+import org.dsa11.team1.kumarketto.websocket.WebSocketHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거래 단계 이벤트 → 채팅방 시스템 메시지 (발신함 저장 후 커밋 이후 비동기 전송)
+ * 이벤트를 발행한 트랜잭션 안에서 발신함에 저장하므로 롤백된 거래에는 메시지가 나가지 않고,
+ * 커밋된 단계의 메시지는 전송 전에 서버가 중단되어도 남아 있다가 전송됨
+ * 거래 ID 별로 정해진 작업 스레드(lane)에서 발신함을 저장 순서대로 전송하므로 같은 거래의 단계 메시지는 발생 순서대로 저장/전송됨
+ * 대기열이 가득 찼거나 전송에 실패해 남은 메시지는 주기적으로 다시 꺼내 전송 (커밋한 요청 스레드는 기다리지 않음)
+ */
+@Slf4j
+@Component
+public class TransactionMessageListener {
+
+    private static final String CLIENT_MESSAGE_ID_PREFIX = "sys:";
+
+    private final TransactionChatService transactionChatService;
+    private final WebSocketHandler webSocketHandler;
+    private final TransactionEventOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final ThreadPoolExecutor[] lanes;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet(); // 대기열에 들어간 거래 ID (중복 투입 방지)
+
+    public TransactionMessageListener(TransactionChatService transactionChatService,
+                                      WebSocketHandler webSocketHandler,
+                                      TransactionEventOutboxRepository outboxRepository,
+                                      ObjectMapper objectMapper,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${events.system-message.workers:4}") int workers,
+                                      @Value("${events.system-message.queue-capacity:10000}") int queueCapacity,
+                                      @Value("${events.system-message.max-attempts:5}") int maxAttempts) {
+        this.transactionChatService = transactionChatService;
+        this.webSocketHandler = webSocketHandler;
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.lanes = new ThreadPoolExecutor[Math.max(1, workers)];
+        for (int i = 0; i < lanes.length; i++) {
+            String threadName = "system-message-" + (i + 1);
+            // 스레드 하나짜리 풀이므로 같은 lane 에 들어간 거래는 들어간 순서대로 처리
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueCapacity / lanes.length)),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+
+    /**
+     * 이벤트를 발행한 트랜잭션 안에서 발신함에 저장 (트랜잭션 밖에서 발행하면 바로 저장)
+     * 커밋 이후 전송보다 먼저 실행되어야 하므로 가장 먼저 호출
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void saveToOutbox(TransactionStepEvent event) {
+        // 클라이언트용 content 는 payload 를 한 번만 인코딩 (발신함에도 같은 JSON 으로 저장)
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        outboxRepository.save(TransactionEventOutbox.of(event, payload));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionStep(TransactionStepEvent event) {
+        dispatch(event.getTransactionId());
+    }
+
+    // 거래 ID 로 lane 을 골라 대기열에 투입 (가득 차면 발신함에 남겨 두고 다음 재전송 때 처리)
+    private void dispatch(Long transactionId) {
+        if (!queued.add(transactionId)) {
+            return;
+        }
+        int lane = Math.floorMod(transactionId.hashCode(), lanes.length);
+        try {
+            lanes[lane].execute(() -> {
+                // 전송 중에 커밋된 메시지도 다시 투입될 수 있도록 꺼내자마자 표시를 지움
+                queued.remove(transactionId);
+                sendPending(transactionId);
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(transactionId);
+            log.warn("System message queue is full, leaving transaction {} for retry", transactionId);
+        }
+    }
+
+    // 거래 하나의 남은 메시지를 저장 순서대로 전송 (실패하면 뒤 메시지는 보내지 않고 다음 재전송 때 이어서 전송)
+    private void sendPending(Long transactionId) {
+        try {
+            for (TransactionEventOutbox outbox : outboxRepository.findUnsent(transactionId, maxAttempts)) {
+                try {
+                    send(outbox);
+                } catch (Exception e) {
+                    boolean exhausted = outbox.getAttempts() + 1 >= maxAttempts;
+                    log.error("Failed to send system message {} for transaction {} (attempt {}/{})",
+                            outbox.getMessageType(), transactionId, outbox.getAttempts() + 1, maxAttempts, e);
+                    transactionTemplate.executeWithoutResult(status -> outboxRepository.findById(outbox.getId())
+                            .ifPresent(row -> row.markFailed(e.getMessage())));
+                    if (!exhausted) {
+                        return;
+                    }
+                    // 시도 횟수를 다 쓴 메시지는 포기하고 뒤 메시지를 계속 전송
+                    continue;
+                }
+                transactionTemplate.executeWithoutResult(status -> outboxRepository.findById(outbox.getId())
+                        .ifPresent(TransactionEventOutbox::markSent));
+            }
+        } catch (Exception e) {
+            log.error("Failed to send pending system messages for transaction {}", transactionId, e);
+        }
+    }
+
+    private void send(TransactionEventOutbox outbox) throws JsonProcessingException {
+        // 채팅방 ID 가 없는 예전 거래만 매핑 캐시로 조회
+        Long chatId = outbox.getChatId() != null
+                ? outbox.getChatId()
+                : transactionChatService.getChatId(outbox.getTransactionId());
+
+        // 이벤트 ID 로 client_message_id 를 고정하여 재전송해도 같은 메시지로 처리 (보낸 사람 + client_message_id 유니크)
+        ChatMessageDTO systemMessage = ChatMessageDTO.builder()
+                .chatId(chatId)
+                .senderId(outbox.getSenderId())
+                .content(outbox.getPayload())
+                .payload(objectMapper.readValue(outbox.getPayload(), SystemMessagePayload.class))
+                .visibleTo(outbox.getMessageType().getAudience().resolve(outbox.getBuyerId(), outbox.getSellerId()))
+                .messageType(outbox.getMessageType())
+                .clientMessageId(CLIENT_MESSAGE_ID_PREFIX + outbox.getEventId())
+                .build();
+
+        if (outbox.getTargetUserId() == null) {
+            webSocketHandler.sendSystemMessage(systemMessage); // 채팅방 전체에 전송
+        } else {
+            webSocketHandler.sendTargetedSystemMessage(systemMessage, outbox.getTargetUserId());
+        }
+    }
+
+    /**
+     * 남은 메시지 재전송 (서버 시작 직후 포함, 방금 커밋된 메시지는 제외)
+     */
+    @Scheduled(fixedDelayString = "${events.system-message.retry-interval-ms:30000}")
+    public void retryPending() {
+        List<Long> transactionIds = outboxRepository.findPendingTransactionIds(
+                LocalDateTime.now().minusSeconds(10), maxAttempts, PageRequest.of(0, 500));
+        for (Long transactionId : transactionIds) {
+            dispatch(transactionId);
+        }
+        if (!transactionIds.isEmpty()) {
+            log.info("Retrying pending system messages for {} transactions", transactionIds.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+}
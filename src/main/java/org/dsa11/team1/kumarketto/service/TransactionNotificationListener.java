@@ -0,0 +1,75 @@
+package org.dsa11.team1.kumarketto.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.dsa11.team1.kumarketto.domain.event.TransactionStepEvent;
+import org.dsa11.team1.kumarketto.websocket.ChatMessageRouter;
+import org.dsa11.team1.kumarketto.websocket.OutboundFrame;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 거래 단계 알림 (커밋 이후 비동기 처리)
+ * 채팅 화면 밖에 있는 거래 당사자에게 알림 전용 프레임(TRANSACTION_NOTIFICATION)을 보냄
+ * 채팅방 기록은 시스템 메시지로 남으므로, 접속 중이 아닌 사용자에게는 보내지 않음 (재접속 시 시스템 메시지로 확인)
+ */
+@Slf4j
+@Component
+public class TransactionNotificationListener {
+
+    private final TransactionChatService transactionChatService;
+    private final ChatMessageRouter messageRouter;
+    private final ObjectMapper objectMapper;
+
+    public TransactionNotificationListener(TransactionChatService transactionChatService,
+                                           ChatMessageRouter messageRouter,
+                                           ObjectMapper objectMapper) {
+        this.transactionChatService = transactionChatService;
+        this.messageRouter = messageRouter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionStep(TransactionStepEvent event) {
+        try {
+            // 채팅방 ID 가 없는 예전 거래만 매핑 캐시로 조회
+            Long chatId = event.getChatId() != null
+                    ? event.getChatId()
+                    : transactionChatService.getChatId(event.getTransactionId());
+
+            // 알림 문구는 시스템 메시지와 같은 content(JSON) 로 클라이언트에서 만듦
+            Map<String, Object> notification = new HashMap<>();
+            notification.put("type", "TRANSACTION_NOTIFICATION");
+            notification.put("chatId", chatId);
+            notification.put("transactionId", event.getTransactionId());
+            notification.put("senderId", event.getSenderId());
+            notification.put("messageType", event.getMessageType());
+            notification.put("content", objectMapper.writeValueAsString(event.getPayload()));
+            notification.put("createdDate", LocalDateTime.now());
+
+            messageRouter.sendToUsers(recipients(event), OutboundFrame.encode(objectMapper, notification));
+        } catch (Exception e) {
+            // 알림은 놓쳐도 채팅방 시스템 메시지로 남으므로 재시도하지 않음
+            log.warn("Failed to send transaction notification {} for transaction {}",
+                    event.getMessageType(), event.getTransactionId(), e);
+        }
+    }
+
+    // 받는 사람이 정해져 있으면 그 사람, 아니면 시스템 메시지를 볼 수 있는 당사자
+    private List<String> recipients(TransactionStepEvent event) {
+        if (event.getTargetUserId() != null) {
+            return List.of(event.getTargetUserId());
+        }
+        String visibleTo = event.getMessageType().getAudience().resolve(event.getBuyerId(), event.getSellerId());
+        return visibleTo != null ? List.of(visibleTo) : List.of(event.getBuyerId(), event.getSellerId());
+    }
+
+}
@@ -1,43 +1,318 @@
 package org.dsa11.team1.kumarketto.service;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.dsa11.team1.kumarketto.domain.entity.Transaction;
-import org.dsa11.team1.kumarketto.domain.enums.TransactionStatus;
+import org.dsa11.team1.kumarketto.domain.dto.OverdueTransactionDTO;
+import org.dsa11.team1.kumarketto.domain.dto.SystemMessagePayload;
+import org.dsa11.team1.kumarketto.domain.entity.BatchCheckpoint;
+import org.dsa11.team1.kumarketto.domain.enums.MessageType;
+import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
+import org.dsa11.team1.kumarketto.domain.event.ProductSearchSyncEvent;
+import org.dsa11.team1.kumarketto.domain.event.ProductStatusChangedEvent;
+import org.dsa11.team1.kumarketto.domain.event.TransactionStepEvent;
+import org.dsa11.team1.kumarketto.repository.BatchCheckpointRepository;
+import org.dsa11.team1.kumarketto.repository.ProductRepository;
 import org.dsa11.team1.kumarketto.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
-@Service
-@RequiredArgsConstructor
+/**
+ * 자동 구매 확정 배치
+ * 대상 거래의 ID 범위를 작업자 수만큼 구간으로 나누고, 구간마다 ID 키셋 페이징으로 청크를 처리
+ * 청크 하나가 짧은 트랜잭션 하나이며, 일괄 UPDATE 와 진행 위치(batch_checkpoint) 갱신을 함께 커밋
+ * 중단된 실행은 다음 실행(또는 서버 시작) 때 마지막 진행 위치부터 이어서 처리
+ * (평소에는 TransactionDeadlineService 가 기한에 맞춰 한 건씩 확정하고, 이 배치는 놓친 거래를 처리)
+ */
 @Slf4j
+@Service
 public class TransactionSchedulerService {
 
+    private static final String JOB_NAME = "autoConfirm";
+
     private final TransactionRepository transactionRepository;
+    private final ProductRepository productRepository;
+    private final BatchCheckpointRepository batchCheckpointRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+    private final int workers;
+    private final ExecutorService workerPool;
+    private final ExecutorService coordinator; // 실행 하나를 맡아 구간 처리가 끝나기를 기다리는 스레드
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public TransactionSchedulerService(TransactionRepository transactionRepository,
+                                       ProductRepository productRepository,
+                                       BatchCheckpointRepository batchCheckpointRepository,
+                                       ApplicationEventPublisher eventPublisher,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${transaction.auto-confirm.chunk-size:500}") int chunkSize,
+                                       @Value("${transaction.auto-confirm.workers:4}") int workers) {
+        this.transactionRepository = transactionRepository;
+        this.productRepository = productRepository;
+        this.batchCheckpointRepository = batchCheckpointRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.workers = Math.max(1, workers);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workerPool = Executors.newFixedThreadPool(this.workers, runnable -> {
+            Thread thread = new Thread(runnable, "auto-confirm-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auto-confirm-coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
     /**
      * 자동 구매 확정 처리 (매일 자정 수행)
      */
-    @Scheduled(cron = "0 0 0 * * *") // 매일 자정
-    @Transactional
+    @Scheduled(cron = "${transaction.auto-confirm.cron:0 0 0 * * *}") // 매일 자정
     public void autoCompleteTransaction() {
+        start();
+    }
+
+    /**
+     * 실행을 조정 스레드에 넘기고 바로 반환
+     * 스케줄러 스레드는 하나뿐이므로 구간 처리가 끝나기를 기다리면 다른 @Scheduled 작업이 모두 밀림
+     * @return  실행 결과 (이미 실행 중이거나 서버 종료 중이면 null)
+     */
+    Future<?> start() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("자동 구매 확정 배치가 이미 실행 중입니다.");
+            return null;
+        }
+        try {
+            return coordinator.submit(() -> {
+                try {
+                    run();
+                } catch (RuntimeException e) {
+                    log.error("자동 구매 확정 배치 실패", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            log.warn("서버 종료 중이라 자동 구매 확정 배치를 시작하지 않습니다.");
+            return null;
+        }
+    }
+
+    /**
+     * 서버 시작 시 중단된 실행이 있으면 이어서 처리
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        boolean interrupted = batchCheckpointRepository.findByJobName(JOB_NAME).stream()
+                .anyMatch(checkpoint -> !checkpoint.isCompleted());
+        if (interrupted) {
+            start();
+        }
+    }
+
+    private void run() {
+        List<BatchCheckpoint> checkpoints = batchCheckpointRepository.findByJobName(JOB_NAME).stream()
+                .filter(checkpoint -> !checkpoint.isCompleted())
+                .toList();
+        if (checkpoints.isEmpty()) {
+            checkpoints = planRun(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+            if (checkpoints.isEmpty()) {
+                log.info("구매 확정 기한이 지난 거래가 없습니다.");
+                return;
+            }
+            log.info("구매 확정 기한이 지난 거래를 자동으로 완료 처리합니다. 구간 {}개", checkpoints.size());
+        } else {
+            log.info("중단된 자동 구매 확정 배치를 이어서 처리합니다. 남은 구간 {}개", checkpoints.size());
+        }
+
+        AtomicInteger confirmedCount = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (BatchCheckpoint checkpoint : checkpoints) {
+            String checkpointKey = checkpoint.getCheckpointKey();
+            futures.add(workerPool.submit(() -> processPartition(checkpointKey, confirmedCount)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // 실패한 구간은 진행 위치가 남아 있으므로 다음 실행 때 이어서 처리
+                log.error("자동 구매 확정 구간 처리 실패", e);
+            }
+        }
+        log.info("자동 구매 확정 배치 종료. 확정 {}건", confirmedCount.get());
+    }
+
+    /**
+     * 새 실행 계획: 대상 ID 범위를 작업자 수만큼 나누어 구간별 진행 위치 저장
+     */
+    private List<BatchCheckpoint> planRun(LocalDateTime cutoff) {
+        return transactionTemplate.execute(status -> {
+            batchCheckpointRepository.deleteByJobName(JOB_NAME);
+
+            Object[] range = transactionRepository.findOverdueIdRange(cutoff).get(0);
+            if (range[0] == null) {
+                return List.of();
+            }
+            long minId = (Long) range[0];
+            long maxId = (Long) range[1];
+            long span = (maxId - minId) / workers + 1;
+
+            List<BatchCheckpoint> checkpoints = new ArrayList<>();
+            for (int partition = 0; partition < workers; partition++) {
+                long start = minId + span * partition;
+                if (start > maxId) {
+                    break;
+                }
+                checkpoints.add(BatchCheckpoint.builder()
+                        .jobName(JOB_NAME)
+                        .partition(partition)
+                        .cutoff(cutoff)
+                        .rangeStart(start)
+                        .rangeEnd(Math.min(maxId, start + span - 1))
+                        .build());
+            }
+            return batchCheckpointRepository.saveAll(checkpoints);
+        });
+    }
+
+    /**
+     * 구간 하나를 청크 단위로 끝까지 처리
+     */
+    private void processPartition(String checkpointKey, AtomicInteger confirmedCount) {
+        boolean hasMore = true;
+        while (hasMore && !Thread.currentThread().isInterrupted()) {
+            hasMore = Boolean.TRUE.equals(transactionTemplate.execute(status -> processChunk(checkpointKey, confirmedCount)));
+        }
+    }
+
+    /**
+     * 청크 하나 처리 (한 트랜잭션)
+     * @return  다음 청크가 남아 있으면 true
+     */
+    private boolean processChunk(String checkpointKey, AtomicInteger confirmedCount) {
+        BatchCheckpoint checkpoint = batchCheckpointRepository.findById(checkpointKey).orElse(null);
+        if (checkpoint == null || checkpoint.isCompleted()) {
+            return false;
+        }
+
+        List<OverdueTransactionDTO> chunk = transactionRepository.findOverdueChunk(
+                checkpoint.getCutoff(), checkpoint.getLastId(), checkpoint.getRangeEnd(), PageRequest.of(0, chunkSize));
+        if (chunk.isEmpty()) {
+            checkpoint.complete();
+            return false;
+        }
+
+        int confirmed = confirmAndPublish(chunk, LocalDateTime.now());
+
+        // 벌크 UPDATE 로 영속성 컨텍스트가 비워졌으므로 진행 위치는 다시 조회해서 갱신
+        BatchCheckpoint current = batchCheckpointRepository.findById(checkpointKey).orElseThrow();
+        current.advance(chunk.get(chunk.size() - 1).getTransactionId());
+        if (chunk.size() < chunkSize) {
+            current.complete();
+        }
+        confirmedCount.addAndGet(confirmed);
+        log.debug("자동 구매 확정 청크 처리: {} lastId={} 확정 {}건", checkpointKey, current.getLastId(), confirmed);
+        return !current.isCompleted();
+    }
 
-        log.info("구매 확정 기한이 지난 거래를 자동으로 완료 처리합니다.");
+    /**
+     * 거래 한 건 자동 구매 확정 (구매 확정 기한 타이머에서 호출)
+     * @return  확정했으면 true (이미 확정되었거나 기한 전이면 false)
+     */
+    public boolean autoConfirm(Long transactionId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OverdueTransactionDTO> rows = transactionRepository.findOverdueChunk(
+                    now, transactionId - 1, transactionId, PageRequest.of(0, 1));
+            return !rows.isEmpty() && confirmAndPublish(rows, now) > 0;
+        }));
+    }
 
-        // 확정 기한이 지났지만 아직 확정 버튼을 누르지 않은 거래들 조회
-        List<Transaction> overdueTransactions = transactionRepository.findOverdueTransactions(LocalDateTime.now());
+    /**
+     * 대상 거래 일괄 확정 + 상품 판매 완료 + 후속 이벤트 발행 (호출한 트랜잭션 안에서 실행)
+     * @return  확정된 거래 수
+     */
+    private int confirmAndPublish(List<OverdueTransactionDTO> rows, LocalDateTime now) {
+        List<Long> transactionIds = rows.stream().map(OverdueTransactionDTO::getTransactionId).toList();
 
-        // 확정 처리
-        for (Transaction transaction : overdueTransactions) {
-            log.info("거래 ID {} 자동 확정 처리.", transaction.getId());
-            transaction.bindStatus(TransactionStatus.CONFIRMED);
-            transaction.bindConfirmTime(LocalDateTime.now());
+        // 아직 PAID 인 거래만 잠근 뒤 확정 (조회 이후 구매자가 직접 확정한 거래는 여기서 빠지고 후속 처리도 하지 않음)
+        List<Long> paidIds = transactionRepository.lockPaidIds(transactionIds);
+        if (paidIds.isEmpty()) {
+            return 0;
         }
+        transactionRepository.confirmAll(paidIds, now);
+
+        Set<Long> confirmedIds = new HashSet<>(paidIds);
+        List<OverdueTransactionDTO> confirmedRows = rows.stream()
+                .filter(row -> confirmedIds.contains(row.getTransactionId()))
+                .toList();
+
+        if (!confirmedRows.isEmpty()) {
+            productRepository.markSoldOut(confirmedRows.stream().map(OverdueTransactionDTO::getProductId).toList(), now);
+            publishChunkEvents(confirmedRows);
+        }
+        return confirmedRows.size();
+    }
+
+    /**
+     * 청크에서 확정된 거래의 후속 이벤트 (상점 통계, 검색 색인, 리뷰 요청 메시지)
+     * 커밋 이후 리스너가 처리하므로 청크 트랜잭션이 외부 I/O 를 기다리지 않음
+     */
+    private void publishChunkEvents(List<OverdueTransactionDTO> confirmedRows) {
+        for (OverdueTransactionDTO row : confirmedRows) {
+            if (row.getProductStatus() != ProductStatus.SOLDOUT) {
+                eventPublisher.publishEvent(new ProductStatusChangedEvent(
+                        row.getProductId(), row.getSellerUserNo(), row.getProductStatus(), ProductStatus.SOLDOUT));
+            }
+            eventPublisher.publishEvent(new ProductSearchSyncEvent(row.getProductId()));
+            eventPublisher.publishEvent(TransactionStepEvent.builder()
+                    .transactionId(row.getTransactionId())
+                    .productId(row.getProductId())
+                    .chatId(row.getChatId())
+                    .buyerId(row.getBuyerId())
+                    .sellerId(row.getSellerId())
+                    .senderId(row.getSellerId())
+                    .messageType(MessageType.REVIEW_REQUEST)
+                    .payload(SystemMessagePayload.of(row.getTransactionId()))
+                    .build());
+        }
+    }
 
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workerPool.shutdownNow();
     }
 
 }
@@ -3,16 +3,22 @@ package org.dsa11.team1.kumarketto.service;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.dsa11.team1.kumarketto.domain.dto.ChatMessageDTO;
 import org.dsa11.team1.kumarketto.domain.dto.ChatRoomDTO;
+import org.dsa11.team1.kumarketto.domain.dto.SystemMessagePayload;
 import org.dsa11.team1.kumarketto.domain.dto.TransactionApprovalRequestDTO;
 import org.dsa11.team1.kumarketto.domain.dto.TransactionResponseDTO;
 import org.dsa11.team1.kumarketto.domain.entity.*;
 import org.dsa11.team1.kumarketto.domain.enums.*;
+import org.dsa11.team1.kumarketto.domain.event.ProductSearchSyncEvent;
+import org.dsa11.team1.kumarketto.domain.event.ProductStatusChangedEvent;
+import org.dsa11.team1.kumarketto.domain.event.TransactionDeadlineEvent;
+import org.dsa11.team1.kumarketto.domain.event.TransactionStepEvent;
 import org.dsa11.team1.kumarketto.repository.*;
-import org.dsa11.team1.kumarketto.websocket.WebSocketHandler;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -27,11 +33,9 @@ public class TransactionService {
     private final ProductRepository productRepository;
     private final MemberRepository memberRepository;
     private final PaymentRepository paymentRepository;
-    private final ProductElasticsearchRepository productElasticsearchRepository;
-    private final WishListRepository wishListRepository;
 
     private final ChatRoomService chatRoomService; // ChatRoomService 주입
-    private final WebSocketHandler webSocketHandler; //  WebSocketHandler 주입
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 거래 생성
@@ -45,14 +49,8 @@ public class TransactionService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new EntityNotFoundException("상품을 찾을 수 없습니다."));
 
-        MemberEntity buyer = memberRepository.findById(buyerUserNo)
-                .orElseThrow(() -> new EntityNotFoundException("구매자를 찾을 수 없습니다."));
-
-        MemberEntity seller = product.getMember(); //  판매자 정보 가져오기
-
-
         /* Validations */
-        if (product.getMember().getUserNo().equals(buyer.getUserNo())) {
+        if (product.getMember().getUserNo().equals(buyerUserNo)) {
             throw new IllegalArgumentException("자신의 상품은 구매할 수 없습니다.");
         }
 
@@ -60,6 +58,23 @@ public class TransactionService {
             throw new IllegalArgumentException("판매 중인 상품이 아닙니다.");
         }
 
+        // 판매 중(NEW)일 때만 예약 중으로 변경 (조건부 UPDATE, 동시에 요청한 구매자 중 한 명만 성공)
+        int reserved = productRepository.compareAndSetStatus(productId, ProductStatus.NEW, ProductStatus.RESERVED, LocalDateTime.now());
+        if (reserved == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "다른 구매자가 먼저 거래를 요청한 상품입니다.");
+        }
+
+        // 벌크 UPDATE 로 영속성 컨텍스트가 비워졌으므로 변경된 상태로 다시 조회
+        product = productRepository.findById(productId)
+                .orElseThrow(() -> new EntityNotFoundException("상품을 찾을 수 없습니다."));
+        eventPublisher.publishEvent(new ProductStatusChangedEvent(
+                product.getPid(), product.getMember().getUserNo(), ProductStatus.NEW, ProductStatus.RESERVED));
+
+        MemberEntity buyer = memberRepository.findById(buyerUserNo)
+                .orElseThrow(() -> new EntityNotFoundException("구매자를 찾을 수 없습니다."));
+
+        MemberEntity seller = product.getMember(); //  판매자 정보 가져오기
+
         // Transaction 생성
         Transaction transaction = Transaction.builder()
                 .product(product)
@@ -69,36 +84,31 @@ public class TransactionService {
                 .deliveryService(DeliveryService.DIRECT_TRADE)
                 .build();
 
-        product.setStatus(ProductStatus.RESERVED); // 예약 중으로 상태 변경
-
-        // 수정 사항 ES 반영
-        Long likeCount = wishListRepository.countByProduct(product); // 찜 수 조회
-
-        productElasticsearchRepository.save(ProductDocument.fromProduct(product, likeCount)); // ES 동기화
+        // 거래 채팅방 (이후 거래 단계에서는 transaction.chatId 를 그대로 사용)
+        ChatRoomDTO chatRoomDTO = chatRoomService.findOrCreateChatRoom(productId, buyer.getUserId());
+        transaction.bindChatId(chatRoomDTO.getChatId());
 
         Transaction savedTransaction = transactionRepository.save(transaction);
 
+        // 수정 사항 ES 반영 (커밋 이후)
+        eventPublisher.publishEvent(new ProductSearchSyncEvent(productId));
 
-        // [수정] 시스템 메시지 전송 로직 추가
-        ChatRoomDTO chatRoomDTO = chatRoomService.findOrCreateChatRoom(productId, buyer.getUserId());
-
-        String messageContent = String.format(
-                "{\"transactionId\": %d, \"buyerNickname\": \"%s\"}",
-                savedTransaction.getId(),
-                buyer.getNickname()
-        );
-
-        ChatMessageDTO systemMessage = ChatMessageDTO.builder()
+        // 판매자에게 거래 요청 메시지 (커밋 이후 전송)
+        eventPublisher.publishEvent(TransactionStepEvent.builder()
+                .transactionId(savedTransaction.getId())
+                .productId(productId)
                 .chatId(chatRoomDTO.getChatId())
+                .buyerId(buyer.getUserId())
+                .sellerId(seller.getUserId())
                 .senderId(buyer.getUserId())
-                .content(messageContent)
+                .targetUserId(seller.getUserId())
                 .messageType(MessageType.TRANSACTION_REQUEST)
-                .build();
-        //모두에게 보내는 메시지
-        //webSocketHandler.sendSystemMessage(systemMessage);
+                .payload(SystemMessagePayload.transactionRequest(savedTransaction.getId(), buyer.getNickname()))
+                .build());
 
-        // 판매자를 명시하여 타겟 메시지 전송
-        webSocketHandler.sendTargetedSystemMessage(systemMessage, seller.getUserId());
+        // 결제 기한 타이머 등록 (기한이 지나도 미결제면 예약 해제)
+        eventPublisher.publishEvent(new TransactionDeadlineEvent(
+                savedTransaction.getId(), TransactionDeadlineType.PAYMENT, savedTransaction.getPaymentDueDate()));
 
         // 응답에 chatId도 포함해서 반환
         return new TransactionResponseDTO(savedTransaction, chatRoomDTO.getChatId());
@@ -137,30 +147,15 @@ public class TransactionService {
         // 요청에 따라 상태 분기
         if (approvalStatus == TransactionStatus.APPROVED) { // 요청 승인
             transaction.bindStatus(TransactionStatus.APPROVED);
-            // 승인 시, 구매자에게 거래 방식 선택 시스템 메시지 전송
-            ChatRoomDTO chatRoomDTO = chatRoomService.findOrCreateChatRoom(product.getPid(), buyer.getUserId());
-            String messageContent = String.format("{\"transactionId\": %d}", transactionId);
-
-            ChatMessageDTO systemMessage = ChatMessageDTO.builder()
-                    .chatId(chatRoomDTO.getChatId())
-                    .senderId(product.getMember().getUserId()) // 판매자가 보내는 것으로 설정
-                    .content(messageContent)
-                    .messageType(MessageType.TRANSACTION_TYPE_SELECT)
-                    .build();
-            //모두에게 보여줌
-            //webSocketHandler.sendSystemMessage(systemMessage);
-            // [수정 후] 구매자를 명시하여 타겟 메시지 전송
-
-            webSocketHandler.sendTargetedSystemMessage(systemMessage, buyer.getUserId());
-
+            // 승인 시, 구매자에게 거래 방식 선택 시스템 메시지 전송 (판매자가 보내는 것으로 설정)
+            publishStep(transaction, product.getMember().getUserId(), buyer.getUserId(),
+                    MessageType.TRANSACTION_TYPE_SELECT, SystemMessagePayload.of(transactionId));
 
         } else { // 요청 거절
             transaction.bindStatus(TransactionStatus.REJECTED);
-            product.setStatus(ProductStatus.NEW); // 판매 중(NEW) 상태로
-            // 수정 사항 ES 반영
-            Long likeCount = wishListRepository.countByProduct(product); // 찜 수 조회
-
-            productElasticsearchRepository.save(ProductDocument.fromProduct(product, likeCount)); // ES 동기화
+            changeProductStatus(product, ProductStatus.NEW); // 판매 중(NEW) 상태로
+            // 수정 사항 ES 반영 (커밋 이후)
+            eventPublisher.publishEvent(new ProductSearchSyncEvent(product.getPid()));
         }
 
         return new TransactionResponseDTO(transaction);
@@ -188,47 +183,58 @@ public class TransactionService {
             throw new IllegalStateException("결제가 완료된 거래만 구매 확정할 수 있습니다.");
         }
 
-        // 구매 확정 처리
+        // 구매 확정 처리 (아직 PAID 일 때만, 자동 확정이 먼저 처리했으면 통계/메시지가 중복되지 않도록 종료)
+        LocalDateTime now = LocalDateTime.now();
+        if (transactionRepository.confirmIfPaid(transactionId, now) == 0) {
+            log.info("이미 구매 확정된 거래이므로 수동 확정을 건너뜁니다. Transaction ID: {}", transactionId);
+            return;
+        }
+        // 영속성 컨텍스트의 엔티티도 DB 와 같은 상태로 맞춤
         transaction.bindStatus(TransactionStatus.CONFIRMED);
-        transaction.bindConfirmTime(LocalDateTime.now());
+        transaction.bindConfirmTime(now);
 
         // 상품 상태 변경
         Product product = transaction.getProduct();
-        product.setStatus(ProductStatus.SOLDOUT);
+        changeProductStatus(product, ProductStatus.SOLDOUT);
 
 
-        // 구매자에게 리뷰 작성 요청 메시지 전송
-        sendReviewRequestToBuyer(transaction);
+        // 리뷰 작성 요청 메시지를 채팅방 전체에 전송
+        publishStep(transaction, product.getMember().getUserId(), null,
+                MessageType.REVIEW_REQUEST, SystemMessagePayload.of(transaction.getId()));
 
-        // 수정 사항 ES 반영
-        Long likeCount = wishListRepository.countByProduct(product); // 찜 수 조회
-
-        productElasticsearchRepository.save(ProductDocument.fromProduct(product, likeCount)); // ES 동기화
+        // 수정 사항 ES 반영 (커밋 이후)
+        eventPublisher.publishEvent(new ProductSearchSyncEvent(product.getPid()));
 
     }
 
     /**
-     * 모든 참여자에게 전송하도록 변경
-     * 리뷰 작성 요청 메시지를 전송하는 메소드
+     * 상품 상태 변경 + 상태 변경 이벤트 발행 (상점 통계 반영)
      */
-    private void sendReviewRequestToBuyer(Transaction transaction) {
-        MemberEntity buyer = transaction.getMember();
-        MemberEntity seller = transaction.getProduct().getMember();
-        Long productId = transaction.getProduct().getPid();
-
-        ChatRoomDTO chatRoomDTO = chatRoomService.findOrCreateChatRoom(productId, buyer.getUserId());
-        String messageContent = String.format("{\"transactionId\": %d}", transaction.getId());
-
-        ChatMessageDTO systemMessage = ChatMessageDTO.builder()
-                .chatId(chatRoomDTO.getChatId())
-                .senderId(seller.getUserId())
-                .content(messageContent)
-                .messageType(MessageType.REVIEW_REQUEST)
-                .build();
+    private void changeProductStatus(Product product, ProductStatus status) {
+        ProductStatus previous = product.getStatus();
+        product.setStatus(status);
+        eventPublisher.publishEvent(new ProductStatusChangedEvent(
+                product.getPid(), product.getMember().getUserNo(), previous, status));
+    }
 
-        // [수정] 구매자에게만 보내는 대신, 채팅방 전체에 방송합니다.
-        // webSocketHandler.sendTargetedSystemMessage(systemMessage, buyer.getUserId());
-        webSocketHandler.sendSystemMessage(systemMessage);
+    /**
+     * 거래 단계 이벤트 발행 (커밋 이후 채팅방 시스템 메시지로 전송)
+     * @param senderId      보낸 사람으로 표시할 회원 아이디
+     * @param targetUserId  받는 사람 아이디 (null 이면 채팅방 전체)
+     */
+    private void publishStep(Transaction transaction, String senderId, String targetUserId,
+                             MessageType messageType, SystemMessagePayload payload) {
+        eventPublisher.publishEvent(TransactionStepEvent.builder()
+                .transactionId(transaction.getId())
+                .productId(transaction.getProduct().getPid())
+                .chatId(transaction.getChatId())
+                .buyerId(transaction.getMember().getUserId())
+                .sellerId(transaction.getProduct().getMember().getUserId())
+                .senderId(senderId)
+                .targetUserId(targetUserId)
+                .messageType(messageType)
+                .payload(payload)
+                .build());
     }
 
     //구매자의 거래/결제 방식 선택을 DB에 반영하는 메소드
@@ -255,7 +261,12 @@ public class TransactionService {
         MemberEntity seller = transaction.getProduct().getMember();
         // 현금 결제 특별 처리
         if ("CASH".equals(paymentMethod)) {
-            // 결제/배송 단계를 건너뛰고 바로 '결제 완료' 상태로 변경
+            // 결제/배송 단계를 건너뛰고 바로 '결제 완료' 상태로 변경 (아직 APPROVED 일 때만)
+            // 기한 만료(EXPIRED)로 상품이 다시 판매 중이 된 거래를 결제 완료로 바꾸면 두 번 팔리므로 거절
+            if (transactionRepository.markPaidIfApproved(transactionId) == 0) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "결제 기한이 지났거나 이미 처리된 거래입니다.");
+            }
+            // 영속성 컨텍스트의 엔티티도 DB 와 같은 상태로 맞춤
             transaction.bindStatus(TransactionStatus.PAID);
 
             // Payment 객체 생성 (현금 결제 기록)
@@ -266,18 +277,13 @@ public class TransactionService {
                     .paymentTime(LocalDateTime.now()) // 현금 거래는 선택 즉시 완료로 간주
                     .build();
             paymentRepository.save(cashPayment);
-            // 약속 조율 메시지를 채팅방 전체에 전송
-            ChatRoomDTO chatRoomDTO = chatRoomService.findOrCreateChatRoom(transaction.getProduct().getPid(), buyer.getUserId());
-            String messageContent = String.format("{\"transactionId\": %d, \"sellerId\": \"%s\"}", transaction.getId(), seller.getUserId());
-
-            ChatMessageDTO systemMessage = ChatMessageDTO.builder()
-                    .chatId(chatRoomDTO.getChatId())
-                    .senderId(buyer.getUserId()) // 구매자가 선택했으므로 구매자를 sender로 설정
-                    .content(messageContent)
-                    .messageType(MessageType.CASH_PAYMENT_SELECTED)
-                    .build();
-            webSocketHandler.sendSystemMessage(systemMessage); // 채팅방 전체에 전송
+            // 약속 조율 메시지를 채팅방 전체에 전송 (구매자가 선택했으므로 구매자를 sender로 설정)
+            publishStep(transaction, buyer.getUserId(), null, MessageType.CASH_PAYMENT_SELECTED,
+                    SystemMessagePayload.cashPayment(transaction.getId(), seller.getUserId()));
         } else if ("CARD".equals(paymentMethod)) {
+            if (transaction.getStatus() == TransactionStatus.EXPIRED) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "결제 기한이 지났거나 이미 처리된 거래입니다.");
+            }
             // 1. 이 거래에 연결된 결제 정보가 이미 있는지 확인합니다.
             Optional<Payment> existingPaymentOpt = paymentRepository.findByTransaction(transaction);
 
@@ -334,17 +340,9 @@ public class TransactionService {
 
         MemberEntity buyer = transaction.getMember();
 
-        // 구매자에게 상품 수령 확인 메시지 전송
-        ChatRoomDTO chatRoomDTO = chatRoomService.findOrCreateChatRoom(transaction.getProduct().getPid(), buyer.getUserId());
-        String messageContent = String.format("{\"transactionId\": %d}", transaction.getId());
-
-        ChatMessageDTO systemMessage = ChatMessageDTO.builder()
-                .chatId(chatRoomDTO.getChatId())
-                .senderId(transaction.getProduct().getMember().getUserId()) // 판매자가 보냄
-                .content(messageContent)
-                .messageType(MessageType.ITEM_RECEIVED_CHECK)
-                .build();
-        webSocketHandler.sendTargetedSystemMessage(systemMessage, buyer.getUserId()); // 구매자에게만 전송
+        // 구매자에게만 상품 수령 확인 메시지 전송 (판매자가 보냄)
+        publishStep(transaction, transaction.getProduct().getMember().getUserId(), buyer.getUserId(),
+                MessageType.ITEM_RECEIVED_CHECK, SystemMessagePayload.of(transaction.getId()));
     }
     /**
      * [신규] 구매자가 상품을 수령했음을 확인합니다.
@@ -360,17 +358,9 @@ public class TransactionService {
         MemberEntity buyer = transaction.getMember();
         MemberEntity seller = transaction.getProduct().getMember();
 
-        // [수정] 3. 구매자에게 구매 확정 요청 메시지 전송
-        ChatRoomDTO chatRoomDTO = chatRoomService.findOrCreateChatRoom(transaction.getProduct().getPid(), buyer.getUserId());
-        String messageContent = String.format("{\"transactionId\": %d}", transaction.getId());
-
-        ChatMessageDTO systemMessage = ChatMessageDTO.builder()
-                .chatId(chatRoomDTO.getChatId())
-                .senderId(seller.getUserId()) // 시스템 메시지이므로 판매자 또는 시스템 ID로 설정
-                .content(messageContent)
-                .messageType(MessageType.PURCHASE_CONFIRM_REQUEST)
-                .build();
-        webSocketHandler.sendTargetedSystemMessage(systemMessage, buyer.getUserId()); // 구매자에게만 전송
+        // [수정] 3. 구매자에게만 구매 확정 요청 메시지 전송 (판매자가 보낸 것으로 설정)
+        publishStep(transaction, seller.getUserId(), buyer.getUserId(),
+                MessageType.PURCHASE_CONFIRM_REQUEST, SystemMessagePayload.of(transaction.getId()));
     }
 
 
@@ -0,0 +1,43 @@
+package org.dsa11.team1.kumarketto.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 고정 크기 byte[] 버퍼 풀
+ * 큰 버퍼(멀티파트 업로드 파트 등)를 요청마다 새로 만들지 않고 재사용해 GC 부담을 줄임
+ * 풀이 비어 있으면 새로 만들고, 반납 시 풀이 가득 차 있으면 버림 (보관 개수만 제한)
+ */
+public class ByteArrayPool {
+
+    private final int bufferSize;
+    private final BlockingQueue<byte[]> buffers;
+
+    /**
+     * @param bufferSize    버퍼 하나의 크기
+     * @param maxPooled     풀에 보관할 최대 버퍼 수
+     */
+    public ByteArrayPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(Math.max(maxPooled, 1));
+    }
+
+    public byte[] acquire() {
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    public void release(byte[] buffer) {
+        if (buffer != null && buffer.length == bufferSize) {
+            buffers.offer(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getPooledCount() {
+        return buffers.size();
+    }
+}
@@ -0,0 +1,51 @@
+package org.dsa11.team1.kumarketto.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 커밋 이후 비동기 이벤트 처리 재시도
+ * 실패하면 대기 시간을 늘려 가며 다시 시도하고, 끝까지 실패하면 로그만 남김 (원래 트랜잭션은 이미 커밋됨)
+ */
+@Slf4j
+@Component
+public class EventRetrier {
+
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    public EventRetrier(@Value("${events.retry.max-attempts:3}") int maxAttempts,
+                        @Value("${events.retry.backoff-ms:500}") long backoffMs) {
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+    }
+
+    /**
+     * @param description   로그용 작업 설명
+     * @param task          실행할 작업
+     * @return  성공하면 true
+     */
+    public boolean run(String description, Runnable task) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                task.run();
+                return true;
+            } catch (Exception e) {
+                if (attempt == maxAttempts) {
+                    log.error("Event handling failed after {} attempts: {}", attempt, description, e);
+                    return false;
+                }
+                log.warn("Event handling failed (attempt {}/{}): {}", attempt, maxAttempts, description, e);
+                try {
+                    Thread.sleep(backoffMs * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+}
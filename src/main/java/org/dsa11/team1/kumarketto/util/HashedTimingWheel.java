@@ -0,0 +1,143 @@
+package org.dsa11.team1.kumarketto.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 해시 타이밍 휠
+ * 키마다 만료 작업을 하나씩 예약하고, 같은 키로 다시 예약하면 이전 예약을 대체
+ * (하트비트처럼 자주 연장되는 타임아웃을 스케줄러에 작업을 쌓지 않고 O(1)로 처리)
+ */
+@Slf4j
+public class HashedTimingWheel {
+
+    private final long tickMs;
+    private final int mask;
+    private final List<Set<Timeout>> wheel;
+    private final Map<Object, Timeout> timeouts = new HashMap<>();
+    private final ScheduledExecutorService ticker;
+    private final Executor taskExecutor;
+    private long currentTick;
+
+    /**
+     * @param name          틱 스레드 이름
+     * @param tickMs        한 칸의 시간 (만료 시각의 정밀도)
+     * @param wheelSize     칸 수 (2의 거듭제곱으로 올림)
+     * @param taskExecutor  만료 작업을 실행할 스레드 풀 (틱 스레드를 막지 않도록)
+     */
+    public HashedTimingWheel(String name, long tickMs, int wheelSize, Executor taskExecutor) {
+        this.tickMs = tickMs;
+        this.taskExecutor = taskExecutor;
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.wheel = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            wheel.add(new LinkedHashSet<>());
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 만료 작업 예약 (같은 키의 이전 예약은 취소)
+     * @param key       예약 키
+     * @param delayMs   지금부터 만료까지 시간
+     * @param task      만료 시 실행할 작업
+     */
+    public synchronized void schedule(Object key, long delayMs, Runnable task) {
+        long ticks = Math.max(1, (delayMs + tickMs - 1) / tickMs);
+        Timeout timeout = new Timeout(key, currentTick + ticks, task);
+        Timeout previous = timeouts.put(key, timeout);
+        if (previous != null) {
+            bucketOf(previous.deadlineTick).remove(previous);
+        }
+        bucketOf(timeout.deadlineTick).add(timeout);
+    }
+
+    /**
+     * 예약 취소
+     * @return  취소한 예약이 있었으면 true
+     */
+    public synchronized boolean cancel(Object key) {
+        Timeout timeout = timeouts.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        bucketOf(timeout.deadlineTick).remove(timeout);
+        return true;
+    }
+
+    public synchronized boolean isScheduled(Object key) {
+        return timeouts.containsKey(key);
+    }
+
+    private Set<Timeout> bucketOf(long tick) {
+        return wheel.get((int) (tick & mask));
+    }
+
+    // 한 칸 전진하고 만료된 예약 실행 (칸 수보다 먼 예약은 다음 바퀴까지 남겨 둠)
+    private void advance() {
+        List<Timeout> expired = new ArrayList<>();
+        synchronized (this) {
+            currentTick++;
+            Iterator<Timeout> iterator = bucketOf(currentTick).iterator();
+            while (iterator.hasNext()) {
+                Timeout timeout = iterator.next();
+                if (timeout.deadlineTick <= currentTick) {
+                    iterator.remove();
+                    timeouts.remove(timeout.key, timeout);
+                    expired.add(timeout);
+                }
+            }
+        }
+        for (Timeout timeout : expired) {
+            run(timeout);
+        }
+    }
+
+    private void run(Timeout timeout) {
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    timeout.task.run();
+                } catch (Exception e) {
+                    log.error("Timing wheel task failed: key={}", timeout.key, e);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Timing wheel task rejected: key={}", timeout.key, e);
+        }
+    }
+
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    private static class Timeout {
+        private final Object key;
+        private final long deadlineTick;
+        private final Runnable task;
+
+        Timeout(Object key, long deadlineTick, Runnable task) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+    }
+
+}
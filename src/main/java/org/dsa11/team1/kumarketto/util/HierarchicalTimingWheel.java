@@ -0,0 +1,203 @@
+package org.dsa11.team1.kumarketto.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계층형 타이밍 휠 (절대 시각 기준)
+ * 몇 시간~며칠 뒤의 기한처럼 먼 예약을 위한 휠로, 상위 단계일수록 한 칸이 넓음
+ * (단계 L 의 한 칸 = tick × 칸 수^L)
+ * 예약은 기한과 현재 시각이 처음으로 같은 상위 칸에 속하는 단계에 넣고,
+ * 시간이 흘러 그 칸에 도달하면 아래 단계로 다시 나누어 넣기 때문에 틱마다 한 칸만 확인함
+ * 가장 높은 단계보다 먼 예약은 별도로 보관했다가 최상위 단계가 한 바퀴 돌 때마다 다시 배치
+ */
+@Slf4j
+public class HierarchicalTimingWheel {
+
+    private final long tickMs;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final List<List<Set<Timeout>>> wheels;
+    private final Set<Timeout> overflow = new LinkedHashSet<>();
+    private final Map<Object, Timeout> timeouts = new HashMap<>();
+    private final ScheduledExecutorService ticker;
+    private final Executor taskExecutor;
+    private long currentTick;
+
+    /**
+     * @param name          틱 스레드 이름
+     * @param tickMs        한 칸의 시간 (만료 시각의 정밀도)
+     * @param wheelSize     단계별 칸 수 (2의 거듭제곱으로 올림)
+     * @param levels        단계 수
+     * @param taskExecutor  만료 작업을 실행할 스레드 풀 (틱 스레드를 막지 않도록)
+     */
+    public HierarchicalTimingWheel(String name, long tickMs, int wheelSize, int levels, Executor taskExecutor) {
+        this.tickMs = tickMs;
+        this.bits = Integer.numberOfTrailingZeros(Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1);
+        this.mask = (1 << bits) - 1;
+        this.levels = levels;
+        this.taskExecutor = taskExecutor;
+        this.wheels = new ArrayList<>(levels);
+        for (int level = 0; level < levels; level++) {
+            List<Set<Timeout>> wheel = new ArrayList<>(mask + 1);
+            for (int i = 0; i <= mask; i++) {
+                wheel.add(new LinkedHashSet<>());
+            }
+            wheels.add(wheel);
+        }
+        this.currentTick = System.currentTimeMillis() / tickMs;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 만료 작업 예약 (같은 키의 이전 예약은 취소, 이미 지난 기한은 바로 실행)
+     * @param key           예약 키
+     * @param deadlineMs    만료 시각 (epoch milliseconds)
+     * @param task          만료 시 실행할 작업
+     */
+    public void schedule(Object key, long deadlineMs, Runnable task) {
+        Timeout timeout = new Timeout(key, (deadlineMs + tickMs - 1) / tickMs, task);
+        boolean expired;
+        synchronized (this) {
+            Timeout previous = timeouts.put(key, timeout);
+            if (previous != null) {
+                previous.bucket.remove(previous);
+            }
+            expired = !place(timeout);
+            if (expired) {
+                timeouts.remove(key, timeout);
+            }
+        }
+        if (expired) {
+            run(timeout);
+        }
+    }
+
+    /**
+     * 예약 취소
+     * @return  취소한 예약이 있었으면 true
+     */
+    public synchronized boolean cancel(Object key) {
+        Timeout timeout = timeouts.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        return true;
+    }
+
+    public synchronized boolean isScheduled(Object key) {
+        return timeouts.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return timeouts.size();
+    }
+
+    // 기한에 맞는 단계/칸에 배치 (이미 만료되었으면 false)
+    private boolean place(Timeout timeout) {
+        if (timeout.deadlineTick <= currentTick) {
+            return false;
+        }
+        for (int level = 0; level < levels; level++) {
+            int higherShift = bits * (level + 1);
+            if ((timeout.deadlineTick >>> higherShift) == (currentTick >>> higherShift)) {
+                Set<Timeout> bucket = wheels.get(level).get((int) ((timeout.deadlineTick >>> (bits * level)) & mask));
+                bucket.add(timeout);
+                timeout.bucket = bucket;
+                return true;
+            }
+        }
+        overflow.add(timeout);
+        timeout.bucket = overflow;
+        return true;
+    }
+
+    // 벽시계를 따라잡을 때까지 한 칸씩 전진 (틱이 밀려도 만료를 건너뛰지 않음)
+    private void advance() {
+        long targetTick = System.currentTimeMillis() / tickMs;
+        List<Timeout> expired = new ArrayList<>();
+        synchronized (this) {
+            while (currentTick < targetTick) {
+                currentTick++;
+                // 상위 단계의 칸 경계에 도달하면 그 칸의 예약을 아래 단계로 다시 배치
+                if ((currentTick & ((1L << (bits * levels)) - 1)) == 0) {
+                    cascade(overflow, expired);
+                }
+                for (int level = levels - 1; level >= 1; level--) {
+                    if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                        cascade(wheels.get(level).get((int) ((currentTick >>> (bits * level)) & mask)), expired);
+                    }
+                }
+                Set<Timeout> bucket = wheels.get(0).get((int) (currentTick & mask));
+                for (Timeout timeout : bucket) {
+                    timeouts.remove(timeout.key, timeout);
+                    expired.add(timeout);
+                }
+                bucket.clear();
+            }
+        }
+        for (Timeout timeout : expired) {
+            run(timeout);
+        }
+    }
+
+    private void cascade(Set<Timeout> bucket, List<Timeout> expired) {
+        List<Timeout> entries = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Timeout timeout : entries) {
+            if (!place(timeout)) {
+                timeouts.remove(timeout.key, timeout);
+                expired.add(timeout);
+            }
+        }
+    }
+
+    private void run(Timeout timeout) {
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    timeout.task.run();
+                } catch (Exception e) {
+                    log.error("Timing wheel task failed: key={}", timeout.key, e);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Timing wheel task rejected: key={}", timeout.key, e);
+        }
+    }
+
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    private static class Timeout {
+        private final Object key;
+        private final long deadlineTick;
+        private final Runnable task;
+        private Set<Timeout> bucket; // 현재 들어 있는 칸 (취소/대체 시 제거용)
+
+        Timeout(Object key, long deadlineTick, Runnable task) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package org.dsa11.team1.kumarketto.websocket;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 노드 사이에 전달되는 메시지
+ * 브로커로 그대로 보낼 수 있도록 받는 사용자 아이디와 JSON 문자열만 담음 (웹소켓 객체는 받는 노드에서 다시 만듦)
+ * 받는 노드는 recipientIds 중 자기 노드에 세션이 있는 사용자에게만 전송
+ */
+@Getter
+@NoArgsConstructor
+public class ChatEnvelope implements Serializable {
+
+    private List<String> recipientIds; // 받는 사용자 아이디 (null 이면 접속 중인 모든 사용자)
+    private String payload; // 한 번 직렬화된 웹소켓 메시지 (JSON)
+    private String coalesceKey; // 교체 가능한 프레임의 키 (없으면 null)
+
+    public ChatEnvelope(List<String> recipientIds, String payload, String coalesceKey) {
+        this.recipientIds = recipientIds;
+        this.payload = payload;
+        this.coalesceKey = coalesceKey;
+    }
+
+    public static ChatEnvelope of(Collection<String> recipientIds, OutboundFrame frame) {
+        return new ChatEnvelope(recipientIds != null ? List.copyOf(recipientIds) : null,
+                new String(frame.getBytes(), StandardCharsets.UTF_8), frame.getCoalesceKey());
+    }
+
+    public OutboundFrame toFrame() {
+        return OutboundFrame.fromJson(payload, coalesceKey);
+    }
+
+    public boolean isBroadcast() {
+        return recipientIds == null;
+    }
+
+}
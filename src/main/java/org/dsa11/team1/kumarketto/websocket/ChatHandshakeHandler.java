@@ -0,0 +1,68 @@
+package org.dsa11.team1.kumarketto.websocket;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeFailureException;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+
+/**
+ * 채팅 웹소켓 핸드셰이크
+ * permessage-deflate 를 끄면 요청의 Sec-WebSocket-Extensions 헤더를 숨긴 채로 업그레이드합니다.
+ * (Tomcat 은 Spring 이 고른 확장 목록이 아니라 요청 헤더를 직접 읽어 협상하므로 목록만 걸러서는 압축이 꺼지지 않음)
+ */
+public class ChatHandshakeHandler extends DefaultHandshakeHandler {
+
+    private final boolean permessageDeflateEnabled;
+
+    public ChatHandshakeHandler(boolean permessageDeflateEnabled) {
+        this.permessageDeflateEnabled = permessageDeflateEnabled;
+    }
+
+    @Override
+    public boolean doHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Map<String, Object> attributes) throws HandshakeFailureException {
+        if (!permessageDeflateEnabled && request instanceof ServletServerHttpRequest servletRequest) {
+            request = new ServletServerHttpRequest(new WithoutExtensionsRequest(servletRequest.getServletRequest()));
+        }
+        return super.doHandshake(request, response, wsHandler, attributes);
+    }
+
+    // 확장 협상 헤더만 없는 것처럼 보이게 하는 요청 (업그레이드 등 나머지는 원래 요청에 위임)
+    private static class WithoutExtensionsRequest extends HttpServletRequestWrapper {
+
+        WithoutExtensionsRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isExtensionsHeader(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isExtensionsHeader(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !isExtensionsHeader(name))
+                    .toList());
+        }
+
+        private static boolean isExtensionsHeader(String name) {
+            return HttpHeaders.SEC_WEBSOCKET_EXTENSIONS.equalsIgnoreCase(name);
+        }
+    }
+
+}
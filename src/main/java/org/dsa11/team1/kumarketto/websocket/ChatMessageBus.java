@@ -0,0 +1,30 @@
+package org.dsa11.team1.kumarketto.websocket;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 메시지 전달 (pub/sub)
+ * 노드마다 자기 노드 ID 로 구독하고, 보내는 쪽은 받는 사용자의 세션이 있는 노드에만 발행
+ */
+public interface ChatMessageBus {
+
+    /**
+     * 노드의 수신 리스너 등록
+     * @param nodeId    구독하는 노드 ID
+     * @param listener  받은 메시지를 자기 노드의 세션으로 전달하는 리스너
+     */
+    void subscribe(String nodeId, Consumer<ChatEnvelope> listener);
+
+    void unsubscribe(String nodeId);
+
+    /**
+     * 특정 노드로 발행
+     */
+    void publish(String nodeId, ChatEnvelope envelope);
+
+    /**
+     * 보내는 노드를 제외한 모든 노드로 발행 (공지 등)
+     */
+    void publishToOthers(String senderNodeId, ChatEnvelope envelope);
+
+}
@@ -0,0 +1,143 @@
+package org.dsa11.team1.kumarketto.websocket;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 사용자 아이디 기준 메시지 전달
+ * 이 노드에 세션이 있으면 바로 보내고, 다른 노드에 있으면 접속 위치를 조회해 그 노드로만 메시지 버스로 전달
+ * 현재 메시지 버스와 접속 위치는 메모리 구현뿐이라 단일 노드에서만 동작함
+ * (여러 노드로 운영하려면 브로커를 쓰는 ChatMessageBus, 공유 저장소를 쓰는 PresenceDirectory 구현이 필요)
+ */
+@Slf4j
+@Component
+public class ChatMessageRouter {
+
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final ChatMessageBus messageBus;
+    private final PresenceDirectory presenceDirectory;
+    private final String nodeId;
+
+    public ChatMessageRouter(WebSocketSessionRegistry sessionRegistry,
+                             ChatMessageBus messageBus,
+                             PresenceDirectory presenceDirectory,
+                             @Value("${chat.node-id:}") String nodeId) {
+        this.sessionRegistry = sessionRegistry;
+        this.messageBus = messageBus;
+        this.presenceDirectory = presenceDirectory;
+        // 노드 ID 를 지정하지 않으면 실행할 때마다 새로 만듦
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        // 접속 위치는 세션 등록/해제와 같은 잠금 안에서 기록 (느린 세션을 끊을 때도 포함)
+        sessionRegistry.setPresenceListener(new WebSocketSessionRegistry.PresenceListener() {
+            @Override
+            public void firstSessionOpened(String userId) {
+                presenceDirectory.register(userId, nodeId);
+            }
+
+            @Override
+            public void lastSessionClosed(String userId) {
+                presenceDirectory.unregister(userId, nodeId);
+            }
+        });
+        messageBus.subscribe(nodeId, this::deliverLocally);
+        log.info("Chat message router started: nodeId={}", nodeId);
+    }
+
+    /**
+     * 세션 등록 (사용자의 첫 세션이면 접속 위치에 이 노드를 기록)
+     * @return  세션 전송 대기열
+     */
+    public OutboundSessionQueue register(String userId, WebSocketSession session) {
+        return sessionRegistry.register(userId, session);
+    }
+
+    /**
+     * 세션 해제 (이 노드의 마지막 세션이면 접속 위치에서 이 노드를 삭제)
+     */
+    public void unregister(String userId, WebSocketSession session) {
+        sessionRegistry.unregister(userId, session);
+    }
+
+    /**
+     * 어느 노드에든 접속 중인지
+     */
+    public boolean isOnline(String userId) {
+        return !presenceDirectory.getNodes(userId).isEmpty();
+    }
+
+    public boolean sendToUser(String userId, OutboundFrame frame) {
+        return sendToUsers(List.of(userId), frame) > 0;
+    }
+
+    /**
+     * 여러 사용자에게 같은 메시지 전송
+     * 다른 노드에 있는 사용자는 노드별로 묶어서 한 번씩만 발행
+     * @return  접속 중이었던 사용자 수
+     */
+    public int sendToUsers(Collection<String> userIds, OutboundFrame frame) {
+        int onlineCount = 0;
+        Map<String, List<String>> remoteRecipients = new HashMap<>();
+        for (String userId : userIds) {
+            Set<String> nodes = presenceDirectory.getNodes(userId);
+            if (nodes.isEmpty()) {
+                continue;
+            }
+            onlineCount++;
+            for (String node : nodes) {
+                if (node.equals(nodeId)) {
+                    sessionRegistry.sendToUser(userId, frame);
+                } else {
+                    remoteRecipients.computeIfAbsent(node, k -> new ArrayList<>()).add(userId);
+                }
+            }
+        }
+
+        remoteRecipients.forEach((node, recipients) ->
+                messageBus.publish(node, ChatEnvelope.of(recipients, frame)));
+        return onlineCount;
+    }
+
+    /**
+     * 모든 노드의 접속 중인 세션으로 전송
+     * @return  이 노드에서 전송한 사용자 수
+     */
+    public int broadcast(OutboundFrame frame) {
+        messageBus.publishToOthers(nodeId, ChatEnvelope.of(null, frame));
+        return sessionRegistry.broadcast(frame);
+    }
+
+    // 다른 노드에서 받은 메시지를 이 노드의 세션으로 전송
+    private void deliverLocally(ChatEnvelope envelope) {
+        OutboundFrame frame = envelope.toFrame();
+        if (envelope.isBroadcast()) {
+            sessionRegistry.broadcast(frame);
+            return;
+        }
+        for (String userId : envelope.getRecipientIds()) {
+            sessionRegistry.sendToUser(userId, frame);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        messageBus.unsubscribe(nodeId);
+        presenceDirectory.unregisterNode(nodeId);
+    }
+
+}
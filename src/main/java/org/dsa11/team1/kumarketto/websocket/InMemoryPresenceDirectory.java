@@ -0,0 +1,51 @@
+package org.dsa11.team1.kumarketto.websocket;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리에 보관하는 접속 위치 (현재 유일한 구현, 단일 노드 운영 전용)
+ * 여러 노드로 운영하려면 공유 저장소를 쓰는 PresenceDirectory 구현으로 이 빈을 교체해야 함
+ */
+@Component
+public class InMemoryPresenceDirectory implements PresenceDirectory {
+
+    // Key: 유저 아이디, Value: 세션이 있는 노드 ID 목록
+    private final Map<String, Set<String>> nodesByUser = new ConcurrentHashMap<>();
+
+    @Override
+    public void register(String userId, String nodeId) {
+        nodesByUser.compute(userId, (key, nodes) -> {
+            if (nodes == null) {
+                nodes = ConcurrentHashMap.newKeySet();
+            }
+            nodes.add(nodeId);
+            return nodes;
+        });
+    }
+
+    @Override
+    public void unregister(String userId, String nodeId) {
+        nodesByUser.computeIfPresent(userId, (key, nodes) -> {
+            nodes.remove(nodeId);
+            return nodes.isEmpty() ? null : nodes;
+        });
+    }
+
+    @Override
+    public void unregisterNode(String nodeId) {
+        for (String userId : nodesByUser.keySet()) {
+            unregister(userId, nodeId);
+        }
+    }
+
+    @Override
+    public Set<String> getNodes(String userId) {
+        Set<String> nodes = nodesByUser.get(userId);
+        return nodes != null ? Set.copyOf(nodes) : Set.of();
+    }
+
+}
@@ -0,0 +1,50 @@
+package org.dsa11.team1.kumarketto.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 한 JVM 안에서 동작하는 메시지 버스 (현재 유일한 구현, 단일 노드 운영 전용)
+ * 여러 노드로 운영하려면 외부 브로커(Redis pub/sub 등)를 쓰는 ChatMessageBus 구현으로 이 빈을 교체해야 함
+ */
+@Slf4j
+@Component
+public class InProcessChatMessageBus implements ChatMessageBus {
+
+    // Key: 노드 ID, Value: 수신 리스너
+    private final Map<String, Consumer<ChatEnvelope>> subscribers = new ConcurrentHashMap<>();
+
+    @Override
+    public void subscribe(String nodeId, Consumer<ChatEnvelope> listener) {
+        subscribers.put(nodeId, listener);
+    }
+
+    @Override
+    public void unsubscribe(String nodeId) {
+        subscribers.remove(nodeId);
+    }
+
+    @Override
+    public void publish(String nodeId, ChatEnvelope envelope) {
+        Consumer<ChatEnvelope> listener = subscribers.get(nodeId);
+        if (listener == null) {
+            log.debug("No subscriber for node {}, dropping message", nodeId);
+            return;
+        }
+        listener.accept(envelope);
+    }
+
+    @Override
+    public void publishToOthers(String senderNodeId, ChatEnvelope envelope) {
+        subscribers.forEach((nodeId, listener) -> {
+            if (!nodeId.equals(senderNodeId)) {
+                listener.accept(envelope);
+            }
+        });
+    }
+
+}
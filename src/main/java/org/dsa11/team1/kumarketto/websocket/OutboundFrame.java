@@ -0,0 +1,54 @@
+package org.dsa11.team1.kumarketto.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import org.springframework.web.socket.TextMessage;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 한 번만 직렬화하여 여러 수신자/세션이 같이 쓰는 웹소켓 프레임
+ * 수신자마다 DTO 변환이나 JSON 직렬화를 반복하지 않도록, 보내기 전에 한 번 인코딩한 뒤 이 객체를 공유
+ */
+@Getter
+public final class OutboundFrame {
+
+    private final byte[] bytes; // UTF-8 JSON (노드 간 전달용)
+    private final TextMessage message; // 세션으로 보내는 메시지 (모든 세션이 같은 인스턴스 사용)
+    private final String coalesceKey; // 전송 대기 중인 같은 키의 프레임을 교체할 수 있으면 키 (읽음 확인 등)
+
+    private OutboundFrame(byte[] bytes, String coalesceKey) {
+        this.bytes = bytes;
+        this.message = new TextMessage(bytes);
+        this.coalesceKey = coalesceKey;
+    }
+
+    /**
+     * 전송용 객체를 JSON 으로 한 번 직렬화
+     * 엔티티는 지연 로딩 프록시를 건드릴 수 있으므로 DTO 나 Map 만 넘길 것
+     */
+    public static OutboundFrame encode(ObjectMapper objectMapper, Object payload) throws JsonProcessingException {
+        return new OutboundFrame(objectMapper.writeValueAsBytes(payload), null);
+    }
+
+    /**
+     * 최신 값만 의미 있는 프레임 (읽음 확인 등)
+     * 세션 대기열에 같은 키의 프레임이 아직 남아 있으면 새 프레임으로 교체
+     */
+    public static OutboundFrame encodeCoalescing(ObjectMapper objectMapper, Object payload, String coalesceKey) throws JsonProcessingException {
+        return new OutboundFrame(objectMapper.writeValueAsBytes(payload), coalesceKey);
+    }
+
+    /**
+     * 다른 노드에서 받은 JSON 으로 프레임 생성
+     */
+    public static OutboundFrame fromJson(String json, String coalesceKey) {
+        return new OutboundFrame(json.getBytes(StandardCharsets.UTF_8), coalesceKey);
+    }
+
+    public int size() {
+        return bytes.length;
+    }
+
+}
@@ -0,0 +1,261 @@
+package org.dsa11.team1.kumarketto.websocket;
+
+import jakarta.websocket.Session;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 세션별 전송 대기열
+ * 보내는 쪽은 대기열에 넣기만 하고, 실제 전송은 전송 스레드 풀이 세션마다 한 번에 한 작업씩 처리
+ * (느린 세션이 메시지를 보낸 사람의 처리 스레드나 다른 세션을 막지 않음)
+ */
+@Slf4j
+public class OutboundSessionQueue {
+
+    // 한 번 전송 작업에서 보내는 최대 프레임 수 (다른 세션에 스레드를 양보)
+    private static final int DRAIN_BATCH_SIZE = 64;
+
+    // Tomcat 블로킹 전송 제한 시간 (세션 사용자 속성, 밀리초)
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    @Getter
+    private final String userId;
+    private final WebSocketSession session;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final boolean coalesceEnabled;
+    private final long sendTimeLimitNanos;
+    private final Executor senderPool;
+    private final Consumer<OutboundSessionQueue> onSlowConsumer;
+
+    private final Deque<QueuedFrame> queue = new ArrayDeque<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    // 지표
+    private volatile int maxDepth;
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    public OutboundSessionQueue(String userId, WebSocketSession session, int capacity, OverflowPolicy overflowPolicy,
+                                boolean coalesceEnabled, long sendTimeLimitMs, Executor senderPool,
+                                Consumer<OutboundSessionQueue> onSlowConsumer) {
+        this.userId = userId;
+        this.session = session;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.coalesceEnabled = coalesceEnabled;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+        this.senderPool = senderPool;
+        this.onSlowConsumer = onSlowConsumer;
+        applyBlockingSendTimeout(session, sendTimeLimitMs);
+    }
+
+    /**
+     * 컨테이너의 블로킹 전송 제한 시간을 전송 시간 한도로 설정
+     * 받는 쪽이 멈춘 소켓에서 sendMessage 가 한도 안에 예외로 끝나므로 전송 스레드가 오래 묶이지 않음
+     */
+    private static void applyBlockingSendTimeout(WebSocketSession session, long sendTimeLimitMs) {
+        WebSocketSession delegate = WebSocketSessionDecorator.unwrap(session);
+        if (delegate instanceof NativeWebSocketSession nativeSession) {
+            Session containerSession = nativeSession.getNativeSession(Session.class);
+            if (containerSession != null) {
+                containerSession.getUserProperties().put(BLOCKING_SEND_TIMEOUT, sendTimeLimitMs);
+            }
+        }
+    }
+
+    public String getSessionId() {
+        return session.getId();
+    }
+
+    public boolean isOpen() {
+        return session.isOpen();
+    }
+
+    /**
+     * 프레임을 대기열에 추가 (전송을 기다리지 않음)
+     * 같은 coalesceKey 의 프레임(읽음 확인 등)이 아직 대기 중이면 새 프레임으로 교체
+     * @return  대기열에 들어갔으면 true (세션이 닫혔거나 넘쳐서 끊었으면 false)
+     */
+    public boolean enqueue(OutboundFrame frame) {
+        if (!session.isOpen()) {
+            return false;
+        }
+
+        boolean overflow = false;
+        synchronized (queue) {
+            if (coalesceEnabled && frame.getCoalesceKey() != null && replaceQueued(frame)) {
+                coalescedCount.incrementAndGet();
+            } else {
+                if (queue.size() >= capacity) {
+                    if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                        queue.pollFirst();
+                        droppedCount.incrementAndGet();
+                    } else {
+                        overflow = true;
+                    }
+                }
+                if (!overflow) {
+                    queue.addLast(new QueuedFrame(frame, System.nanoTime()));
+                    maxDepth = Math.max(maxDepth, queue.size());
+                }
+            }
+        }
+
+        if (overflow) {
+            log.warn("Outbound queue full ({}), disconnecting: userId={} sessionId={}", capacity, userId, session.getId());
+            droppedCount.incrementAndGet();
+            onSlowConsumer.accept(this);
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    // 대기 중인 같은 키의 프레임을 교체 (대기열 안의 위치는 유지)
+    private boolean replaceQueued(OutboundFrame frame) {
+        Iterator<QueuedFrame> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            QueuedFrame queued = iterator.next();
+            if (frame.getCoalesceKey().equals(queued.getFrame().getCoalesceKey())) {
+                queued.replace(frame);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            senderPool.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+                QueuedFrame next;
+                synchronized (queue) {
+                    next = queue.pollFirst();
+                }
+                if (next == null) {
+                    break;
+                }
+                if (!send(next)) {
+                    return;
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+        // 남은 프레임이 있으면 다시 예약 (다른 세션 작업 뒤로)
+        if (getDepth() > 0 && session.isOpen()) {
+            scheduleDrain();
+        }
+    }
+
+    private boolean send(QueuedFrame queued) {
+        long startedAt = System.nanoTime();
+        try {
+            session.sendMessage(queued.getFrame().getMessage());
+        } catch (Exception e) {
+            log.warn("Failed to send frame, closing session: userId={} sessionId={}", userId, session.getId(), e);
+            onSlowConsumer.accept(this);
+            return false;
+        }
+
+        long finishedAt = System.nanoTime();
+        long latency = finishedAt - queued.getEnqueuedAt();
+        sentCount.incrementAndGet();
+        totalLatencyNanos.addAndGet(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+
+        // 한 프레임 쓰기가 시간 한도를 넘으면 느린 세션으로 보고 끊음
+        // (Tomcat 은 한도가 지나면 전송을 중단하고 예외를 던지므로 위의 catch 에서 끊기고, 여기는 그 밖의 컨테이너용)
+        if (finishedAt - startedAt > sendTimeLimitNanos) {
+            log.warn("Send time limit exceeded, disconnecting: userId={} sessionId={}", userId, session.getId());
+            onSlowConsumer.accept(this);
+            return false;
+        }
+        return true;
+    }
+
+    public int getDepth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * 세션 종료 (대기 중인 프레임은 버림)
+     */
+    public void close(CloseStatus status) {
+        synchronized (queue) {
+            queue.clear();
+        }
+        try {
+            session.close(status);
+        } catch (Exception e) {
+            log.debug("Failed to close session {}", session.getId(), e);
+        }
+    }
+
+    public SessionStats getStats() {
+        long sent = sentCount.get();
+        return new SessionStats(userId, session.getId(), getDepth(), maxDepth, sent,
+                droppedCount.get(), coalescedCount.get(),
+                sent == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos.get() / sent),
+                TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get()));
+    }
+
+    @Getter
+    private static class QueuedFrame {
+        private OutboundFrame frame;
+        private final long enqueuedAt;
+
+        QueuedFrame(OutboundFrame frame, long enqueuedAt) {
+            this.frame = frame;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        void replace(OutboundFrame frame) {
+            this.frame = frame;
+        }
+    }
+
+    /**
+     * 세션 전송 지표 (대기열 깊이, 전송 지연 = 대기열에 넣은 뒤 전송이 끝날 때까지)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class SessionStats {
+        private final String userId;
+        private final String sessionId;
+        private final int queueDepth;
+        private final int maxQueueDepth;
+        private final long sentCount;
+        private final long droppedCount;
+        private final long coalescedCount;
+        private final long avgSendLatencyMs;
+        private final long maxSendLatencyMs;
+    }
+
+}
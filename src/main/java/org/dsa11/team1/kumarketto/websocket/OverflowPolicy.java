@@ -0,0 +1,9 @@
+package org.dsa11.team1.kumarketto.websocket;
+
+/**
+ * 세션 전송 대기열이 가득 찼을 때의 처리 방식 (chat.websocket.overflow-policy)
+ */
+public enum OverflowPolicy {
+    DROP_OLDEST, // 가장 오래된 프레임을 버리고 새 프레임을 넣음
+    DISCONNECT   // 느린 세션을 끊음 (재접속 시 따라잡기로 전달)
+}
@@ -0,0 +1,26 @@
+package org.dsa11.team1.kumarketto.websocket;
+
+import java.util.Set;
+
+/**
+ * 접속 위치 조회
+ * 사용자별로 세션을 가진 노드 ID 를 기록하여, 메시지를 모든 노드가 아닌 해당 노드로만 보냄
+ */
+public interface PresenceDirectory {
+
+    // 사용자의 첫 세션이 이 노드에 연결되었을 때
+    void register(String userId, String nodeId);
+
+    // 이 노드에서 사용자의 마지막 세션이 닫혔을 때
+    void unregister(String userId, String nodeId);
+
+    // 노드 종료 시 그 노드의 접속 기록 삭제
+    void unregisterNode(String nodeId);
+
+    /**
+     * 사용자의 세션이 있는 노드 목록
+     * @return  접속 중이 아니면 빈 집합
+     */
+    Set<String> getNodes(String userId);
+
+}
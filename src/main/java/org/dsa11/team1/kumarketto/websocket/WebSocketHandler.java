@@ -5,36 +5,30 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dsa11.team1.kumarketto.domain.dto.ChatMessageDTO;
 import org.dsa11.team1.kumarketto.domain.dto.ChatMessageSendDTO;
-import org.dsa11.team1.kumarketto.domain.entity.ChatMessage;
-import org.dsa11.team1.kumarketto.domain.entity.ChatParticipant;
-import org.dsa11.team1.kumarketto.domain.entity.ChatRoom;
+import org.dsa11.team1.kumarketto.domain.dto.NoticeDTO;
 import org.dsa11.team1.kumarketto.domain.entity.MemberEntity;
-import org.dsa11.team1.kumarketto.domain.enums.ChatStatus;
-import org.dsa11.team1.kumarketto.repository.ChatMessageRepository;
-import org.dsa11.team1.kumarketto.repository.ChatParticipantRepository;
-import org.dsa11.team1.kumarketto.repository.ChatRoomRepository;
+import org.dsa11.team1.kumarketto.domain.enums.Role;
 import org.dsa11.team1.kumarketto.repository.MemberRepository;
+import org.dsa11.team1.kumarketto.service.ChatDeliveryService;
+import org.dsa11.team1.kumarketto.service.ChatMessageBatchWriter;
 import org.dsa11.team1.kumarketto.service.ChatMessageService;
+import org.dsa11.team1.kumarketto.service.ChatPresenceService;
+import org.dsa11.team1.kumarketto.service.ChatRoomMemberService;
 import org.dsa11.team1.kumarketto.service.ChatRoomService;
 import org.dsa11.team1.kumarketto.service.MemberService;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.dsa11.team1.kumarketto.service.NoticeService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.stereotype.Controller;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
-import java.io.IOException;
-import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
@@ -45,19 +39,38 @@ public class WebSocketHandler extends TextWebSocketHandler {
     private final ObjectMapper objectMapper;
     private final ChatMessageService chatMessageService;
     private final ChatRoomService chatRoomService;
+    private final ChatRoomMemberService chatRoomMemberService;
+    private final ChatMessageBatchWriter chatMessageBatchWriter;
     //private final ChatParticipantService chatParticipantService;
     private final MemberService memberService;
     private final MemberRepository memberRepository;
 
 
-    // userSessions: 현재 서버에 접속한 모든 사용자의 웹소켓 세션(통신 터널)을
-    //               저장하는 동시성 지원 맵(ConcurrentHashMap)입니다.
-    //               Key: 유저 아이디(String), Value: 웹소켓 세션 객체(WebSocketSession)
-    private final Map<String, WebSocketSession> userSessions = new ConcurrentHashMap<>();
+    // messageRouter: 접속한 사용자의 웹소켓 세션(통신 터널)으로 메시지를 전달합니다.
+    //                한 사용자가 여러 탭/기기로 접속해도 모든 세션에 전달되고,
+    //                다른 서버(노드)에 접속한 사용자에게는 메시지 버스를 통해 그 노드로 전달됩니다. (현재 버스는 단일 노드용 메모리 구현)
+    private final ChatMessageRouter messageRouter;
 
 //    private final Map<String, Set<String>> participants = new ConcurrentHashMap<>();
 
-    private  final Map<String, List<ChatMessage>> pendingMessages = new ConcurrentHashMap<>();
+    // 오프라인 전달은 DB의 참여자별 전달 커서로 관리합니다. (메모리에 보류 메시지를 쌓지 않음)
+    private final ChatDeliveryService chatDeliveryService;
+
+    // 접속 상태, 입력 중 표시 (메모리)
+    private final ChatPresenceService chatPresenceService;
+
+    // 관리자 공지 (접속 시 공지 커서 이후의 공지 전달)
+    private final NoticeService noticeService;
+
+    // 재접속 시 따라잡기 한 페이지 크기와 최대 전달 건수
+    @Value("${chat.offline.catch-up-page-size:100}")
+    private int catchUpPageSize;
+
+    @Value("${chat.offline.catch-up-max-messages:500}")
+    private int catchUpMaxMessages;
+
+    @Value("${chat.offline.catch-up-max-notices:50}")
+    private int catchUpMaxNotices;
 
 //    private final Map<String, Instant> lastMessageAt = new ConcurrentHashMap<>();
 
@@ -75,14 +88,21 @@ public class WebSocketHandler extends TextWebSocketHandler {
             return;
         }
 
-        // 'userSessions'라는 온라인 사용자 목록(Map)에 '아이디'와 그의 통신 파이프(session)를 기록합니다.
-        // userSessions 맵에는 이제 {"유저아이디": session객체} 와 같은 데이터가 저장됩니다.
-        //"이 아이디(userId)의 사용자는 이 통신 터널(session)을 사용합니다"라고 기록합니다.
-        userSessions.put(userId, session);
+        // 온라인 사용자 목록에 '아이디'와 그의 통신 파이프(session)를 추가로 기록합니다.
+        // 같은 아이디의 기존 세션(다른 탭, 다른 기기)은 그대로 유지됩니다.
+        OutboundSessionQueue registeredSession = messageRouter.register(userId, session);
+        // 이 시각 이후에 만들어진 메시지는 실시간으로 전달됨 (종료 시 전달 커서 이동 기준)
+        session.getAttributes().put("connectedAt", LocalDateTime.now());
 
         log.info("Connected: userId={} sessionId={}", userId, session.getId());
+        chatPresenceService.connected(userId);
 
-        deliverPendingMessagesToUser(userId);
+        // 회원 번호는 핸드셰이크 때 Interceptor가 세션에 고정해 둔 값을 사용합니다.
+        Long userNo = (Long) session.getAttributes().get("userNo");
+        deliverPendingMessagesToUser(registeredSession, userId, userNo);
+        if (deliverPendingNoticesToUser(registeredSession, userId, userNo)) {
+            session.getAttributes().put("noticesCaughtUp", true);
+        }
     }
 
     @Override
@@ -102,144 +122,194 @@ public class WebSocketHandler extends TextWebSocketHandler {
         //    (보안상 클라이언트가 보내준 senderId를 믿지 않고, 서버가 관리하는 ID를 사용)
         String senderId = (String) session.getAttributes().get("userId");
 
+        // 하트비트/입력 중 이벤트는 저장하지 않고 접속 상태만 갱신합니다.
+        chatPresenceService.heartbeat(senderId);
+        if ("HEARTBEAT".equals(chatMessageDTO.getType())) {
+            if (chatMessageDTO.getChatId() != null) {
+                chatPresenceService.sendPresence(senderId, chatMessageDTO.getChatId());
+            }
+            return;
+        }
+        if ("TYPING".equals(chatMessageDTO.getType())) {
+            if (chatMessageDTO.getChatId() != null) {
+                chatPresenceService.typing(chatMessageDTO.getChatId(), senderId);
+            }
+            return;
+        }
+
         //메시지를 DB에 저장하고, 저장된 완전한 ChatMessage 객체를 돌려받습니다.
         chatMessageDTO.setSenderId(senderId);
+        chatMessageDTO.setSenderNo((Long) session.getAttributes().get("userNo"));
 
         // 4. 메시지 생성 시간을 서버 시간 기준으로 설정합니다.
         chatMessageDTO.setCreatedDate(LocalDateTime.now());
 
 
 
-        MemberEntity memberEntity = memberRepository.findByUserId(senderId).orElseThrow(() -> new IllegalStateException("No user found: " + senderId));
-        if(memberEntity.getRole().equals("ADMIN")) {
+        // 관리자가 명시적으로 NOTICE 타입을 보낸 경우에만 전체 공지로 처리합니다.
+        // 그 외 관리자 메시지는 일반 메시지처럼 채팅방에 저장/전송됩니다.
+        // 권한은 핸드셰이크 때 세션에 고정해 둔 값으로 확인합니다. (메시지마다 회원 조회 없음)
+        if ("NOTICE".equals(chatMessageDTO.getType()) && session.getAttributes().get("role") == Role.ROLE_ADMIN) {
             broadcastNotice(chatMessageDTO);
             return;
         }
 
-       // ChatMessage chatMessage = chatMessageService.saveMessage(chatMessageDTO);
+        chatPresenceService.stopTyping(chatMessageDTO.getChatId(), senderId);
 
-        ChatMessage chatMessage;
+        // 채팅방 순번만 발급받고 바로 전송합니다. (텍스트/이미지 모두)
+        // DB 저장은 배치 저장기가 뒤에서 처리하고, 저장이 끝나면 보낸 사람에게 ACK 를 보냅니다.
+        ChatMessageSendDTO dtoToSend = chatMessageBatchWriter.submit(chatMessageDTO,
+                persisted -> sendMessageAck(senderId, persisted));
 
-        // DTO에 imageUrl 필드가 있는지 확인하여 분기
-        if (chatMessageDTO.getImageUrl() != null && !chatMessageDTO.getImageUrl().isEmpty()) {
-            // 이미지 URL이 있으면 이미지 저장 서비스 호출
-            chatMessage = chatMessageService.saveImageMessage(chatMessageDTO);
-        } else {
-            // 이미지 URL이 없으면 기존 텍스트 저장 서비스 호출
-            chatMessage = chatMessageService.saveMessage(chatMessageDTO);
-        }
+        //  "chat_id 채팅방의 활성(ACTIVE) 참여자 아이디 목록"을 캐시에서 가져옵니다.
+        // participantIds 변수에는 user1아이디와 user2아이디가 담긴 Set이 할당됩니다.
+        Set<String> participantIds = chatRoomMemberService.getActiveUserIds(chatMessageDTO.getChatId());
 
-        //  "chat_id 채팅방의 활성(ACTIVE) 참여자 목록을 DB에서 조회해줘"라고 요청합니다.
-        // chatParticipantSet 변수에는 user1아이디와 user2아이디의 정보가 담긴 Set이 할당됩니다.
-        Set<ChatParticipant> chatParticipantSet = chatMessageService.getActiveParticipants(chatMessageDTO.getChatId());
-
-        // 기존 for문을 아래 코드로 교체해주세요.
-        System.out.println("\n--- [최종 송수신 디버그] ---");
-        System.out.println("보낸 사람: '" + senderId + "' (글자 수: " + senderId.length() + ")");
-        System.out.println("현재 전체 온라인 사용자 목록 (userSessions):");
-        for (String key : userSessions.keySet()) {
-            System.out.println("  - Key: '" + key + "' (글자 수: " + key.length() + ")");
-        }
-        System.out.println("--------------------------");
+        // 전송용 DTO(ChatMessageSendDTO)는 한 번만 직렬화하여 모든 수신자/세션/노드가 같은 프레임을 공유합니다.
+        OutboundFrame frameToSend = OutboundFrame.encode(objectMapper, dtoToSend);
 
         // 'for' 반복문: 참여자 목록에서 한 명씩 꺼내 중괄호 안의 코드를 실행합니다.
-        // for-each 루프: "chatParticipantSet 그룹에서 멤버를 한 명씩 꺼내
-//                chatParticipant 라는 임시 변수에 담아서,
-//                아래 중괄호 {} 안의 코드를 멤버 수만큼 반복 실행해줘."
-        for (ChatParticipant chatParticipant : chatParticipantSet) {
-            String recipientId = chatParticipant.getMemberEntity().getUserId();
-            System.out.println("\n> 참여자 확인 중... DB에서 가져온 ID: '" + recipientId + "' (글자 수: " + recipientId.length() + ")");
-
+        for (String recipientId : participantIds) {
             // 만약 참여자가 메시지를 보낸 자신이라면, 건너뜁니다(continue).
             if (recipientId.equals(senderId)) {
-                System.out.println("  -> 보낸 사람이므로 건너뜁니다.");
                 continue;
             }
 
-            System.out.println("  -> 수신자 발견! 세션 찾기 시도...");
-
-            // 맵에 키가 실제로 존재하는지 containsKey로 다시 한번 확인합니다.
-            boolean isKeyPresent = userSessions.containsKey(recipientId);
-            System.out.println("  -> '온라인 사용자 목록'에 수신자('" + recipientId + "')가 있습니까? : " + isKeyPresent);
-
-            if (isKeyPresent) {
-                //  온라인 사용자 목록에서 상대방의 통신 파이프를 찾습니다.
-
-                WebSocketSession recipientSession = userSessions.get(recipientId);
-                System.out.println("  -> 세션을 성공적으로 찾았습니다!");
-                System.out.println("  -> 세션이 열려 있습니까? : " + (recipientSession != null && recipientSession.isOpen()));
-
-                try {
-                    // 전송용 DTO(ChatMessageSendDTO)로 변환합니다.
-                    ChatMessageSendDTO dtoToSend = ChatMessageSendDTO.fromEntity(chatMessage);
-                    String messageToSend = objectMapper.writeValueAsString(dtoToSend);
-                    recipientSession.sendMessage(new TextMessage(messageToSend));
-                    System.out.println("  -> 메시지 전송 성공!");
-                } catch (Exception e) {
-                    System.out.println("  -> !!! 메시지 전송 중 예외 발생: " + e.getMessage());
-                }
-            } else {
-                System.out.println("  -> !!! [치명적] '온라인 사용자 목록'에 수신자 키가 없습니다.");
-                System.out.println("  -> 보류 메시지함에 저장합니다.");
-                pendingMessages.computeIfAbsent(recipientId, k -> new ArrayList<>()).add(chatMessage);
+            // 수신자의 모든 세션으로 전송합니다.
+            // 접속 중이 아니면 전달 커서가 그대로 남아 재접속 시 따라잡기로 전달됩니다.
+            if (!messageRouter.sendToUser(recipientId, frameToSend)) {
+                log.debug("Recipient {} is offline. Message will be delivered on reconnect.", recipientId);
             }
         }
-        System.out.println("--- [디버그 종료] ---\n");
+    }
+
+    /**
+     * 메시지 저장 완료 ACK 를 보낸 사람의 모든 세션으로 전송합니다.
+     * 클라이언트는 ACK 를 받지 못한 메시지를 재접속 후 같은 clientMessageId 로 다시 보냅니다.
+     */
+    private void sendMessageAck(String senderId, ChatMessageSendDTO persisted) {
+        if (persisted.getClientMessageId() == null) {
+            return;
+        }
+        try {
+            Map<String, Object> payload = Map.of(
+                    "type", "MESSAGE_ACK",
+                    "chatId", persisted.getChatId(),
+                    "roomSeq", persisted.getRoomSeq(),
+                    "clientMessageId", persisted.getClientMessageId()
+            );
+            messageRouter.sendToUser(senderId, OutboundFrame.encode(objectMapper, payload));
+        } catch (Exception e) {
+            log.error("Failed to send message ack to user {}", senderId, e);
+        }
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
         String userId = (String) session.getAttributes().get("userId");
         if(userId != null) {
-            userSessions.remove(userId);
+            messageRouter.unregister(userId, session);
+            chatPresenceService.disconnected(userId);
             log.info("Disconnected: userId={} sessionId={}", userId, session.getId());
-        }
-    }
 
-    private void deliverPendingMessagesToUser(String userId) {
-        WebSocketSession session = userSessions.get(userId);
-        if (session == null || !session.isOpen()) return;
-
-        List<ChatMessage> pending = pendingMessages.remove(userId);
-        if(pending != null) {
-            for(ChatMessage msg : pending) {
+            // 마지막 세션이 닫히면, 접속 중에 실시간으로 받은 메시지까지 전달 완료로 기록합니다.
+            Long userNo = (Long) session.getAttributes().get("userNo");
+            LocalDateTime connectedAt = (LocalDateTime) session.getAttributes().get("connectedAt");
+            if (userNo != null && connectedAt != null && !messageRouter.isOnline(userId)) {
                 try {
-                    session.sendMessage(new TextMessage(objectMapper.writeValueAsString(msg)));
+                    chatDeliveryService.markLiveDelivered(userNo, connectedAt);
+                    // 밀린 공지를 모두 보낸 세션만 최신 공지까지 확인 처리 (남은 공지는 다음 접속 때 전달)
+                    if (Boolean.TRUE.equals(session.getAttributes().get("noticesCaughtUp"))) {
+                        noticeService.markAllSeen(userNo);
+                    }
                 } catch (Exception e) {
-                    log.error("Failed to deliver pending message to user {}", userId, e);
-                    pendingMessages.computeIfAbsent(userId, k -> new ArrayList<>()).add(msg);
+                    log.error("Failed to advance delivery cursors for user {}", userId, e);
                 }
             }
         }
     }
 
-    public void broadcastNotice(ChatMessageDTO chatMessageDTO) {
-        try {
-//            chatMessageDTO.setCreatedDate(LocalDateTime.now());
-            ChatMessage chatMessage = chatMessageService.saveMessage(chatMessageDTO);
-
-            String msgJson = objectMapper.writeValueAsString(chatMessage);
-
-            List<String> allUserIds = memberRepository.findAllUserIds();
+    /**
+     * 전달 커서 이후의 메시지를 새로 연결된 세션으로 페이지 단위 전송 (최대 catchUpMaxMessages 건)
+     * 커서는 대기열에 실제로 넣은 메시지까지만 이동하므로 보내지 못한 메시지는 다음 접속 때 전달됩니다.
+     */
+    private void deliverPendingMessagesToUser(OutboundSessionQueue session, String userId, Long userNo) {
+        if (!session.isOpen()) return;
 
-            int sentCount = 0;
+        try {
+            long afterMessageId = 0L;
+            int delivered = 0;
+            boolean blocked = false;
+            Map<Long, Long> lastSentByChat = new HashMap<>(); // 채팅방별로 실제로 보낸 마지막 메시지 ID
+            while (!blocked && delivered < catchUpMaxMessages) {
+                int limit = Math.min(catchUpPageSize, catchUpMaxMessages - delivered);
+                List<ChatMessageSendDTO> page = chatDeliveryService.getUndeliveredMessages(userNo, afterMessageId, limit);
+                for (ChatMessageSendDTO msg : page) {
+                    // 세션이 닫혔거나 대기열이 넘쳐 받지 않으면 여기서 멈춤 (이후 메시지는 커서 뒤에 남김)
+                    if (!session.enqueue(OutboundFrame.encode(objectMapper, msg))) {
+                        blocked = true;
+                        break;
+                    }
+                    lastSentByChat.merge(msg.getChatId(), msg.getMessageId(), Math::max);
+                    delivered++;
+                }
+                if (page.size() < limit) {
+                    break;
+                }
+                afterMessageId = page.get(page.size() - 1).getMessageId();
+            }
+            chatDeliveryService.markDelivered(userNo, lastSentByChat);
+            log.info("Delivered {} pending messages to user {}", delivered, userId);
+        } catch (Exception e) {
+            // 커서를 옮기지 않았으므로 다음 접속 때 다시 전달됩니다.
+            log.error("Failed to deliver pending messages to user {}", userId, e);
+        }
+    }
 
-            for(String userId : allUserIds) {
-                WebSocketSession session = userSessions.get(userId);
+    /**
+     * 공지 커서 이후의 공지를 새로 연결된 세션으로 전송 (최대 catchUpMaxNotices 건)
+     * 커서는 실제로 대기열에 넣은 마지막 공지까지만 이동하므로 나머지는 다음 접속 때 전달됩니다.
+     * @return  밀린 공지를 모두 보냈으면 true
+     */
+    private boolean deliverPendingNoticesToUser(OutboundSessionQueue session, String userId, Long userNo) {
+        if (!session.isOpen()) return false;
 
-                if(session != null && session.isOpen()) {
-                    try{
-                        session.sendMessage(new TextMessage(msgJson));
-                        sentCount++;
-                    } catch (Exception e) {
-                        log.error("Failed to send notice to user {}", userId, e);
-                        pendingMessages.computeIfAbsent(userId, k -> new ArrayList<>()).add(chatMessage);
-                    }
-                } else {
-                    pendingMessages.computeIfAbsent(userId, k -> new ArrayList<>()).add(chatMessage);
+        try {
+            List<NoticeDTO> notices = noticeService.getNoticesSince(userNo, catchUpMaxNotices);
+            Long lastSentNoticeId = null;
+            int sent = 0;
+            for (NoticeDTO notice : notices) {
+                if (!session.enqueue(OutboundFrame.encode(objectMapper, notice))) {
+                    break;
                 }
+                lastSentNoticeId = notice.getNoticeId();
+                sent++;
+            }
+            if (lastSentNoticeId != null) {
+                noticeService.markSeenUpTo(userNo, lastSentNoticeId);
+                log.info("Delivered pending notices up to {} to user {}", lastSentNoticeId, userId);
             }
-            log.info("Broadcast notice sent to {} users", sentCount);
+            // 상한에 걸렸거나 대기열이 막혀 다 보내지 못했으면 남은 공지는 다음 접속 때 전달
+            return sent == notices.size() && notices.size() < catchUpMaxNotices;
+        } catch (Exception e) {
+            // 커서를 옮기지 않았으므로 다음 접속 때 다시 전달됩니다.
+            log.error("Failed to deliver pending notices to user {}", userId, e);
+            return false;
+        }
+    }
+
+    /**
+     * 관리자 공지
+     * 공지 테이블에 한 번만 저장하고 접속 중인 세션에만 병렬 전송합니다.
+     * 접속하지 않은 회원은 다음 접속 때 공지 커서 이후의 공지를 받습니다.
+     */
+    public void broadcastNotice(ChatMessageDTO chatMessageDTO) {
+        try {
+            NoticeDTO notice = noticeService.createNotice(chatMessageDTO.getSenderNo(),
+                    chatMessageDTO.getSenderId(), chatMessageDTO.getContent());
+
+            int sentCount = messageRouter.broadcast(OutboundFrame.encode(objectMapper, notice));
+            log.info("Broadcast notice {} sent to {} online users", notice.getNoticeId(), sentCount);
         } catch (Exception e) {
             log.error("Failed to broadcast notice", e);
         }
@@ -249,18 +319,20 @@ public class WebSocketHandler extends TextWebSocketHandler {
      * 특정 사용자에게 메시지 읽음 확인 알림을 보냅니다.
      * @param userId 알림을 받을 사용자 ID (메시지를 보냈던 사람)
      * @param chatId 읽음 처리된 채팅방 ID
+     * @param lastReadSeq 상대방 읽음 커서 (이 순번까지의 메시지를 읽음)
      */
-    public void sendReadConfirmation(String userId, Long chatId) {
-        WebSocketSession session = userSessions.get(userId);
-        if (session != null && session.isOpen()) {
+    public void sendReadConfirmation(String userId, Long chatId, Long lastReadSeq) {
+        if (messageRouter.isOnline(userId)) {
             try {
                 // 프론트엔드와 약속된 형식의 시스템 메시지를 만듭니다.
                 Map<String, Object> payload = Map.of(
                         "type", "MESSAGES_READ",
-                        "chatId", chatId
+                        "chatId", chatId,
+                        "lastReadSeq", lastReadSeq
                 );
-                String message = objectMapper.writeValueAsString(payload);
-                session.sendMessage(new TextMessage(message));
+                // 전송 대기 중인 같은 채팅방의 읽음 확인은 최신 커서로 교체됩니다.
+                messageRouter.sendToUser(userId,
+                        OutboundFrame.encodeCoalescing(objectMapper, payload, "MESSAGES_READ:" + chatId));
                 log.info("Sent read confirmation to user {} for chat {}", userId, chatId);
             } catch (Exception e) {
                 log.error("Failed to send read confirmation", e);
@@ -270,25 +342,24 @@ public class WebSocketHandler extends TextWebSocketHandler {
 
 
     // [수정] 시스템 메시지를 전송하는 메소드 추가
+    // 저장에 실패하면 예외를 그대로 던져 호출한 쪽에서 재시도합니다. (같은 clientMessageId 는 한 번만 저장)
     public void sendSystemMessage(ChatMessageDTO chatMessageDTO) {
-        try {
-            // 1. 시스템 메시지를 먼저 DB에 저장하여 기록을 남깁니다.
-            chatMessageDTO.setCreatedDate(LocalDateTime.now());
-            ChatMessage savedMessage = chatMessageService.saveMessage(chatMessageDTO);
-
-            // 2. 해당 채팅방에 참여중인 모든 활성 사용자에게 메시지를 전송합니다.
-            Set<ChatParticipant> participants = chatMessageService.getActiveParticipants(chatMessageDTO.getChatId());
+        // 1. 시스템 메시지를 먼저 DB에 저장하여 기록을 남깁니다.
+        // 사용자 메시지와 같은 순번 발급/배치 저장을 거쳐 채팅방 순번 순서대로 저장됩니다.
+        chatMessageDTO.setCreatedDate(LocalDateTime.now());
+        ChatMessageSendDTO savedMessage = persistSystemMessage(chatMessageDTO);
 
-            ChatMessageSendDTO dtoToSend = ChatMessageSendDTO.fromEntity(savedMessage);
-            String messageToSend = objectMapper.writeValueAsString(dtoToSend);
+        // 2. 해당 채팅방에 참여중인 모든 활성 사용자에게 메시지를 전송합니다.
+        // 전송 실패는 로그만 남깁니다. (저장된 메시지는 재접속 시 따라잡기로 전달)
+        try {
+            Set<String> participantIds = chatRoomMemberService.getActiveUserIds(chatMessageDTO.getChatId());
 
-            for (ChatParticipant participant : participants) {
-                String recipientId = participant.getMemberEntity().getUserId();
-                WebSocketSession recipientSession = userSessions.get(recipientId);
+            // 엔티티 대신 DTO 를 한 번만 직렬화하여 모든 참여자에게 같은 프레임을 보냅니다.
+            OutboundFrame frameToSend = OutboundFrame.encode(objectMapper, savedMessage);
 
-                // 사용자가 현재 접속중(온라인)이라면 메시지를 보냅니다.
-                if (recipientSession != null && recipientSession.isOpen()) {
-                    recipientSession.sendMessage(new TextMessage(messageToSend));
+            for (String recipientId : participantIds) {
+                // 사용자가 현재 접속중(온라인)이라면 모든 세션으로 메시지를 보냅니다.
+                if (messageRouter.sendToUser(recipientId, frameToSend)) {
                     log.info("System message sent to user {}", recipientId);
                 }
             }
@@ -297,41 +368,47 @@ public class WebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-
-
-
-
-
     // 사용자가 접속할 때 userSessionMap에 추가하는 로직이 필요합니다. (onOpen)
 // 사용자가 접속을 끊을 때 userSessionMap에서 제거하는 로직도 필요합니다. (onClose)
 
     public void sendTargetedSystemMessage(ChatMessageDTO message, String targetUserId) {
         // 1. 시스템 메시지도 DB에 저장해야 나중에 다시 접속했을 때 볼 수 있습니다.
+        // 저장에 실패하면 예외를 그대로 던져 호출한 쪽에서 재시도합니다. (같은 clientMessageId 는 한 번만 저장)
         message.setCreatedDate(LocalDateTime.now());
-        ChatMessage savedMessage = chatMessageService.saveMessage(message);
-
-        //  userSessionMap 대신 기존에 사용하던 userSessions 맵을 사용합니다.
-        WebSocketSession targetSession = userSessions.get(targetUserId);
+        ChatMessageSendDTO savedMessage = persistSystemMessage(message);
 
-        // 3. 상대방이 온라인 상태일 때
-        if (targetSession != null && targetSession.isOpen()) {
+        // 3. 상대방이 온라인 상태일 때 (모든 세션으로 전송, 실패는 로그만 남김)
+        if (messageRouter.isOnline(targetUserId)) {
             try {
                 // 프론트엔드로 보낼 DTO로 변환
-                ChatMessageSendDTO dtoToSend = ChatMessageSendDTO.fromEntity(savedMessage);
-                String messageToSend = objectMapper.writeValueAsString(dtoToSend);
-                targetSession.sendMessage(new TextMessage(messageToSend));
+                messageRouter.sendToUser(targetUserId, OutboundFrame.encode(objectMapper, savedMessage));
                 log.info("Targeted system message sent to user {}", targetUserId);
-            } catch (IOException e) {
+            } catch (Exception e) {
                 log.error("타겟 메시지 전송 실패", e);
             }
         }
-        // 4.상대방이 오프라인일 때 -> 보류 메시지함에 추가
+        // 4.상대방이 오프라인일 때 -> 전달 커서 이후 메시지로 남아 재접속 시 전달
         else {
-            log.info("Target user {} is not online. Message will be stored in pending messages.", targetUserId);
-            pendingMessages.computeIfAbsent(targetUserId, k -> new ArrayList<>()).add(savedMessage);
+            log.info("Target user {} is not online. Message will be delivered on reconnect.", targetUserId);
         }
     }
 
+    /**
+     * 서버에서 만든 시스템 메시지를 배치 저장기로 저장하고 저장이 끝날 때까지 대기
+     * 세션이 없으므로 보낸 사람 번호는 아이디로 조회합니다.
+     */
+    private ChatMessageSendDTO persistSystemMessage(ChatMessageDTO chatMessageDTO) {
+        if (chatMessageDTO.getSenderNo() == null) {
+            MemberEntity sender = memberRepository.findByUserId(chatMessageDTO.getSenderId())
+                    .orElseThrow(() -> new IllegalArgumentException("User not found: " + chatMessageDTO.getSenderId()));
+            chatMessageDTO.setSenderNo(sender.getUserNo());
+        }
+        try {
+            return chatMessageBatchWriter.persist(chatMessageDTO);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while persisting system message", e);
+        }
+    }
 
 }
-
@@ -1,6 +1,9 @@
 package org.dsa11.team1.kumarketto.websocket;
 
 import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.dsa11.team1.kumarketto.domain.entity.MemberEntity;
+import org.dsa11.team1.kumarketto.repository.MemberRepository;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.http.server.ServletServerHttpRequest;
@@ -14,10 +17,14 @@ import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.HandshakeInterceptor;
 
 import java.util.Map;
+import java.util.Optional;
 
 @Component
+@RequiredArgsConstructor
 public class WebSocketInterceptor implements HandshakeInterceptor {
 
+    private final MemberRepository memberRepository;
+
     @Override
     public boolean beforeHandshake(ServerHttpRequest request,
                                    ServerHttpResponse response,
@@ -35,11 +42,21 @@ public class WebSocketInterceptor implements HandshakeInterceptor {
         //  세션이 존재하고, 세션 안에 "userId"라는 속성이 저장되어 있는지 확인합니다.
         //    (이 "userId"는 WebSecurityConfig에서 로그인 성공 시 세션에 저장해 둔 값입니다.)
         if(httpSession != null && httpSession.getAttribute("userId") != null) {
+            String userId = (String) httpSession.getAttribute("userId");
+
+            // 회원 정보는 연결할 때 한 번만 조회합니다. (메시지마다 조회하지 않음)
+            Optional<MemberEntity> member = memberRepository.findByUserId(userId);
+            if (member.isEmpty()) {
+                return false;
+            }
 
             // 'attributes'는 앞으로 생성될 웹소켓 세션의 개인 사물함입니다.
-            //    이 사물함에 HTTP 세션에서 꺼낸 "userId"를 그대로 복사해서 넣어줍니다.
+            //    이 사물함에 "userId"와 회원 번호, 권한, 닉네임을 넣어줍니다.
             //    이것이 바로 '이름표'를 붙이는 과정입니다.
-            attributes.put("userId", httpSession.getAttribute("userId"));
+            attributes.put("userId", userId);
+            attributes.put("userNo", member.get().getUserNo());
+            attributes.put("role", member.get().getRole());
+            attributes.put("nickname", member.get().getNickname());
             // 신원 확인이 완료되었으니, 핸드셰이크를 계속 진행하도록 '허가'합니다.
             return true;
         }
@@ -0,0 +1,240 @@
+package org.dsa11.team1.kumarketto.websocket;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 접속 중인 웹소켓 세션 관리
+ * 한 사용자가 여러 세션(탭, 기기)을 가질 수 있으며,
+ * 각 세션은 크기가 정해진 전송 대기열(OutboundSessionQueue)로 감싸서 전송 스레드 풀이 비동기로 전송
+ */
+@Slf4j
+@Component
+public class WebSocketSessionRegistry {
+
+    // Key: 유저 아이디, Value: (세션 ID → 세션 전송 대기열)
+    private final Map<String, Map<String, OutboundSessionQueue>> userSessions = new ConcurrentHashMap<>();
+
+    private final int sendTimeLimit;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final boolean coalesceReadReceipts;
+    private final ExecutorService senderPool;
+
+    // 이 노드에서 사용자의 첫 세션이 열리거나 마지막 세션이 닫힐 때 알림 (접속 위치 기록용)
+    private volatile PresenceListener presenceListener = PresenceListener.NONE;
+
+    public WebSocketSessionRegistry(@Value("${chat.websocket.send-time-limit-ms:10000}") int sendTimeLimit,
+                                    @Value("${chat.websocket.outbound-queue-capacity:1024}") int queueCapacity,
+                                    @Value("${chat.websocket.overflow-policy:DISCONNECT}") OverflowPolicy overflowPolicy,
+                                    @Value("${chat.websocket.coalesce-read-receipts:true}") boolean coalesceReadReceipts,
+                                    @Value("${chat.websocket.send-pool-size:8}") int sendPoolSize) {
+        this.sendTimeLimit = sendTimeLimit;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.coalesceReadReceipts = coalesceReadReceipts;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senderPool = Executors.newFixedThreadPool(sendPoolSize, runnable -> {
+            Thread thread = new Thread(runnable, "ws-send-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 첫 세션/마지막 세션 알림 등록
+     * 알림은 세션 등록/해제와 같은 사용자별 잠금 안에서 호출되므로, 종료와 재접속이 겹쳐도 세션 목록과 순서가 맞음
+     */
+    public void setPresenceListener(PresenceListener presenceListener) {
+        this.presenceListener = presenceListener;
+    }
+
+    /**
+     * 세션 등록
+     * @param userId    유저 아이디
+     * @param session   연결된 원본 세션
+     * @return  세션 전송 대기열
+     */
+    public OutboundSessionQueue register(String userId, WebSocketSession session) {
+        OutboundSessionQueue outbound = new OutboundSessionQueue(userId, session, queueCapacity, overflowPolicy,
+                coalesceReadReceipts, sendTimeLimit, senderPool, this::disconnectSlowConsumer);
+        userSessions.compute(userId, (key, sessions) -> {
+            if (sessions == null) {
+                sessions = new ConcurrentHashMap<>();
+                presenceListener.firstSessionOpened(userId);
+            }
+            sessions.put(session.getId(), outbound);
+            return sessions;
+        });
+        return outbound;
+    }
+
+    /**
+     * 세션 해제 (같은 사용자의 다른 세션은 유지)
+     */
+    public void unregister(String userId, WebSocketSession session) {
+        unregister(userId, session.getId());
+    }
+
+    private void unregister(String userId, String sessionId) {
+        userSessions.computeIfPresent(userId, (key, sessions) -> {
+            sessions.remove(sessionId);
+            if (!sessions.isEmpty()) {
+                return sessions;
+            }
+            presenceListener.lastSessionClosed(userId);
+            return null;
+        });
+    }
+
+    public boolean isOnline(String userId) {
+        return !getSessions(userId).isEmpty();
+    }
+
+    /**
+     * 사용자의 열려 있는 세션 목록
+     */
+    public List<OutboundSessionQueue> getSessions(String userId) {
+        Map<String, OutboundSessionQueue> sessions = userSessions.get(userId);
+        if (sessions == null) {
+            return List.of();
+        }
+        List<OutboundSessionQueue> open = new ArrayList<>(sessions.size());
+        for (OutboundSessionQueue session : sessions.values()) {
+            if (session.isOpen()) {
+                open.add(session);
+            }
+        }
+        return open;
+    }
+
+    public Set<String> getOnlineUserIds() {
+        return userSessions.keySet();
+    }
+
+    /**
+     * 사용자의 모든 세션 대기열에 프레임 추가 (전송 완료를 기다리지 않음)
+     * @return  열려 있는 세션이 하나라도 있었으면 true
+     */
+    public boolean sendToUser(String userId, OutboundFrame frame) {
+        List<OutboundSessionQueue> sessions = getSessions(userId);
+        for (OutboundSessionQueue session : sessions) {
+            session.enqueue(frame);
+        }
+        return !sessions.isEmpty();
+    }
+
+    /**
+     * 여러 사용자에게 같은 프레임 전송
+     * @return  전송된 사용자 수
+     */
+    public int sendToUsers(Collection<String> userIds, OutboundFrame frame) {
+        int sentCount = 0;
+        for (String userId : userIds) {
+            if (sendToUser(userId, frame)) {
+                sentCount++;
+            }
+        }
+        return sentCount;
+    }
+
+    /**
+     * 접속 중인 모든 세션으로 같은 프레임 전송
+     * @return  전송을 요청한 사용자 수
+     */
+    public int broadcast(OutboundFrame frame) {
+        int userCount = 0;
+        for (Map<String, OutboundSessionQueue> sessions : userSessions.values()) {
+            for (OutboundSessionQueue session : sessions.values()) {
+                session.enqueue(frame);
+            }
+            userCount++;
+        }
+        return userCount;
+    }
+
+    // 대기열이 넘치거나 전송이 느린 세션은 끊어서 다른 세션에 영향이 없도록 함
+    private void disconnectSlowConsumer(OutboundSessionQueue session) {
+        unregister(session.getUserId(), session.getSessionId());
+        session.close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    /**
+     * 세션별 전송 지표
+     */
+    public List<OutboundSessionQueue.SessionStats> getSessionStats() {
+        List<OutboundSessionQueue.SessionStats> stats = new ArrayList<>();
+        for (Map<String, OutboundSessionQueue> sessions : userSessions.values()) {
+            for (OutboundSessionQueue session : sessions.values()) {
+                stats.add(session.getStats());
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 전송 지표 로그 (대기열이 가장 깊은 세션 위주)
+     */
+    @Scheduled(fixedRateString = "${chat.websocket.metrics-log-interval-ms:60000}")
+    public void logSessionStats() {
+        List<OutboundSessionQueue.SessionStats> stats = getSessionStats();
+        if (stats.isEmpty()) {
+            return;
+        }
+        long queued = stats.stream().mapToLong(OutboundSessionQueue.SessionStats::getQueueDepth).sum();
+        long dropped = stats.stream().mapToLong(OutboundSessionQueue.SessionStats::getDroppedCount).sum();
+        long maxLatency = stats.stream().mapToLong(OutboundSessionQueue.SessionStats::getMaxSendLatencyMs).max().orElse(0);
+        log.info("WebSocket sessions={} queued={} dropped={} maxSendLatencyMs={}", stats.size(), queued, dropped, maxLatency);
+
+        stats.stream()
+                .filter(s -> s.getQueueDepth() > 0)
+                .sorted(Comparator.comparingInt(OutboundSessionQueue.SessionStats::getQueueDepth).reversed())
+                .limit(5)
+                .forEach(s -> log.info("  slow session userId={} sessionId={} depth={} maxDepth={} avgLatencyMs={} maxLatencyMs={}",
+                        s.getUserId(), s.getSessionId(), s.getQueueDepth(), s.getMaxQueueDepth(),
+                        s.getAvgSendLatencyMs(), s.getMaxSendLatencyMs()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senderPool.shutdown();
+    }
+
+    /**
+     * 이 노드에서 사용자의 첫 세션이 열리거나 마지막 세션이 닫힐 때 호출 (사용자별 잠금 안에서 호출되므로 짧게 처리)
+     */
+    public interface PresenceListener {
+
+        PresenceListener NONE = new PresenceListener() {
+            @Override
+            public void firstSessionOpened(String userId) {
+            }
+
+            @Override
+            public void lastSessionClosed(String userId) {
+            }
+        };
+
+        void firstSessionOpened(String userId);
+
+        void lastSessionClosed(String userId);
+    }
+
+}
@@ -30,8 +30,18 @@ function connectGlobalWebSocket() {
 
         const message = JSON.parse(event.data);
 
+        // 거래 단계 알림은 서버가 알림 전용 프레임으로 따로 보냅니다.
+        if (message && message.type === 'TRANSACTION_NOTIFICATION') {
+            if (message.chatId) {
+                fetchChatRoomAndShowNotification(message);
+            }
+            return;
+        }
+
         // 시스템 메시지가 아닌, 수신된 메시지에 대해서만 알림을 표시하고 싶습니다.
-        if (message && message.chatId && message.senderId) {
+        // (거래 시스템 메시지는 위의 알림 프레임으로 표시하므로 여기서는 건너뜁니다.)
+        if (message && message.chatId && message.senderId
+            && (message.messageType === 'TEXT' || message.messageType === 'IMAGE')) {
             // 상대방 닉네임과 같은 추가 정보가 필요합니다.
             // 서버에서 "알림" 전용 페이로드를 보내는 것이 더 최적화된 방법이겠지만,
             // 지금은 채팅방 상세 정보를 가져오는 것이 안정적인 방법입니다.
@@ -0,0 +1,263 @@
+package org.dsa11.team1.kumarketto.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 부하 테스트
+ * 1. /api/loadtest/seed 로 회원과 채팅방 생성 (서버는 loadtest 프로필로 실행)
+ * 2. 회원마다 실제 로그인(/member/signIn) 후 세션 쿠키로 /ws/chat 연결
+ *    (로그인 성공 시 세션에 저장되는 userId 를 WebSocketInterceptor 가 그대로 사용)
+ * 3. 채팅방마다 정해진 속도로 메시지를 보내고, 다른 참여자가 받을 때까지의 지연 시간을 기록
+ * 4. 처리량, 지연 백분위, 서버 힙/GC/전송 대기열 지표 출력
+ *
+ * 설정 (시스템 프로퍼티)
+ *  loadtest.base-url           서버 주소 (기본 http://localhost:8080)
+ *  loadtest.users              회원 수 (기본 100)
+ *  loadtest.topology           pairs: 두 명씩 한 방, hub: 판매자 한 명에 구매자 여러 명 (기본 pairs)
+ *  loadtest.buyers-per-seller  hub 구성의 판매자당 구매자 수 (기본 10)
+ *  loadtest.rate               채팅방당 초당 메시지 수 (기본 1)
+ *  loadtest.warmup-seconds     기록하지 않는 준비 시간 (기본 10)
+ *  loadtest.duration-seconds   측정 시간 (기본 60)
+ *
+ * ./gradlew loadTest -Dloadtest.users=1000 -Dloadtest.topology=hub -Dloadtest.rate=2
+ */
+public class ChatLoadTest {
+
+    private static final String MESSAGE_ID_PREFIX = "lt-";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String wsUrl;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong messageSequence = new AtomicLong();
+    private final AtomicLong maxHeapUsed = new AtomicLong();
+    private final long originNanos = System.nanoTime(); // 전송 시각 기준점 (clientMessageId 에 양수로 담기 위함)
+    private volatile boolean recording = false;
+
+    public ChatLoadTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.wsUrl = baseUrl.replaceFirst("^http", "ws") + "/ws/chat";
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.base-url", "http://localhost:8080");
+        int users = Integer.getInteger("loadtest.users", 100);
+        String topology = System.getProperty("loadtest.topology", "pairs");
+        int buyersPerSeller = Integer.getInteger("loadtest.buyers-per-seller", 10);
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "1"));
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+
+        new ChatLoadTest(baseUrl).run(users, topology, buyersPerSeller, rate, warmupSeconds, durationSeconds);
+    }
+
+    public void run(int users, String topology, int buyersPerSeller, double rate,
+                    int warmupSeconds, int durationSeconds) throws Exception {
+        HttpClient adminClient = HttpClient.newHttpClient();
+        JsonNode seed = post(adminClient, "/api/loadtest/seed?users=" + users + "&topology=" + topology
+                + "&buyersPerSeller=" + buyersPerSeller, "");
+        String password = seed.get("password").asText();
+        System.out.printf("Seeded %d users, %d rooms (%s)%n", seed.get("userIds").size(), seed.get("rooms").size(), topology);
+
+        // 회원별 로그인 + 웹소켓 연결
+        Map<String, WebSocket> sockets = new HashMap<>();
+        List<CompletableFuture<Void>> connecting = new ArrayList<>();
+        for (JsonNode userIdNode : seed.get("userIds")) {
+            String userId = userIdNode.asText();
+            connecting.add(connect(userId, password).thenAccept(socket -> {
+                synchronized (sockets) {
+                    sockets.put(userId, socket);
+                }
+            }));
+        }
+        CompletableFuture.allOf(connecting.toArray(new CompletableFuture[0])).join();
+        System.out.printf("Connected %d sessions%n", sockets.size());
+
+        JsonNode statsBefore = get(adminClient, "/api/loadtest/stats");
+
+        // 채팅방마다 참여자가 번갈아 가며 메시지 전송
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()));
+        long periodMicros = Math.max(1, (long) (1_000_000 / rate));
+        for (JsonNode room : seed.get("rooms")) {
+            long chatId = room.get("chatId").asLong();
+            WebSocket seller = sockets.get(room.get("sellerId").asText());
+            WebSocket buyer = sockets.get(room.get("buyerId").asText());
+            AtomicLong turn = new AtomicLong();
+            long initialDelay = (long) (Math.random() * periodMicros);
+            scheduler.scheduleAtFixedRate(() -> send(turn.getAndIncrement() % 2 == 0 ? buyer : seller, chatId),
+                    initialDelay, periodMicros, TimeUnit.MICROSECONDS);
+        }
+        scheduler.scheduleAtFixedRate(() -> sampleHeap(adminClient), 1, 1, TimeUnit.SECONDS);
+
+        Thread.sleep(warmupSeconds * 1000L);
+        long sentAtStart = sentCount.get();
+        recording = true;
+        long startNanos = System.nanoTime();
+        Thread.sleep(durationSeconds * 1000L);
+        recording = false;
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        long sent = sentCount.get() - sentAtStart;
+
+        scheduler.shutdownNow();
+        JsonNode statsAfter = get(adminClient, "/api/loadtest/stats");
+        for (WebSocket socket : sockets.values()) {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+        }
+
+        report(elapsedSeconds, sent, statsBefore, statsAfter);
+    }
+
+    private CompletableFuture<WebSocket> connect(String userId, String password) {
+        // 회원마다 쿠키 저장소를 따로 두어 로그인 세션을 분리
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String form = "userId=" + URLEncoder.encode(userId, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/member/signIn"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+
+        return client.sendAsync(login, HttpResponse.BodyHandlers.discarding())
+                .thenCompose(response -> client.newWebSocketBuilder()
+                        .buildAsync(URI.create(wsUrl), new Receiver(userId)));
+    }
+
+    private void send(WebSocket socket, long chatId) {
+        String clientMessageId = MESSAGE_ID_PREFIX + messageSequence.incrementAndGet() + "-" + (System.nanoTime() - originNanos);
+        String payload = "{\"chatId\":" + chatId + ",\"content\":\"loadtest\",\"clientMessageId\":\"" + clientMessageId + "\"}";
+        // 한 웹소켓에서는 이전 전송이 끝난 뒤에만 보낼 수 있으므로 소켓 단위로 직렬화
+        synchronized (socket) {
+            try {
+                socket.sendText(payload, true).join();
+                sentCount.incrementAndGet();
+            } catch (Exception e) {
+                failedCount.incrementAndGet();
+            }
+        }
+    }
+
+    private void sampleHeap(HttpClient client) {
+        try {
+            maxHeapUsed.accumulateAndGet(get(client, "/api/loadtest/stats").get("heapUsedBytes").asLong(), Math::max);
+        } catch (Exception ignored) {
+            // 지표 조회 실패는 측정에 영향을 주지 않음
+        }
+    }
+
+    private void report(double elapsedSeconds, long sent, JsonNode before, JsonNode after) {
+        long received = receivedCount.get();
+        System.out.println("========== chat load test ==========");
+        System.out.printf("duration          %.1f s%n", elapsedSeconds);
+        System.out.printf("sent              %d (%.1f msg/s), failed %d%n", sent, sent / elapsedSeconds, failedCount.get());
+        System.out.printf("delivered         %d (%.1f msg/s)%n", received, received / elapsedSeconds);
+        System.out.printf("fan-out latency   p50 %.2f ms  p90 %.2f ms  p99 %.2f ms  p99.9 %.2f ms  max %.2f ms%n",
+                histogram.percentile(50) / 1000.0, histogram.percentile(90) / 1000.0,
+                histogram.percentile(99) / 1000.0, histogram.percentile(99.9) / 1000.0, histogram.getMax() / 1000.0);
+        System.out.printf("server heap       max used %d MB / %d MB%n",
+                maxHeapUsed.get() / (1024 * 1024), after.get("heapMaxBytes").asLong() / (1024 * 1024));
+        System.out.printf("server GC         %d collections, %d ms%n",
+                after.get("gcCount").asLong() - before.get("gcCount").asLong(),
+                after.get("gcTimeMs").asLong() - before.get("gcTimeMs").asLong());
+        System.out.printf("server sessions   %d, queued %d, dropped %d, coalesced %d, max send latency %d ms%n",
+                after.get("sessions").asLong(), after.get("queuedFrames").asLong(),
+                after.get("droppedFrames").asLong(), after.get("coalescedFrames").asLong(),
+                after.get("maxSendLatencyMs").asLong());
+    }
+
+    private JsonNode get(HttpClient client, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        return objectMapper.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    private JsonNode post(HttpClient client, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST " + path + " failed: " + response.statusCode() + " " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    /**
+     * 수신 프레임 처리
+     * 다른 사람이 보낸 부하 테스트 메시지만 골라 clientMessageId 에 담긴 전송 시각으로 지연 시간 계산
+     */
+    private class Receiver implements WebSocket.Listener {
+
+        private final String userId;
+        private final StringBuilder buffer = new StringBuilder();
+
+        Receiver(String userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (last) {
+                handle(buffer.toString());
+                buffer.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        private void handle(String text) {
+            long receivedAt = System.nanoTime() - originNanos;
+            try {
+                JsonNode frame = objectMapper.readTree(text);
+                JsonNode clientMessageId = frame.get("clientMessageId");
+                if (frame.has("type") || clientMessageId == null || !clientMessageId.asText().startsWith(MESSAGE_ID_PREFIX)
+                        || userId.equals(frame.path("senderId").asText())) {
+                    return;
+                }
+                String id = clientMessageId.asText();
+                long sentAt = Long.parseLong(id.substring(id.lastIndexOf('-') + 1));
+                if (recording) {
+                    receivedCount.incrementAndGet();
+                    histogram.record((receivedAt - sentAt) / 1000);
+                }
+            } catch (Exception ignored) {
+                // 부하 테스트와 무관한 프레임
+            }
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            failedCount.incrementAndGet();
+        }
+
+    }
+
+}
@@ -0,0 +1,75 @@
+package org.dsa11.team1.kumarketto.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 지연 시간 히스토그램 (마이크로초)
+ * 2의 거듭제곱 구간을 8개씩 나눈 고정 버킷이라 기록은 잠금 없이 처리하고,
+ * 백분위는 버킷 상한값으로 계산 (오차 약 12% 이내)
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 16;
+    private static final int MAGNITUDES = 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SUB_BUCKETS * MAGNITUDES);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(value));
+        total.incrementAndGet();
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return total.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * 백분위 값
+     * @param percentile    0 ~ 100
+     * @return  마이크로초 (기록이 없으면 0)
+     */
+    public long percentile(double percentile) {
+        long count = total.get();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    // 0~15 는 그대로, 그 이상은 (자릿수, 상위 4비트)로 버킷 결정
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - 3;
+        int sub = (int) (value >>> magnitude) - SUB_BUCKETS / 2;
+        return Math.min(SUB_BUCKETS * MAGNITUDES - 1, SUB_BUCKETS + (magnitude - 1) * (SUB_BUCKETS / 2) + sub);
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = (index - SUB_BUCKETS) / (SUB_BUCKETS / 2) + 1;
+        int sub = (index - SUB_BUCKETS) % (SUB_BUCKETS / 2) + SUB_BUCKETS / 2;
+        return ((long) (sub + 1) << magnitude) - 1;
+    }
+
+}
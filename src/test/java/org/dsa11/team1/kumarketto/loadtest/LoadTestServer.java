@@ -0,0 +1,18 @@
+package org.dsa11.team1.kumarketto.loadtest;
+
+import org.dsa11.team1.kumarketto.KumarkettoApplication;
+import org.springframework.boot.SpringApplication;
+
+/**
+ * 부하 테스트용 로컬 서버 실행 (loadtest 프로필, 내장 H2 DB)
+ * ./gradlew loadTestServer
+ */
+public class LoadTestServer {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(KumarkettoApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        application.run(args);
+    }
+
+}
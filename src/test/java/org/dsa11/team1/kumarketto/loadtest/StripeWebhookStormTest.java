@@ -0,0 +1,187 @@
+package org.dsa11.team1.kumarketto.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stripe.Stripe;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stripe 웹훅 폭주 재현 (로컬 Stripe 대역)
+ * 1. /api/loadtest/seed-payments 로 결제 대기 거래 생성 (서버는 loadtest 프로필로 실행)
+ * 2. 거래마다 Stripe 와 같은 형식의 payment_intent.succeeded 이벤트를 만들어 서명(Stripe-Signature) 후 전송
+ *    Stripe 의 재전송처럼 같은 이벤트를 여러 번 섞어 보내고, 동시에 보내는 요청 수를 제한
+ * 3. 응답(수신 확인) 지연 백분위와 처리량, 서버 수신함이 모든 이벤트를 처리할 때까지의 처리량 출력
+ *
+ * 설정 (시스템 프로퍼티)
+ *  loadtest.base-url               서버 주소 (기본 http://localhost:8080)
+ *  loadtest.webhook-secret         웹훅 서명 키 (기본 application-loadtest.properties 의 whsec_loadtest)
+ *  loadtest.webhook-events         이벤트(거래) 수 (기본 2000)
+ *  loadtest.webhook-buyers         구매자 수 (기본 200)
+ *  loadtest.webhook-duplicates     이벤트당 추가 재전송 횟수 (기본 2)
+ *  loadtest.webhook-concurrency    동시 요청 수 (기본 64)
+ *  loadtest.webhook-timeout-seconds 처리 완료 대기 시간 (기본 120)
+ *
+ * ./gradlew webhookStormTest -Dloadtest.webhook-events=10000 -Dloadtest.webhook-concurrency=128
+ */
+public class StripeWebhookStormTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final String baseUrl;
+    private final String secret;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final AtomicLong acknowledged = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public StripeWebhookStormTest(String baseUrl, String secret) {
+        this.baseUrl = baseUrl;
+        this.secret = secret;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.base-url", "http://localhost:8080");
+        String secret = System.getProperty("loadtest.webhook-secret", "whsec_loadtest");
+        int events = Integer.getInteger("loadtest.webhook-events", 2000);
+        int buyers = Integer.getInteger("loadtest.webhook-buyers", 200);
+        int duplicates = Integer.getInteger("loadtest.webhook-duplicates", 2);
+        int concurrency = Integer.getInteger("loadtest.webhook-concurrency", 64);
+        int timeoutSeconds = Integer.getInteger("loadtest.webhook-timeout-seconds", 120);
+
+        new StripeWebhookStormTest(baseUrl, secret).run(events, buyers, duplicates, concurrency, timeoutSeconds);
+    }
+
+    public void run(int events, int buyers, int duplicates, int concurrency, int timeoutSeconds) throws Exception {
+        JsonNode seed = post("/api/loadtest/seed-payments?transactions=" + events + "&buyers=" + buyers);
+        System.out.printf("Seeded %d pending payments%n", seed.size());
+
+        // 이벤트마다 (1 + 재전송 횟수)번 보내되, 순서를 섞어 재전송이 원본과 동시에 도착하도록 함
+        long runId = System.currentTimeMillis();
+        List<String> deliveries = new ArrayList<>(seed.size() * (1 + duplicates));
+        for (int i = 0; i < seed.size(); i++) {
+            String payload = eventPayload("evt_lt_" + runId + "_" + i, "pi_lt_" + runId + "_" + i,
+                    seed.get(i).get(0).asLong(), seed.get(i).get(1).asLong());
+            for (int copy = 0; copy <= duplicates; copy++) {
+                deliveries.add(payload);
+            }
+        }
+        Collections.shuffle(deliveries);
+
+        JsonNode before = get("/api/loadtest/stats").get("webhook");
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<Void>> sending = new ArrayList<>(deliveries.size());
+        long startNanos = System.nanoTime();
+        for (String payload : deliveries) {
+            inFlight.acquire();
+            sending.add(deliver(payload).whenComplete((ignored, error) -> inFlight.release()));
+        }
+        CompletableFuture.allOf(sending.toArray(new CompletableFuture[0])).exceptionally(error -> null).join();
+        double sendSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+
+        // 서버 수신함이 모든 이벤트를 처리할 때까지 대기
+        long expected = before.get("processed").asLong() + seed.size();
+        JsonNode after = before;
+        long deadline = System.nanoTime() + timeoutSeconds * 1_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            after = get("/api/loadtest/stats").get("webhook");
+            if (after.get("processed").asLong() + after.get("failed").asLong() - before.get("failed").asLong() >= expected) {
+                break;
+            }
+            Thread.sleep(200);
+        }
+        double processSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+
+        long processed = after.get("processed").asLong() - before.get("processed").asLong();
+        System.out.println("========== stripe webhook storm ==========");
+        System.out.printf("deliveries        %d (%d events x %d), concurrency %d%n",
+                deliveries.size(), seed.size(), 1 + duplicates, concurrency);
+        System.out.printf("acknowledged      %d in %.1f s (%.1f req/s), rejected %d%n",
+                acknowledged.get(), sendSeconds, acknowledged.get() / sendSeconds, rejected.get());
+        System.out.printf("ack latency       p50 %.2f ms  p90 %.2f ms  p99 %.2f ms  p99.9 %.2f ms  max %.2f ms%n",
+                histogram.percentile(50) / 1000.0, histogram.percentile(90) / 1000.0,
+                histogram.percentile(99) / 1000.0, histogram.percentile(99.9) / 1000.0, histogram.getMax() / 1000.0);
+        System.out.printf("inbox             received %d, duplicates %d, failed %d, queue %d%n",
+                after.get("received").asLong() - before.get("received").asLong(),
+                after.get("duplicates").asLong() - before.get("duplicates").asLong(),
+                after.get("failed").asLong() - before.get("failed").asLong(),
+                after.get("queueDepth").asLong());
+        System.out.printf("processed         %d / %d in %.1f s (%.1f events/s)%n",
+                processed, seed.size(), processSeconds, processed / processSeconds);
+    }
+
+    private CompletableFuture<Void> deliver(String payload) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/stripe-webhook"))
+                .header("Content-Type", "application/json")
+                .header("Stripe-Signature", sign(payload))
+                .POST(HttpRequest.BodyPublishers.ofString(payload))
+                .build();
+        long sentAt = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenAccept(response -> {
+                    histogram.record((System.nanoTime() - sentAt) / 1000);
+                    if (response.statusCode() == 200) {
+                        acknowledged.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                })
+                .exceptionally(error -> {
+                    rejected.incrementAndGet();
+                    return null;
+                });
+    }
+
+    // Stripe 와 같은 형식의 결제 성공 이벤트 (메타데이터는 PaymentService.createPaymentIntent 와 동일)
+    private String eventPayload(String eventId, String paymentIntentId, long transactionId, long paymentId) {
+        long created = System.currentTimeMillis() / 1000;
+        return "{\"id\":\"" + eventId + "\",\"object\":\"event\",\"api_version\":\"" + Stripe.API_VERSION + "\","
+                + "\"created\":" + created + ",\"livemode\":false,\"pending_webhooks\":1,"
+                + "\"type\":\"payment_intent.succeeded\",\"data\":{\"object\":{"
+                + "\"id\":\"" + paymentIntentId + "\",\"object\":\"payment_intent\",\"amount\":1000,"
+                + "\"currency\":\"jpy\",\"status\":\"succeeded\",\"created\":" + created + ","
+                + "\"metadata\":{\"paymentId\":\"" + paymentId + "\",\"transactionId\":\"" + transactionId + "\"}}}}";
+    }
+
+    // Stripe-Signature 헤더 (t=시각, v1=HMAC-SHA256(시각.본문))
+    private String sign(String payload) {
+        try {
+            long timestamp = System.currentTimeMillis() / 1000;
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] signature = mac.doFinal((timestamp + "." + payload).getBytes(StandardCharsets.UTF_8));
+            return "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(signature);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonNode get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        return objectMapper.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    private JsonNode post(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST " + path + " failed: " + response.statusCode() + " " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+}
@@ -0,0 +1,196 @@
+package org.dsa11.team1.kumarketto.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.dsa11.team1.kumarketto.domain.dto.ChatMessageDTO;
+import org.dsa11.team1.kumarketto.domain.dto.ChatMessageSendDTO;
+import org.dsa11.team1.kumarketto.domain.enums.MessageType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 내장 H2 (MySQL 호환 모드) 로 배치 저장 결과 확인
+ * 저장된 행만 ACK 되는지, 재전송은 저장된 메시지로 ACK 되는지, 거절된 행만 실패하고 나머지는 저장되는지
+ */
+public class ChatMessageBatchWriterTest {
+
+    private static final long SELLER_NO = 10L;
+    private static final long BUYER_NO = 20L;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ChatMessageBatchWriter writer;
+
+    @BeforeEach
+    public void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:writer;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE chat_room (chat_id BIGINT PRIMARY KEY, last_issued_seq BIGINT, " +
+                "last_message_id BIGINT, last_message_type VARCHAR(50), last_message_preview VARCHAR(255), " +
+                "last_message_at TIMESTAMP, last_message_seq BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE chat_message (message_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "chat_id BIGINT NOT NULL REFERENCES chat_room (chat_id), user_no BIGINT NOT NULL, content VARCHAR(1000), " +
+                "image_url VARCHAR(255), message_type VARCHAR(50), created_date TIMESTAMP, is_read BOOLEAN, room_seq BIGINT, " +
+                "client_message_id VARCHAR(100), payload VARCHAR(4000), visible_to VARCHAR(255), active_status VARCHAR(20), " +
+                "UNIQUE (user_no, client_message_id))");
+        jdbcTemplate.execute("CREATE TABLE chat_participant (chat_id BIGINT, user_no BIGINT, " +
+                "last_read_seq BIGINT, last_read_message_id BIGINT, PRIMARY KEY (chat_id, user_no))");
+        jdbcTemplate.update("INSERT INTO chat_room (chat_id) VALUES (1)");
+        jdbcTemplate.update("INSERT INTO chat_participant (chat_id, user_no) VALUES (1, ?), (1, ?)", SELLER_NO, BUYER_NO);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writer = new ChatMessageBatchWriter(jdbcTemplate, transactionManager,
+                new ChatMessageSequencer(jdbcTemplate, transactionManager, 10, 60000), new ObjectMapper(),
+                100, 50, 5, 1, 5000);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        writer.shutdown();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void testBatchAckedWithGeneratedIdsAndSummaryUpdated() throws Exception {
+        //given
+        ChatMessageBatchWriter.PendingMessage first = pending(1L, SELLER_NO, 1L, "c-1", "こんにちは");
+        ChatMessageBatchWriter.PendingMessage second = pending(1L, BUYER_NO, 2L, "c-2", "よろしく");
+
+        //when
+        writer.flush(List.of(first, second));
+
+        //then: 두 건 모두 저장된 ID 로 ACK
+        ChatMessageSendDTO firstAck = first.getResult().getNow(null);
+        ChatMessageSendDTO secondAck = second.getResult().getNow(null);
+        assertNotNull(firstAck.getMessageId());
+        assertNotNull(secondAck.getMessageId());
+        assertNotEquals(firstAck.getMessageId(), secondAck.getMessageId());
+
+        // 마지막 메시지 요약은 순번이 큰 메시지, 읽음 커서는 각자 보낸 마지막 순번
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT last_message_seq FROM chat_room WHERE chat_id = 1", Long.class));
+        assertEquals("よろしく", jdbcTemplate.queryForObject("SELECT last_message_preview FROM chat_room WHERE chat_id = 1", String.class));
+        assertEquals(1L, readSeq(SELLER_NO));
+        assertEquals(2L, readSeq(BUYER_NO));
+    }
+
+    @Test
+    public void testResentMessageAckedWithStoredRow() throws Exception {
+        //given
+        ChatMessageBatchWriter.PendingMessage original = pending(1L, SELLER_NO, 1L, "c-1", "こんにちは");
+        writer.flush(List.of(original));
+
+        //when: ACK 를 못 받은 클라이언트가 같은 client_message_id 로 재전송 (새 순번 발급됨)
+        ChatMessageBatchWriter.PendingMessage resent = pending(1L, SELLER_NO, 2L, "c-1", "こんにちは");
+        writer.flush(List.of(resent));
+
+        //then: 새로 저장하지 않고 처음 저장된 ID/순번으로 ACK, 요약도 그대로
+        ChatMessageSendDTO ack = resent.getResult().getNow(null);
+        assertEquals(original.getResult().getNow(null).getMessageId(), ack.getMessageId());
+        assertEquals(1L, ack.getRoomSeq());
+        assertEquals(1, countMessages());
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT last_message_seq FROM chat_room WHERE chat_id = 1", Long.class));
+    }
+
+    @Test
+    public void testDuplicateInsideBatchStoredOnce() throws Exception {
+        //given: 재전송이 원본과 같은 배치에 들어온 경우 (유니크 위반 → 한 건씩 저장)
+        ChatMessageBatchWriter.PendingMessage original = pending(1L, SELLER_NO, 1L, "c-1", "こんにちは");
+        ChatMessageBatchWriter.PendingMessage resent = pending(1L, SELLER_NO, 2L, "c-1", "こんにちは");
+
+        //when
+        writer.flush(List.of(original, resent));
+
+        //then
+        assertEquals(1, countMessages());
+        assertEquals(original.getResult().getNow(null).getMessageId(), resent.getResult().getNow(null).getMessageId());
+    }
+
+    @Test
+    public void testRejectedRowFailsAloneWithoutAck() throws Exception {
+        //given: 없는 채팅방 메시지는 외래 키 위반
+        ChatMessageBatchWriter.PendingMessage good = pending(1L, SELLER_NO, 1L, "c-1", "こんにちは");
+        ChatMessageBatchWriter.PendingMessage rejected = pending(99L, SELLER_NO, 1L, "c-2", "どこ?");
+        ChatMessageBatchWriter.PendingMessage goodAfter = pending(1L, BUYER_NO, 2L, "c-3", "はい");
+
+        //when
+        writer.flush(List.of(good, rejected, goodAfter));
+
+        //then: 거절된 메시지만 실패 (ACK 없음), 나머지는 저장 후 ACK
+        assertTrue(rejected.getResult().isCompletedExceptionally());
+        assertNotNull(good.getResult().getNow(null).getMessageId());
+        assertNotNull(goodAfter.getResult().getNow(null).getMessageId());
+        assertEquals(2, countMessages());
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT last_message_seq FROM chat_room WHERE chat_id = 1", Long.class));
+    }
+
+    @Test
+    public void testSubmitAcksAfterPersistAndPersistIsIdempotent() throws Exception {
+        //given
+        writer.start();
+        CompletableFuture<ChatMessageSendDTO> acked = new CompletableFuture<>();
+
+        //when
+        ChatMessageSendDTO sent = writer.submit(message("c-1", "こんにちは"), acked::complete);
+        ChatMessageSendDTO ack = acked.get(5, TimeUnit.SECONDS);
+        ChatMessageSendDTO persistedAgain = writer.persist(message("c-1", "こんにちは"));
+
+        //then: 전송용 DTO 는 순번만 먼저 받고, ACK 는 저장 후 ID 를 가진 별도 객체 / 같은 client_message_id 는 한 건
+        assertEquals(1L, sent.getRoomSeq());
+        assertNull(sent.getMessageId());
+        assertNotSame(sent, ack);
+        assertNotNull(ack.getMessageId());
+        assertEquals(ack.getMessageId(), persistedAgain.getMessageId());
+        assertEquals(1L, persistedAgain.getRoomSeq());
+        assertEquals(1, countMessages());
+    }
+
+    private ChatMessageBatchWriter.PendingMessage pending(Long chatId, long senderNo, long roomSeq,
+                                                          String clientMessageId, String content) {
+        ChatMessageSendDTO message = ChatMessageSendDTO.builder()
+                .chatId(chatId)
+                .senderId("user" + senderNo)
+                .content(content)
+                .messageType(MessageType.TEXT)
+                .createdDate(LocalDateTime.now())
+                .roomSeq(roomSeq)
+                .clientMessageId(clientMessageId)
+                .build();
+        return new ChatMessageBatchWriter.PendingMessage(senderNo, message, null, null, null);
+    }
+
+    private ChatMessageDTO message(String clientMessageId, String content) {
+        return ChatMessageDTO.builder()
+                .chatId(1L)
+                .senderId("user" + SELLER_NO)
+                .senderNo(SELLER_NO)
+                .content(content)
+                .messageType(MessageType.TEXT)
+                .clientMessageId(clientMessageId)
+                .build();
+    }
+
+    private Long readSeq(long userNo) {
+        return jdbcTemplate.queryForObject(
+                "SELECT last_read_seq FROM chat_participant WHERE chat_id = 1 AND user_no = ?", Long.class, userNo);
+    }
+
+    private int countMessages() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM chat_message", Integer.class);
+    }
+}
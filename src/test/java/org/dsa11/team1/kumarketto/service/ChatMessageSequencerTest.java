@@ -0,0 +1,218 @@
+package org.dsa11.team1.kumarketto.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 내장 H2 (MySQL 호환 모드) 로 순번 발급 확인
+ * 블록 단위로 예약해도 여러 스레드/여러 서버(인스턴스)의 순번이 겹치지 않는지, 잠금 안에서는 발급 순서대로 쌓이는지,
+ * 쉬는 채팅방은 남은 순번을 반납하고 메모리에서 빠지는지
+ */
+public class ChatMessageSequencerTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 200;
+    private static final int BLOCK_SIZE = 10;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ChatMessageSequencer sequencer;
+
+    @BeforeEach
+    public void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:sequencer;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE chat_room (chat_id BIGINT PRIMARY KEY, last_issued_seq BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE chat_message (message_id BIGINT AUTO_INCREMENT PRIMARY KEY, chat_id BIGINT, room_seq BIGINT)");
+        jdbcTemplate.update("INSERT INTO chat_room (chat_id) VALUES (1), (2)");
+        sequencer = newSequencer();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void testContinuesFromStoredMessages() {
+        //given
+        jdbcTemplate.update("INSERT INTO chat_message (chat_id, room_seq) VALUES (1, 4), (1, 7), (2, 100)");
+
+        //when
+        long first = sequencer.next(1L);
+        long second = sequencer.next(1L);
+
+        //then: 블록 하나를 예약하고 그 안에서 발급
+        assertEquals(8, first);
+        assertEquals(9, second);
+        assertEquals(7L + BLOCK_SIZE, lastIssuedSeq(1L));
+    }
+
+    @Test
+    public void testIssuesFromMemoryUntilBlockRunsOut() {
+        //given: 다른 서버가 DB 순번을 올려도 예약한 구간 안에서는 DB 를 다시 보지 않음
+        sequencer.next(1L);
+        jdbcTemplate.update("UPDATE chat_room SET last_issued_seq = last_issued_seq + 100 WHERE chat_id = 1");
+
+        //when
+        List<Long> seqs = new ArrayList<>();
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            seqs.add(sequencer.next(1L));
+        }
+
+        //then: 남은 9개는 메모리에서, 그다음은 새로 예약한 구간의 처음
+        assertEquals(2L, seqs.get(0));
+        assertEquals((long) BLOCK_SIZE, seqs.get(BLOCK_SIZE - 2));
+        assertEquals(BLOCK_SIZE + 100L + 1, seqs.get(BLOCK_SIZE - 1));
+    }
+
+    @Test
+    public void testUnknownRoomRejected() {
+        assertThrows(IllegalArgumentException.class, () -> sequencer.next(99L));
+    }
+
+    @Test
+    public void testConcurrentInstancesIssueUniqueSeqs() throws Exception {
+        //given: 서버 두 대를 흉내 내도록 인스턴스를 나누어 같은 방에 발급
+        ChatMessageSequencer otherNode = newSequencer();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+
+        //when
+        for (int t = 0; t < THREADS; t++) {
+            ChatMessageSequencer node = t % 2 == 0 ? sequencer : otherNode;
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Long> seqs = new ArrayList<>(PER_THREAD);
+                for (int i = 0; i < PER_THREAD; i++) {
+                    seqs.add(node.next(1L));
+                }
+                return seqs;
+            }));
+        }
+        start.countDown();
+
+        Set<Long> issued = new HashSet<>();
+        for (Future<List<Long>> future : futures) {
+            List<Long> seqs = future.get(30, TimeUnit.SECONDS);
+            // 한 스레드 안에서는 항상 증가
+            for (int i = 1; i < seqs.size(); i++) {
+                assertTrue(seqs.get(i) > seqs.get(i - 1));
+            }
+            issued.addAll(seqs);
+        }
+        executor.shutdown();
+
+        //then: 겹치지 않고, 반납한 뒤에는 DB 순번이 실제로 발급한 최대 순번
+        int total = THREADS * PER_THREAD;
+        assertEquals(total, issued.size());
+        assertEquals(1L, Collections.min(issued));
+        sequencer.releaseAll();
+        otherNode.releaseAll();
+        assertTrue(lastIssuedSeq(1L) >= Collections.max(issued));
+        assertTrue(lastIssuedSeq(1L) < total + 2L * BLOCK_SIZE);
+    }
+
+    @Test
+    public void testSeqOrderMatchesQueueOrderInsideLock() throws Exception {
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Long> queued = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when: ChatMessageBatchWriter 처럼 잠금 안에서 발급하고 바로 대기열(리스트)에 넣음
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < PER_THREAD; i++) {
+                    sequencer.withNext(1L, queued::add);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        //then: 대기열 순서가 곧 순번 순서
+        assertEquals(THREADS * PER_THREAD, queued.size());
+        for (int i = 0; i < queued.size(); i++) {
+            assertEquals(i + 1L, queued.get(i));
+        }
+    }
+
+    @Test
+    public void testRoomsAreIndependent() {
+        sequencer.next(1L);
+        sequencer.next(1L);
+
+        assertEquals(1, sequencer.next(2L));
+        assertEquals(3, sequencer.next(1L));
+    }
+
+    @Test
+    public void testIdleRoomReleasesUnusedSeqsAndIsEvicted() {
+        //given
+        ChatMessageSequencer evictingSequencer = new ChatMessageSequencer(jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), BLOCK_SIZE, 0);
+        evictingSequencer.next(1L);
+        evictingSequencer.next(1L);
+        evictingSequencer.next(2L);
+
+        //when
+        evictingSequencer.evictIdleBlocks();
+
+        //then: 쓰지 않은 순번은 돌려주고, 다시 발급하면 이어서 발급
+        assertEquals(0, evictingSequencer.cachedRoomCount());
+        assertEquals(2L, lastIssuedSeq(1L));
+        assertEquals(1L, lastIssuedSeq(2L));
+        assertEquals(3, evictingSequencer.next(1L));
+    }
+
+    @Test
+    public void testReleaseSkippedWhenAnotherNodeReservedAfter() {
+        //given: 이 서버가 예약한 뒤 다른 서버가 다음 구간을 예약
+        sequencer.next(1L);
+        ChatMessageSequencer otherNode = newSequencer();
+        long otherSeq = otherNode.next(1L);
+
+        //when
+        sequencer.releaseAll();
+
+        //then: 다른 서버의 구간을 되돌리지 않음
+        assertEquals(BLOCK_SIZE + 1L, otherSeq);
+        assertEquals(2L * BLOCK_SIZE, lastIssuedSeq(1L));
+    }
+
+    private ChatMessageSequencer newSequencer() {
+        return new ChatMessageSequencer(jdbcTemplate, new DataSourceTransactionManager(dataSource), BLOCK_SIZE, 60000);
+    }
+
+    private Long lastIssuedSeq(Long chatId) {
+        return jdbcTemplate.queryForObject("SELECT last_issued_seq FROM chat_room WHERE chat_id = ?", Long.class, chatId);
+    }
+}
@@ -0,0 +1,92 @@
+package org.dsa11.team1.kumarketto.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.dsa11.team1.kumarketto.repository.ChatMessageRepository;
+import org.dsa11.team1.kumarketto.repository.ChatParticipantRepository;
+import org.dsa11.team1.kumarketto.repository.ChatRoomRepository;
+import org.dsa11.team1.kumarketto.repository.MemberRepository;
+import org.dsa11.team1.kumarketto.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 읽음 커서 처리 확인
+ * 커서는 채팅방에 저장된 마지막 순번까지만, 앞으로만 이동하고 실제로 움직였을 때만 읽음 알림 대상이 됨
+ */
+@ExtendWith(MockitoExtension.class)
+public class ChatMessageServiceTest {
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+
+    @Mock
+    private ChatParticipantRepository chatParticipantRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionChatService transactionChatService;
+
+    @InjectMocks
+    private ChatMessageService chatMessageService;
+
+    @Test
+    public void testMarkAsReadMovesCursorToLastStoredSeq() {
+        //given
+        when(chatRoomRepository.findLastMessageSeq(1L)).thenReturn(42L);
+        when(chatParticipantRepository.advanceReadCursor(1L, 20L, 42L)).thenReturn(1);
+
+        //when
+        Long lastReadSeq = chatMessageService.markMessagesAsRead(1L, 20L);
+
+        //then
+        assertEquals(42L, lastReadSeq);
+    }
+
+    @Test
+    public void testMarkAsReadAlreadyReadReturnsNull() {
+        //given: 커서가 이미 마지막 순번 이상이면 조건부 UPDATE 0건
+        when(chatRoomRepository.findLastMessageSeq(1L)).thenReturn(42L);
+        when(chatParticipantRepository.advanceReadCursor(1L, 20L, 42L)).thenReturn(0);
+
+        //when
+        Long lastReadSeq = chatMessageService.markMessagesAsRead(1L, 20L);
+
+        //then: 읽음 알림을 다시 보내지 않음
+        assertNull(lastReadSeq);
+    }
+
+    @Test
+    public void testMarkAsReadEmptyRoomSkipsUpdate() {
+        //given: 아직 저장된 메시지가 없는 채팅방
+        when(chatRoomRepository.findLastMessageSeq(1L)).thenReturn(null);
+
+        //when
+        Long lastReadSeq = chatMessageService.markMessagesAsRead(1L, 20L);
+
+        //then
+        assertNull(lastReadSeq);
+        verify(chatParticipantRepository, never()).advanceReadCursor(anyLong(), anyLong(), any());
+    }
+}
@@ -0,0 +1,233 @@
+package org.dsa11.team1.kumarketto.service;
+
+import org.dsa11.team1.kumarketto.domain.dto.MyPageItemDTO;
+import org.dsa11.team1.kumarketto.domain.dto.MyPageItemPageDTO;
+import org.dsa11.team1.kumarketto.domain.entity.MemberEntity;
+import org.dsa11.team1.kumarketto.domain.entity.Municipality;
+import org.dsa11.team1.kumarketto.domain.entity.Prefecture;
+import org.dsa11.team1.kumarketto.domain.entity.Product;
+import org.dsa11.team1.kumarketto.domain.entity.ProductRegion;
+import org.dsa11.team1.kumarketto.domain.entity.ProductRegionEntity;
+import org.dsa11.team1.kumarketto.domain.entity.Transaction;
+import org.dsa11.team1.kumarketto.domain.entity.WishList;
+import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
+import org.dsa11.team1.kumarketto.domain.enums.TransactionStatus;
+import org.dsa11.team1.kumarketto.repository.TransactionRepository;
+import org.dsa11.team1.kumarketto.repository.WishListRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 마이페이지 키셋 페이징 쿼리 확인 (내장 H2, MySQL 호환 모드)
+ * 페이지를 끝까지 넘겼을 때 (시각, ID) 최신순으로 빠짐없이 한 번씩 나오는지, 같은 시각이 페이지 경계에 걸려도 되는지
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mypage;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class MyPageServiceTest {
+
+    // 애플리케이션 설정(Elasticsearch 저장소 등) 대신 필요한 JPA 저장소만 등록
+    @Configuration
+    @EntityScan(basePackageClasses = Transaction.class)
+    @EnableJpaRepositories(basePackageClasses = TransactionRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = {TransactionRepository.class, WishListRepository.class}))
+    static class JpaConfig {
+    }
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private WishListRepository wishListRepository;
+
+    private MyPageService myPageService;
+    private MemberEntity seller;
+    private MemberEntity buyer;
+    private Municipality shibuya;
+
+    @BeforeEach
+    public void setUp() {
+        myPageService = new MyPageService(wishListRepository, transactionRepository);
+        seller = em.persist(member("seller"));
+        buyer = em.persist(member("buyer"));
+        Prefecture tokyo = em.persist(Prefecture.builder().prefName("東京都").build());
+        shibuya = em.persist(Municipality.builder().muniName("渋谷区").prefecture(tokyo).build());
+    }
+
+    @Test
+    public void testPurchasePagesWalkAllInOrder() {
+        //given: 같은 확정 시각 두 건 포함, 미확정 거래와 다른 구매자의 거래는 제외 대상
+        List<Long> expected = new ArrayList<>();
+        Transaction t1 = confirmed(product("A"), buyer, BASE.plusHours(1));
+        Transaction t2 = confirmed(product("B"), buyer, BASE.plusHours(3));
+        Transaction t3 = confirmed(product("C"), buyer, BASE.plusHours(2));
+        Transaction t4 = confirmed(product("D"), buyer, BASE.plusHours(2));
+        Transaction t5 = confirmed(product("E"), buyer, BASE);
+        em.persist(Transaction.builder().product(product("F")).member(buyer).requestTime(BASE)
+                .status(TransactionStatus.PAID).paymentDueDate(BASE).build());
+        confirmed(product("G"), seller, BASE.plusHours(5));
+        em.flush();
+        em.clear();
+        // 확정 시각 최신순, 같은 시각이면 거래 ID 큰 순
+        expected.add(t2.getId());
+        expected.add(t4.getId());
+        expected.add(t3.getId());
+        expected.add(t1.getId());
+        expected.add(t5.getId());
+
+        //when: 두 건씩 끝까지
+        List<MyPageItemPageDTO> pages = walk((beforeTime, beforeId) -> myPageService.getConfirmed(buyer.getUserNo(), beforeTime, beforeId, 2));
+
+        //then
+        assertEquals(3, pages.size());
+        assertTrue(pages.get(0).isHasMore());
+        assertTrue(pages.get(1).isHasMore());
+        assertFalse(pages.get(2).isHasMore());
+        assertEquals(expected, sortIds(pages));
+    }
+
+    @Test
+    public void testSalesPageKeepsProductsWithoutRegion() {
+        //given: 지역이 있는 상품과 없는 상품, 다른 판매자의 상품
+        Product withRegion = product("A");
+        withRegion.addProductRegion(ProductRegionEntity.builder().id(new ProductRegion()).municipality(shibuya).build());
+        confirmed(withRegion, buyer, BASE.plusHours(2));
+        confirmed(product("B"), buyer, BASE.plusHours(1));
+        Product otherSellers = product("C");
+        otherSellers.bindMember(buyer);
+        confirmed(otherSellers, seller, BASE.plusHours(3));
+        em.flush();
+        em.clear();
+
+        //when
+        MyPageItemPageDTO page = myPageService.getSoldOut(seller.getUserNo(), null, null, 10);
+
+        //then
+        assertEquals(2, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertEquals("A", page.getItems().get(0).getName());
+        assertEquals("東京都 · 渋谷区", page.getItems().get(0).getRegionName());
+        assertEquals("B", page.getItems().get(1).getName());
+        assertNull(page.getItems().get(1).getRegionName());
+    }
+
+    @Test
+    public void testWishlistPagesWalkAllInOrder() {
+        //given: 찜한 시각을 직접 지정 (같은 시각 두 건 포함)
+        Product a = product("A");
+        Product b = product("B");
+        Product c = product("C");
+        Product d = product("D");
+        for (Product product : List.of(a, b, c, d)) {
+            em.persist(WishList.builder().member(buyer).product(product).build());
+        }
+        em.flush();
+        wishedAt(a, BASE.plusHours(1));
+        wishedAt(b, BASE.plusHours(2));
+        wishedAt(c, BASE.plusHours(2));
+        wishedAt(d, BASE);
+        em.clear();
+
+        //when
+        List<MyPageItemPageDTO> pages = walk((beforeTime, beforeId) -> myPageService.getWishlistItems(buyer.getUserNo(), beforeTime, beforeId, 3));
+
+        //then: 찜한 시각 최신순, 같은 시각이면 상품 ID 큰 순
+        assertEquals(2, pages.size());
+        assertEquals(List.of(c.getPid(), b.getPid(), a.getPid(), d.getPid()), sortIds(pages));
+    }
+
+    private interface PageQuery {
+        MyPageItemPageDTO fetch(LocalDateTime beforeTime, Long beforeId);
+    }
+
+    private List<MyPageItemPageDTO> walk(PageQuery query) {
+        List<MyPageItemPageDTO> pages = new ArrayList<>();
+        MyPageItemPageDTO page = query.fetch(null, null);
+        pages.add(page);
+        while (page.isHasMore()) {
+            page = query.fetch(page.getNextBeforeTime(), page.getNextBeforeId());
+            pages.add(page);
+        }
+        return pages;
+    }
+
+    private List<Long> sortIds(List<MyPageItemPageDTO> pages) {
+        List<Long> ids = new ArrayList<>();
+        for (MyPageItemPageDTO page : pages) {
+            for (MyPageItemDTO item : page.getItems()) {
+                ids.add(item.getSortId());
+            }
+        }
+        return ids;
+    }
+
+    private MemberEntity member(String userId) {
+        return MemberEntity.builder()
+                .userId(userId)
+                .password("password")
+                .nickname(userId)
+                .email(userId + "@example.com")
+                .birthDate(LocalDate.of(2000, 1, 1))
+                .build();
+    }
+
+    private Product product(String name) {
+        Product product = Product.builder()
+                .name(name)
+                .price(1000)
+                .viewCount(0)
+                .status(ProductStatus.SOLDOUT)
+                .description(name)
+                .build();
+        product.bindMember(seller);
+        return em.persist(product);
+    }
+
+    private Transaction confirmed(Product product, MemberEntity member, LocalDateTime confirmTime) {
+        Transaction transaction = Transaction.builder()
+                .product(product)
+                .member(member)
+                .requestTime(confirmTime.minusDays(1))
+                .status(TransactionStatus.CONFIRMED)
+                .paymentDueDate(confirmTime.minusHours(12))
+                .build();
+        transaction.bindConfirmTime(confirmTime);
+        return em.persist(transaction);
+    }
+
+    private void wishedAt(Product product, LocalDateTime modifiedDate) {
+        em.getEntityManager()
+                .createNativeQuery("UPDATE wish_lists SET modified_date = ?1 WHERE user_no = ?2 AND product_id = ?3")
+                .setParameter(1, modifiedDate)
+                .setParameter(2, buyer.getUserNo())
+                .setParameter(3, product.getPid())
+                .executeUpdate();
+    }
+}
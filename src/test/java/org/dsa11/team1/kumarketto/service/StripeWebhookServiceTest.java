@@ -0,0 +1,177 @@
+package org.dsa11.team1.kumarketto.service;
+
+import com.stripe.Stripe;
+import com.stripe.exception.SignatureVerificationException;
+import org.dsa11.team1.kumarketto.domain.entity.StripeWebhookEvent;
+import org.dsa11.team1.kumarketto.domain.enums.WebhookEventStatus;
+import org.dsa11.team1.kumarketto.repository.StripeWebhookEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stripe 웹훅 수신함의 중복 제거 확인
+ * 서명한 이벤트를 같은 ID 로 두 번 보내면 수신함 INSERT IGNORE 가 0건이 되어 한 번만 처리되어야 함
+ */
+@ExtendWith(MockitoExtension.class)
+public class StripeWebhookServiceTest {
+
+    private static final String SECRET = "whsec_test";
+    private static final String EVENT_ID = "evt_test_1";
+    private static final String PAYMENT_INTENT_ID = "pi_test_1";
+    private static final Long PAYMENT_ID = 3L;
+    private static final Long TRANSACTION_ID = 9L;
+    private static final long WAIT_MS = 5000;
+
+    @Mock
+    private StripeWebhookEventRepository webhookEventRepository;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StripeWebhookService stripeWebhookService;
+
+    @BeforeEach
+    public void setUp() {
+        stripeWebhookService = new StripeWebhookService(webhookEventRepository, paymentService, transactionManager,
+                SECRET, 2, 100, 5);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stripeWebhookService.shutdown();
+    }
+
+    @Test
+    public void testRedeliveredEventProcessedOnce() throws Exception {
+        //given: 첫 수신은 저장, 같은 이벤트 재전송은 이미 있어서 0건
+        String payload = eventPayload("payment_intent.succeeded");
+        when(webhookEventRepository.insertIfAbsent(eq(EVENT_ID), eq("payment_intent.succeeded"),
+                eq(PAYMENT_ID), eq(TRANSACTION_ID), eq(payload), any())).thenReturn(1, 0);
+        StripeWebhookEvent stored = storedEvent(payload, WebhookEventStatus.RECEIVED);
+        when(webhookEventRepository.findById(EVENT_ID)).thenReturn(Optional.of(stored));
+
+        //when
+        boolean first = stripeWebhookService.receive(payload, sign(payload));
+        boolean second = stripeWebhookService.receive(payload, sign(payload));
+
+        //then: 처리 대기열에는 한 번만 들어가고, 저장된 원본에서 꺼낸 PaymentIntent 로 처리
+        assertTrue(first);
+        assertFalse(second);
+        verify(paymentService, timeout(WAIT_MS)).processPaymentSuccess(PAYMENT_ID, PAYMENT_INTENT_ID);
+        verify(stored, timeout(WAIT_MS)).markProcessed();
+        verify(webhookEventRepository).findById(EVENT_ID);
+        assertEquals(1L, stripeWebhookService.getStats().get("received"));
+        assertEquals(1L, stripeWebhookService.getStats().get("duplicates"));
+    }
+
+    @Test
+    public void testProcessedEventNotReprocessed() throws Exception {
+        //given: 재처리 대기열에 다시 들어왔지만 수신함에서는 이미 처리 완료
+        String payload = eventPayload("payment_intent.succeeded");
+        when(webhookEventRepository.insertIfAbsent(eq(EVENT_ID), any(), any(), any(), any(), any())).thenReturn(1);
+        StripeWebhookEvent stored = storedEvent(payload, WebhookEventStatus.PROCESSED);
+        when(webhookEventRepository.findById(EVENT_ID)).thenReturn(Optional.of(stored));
+
+        //when
+        stripeWebhookService.receive(payload, sign(payload));
+
+        //then
+        verify(webhookEventRepository, timeout(WAIT_MS)).findById(EVENT_ID);
+        verify(transactionManager, timeout(WAIT_MS).times(2)).commit(any());
+        verify(paymentService, never()).processPaymentSuccess(anyLong(), anyString());
+        verify(stored, never()).markProcessed();
+    }
+
+    @Test
+    public void testInvalidSignatureRejectedBeforeInbox() {
+        String payload = eventPayload("payment_intent.succeeded");
+
+        assertThrows(SignatureVerificationException.class,
+                () -> stripeWebhookService.receive(payload, sign(payload.replace(PAYMENT_INTENT_ID, "pi_forged"))));
+        verify(webhookEventRepository, never()).insertIfAbsent(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testOtherEventTypeIgnored() throws Exception {
+        String payload = eventPayload("payment_intent.created");
+
+        assertFalse(stripeWebhookService.receive(payload, sign(payload)));
+        verify(webhookEventRepository, never()).insertIfAbsent(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testEventWithInvalidPaymentIdAcknowledgedWithoutInbox() throws Exception {
+        //given: 결제 ID 가 숫자가 아닌 이벤트 (500 으로 응답하면 Stripe 가 계속 재전송)
+        String payload = eventPayload("payment_intent.succeeded", "not-a-number");
+
+        //when
+        boolean received = stripeWebhookService.receive(payload, sign(payload));
+
+        //then: 예외 없이 무시하고 수신함에도 넣지 않음
+        assertFalse(received);
+        verify(webhookEventRepository, never()).insertIfAbsent(any(), any(), any(), any(), any(), any());
+        assertEquals(1L, stripeWebhookService.getStats().get("invalid"));
+    }
+
+    private StripeWebhookEvent storedEvent(String payload, WebhookEventStatus status) {
+        StripeWebhookEvent event = mock(StripeWebhookEvent.class);
+        when(event.getStatus()).thenReturn(status);
+        if (status != WebhookEventStatus.PROCESSED) {
+            when(event.getPaymentId()).thenReturn(PAYMENT_ID);
+            when(event.getPayload()).thenReturn(payload);
+        }
+        return event;
+    }
+
+    // Stripe 와 같은 형식의 PaymentIntent 이벤트 (메타데이터는 PaymentService.createPaymentIntent 와 동일)
+    private String eventPayload(String type) {
+        return eventPayload(type, String.valueOf(PAYMENT_ID));
+    }
+
+    private String eventPayload(String type, String paymentId) {
+        long created = System.currentTimeMillis() / 1000;
+        return "{\"id\":\"" + EVENT_ID + "\",\"object\":\"event\",\"api_version\":\"" + Stripe.API_VERSION + "\","
+                + "\"created\":" + created + ",\"livemode\":false,\"pending_webhooks\":1,"
+                + "\"type\":\"" + type + "\",\"data\":{\"object\":{"
+                + "\"id\":\"" + PAYMENT_INTENT_ID + "\",\"object\":\"payment_intent\",\"amount\":1000,"
+                + "\"currency\":\"jpy\",\"status\":\"succeeded\",\"created\":" + created + ","
+                + "\"metadata\":{\"paymentId\":\"" + paymentId + "\",\"transactionId\":\"" + TRANSACTION_ID + "\"}}}}";
+    }
+
+    // Stripe-Signature 헤더 (t=시각, v1=HMAC-SHA256(시각.본문))
+    private String sign(String payload) throws Exception {
+        long timestamp = System.currentTimeMillis() / 1000;
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] signature = mac.doFinal((timestamp + "." + payload).getBytes(StandardCharsets.UTF_8));
+        return "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(signature);
+    }
+}
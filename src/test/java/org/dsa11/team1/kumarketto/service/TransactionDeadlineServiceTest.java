@@ -0,0 +1,176 @@
+package org.dsa11.team1.kumarketto.service;
+
+import org.dsa11.team1.kumarketto.domain.entity.MemberEntity;
+import org.dsa11.team1.kumarketto.domain.entity.Product;
+import org.dsa11.team1.kumarketto.domain.entity.Transaction;
+import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
+import org.dsa11.team1.kumarketto.domain.enums.TransactionDeadlineType;
+import org.dsa11.team1.kumarketto.domain.enums.TransactionStatus;
+import org.dsa11.team1.kumarketto.domain.event.ProductSearchSyncEvent;
+import org.dsa11.team1.kumarketto.domain.event.ProductStatusChangedEvent;
+import org.dsa11.team1.kumarketto.domain.event.TransactionDeadlineEvent;
+import org.dsa11.team1.kumarketto.repository.PaymentRepository;
+import org.dsa11.team1.kumarketto.repository.ProductRepository;
+import org.dsa11.team1.kumarketto.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 결제 기한 만료 처리의 조건부 UPDATE(CAS) 경로 확인
+ * 이미 지난 기한을 등록하면 바로 처리 스레드에서 실행되므로, 트랜잭션 커밋 횟수로 처리가 끝났는지 확인
+ */
+@ExtendWith(MockitoExtension.class)
+public class TransactionDeadlineServiceTest {
+
+    private static final Long TRANSACTION_ID = 1L;
+    private static final Long PRODUCT_ID = 5L;
+    private static final Long SELLER_NO = 7L;
+    private static final long WAIT_MS = 5000;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private TransactionSchedulerService transactionSchedulerService;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionDeadlineService transactionDeadlineService;
+
+    @BeforeEach
+    public void setUp() {
+        transactionDeadlineService = new TransactionDeadlineService(transactionRepository, productRepository,
+                paymentRepository, transactionSchedulerService, paymentService, eventPublisher, transactionManager,
+                1000, 1, 60000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transactionDeadlineService.shutdown();
+    }
+
+    @Test
+    public void testExpireReleasesReservation() {
+        //given
+        stubPendingTransaction();
+        when(transactionRepository.expireIfUnpaid(eq(TRANSACTION_ID), any())).thenReturn(1);
+        when(productRepository.compareAndSetStatus(eq(PRODUCT_ID), eq(ProductStatus.RESERVED), eq(ProductStatus.NEW), any()))
+                .thenReturn(1);
+
+        //when
+        expireNow();
+
+        //then
+        verify(transactionManager, timeout(WAIT_MS).times(2)).commit(any());
+        verify(paymentRepository).cancelPending(TRANSACTION_ID);
+        verify(eventPublisher).publishEvent(any(ProductStatusChangedEvent.class));
+        verify(eventPublisher).publishEvent(any(ProductSearchSyncEvent.class));
+    }
+
+    @Test
+    public void testPaidInBetweenIsNotExpired() {
+        //given: 조회 이후 결제 성공 웹훅이 먼저 PAID 로 바꿈 → 조건부 UPDATE 0건
+        stubPendingTransaction();
+        when(transactionRepository.expireIfUnpaid(eq(TRANSACTION_ID), any())).thenReturn(0);
+
+        //when
+        expireNow();
+
+        //then: 결제 취소, 상품 예약 해제, 이벤트 모두 없음
+        verify(transactionManager, timeout(WAIT_MS).times(2)).commit(any());
+        verify(paymentRepository, never()).cancelPending(anyLong());
+        verify(productRepository, never()).compareAndSetStatus(anyLong(), any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void testProductAlreadyMovedSkipsStatusEvent() {
+        //given: 상품 상태가 이미 RESERVED 가 아님 (판매자가 수정 등)
+        stubPendingTransaction();
+        when(transactionRepository.expireIfUnpaid(eq(TRANSACTION_ID), any())).thenReturn(1);
+        when(productRepository.compareAndSetStatus(eq(PRODUCT_ID), eq(ProductStatus.RESERVED), eq(ProductStatus.NEW), any()))
+                .thenReturn(0);
+
+        //when
+        expireNow();
+
+        //then
+        verify(transactionManager, timeout(WAIT_MS).times(2)).commit(any());
+        verify(paymentRepository).cancelPending(TRANSACTION_ID);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void testUncancellablePaymentIntentPostponesExpiry() throws Exception {
+        //given: 카드 결제가 진행 중이라 Stripe 취소 불가
+        when(paymentRepository.findPendingPaymentIntentId(TRANSACTION_ID)).thenReturn(Optional.of("pi_test"));
+        when(paymentService.cancelPaymentIntent("pi_test")).thenReturn(false);
+
+        //when
+        expireNow();
+
+        //then: 만료하지 않고 다시 확인하도록 재예약
+        verify(transactionManager, timeout(WAIT_MS).times(1)).commit(any());
+        verify(paymentService, timeout(WAIT_MS)).cancelPaymentIntent("pi_test");
+        verify(transactionRepository, never()).expireIfUnpaid(anyLong(), any());
+        waitForScheduledCount(1);
+        assertEquals(1, transactionDeadlineService.getScheduledCount());
+    }
+
+    private void expireNow() {
+        transactionDeadlineService.onDeadline(new TransactionDeadlineEvent(
+                TRANSACTION_ID, TransactionDeadlineType.PAYMENT, LocalDateTime.now().minusMinutes(1)));
+    }
+
+    private void stubPendingTransaction() {
+        MemberEntity seller = mock(MemberEntity.class);
+        when(seller.getUserNo()).thenReturn(SELLER_NO);
+        Product product = mock(Product.class);
+        when(product.getPid()).thenReturn(PRODUCT_ID);
+        when(product.getMember()).thenReturn(seller);
+        Transaction transaction = mock(Transaction.class);
+        when(transaction.getStatus()).thenReturn(TransactionStatus.PENDING);
+        when(transaction.getProduct()).thenReturn(product);
+        when(transactionRepository.findById(TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+    }
+
+    // 재예약은 취소 실패 로그 이후에 이루어지므로 잠시 기다림
+    private void waitForScheduledCount(int expected) {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (transactionDeadlineService.getScheduledCount() != expected && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
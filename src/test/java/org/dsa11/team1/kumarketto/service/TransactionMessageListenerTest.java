@@ -0,0 +1,147 @@
+package org.dsa11.team1.kumarketto.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.dsa11.team1.kumarketto.domain.dto.ChatMessageDTO;
+import org.dsa11.team1.kumarketto.domain.dto.SystemMessagePayload;
+import org.dsa11.team1.kumarketto.domain.entity.TransactionEventOutbox;
+import org.dsa11.team1.kumarketto.domain.enums.MessageType;
+import org.dsa11.team1.kumarketto.domain.enums.OutboxStatus;
+import org.dsa11.team1.kumarketto.domain.event.TransactionStepEvent;
+import org.dsa11.team1.kumarketto.repository.TransactionEventOutboxRepository;
+import org.dsa11.team1.kumarketto.websocket.WebSocketHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 거래 단계 시스템 메시지 발신함 확인
+ * 이벤트는 발행한 트랜잭션 안에서 발신함에 저장되고, 전송에 실패한 메시지는 뒤 메시지를 막은 채 재전송 때 순서대로 전송되어야 함
+ */
+@ExtendWith(MockitoExtension.class)
+public class TransactionMessageListenerTest {
+
+    private static final Long TRANSACTION_ID = 9L;
+    private static final String SELLER_ID = "seller";
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long WAIT_MS = 5000;
+
+    @Mock
+    private TransactionChatService transactionChatService;
+
+    @Mock
+    private WebSocketHandler webSocketHandler;
+
+    @Mock
+    private TransactionEventOutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionMessageListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        listener = new TransactionMessageListener(transactionChatService, webSocketHandler, outboxRepository,
+                new ObjectMapper(), transactionManager, 2, 100, MAX_ATTEMPTS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        listener.shutdown();
+    }
+
+    @Test
+    public void testEventSavedToOutbox() {
+        //given
+        TransactionStepEvent event = event("e-1", MessageType.SHIPPING_INFO_REQUEST);
+
+        //when
+        listener.saveToOutbox(event);
+
+        //then: 전송 전 상태로 저장되고, 웹소켓 전송은 하지 않음
+        ArgumentCaptor<TransactionEventOutbox> saved = ArgumentCaptor.forClass(TransactionEventOutbox.class);
+        verify(outboxRepository).save(saved.capture());
+        assertEquals("e-1", saved.getValue().getEventId());
+        assertEquals(OutboxStatus.PENDING, saved.getValue().getStatus());
+        assertEquals("{\"transactionId\":9}", saved.getValue().getPayload());
+        verify(webSocketHandler, never()).sendTargetedSystemMessage(any(), any());
+    }
+
+    @Test
+    public void testFailedMessageHoldsBackLaterOnesUntilRetry() {
+        //given: 같은 거래의 메시지 두 건, 첫 전송만 실패
+        TransactionEventOutbox first = outbox(1L, event("e-1", MessageType.SHIPPING_INFO_REQUEST));
+        TransactionEventOutbox second = outbox(2L, event("e-2", MessageType.CASH_PAYMENT_SELECTED));
+        when(outboxRepository.findUnsent(TRANSACTION_ID, MAX_ATTEMPTS)).thenReturn(List.of(first, second));
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(first));
+        doThrow(new IllegalStateException("batch writer unavailable"))
+                .doNothing()
+                .when(webSocketHandler).sendTargetedSystemMessage(any(), eq(SELLER_ID));
+
+        //when
+        listener.onTransactionStep(event("e-1", MessageType.SHIPPING_INFO_REQUEST));
+
+        //then: 실패한 메시지만 기록하고 뒤 메시지는 보내지 않음
+        verify(transactionManager, timeout(WAIT_MS)).commit(any());
+        assertEquals(OutboxStatus.FAILED, first.getStatus());
+        assertEquals(1, first.getAttempts());
+        assertEquals(OutboxStatus.PENDING, second.getStatus());
+        verify(webSocketHandler, times(1)).sendTargetedSystemMessage(any(), eq(SELLER_ID));
+
+        //given: 재전송 대상 조회
+        when(outboxRepository.findPendingTransactionIds(any(), eq(MAX_ATTEMPTS), any())).thenReturn(List.of(TRANSACTION_ID));
+        when(outboxRepository.findById(2L)).thenReturn(Optional.of(second));
+
+        //when
+        listener.retryPending();
+
+        //then: 저장 순서대로 전송 (같은 이벤트 ID 는 같은 client_message_id)
+        verify(transactionManager, timeout(WAIT_MS).times(3)).commit(any());
+        ArgumentCaptor<ChatMessageDTO> sent = ArgumentCaptor.forClass(ChatMessageDTO.class);
+        verify(webSocketHandler, times(3)).sendTargetedSystemMessage(sent.capture(), eq(SELLER_ID));
+        assertEquals(List.of("sys:e-1", "sys:e-1", "sys:e-2"),
+                sent.getAllValues().stream().map(ChatMessageDTO::getClientMessageId).toList());
+        assertEquals(OutboxStatus.SENT, first.getStatus());
+        assertEquals(OutboxStatus.SENT, second.getStatus());
+    }
+
+    private TransactionStepEvent event(String eventId, MessageType messageType) {
+        return TransactionStepEvent.builder()
+                .eventId(eventId)
+                .transactionId(TRANSACTION_ID)
+                .chatId(3L)
+                .buyerId("buyer")
+                .sellerId(SELLER_ID)
+                .senderId("buyer")
+                .targetUserId(SELLER_ID)
+                .messageType(messageType)
+                .payload(SystemMessagePayload.of(TRANSACTION_ID))
+                .build();
+    }
+
+    private TransactionEventOutbox outbox(Long id, TransactionStepEvent event) {
+        TransactionEventOutbox outbox = TransactionEventOutbox.of(event, "{\"transactionId\":9}");
+        ReflectionTestUtils.setField(outbox, "id", id);
+        return outbox;
+    }
+}
@@ -0,0 +1,146 @@
+package org.dsa11.team1.kumarketto.service;
+
+import org.dsa11.team1.kumarketto.domain.dto.OverdueTransactionDTO;
+import org.dsa11.team1.kumarketto.domain.entity.BatchCheckpoint;
+import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
+import org.dsa11.team1.kumarketto.domain.event.ProductSearchSyncEvent;
+import org.dsa11.team1.kumarketto.domain.event.ProductStatusChangedEvent;
+import org.dsa11.team1.kumarketto.domain.event.TransactionStepEvent;
+import org.dsa11.team1.kumarketto.repository.BatchCheckpointRepository;
+import org.dsa11.team1.kumarketto.repository.ProductRepository;
+import org.dsa11.team1.kumarketto.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 자동 구매 확정의 잠금 + 조건부 UPDATE(CAS) 경로 확인
+ * 조회 이후 구매자가 직접 확정한 거래(더 이상 PAID 가 아님)는 확정/상품 판매 완료/후속 이벤트에서 모두 빠져야 함
+ */
+@ExtendWith(MockitoExtension.class)
+public class TransactionSchedulerServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private BatchCheckpointRepository batchCheckpointRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionSchedulerService transactionSchedulerService;
+
+    @BeforeEach
+    public void setUp() {
+        transactionSchedulerService = new TransactionSchedulerService(transactionRepository, productRepository,
+                batchCheckpointRepository, eventPublisher, transactionManager, 500, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transactionSchedulerService.shutdown();
+    }
+
+    @Test
+    public void testAutoConfirmConfirmsStillPaidTransaction() {
+        //given
+        when(transactionRepository.findOverdueChunk(any(), eq(0L), eq(1L), any())).thenReturn(List.of(row(1L, 11L)));
+        when(transactionRepository.lockPaidIds(List.of(1L))).thenReturn(List.of(1L));
+
+        //when
+        boolean confirmed = transactionSchedulerService.autoConfirm(1L);
+
+        //then: 확정, 상품 판매 완료, 상태 변경/검색 색인/리뷰 요청 이벤트
+        assertTrue(confirmed);
+        verify(transactionRepository).confirmAll(eq(List.of(1L)), any());
+        verify(productRepository).markSoldOut(eq(List.of(11L)), any());
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertInstanceOf(ProductStatusChangedEvent.class, events.getAllValues().get(0));
+        assertInstanceOf(ProductSearchSyncEvent.class, events.getAllValues().get(1));
+        assertEquals(1L, ((TransactionStepEvent) events.getAllValues().get(2)).getTransactionId());
+    }
+
+    @Test
+    public void testAutoConfirmSkipsTransactionConfirmedByBuyer() {
+        //given: 조회 이후 구매자가 직접 확정 → 잠금 조회에서 빠짐
+        when(transactionRepository.findOverdueChunk(any(), eq(0L), eq(1L), any())).thenReturn(List.of(row(1L, 11L)));
+        when(transactionRepository.lockPaidIds(List.of(1L))).thenReturn(List.of());
+
+        //when
+        boolean confirmed = transactionSchedulerService.autoConfirm(1L);
+
+        //then
+        assertFalse(confirmed);
+        verify(transactionRepository, never()).confirmAll(anyList(), any());
+        verify(productRepository, never()).markSoldOut(anyList(), any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void testBatchChunkConfirmsOnlyLockedRows() throws Exception {
+        //given: 중단된 구간 하나, 청크 두 건 중 1번은 그사이 구매자가 확정
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(1);
+        BatchCheckpoint checkpoint = BatchCheckpoint.builder()
+                .jobName("autoConfirm")
+                .partition(0)
+                .cutoff(cutoff)
+                .rangeStart(1L)
+                .rangeEnd(2L)
+                .build();
+        when(batchCheckpointRepository.findByJobName("autoConfirm")).thenReturn(List.of(checkpoint));
+        when(batchCheckpointRepository.findById("autoConfirm:0")).thenReturn(Optional.of(checkpoint));
+        when(transactionRepository.findOverdueChunk(eq(cutoff), eq(0L), eq(2L), any()))
+                .thenReturn(List.of(row(1L, 11L), row(2L, 12L)));
+        when(transactionRepository.lockPaidIds(List.of(1L, 2L))).thenReturn(List.of(2L));
+
+        //when: 조정 스레드에서 실행되므로 끝날 때까지 대기
+        Future<?> run = transactionSchedulerService.start();
+        run.get(5, TimeUnit.SECONDS);
+
+        //then: 잠근 거래만 확정하고 후속 처리, 진행 위치는 청크 끝까지 이동
+        verify(transactionRepository).confirmAll(eq(List.of(2L)), any());
+        verify(productRepository).markSoldOut(eq(List.of(12L)), any());
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertEquals(2L, ((TransactionStepEvent) events.getAllValues().get(2)).getTransactionId());
+        assertEquals(2L, checkpoint.getLastId());
+        assertTrue(checkpoint.isCompleted());
+    }
+
+    private OverdueTransactionDTO row(Long transactionId, Long productId) {
+        return new OverdueTransactionDTO(transactionId, productId, ProductStatus.RESERVED,
+                7L, "seller", "buyer", 100L + transactionId);
+    }
+}
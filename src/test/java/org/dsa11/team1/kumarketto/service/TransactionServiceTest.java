@@ -0,0 +1,126 @@
+package org.dsa11.team1.kumarketto.service;
+
+import org.dsa11.team1.kumarketto.domain.dto.TransactionResponseDTO;
+import org.dsa11.team1.kumarketto.domain.entity.MemberEntity;
+import org.dsa11.team1.kumarketto.domain.entity.Payment;
+import org.dsa11.team1.kumarketto.domain.entity.Product;
+import org.dsa11.team1.kumarketto.domain.entity.Transaction;
+import org.dsa11.team1.kumarketto.domain.enums.DeliveryService;
+import org.dsa11.team1.kumarketto.domain.enums.ProductStatus;
+import org.dsa11.team1.kumarketto.domain.enums.TransactionStatus;
+import org.dsa11.team1.kumarketto.repository.MemberRepository;
+import org.dsa11.team1.kumarketto.repository.PaymentRepository;
+import org.dsa11.team1.kumarketto.repository.ProductRepository;
+import org.dsa11.team1.kumarketto.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 현금 결제 선택의 조건부 UPDATE(CAS) 확인
+ * 결제 기한 만료로 EXPIRED 가 된 거래(상품은 다시 판매 중)는 현금 결제로 결제 완료가 되면 안 됨
+ */
+@ExtendWith(MockitoExtension.class)
+public class TransactionServiceTest {
+
+    private static final Long TRANSACTION_ID = 9L;
+    private static final Long BUYER_NO = 20L;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private ChatRoomService chatRoomService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TransactionService transactionService;
+
+    @Test
+    public void testCashPaymentMarksApprovedTransactionPaid() {
+        //given
+        Transaction transaction = transaction(TransactionStatus.APPROVED);
+        when(transactionRepository.findById(TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.markPaidIfApproved(TRANSACTION_ID)).thenReturn(1);
+
+        //when
+        TransactionResponseDTO response = transactionService.updateTransactionType(TRANSACTION_ID, BUYER_NO,
+                DeliveryService.DIRECT_TRADE, "CASH");
+
+        //then: 결제 완료 + 현금 결제 기록 + 약속 조율 메시지 이벤트
+        assertEquals(TransactionStatus.PAID.name(), response.getStatus());
+        verify(paymentRepository).save(any(Payment.class));
+        verify(eventPublisher).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void testCashPaymentRejectedAfterExpiry() {
+        //given: 조회 시점에는 APPROVED 였지만 그사이 기한 만료 처리 → 조건부 UPDATE 0건
+        Transaction transaction = transaction(TransactionStatus.APPROVED);
+        when(transactionRepository.findById(TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.markPaidIfApproved(TRANSACTION_ID)).thenReturn(0);
+
+        //when
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> transactionService.updateTransactionType(TRANSACTION_ID, BUYER_NO, DeliveryService.DIRECT_TRADE, "CASH"));
+
+        //then: 결제 기록도 메시지도 남기지 않음
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(paymentRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void testCardPaymentRejectedForExpiredTransaction() {
+        //given
+        Transaction transaction = transaction(TransactionStatus.EXPIRED);
+        when(transactionRepository.findById(TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+
+        //when
+        assertThrows(ResponseStatusException.class,
+                () -> transactionService.updateTransactionType(TRANSACTION_ID, BUYER_NO, DeliveryService.DELIVERY_SERVICE, "CARD"));
+
+        //then
+        verify(paymentRepository, never()).findByTransaction(any());
+        verify(paymentRepository, never()).save(any());
+    }
+
+    private Transaction transaction(TransactionStatus status) {
+        MemberEntity seller = MemberEntity.builder().userNo(10L).userId("seller").build();
+        MemberEntity buyer = MemberEntity.builder().userNo(BUYER_NO).userId("buyer").build();
+        Product product = Product.builder().name("A").price(1000).viewCount(0).status(ProductStatus.RESERVED).build();
+        product.bindMember(seller);
+        return Transaction.builder()
+                .product(product)
+                .member(buyer)
+                .requestTime(LocalDateTime.now())
+                .status(status)
+                .build();
+    }
+}
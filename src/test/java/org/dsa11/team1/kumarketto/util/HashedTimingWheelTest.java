@@ -0,0 +1,109 @@
+package org.dsa11.team1.kumarketto.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 해시 타이밍 휠의 여러 바퀴 예약, 연장(대체), 취소 확인 (10ms × 4칸 = 한 바퀴 40ms)
+ */
+public class HashedTimingWheelTest {
+
+    private static final long TICK_MS = 10;
+
+    private HashedTimingWheel wheel;
+
+    @BeforeEach
+    public void setUp() {
+        wheel = new HashedTimingWheel("test-wheel", TICK_MS, 4, Runnable::run);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    public void testDelayLongerThanOneRoundWaitsForLaterRounds() throws Exception {
+        //given
+        CountDownLatch fired = new CountDownLatch(1);
+        AtomicLong firedAt = new AtomicLong();
+        long start = System.currentTimeMillis();
+
+        //when: 한 바퀴(40ms)보다 긴 기한
+        wheel.schedule("key", 150, () -> {
+            firedAt.set(System.currentTimeMillis());
+            fired.countDown();
+        });
+
+        //then: 같은 칸을 먼저 지나가도 실행되지 않고 기한에 실행 (틱 경계만큼 일찍 실행될 수 있음)
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(firedAt.get() - start >= 150 - TICK_MS);
+        assertFalse(wheel.isScheduled("key"));
+    }
+
+    @Test
+    public void testRescheduleExtendsTimeout() throws Exception {
+        //given: 하트비트처럼 기한 전에 계속 연장
+        AtomicInteger firstRuns = new AtomicInteger();
+        CountDownLatch extendedRun = new CountDownLatch(1);
+        wheel.schedule("session", 50, firstRuns::incrementAndGet);
+
+        //when
+        Thread.sleep(20);
+        wheel.schedule("session", 200, extendedRun::countDown);
+
+        //then
+        assertTrue(extendedRun.await(5, TimeUnit.SECONDS));
+        assertEquals(0, firstRuns.get());
+    }
+
+    @Test
+    public void testCancelledEntryNeverFires() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        wheel.schedule("key", 100, runs::incrementAndGet);
+
+        assertTrue(wheel.cancel("key"));
+        Thread.sleep(250);
+
+        assertEquals(0, runs.get());
+        assertFalse(wheel.cancel("key"));
+        assertFalse(wheel.isScheduled("key"));
+    }
+
+    @Test
+    public void testSlowTaskDoesNotDelayOtherExpiries() throws Exception {
+        //given: 만료 작업을 작업 스레드에서 실행하는 휠, 먼저 만료되는 작업은 오래 걸림
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        HashedTimingWheel pooledWheel = new HashedTimingWheel("pooled-wheel", TICK_MS, 4, executor);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastRun = new CountDownLatch(1);
+
+        //when
+        pooledWheel.schedule("slow", 20, () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        pooledWheel.schedule("fast", 60, fastRun::countDown);
+
+        //then: 느린 작업이 끝나지 않아도 틱이 계속 진행되어 다음 만료가 제때 실행됨
+        assertTrue(fastRun.await(1, TimeUnit.SECONDS));
+        release.countDown();
+        pooledWheel.stop();
+        executor.shutdown();
+    }
+}
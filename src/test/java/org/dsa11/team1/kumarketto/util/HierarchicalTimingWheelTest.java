@@ -0,0 +1,109 @@
+package org.dsa11.team1.kumarketto.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 계층형 타이밍 휠의 단계 이동(cascade)과 취소/대체 확인
+ * 10ms × 4칸 × 2단계로 작게 만들어 1단계, 2단계, 휠 밖(overflow) 예약이 모두 생기도록 함
+ * (0단계 = 40ms, 1단계 = 160ms, 그 이상은 overflow)
+ */
+public class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MS = 10;
+
+    private HierarchicalTimingWheel wheel;
+
+    @BeforeEach
+    public void setUp() {
+        wheel = new HierarchicalTimingWheel("test-wheel", TICK_MS, 4, 2, Runnable::run);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    public void testEveryLevelFiresNotBeforeDeadline() throws Exception {
+        //given: 0단계, 1단계, overflow 에 들어갈 기한
+        long now = System.currentTimeMillis();
+        long[] deadlines = {now + 25, now + 120, now + 450};
+        Map<Integer, Long> firedAt = new ConcurrentHashMap<>();
+        CountDownLatch fired = new CountDownLatch(deadlines.length);
+
+        //when
+        for (int i = 0; i < deadlines.length; i++) {
+            int index = i;
+            wheel.schedule("key" + i, deadlines[i], () -> {
+                firedAt.put(index, System.currentTimeMillis());
+                fired.countDown();
+            });
+        }
+
+        //then: 아래 단계로 옮겨지면서 모두 실행되고, 기한보다 먼저 실행되지 않음
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < deadlines.length; i++) {
+            assertTrue(firedAt.get(i) >= deadlines[i], "fired early: " + i);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testPastDeadlineRunsImmediately() {
+        AtomicInteger runs = new AtomicInteger();
+
+        wheel.schedule("late", System.currentTimeMillis() - 1000, runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+        assertFalse(wheel.isScheduled("late"));
+    }
+
+    @Test
+    public void testCancelledEntryNeverFires() throws Exception {
+        //given: overflow 와 1단계에 하나씩
+        AtomicInteger runs = new AtomicInteger();
+        long now = System.currentTimeMillis();
+        wheel.schedule("far", now + 400, runs::incrementAndGet);
+        wheel.schedule("near", now + 200, runs::incrementAndGet);
+
+        //when: 상위 단계에서 아래로 옮겨진 뒤에 취소
+        Thread.sleep(60);
+        assertTrue(wheel.cancel("far"));
+        assertTrue(wheel.cancel("near"));
+
+        //then
+        Thread.sleep(500);
+        assertEquals(0, runs.get());
+        assertFalse(wheel.cancel("far"));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testRescheduleReplacesPreviousEntry() throws Exception {
+        //given
+        AtomicInteger firstRuns = new AtomicInteger();
+        CountDownLatch secondRun = new CountDownLatch(1);
+        long now = System.currentTimeMillis();
+
+        //when: 같은 키로 더 먼 기한을 다시 예약
+        wheel.schedule("key", now + 50, firstRuns::incrementAndGet);
+        wheel.schedule("key", now + 200, secondRun::countDown);
+
+        //then: 이전 예약은 실행되지 않고 새 예약만 실행
+        assertEquals(1, wheel.size());
+        assertTrue(secondRun.await(5, TimeUnit.SECONDS));
+        assertEquals(0, firstRuns.get());
+    }
+}
@@ -0,0 +1,108 @@
+package org.dsa11.team1.kumarketto.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 내장 Tomcat 으로 실제 핸드셰이크를 보내 permessage-deflate 협상 결과(Sec-WebSocket-Extensions 응답 헤더) 확인
+ */
+public class ChatHandshakeHandlerTest {
+
+    @Test
+    public void testDeflateNegotiatedWhenEnabled() throws Exception {
+        List<String> response = handshake(true);
+
+        assertEquals("HTTP/1.1 101", response.get(0).substring(0, 12));
+        assertTrue(findExtensionsHeader(response).contains("permessage-deflate"));
+    }
+
+    @Test
+    public void testDeflateStrippedWhenDisabled() throws Exception {
+        List<String> response = handshake(false);
+
+        assertEquals("HTTP/1.1 101", response.get(0).substring(0, 12));
+        assertEquals("", findExtensionsHeader(response));
+    }
+
+    private List<String> handshake(boolean deflateEnabled) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HandshakeTestConfig.class)
+                .web(WebApplicationType.SERVLET)
+                .properties("server.port=0", "chat.websocket.permessage-deflate-enabled=" + deflateEnabled)
+                .run()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            try (Socket socket = new Socket("localhost", port)) {
+                socket.setSoTimeout(5000);
+                OutputStream out = socket.getOutputStream();
+                out.write(("GET /ws/test HTTP/1.1\r\n" +
+                        "Host: localhost:" + port + "\r\n" +
+                        "Upgrade: websocket\r\n" +
+                        "Connection: Upgrade\r\n" +
+                        "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\n" +
+                        "Sec-WebSocket-Version: 13\r\n" +
+                        "Sec-WebSocket-Extensions: permessage-deflate; client_max_window_bits\r\n" +
+                        "\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+
+                // 응답 헤더만 읽음 (빈 줄까지)
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                List<String> lines = new ArrayList<>();
+                String line;
+                while ((line = in.readLine()) != null && !line.isEmpty()) {
+                    lines.add(line);
+                }
+                return lines;
+            }
+        }
+    }
+
+    // 응답의 Sec-WebSocket-Extensions 헤더 값 (없으면 빈 문자열)
+    private String findExtensionsHeader(List<String> response) {
+        return response.stream()
+                .filter(line -> line.toLowerCase().startsWith("sec-websocket-extensions:"))
+                .map(line -> line.substring(line.indexOf(':') + 1).trim())
+                .findFirst()
+                .orElse("");
+    }
+
+    @SpringBootConfiguration
+    @EnableWebSocket
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class})
+    static class HandshakeTestConfig implements WebSocketConfigurer {
+
+        @Value("${chat.websocket.permessage-deflate-enabled}")
+        private boolean permessageDeflateEnabled;
+
+        @Override
+        public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+            registry.addHandler(new TextWebSocketHandler(), "/ws/test")
+                    .setHandshakeHandler(new ChatHandshakeHandler(permessageDeflateEnabled));
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.dsa11.team1.kumarketto.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 세션 등록/해제와 접속 위치 기록이 어긋나지 않는지 확인
+ * 이전 세션 종료와 재접속이 겹쳐도, 열린 세션이 있는 사용자는 접속 중으로 남아야 함
+ */
+public class ChatMessageRouterTest {
+
+    private static final String USER_ID = "buyer";
+    private static final int ROUNDS = 2000;
+
+    private WebSocketSessionRegistry sessionRegistry;
+    private ChatMessageRouter router;
+
+    @BeforeEach
+    public void setUp() {
+        sessionRegistry = new WebSocketSessionRegistry(1000, 16, OverflowPolicy.DISCONNECT, true, 1);
+        router = new ChatMessageRouter(sessionRegistry, new InProcessChatMessageBus(), new InMemoryPresenceDirectory(), "node-1");
+        router.subscribe();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        router.shutdown();
+        sessionRegistry.shutdown();
+    }
+
+    @Test
+    public void testOnlineUntilLastSessionCloses() {
+        //given: 탭 두 개
+        WebSocketSession first = session("s-1");
+        WebSocketSession second = session("s-2");
+        router.register(USER_ID, first);
+        router.register(USER_ID, second);
+
+        //when / then
+        router.unregister(USER_ID, first);
+        assertTrue(router.isOnline(USER_ID));
+        router.unregister(USER_ID, second);
+        assertFalse(router.isOnline(USER_ID));
+    }
+
+    @Test
+    public void testReconnectRacingCloseStaysOnline() throws Exception {
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        WebSocketSession current = session("s-0");
+        router.register(USER_ID, current);
+
+        //when: 이전 세션 종료와 새 세션 연결을 동시에 반복
+        for (int i = 1; i <= ROUNDS; i++) {
+            WebSocketSession closing = current;
+            WebSocketSession opening = session("s-" + i);
+            Future<?> close = executor.submit(() -> {
+                barrier.await();
+                router.unregister(USER_ID, closing);
+                return null;
+            });
+            Future<?> open = executor.submit(() -> {
+                barrier.await();
+                router.register(USER_ID, opening);
+                return null;
+            });
+            close.get(5, TimeUnit.SECONDS);
+            open.get(5, TimeUnit.SECONDS);
+
+            //then: 새 세션이 살아 있으므로 접속 위치에도 남아 있어야 함
+            assertTrue(router.isOnline(USER_ID), "offline after round " + i);
+            current = opening;
+        }
+        executor.shutdown();
+
+        router.unregister(USER_ID, current);
+        assertFalse(router.isOnline(USER_ID));
+        assertEquals(0, sessionRegistry.getSessions(USER_ID).size());
+    }
+
+    private WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}